@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha;
+
+import at.ac.tuwien.kr.alpha.common.program.InputProgram;
+import at.ac.tuwien.kr.alpha.grounder.parser.ProgramParser;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * A program instance from the benchmark corpus, shared by all benchmarks that run on instances. The corpus directory is
+ * given by the system property {@value #CORPUS_DIRECTORY_PROPERTY} (set by the build), instances are given relative
+ * to it. The program text is read once per trial, such that benchmarks do not measure disk I/O.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkInstance {
+	public static final String CORPUS_DIRECTORY_PROPERTY = "alpha.benchmarks.dir";
+
+	@Param({
+		"omiga/omiga-testcases/3col/3col-20-38.txt",
+		"omiga/omiga-testcases/cutedge/cutedge-100-30.txt",
+		"omiga/omiga-testcases/locstrat/locstrat-200.txt",
+		"omiga/omiga-testcases/reach/reach-1.txt",
+		"siemens/racks/racks.lp"
+	})
+	private String instance;
+
+	private String programText;
+
+	@Setup(Level.Trial)
+	public void readInstance() throws IOException {
+		programText = readProgramText(instance);
+	}
+
+	/**
+	 * Reads the program text of an instance of the corpus.
+	 * @param instance the path of the instance relative to the corpus directory.
+	 * @return the program text.
+	 */
+	public static String readProgramText(String instance) throws IOException {
+		byte[] content = Files.readAllBytes(Paths.get(System.getProperty(CORPUS_DIRECTORY_PROPERTY, "benchmarks"), instance));
+		return new String(content, StandardCharsets.UTF_8);
+	}
+
+	public String getProgramText() {
+		return programText;
+	}
+
+	public InputProgram parse() {
+		return new ProgramParser().parse(programText);
+	}
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.api.externals;
+
+import at.ac.tuwien.kr.alpha.api.externals.stdlib.AspStandardLibrary;
+import at.ac.tuwien.kr.alpha.common.fixedinterpretations.BindingMethodPredicateInterpretation;
+import at.ac.tuwien.kr.alpha.common.fixedinterpretations.MethodPredicateInterpretation;
+import at.ac.tuwien.kr.alpha.common.fixedinterpretations.PredicateInterpretation;
+import at.ac.tuwien.kr.alpha.common.terms.ConstantTerm;
+import at.ac.tuwien.kr.alpha.common.terms.Term;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures calls of datetime and string externals of the {@link AspStandardLibrary}, comparing reflective invocation
+ * (as formerly done by the method interpretations) with invocation through a compiled method handle, with and without
+ * memoization. Arguments are drawn round-robin from a small set of ground tuples, as the grounder evaluates the same
+ * external literal on the same arguments over and over.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExternalsBenchmark {
+
+	private static final int NUM_ARGUMENT_TUPLES = 64;
+
+	@Param({"stdlib_datetime_parse", "stdlib_datetime_is_before", "stdlib_datetime_to_string", "stdlib_string_matches_regex", "stdlib_string_concat"})
+	private String external;
+
+	private Method method;
+	private PredicateInterpretation compiled;
+	private PredicateInterpretation memoized;
+	private List<List<Term>> argumentTuples;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		for (Method candidate : AspStandardLibrary.class.getMethods()) {
+			Predicate annotation = candidate.getAnnotation(Predicate.class);
+			if (annotation != null && annotation.name().equals(external)) {
+				method = candidate;
+			}
+		}
+		boolean isBinding = !method.getReturnType().equals(boolean.class);
+		compiled = isBinding ? new BindingMethodPredicateInterpretation(method, false) : new MethodPredicateInterpretation(method, false);
+		memoized = isBinding ? new BindingMethodPredicateInterpretation(method, true) : new MethodPredicateInterpretation(method, true);
+		argumentTuples = new ArrayList<>();
+		for (int i = 0; i < NUM_ARGUMENT_TUPLES; i++) {
+			argumentTuples.add(argumentTuple(i));
+		}
+	}
+
+	private List<Term> argumentTuple(int i) {
+		List<Term> terms = new ArrayList<>();
+		switch (external) {
+			case "stdlib_datetime_parse":
+				terms.add(ConstantTerm.getInstance(String.format("%02d.01.2020 12:%02d:00", 1 + i % 28, i % 60)));
+				terms.add(ConstantTerm.getInstance("dd.MM.yyyy HH:mm:ss"));
+				break;
+			case "stdlib_datetime_is_before":
+				addDatetime(terms, i);
+				addDatetime(terms, NUM_ARGUMENT_TUPLES - i);
+				break;
+			case "stdlib_datetime_to_string":
+				addDatetime(terms, i);
+				terms.add(ConstantTerm.getInstance("dd.MM.yyyy HH:mm:ss"));
+				break;
+			case "stdlib_string_matches_regex":
+				terms.add(ConstantTerm.getInstance("item_" + i));
+				terms.add(ConstantTerm.getInstance("item_[0-9]*[02468]"));
+				break;
+			case "stdlib_string_concat":
+				terms.add(ConstantTerm.getInstance("prefix_"));
+				terms.add(ConstantTerm.getInstance("suffix_" + i));
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown external: " + external);
+		}
+		return terms;
+	}
+
+	private static void addDatetime(List<Term> terms, int i) {
+		terms.add(ConstantTerm.getInstance(2020));
+		terms.add(ConstantTerm.getInstance(1));
+		terms.add(ConstantTerm.getInstance(1 + i % 28));
+		terms.add(ConstantTerm.getInstance(12));
+		terms.add(ConstantTerm.getInstance(i % 60));
+		terms.add(ConstantTerm.getInstance(0));
+	}
+
+	private List<Term> nextArguments() {
+		next = (next + 1) % NUM_ARGUMENT_TUPLES;
+		return argumentTuples.get(next);
+	}
+
+	@Benchmark
+	public Object reflective() throws Exception {
+		List<Term> terms = nextArguments();
+		Object[] arguments = new Object[terms.size()];
+		for (int i = 0; i < arguments.length; i++) {
+			arguments[i] = ((ConstantTerm<?>) terms.get(i)).getObject();
+		}
+		return method.invoke(null, arguments);
+	}
+
+	@Benchmark
+	public Set<List<ConstantTerm<?>>> methodHandle() {
+		return compiled.evaluate(nextArguments());
+	}
+
+	@Benchmark
+	public Set<List<ConstantTerm<?>>> memoized() {
+		return memoized.evaluate(nextArguments());
+	}
+}
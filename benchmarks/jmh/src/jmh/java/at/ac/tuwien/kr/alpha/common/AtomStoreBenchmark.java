@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.common;
+
+import at.ac.tuwien.kr.alpha.common.atoms.Atom;
+import at.ac.tuwien.kr.alpha.common.atoms.BasicAtom;
+import at.ac.tuwien.kr.alpha.common.terms.ConstantTerm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link AtomStoreImpl} with the {@link CompactAtomStore} on the operations the grounder and the solver
+ * perform on an atom store: registering new ground atoms, looking up atoms that are registered already (with freshly
+ * built but equal atom objects, as the grounder does), and translating atom ids back into atoms.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AtomStoreBenchmark {
+
+	private static final Predicate EDGE = Predicate.getInstance("edge", 2);
+	private static final Predicate COLOR = Predicate.getInstance("color", 2);
+	private static final ConstantTerm<?>[] COLORS = {
+		ConstantTerm.getSymbolicInstance("red"),
+		ConstantTerm.getSymbolicInstance("green"),
+		ConstantTerm.getSymbolicInstance("blue")
+	};
+
+	@Param({"default", "compact"})
+	private String atomStore;
+
+	@Param({"100000"})
+	private int numAtoms;
+
+	private AtomStore filledStore;
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		filledStore = AtomStoreFactory.getInstance(atomStore);
+		for (int i = 0; i < numAtoms; i++) {
+			filledStore.putIfAbsent(atom(i));
+		}
+	}
+
+	/**
+	 * @return a fresh atom object for the given index; equal indices yield equal atoms.
+	 */
+	private static Atom atom(int i) {
+		if (i % 2 == 0) {
+			return new BasicAtom(EDGE, ConstantTerm.getInstance(i / 2), ConstantTerm.getInstance(i % 1000));
+		}
+		return new BasicAtom(COLOR, ConstantTerm.getInstance(i / 2), COLORS[i % COLORS.length]);
+	}
+
+	@Benchmark
+	public AtomStore fill() {
+		AtomStore store = AtomStoreFactory.getInstance(atomStore);
+		for (int i = 0; i < numAtoms; i++) {
+			store.putIfAbsent(atom(i));
+		}
+		return store;
+	}
+
+	@Benchmark
+	public void lookUpAtoms(Blackhole blackhole) {
+		for (int i = 0; i < numAtoms; i++) {
+			blackhole.consume(filledStore.putIfAbsent(atom(i)));
+		}
+	}
+
+	@Benchmark
+	public void getAtomsById(Blackhole blackhole) {
+		for (int id = 1; id <= filledStore.getMaxAtomId(); id++) {
+			blackhole.consume(filledStore.get(id));
+		}
+	}
+}
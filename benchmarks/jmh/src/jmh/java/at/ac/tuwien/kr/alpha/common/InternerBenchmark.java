@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.common;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.ref.WeakReference;
+import java.util.Random;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of interning from several threads, as done by the solvers of a portfolio. Compares the
+ * formerly used interner, which synchronizes on a {@link WeakHashMap}, with the concurrent {@link Interner}. Most
+ * values interned are equal to values interned before (like the constants produced while grounding), some are new.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class InternerBenchmark {
+
+	@Param({"1000", "100000"})
+	private int numValues;
+
+	private String[] canonicalValues;
+	private SynchronizedWeakHashMapInterner<String> synchronizedInterner;
+	private Interner<String> concurrentInterner;
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		canonicalValues = new String[numValues];
+		synchronizedInterner = new SynchronizedWeakHashMapInterner<>();
+		concurrentInterner = new Interner<>();
+		for (int i = 0; i < numValues; i++) {
+			// Keep canonical instances reachable, as the grounder keeps its terms reachable.
+			canonicalValues[i] = "c" + i;
+			synchronizedInterner.intern(canonicalValues[i]);
+			concurrentInterner.intern(canonicalValues[i]);
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class Values {
+		private static final int NEW_VALUE_EVERY = 16;
+
+		private final Random random = new Random(42);
+		private int counter;
+
+		/**
+		 * @return a fresh (non-canonical) string equal to a canonical value, or every so often a string never seen before.
+		 */
+		String next(int numValues) {
+			if (++counter % NEW_VALUE_EVERY == 0) {
+				return "n" + Thread.currentThread().getId() + "_" + counter;
+			}
+			return new String("c" + random.nextInt(numValues));
+		}
+	}
+
+	@Benchmark
+	public String synchronizedWeakHashMap(Values values) {
+		return synchronizedInterner.intern(values.next(numValues));
+	}
+
+	@Benchmark
+	public String concurrent(Values values) {
+		return concurrentInterner.intern(values.next(numValues));
+	}
+
+	/**
+	 * The interner formerly used by Alpha.
+	 */
+	private static class SynchronizedWeakHashMapInterner<T> {
+		private final WeakHashMap<T, WeakReference<T>> pool = new WeakHashMap<>();
+
+		synchronized T intern(T object) {
+			T res;
+			do {
+				WeakReference<T> ref = pool.get(object);
+				if (ref == null) {
+					ref = new WeakReference<>(object);
+					pool.put(object, ref);
+					res = object;
+				} else {
+					res = ref.get();
+				}
+			} while (res == null);
+			return res;
+		}
+	}
+}
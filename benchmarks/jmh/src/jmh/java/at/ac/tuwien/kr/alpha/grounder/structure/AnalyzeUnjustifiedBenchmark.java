@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.grounder.structure;
+
+import at.ac.tuwien.kr.alpha.api.Alpha;
+import at.ac.tuwien.kr.alpha.common.AtomStore;
+import at.ac.tuwien.kr.alpha.common.AtomStoreImpl;
+import at.ac.tuwien.kr.alpha.common.atoms.Atom;
+import at.ac.tuwien.kr.alpha.common.atoms.Literal;
+import at.ac.tuwien.kr.alpha.common.program.InternalProgram;
+import at.ac.tuwien.kr.alpha.grounder.NaiveGrounder;
+import at.ac.tuwien.kr.alpha.solver.ThriceTruth;
+import at.ac.tuwien.kr.alpha.solver.TrailAssignment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the justification of an unjustified atom as done by the solver when MBT atoms remain after closing the
+ * assignment. The atom to justify depends on a chain of reachability atoms, all of which are unjustified. In addition
+ * to the atoms relevant for the justification, the assignment contains many unrelated atoms, which formerly were
+ * scanned on every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnalyzeUnjustifiedBenchmark {
+
+	@Param({"20", "100"})
+	private int chainLength;
+
+	@Param({"0", "10000", "100000"})
+	private int unrelatedAtoms;
+
+	private NaiveGrounder grounder;
+	private TrailAssignment assignment;
+	private int atomToJustify;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		String program = "n(1.." + chainLength + ")." +
+			"s(X,Y) :- n(X), n(Y), Y = X + 1." +
+			"{ q(X) } :- n(X)." +
+			"p(X) :- q(X)." +
+			"p(X) :- p(Y), s(Y,X)." +
+			":- not p(" + chainLength + ")." +
+			"d(1.." + Math.max(1, unrelatedAtoms / 2) + ")." +
+			"{ o(X) } :- d(X).";
+		Alpha system = new Alpha();
+		InternalProgram internalProgram = InternalProgram.fromNormalProgram(system.normalizeProgram(system.readProgramString(program)));
+		AtomStore atomStore = new AtomStoreImpl();
+		grounder = new NaiveGrounder(internalProgram, atomStore, false);
+		grounder.getNoGoods(null);
+		assignment = new TrailAssignment(atomStore);
+		assignment.growForMaxAtomId();
+		// Choose all q and o to be false, i.e., all p remain unjustified.
+		for (int atomId = 1; atomId <= atomStore.getMaxAtomId(); atomId++) {
+			String predicateName = atomStore.get(atomId).getPredicate().getName();
+			if ("q".equals(predicateName) || "o".equals(predicateName)) {
+				assignment.assign(atomId, ThriceTruth.FALSE);
+			} else if ("_nq".equals(predicateName) || "_no".equals(predicateName)) {
+				assignment.assign(atomId, ThriceTruth.TRUE);
+			}
+		}
+		Atom toJustify = system.readProgramString("p(" + chainLength + ").").getFacts().get(0);
+		atomToJustify = atomStore.get(toJustify);
+	}
+
+	@Benchmark
+	public Set<Literal> justify() {
+		return grounder.justifyAtom(atomToJustify, assignment);
+	}
+}
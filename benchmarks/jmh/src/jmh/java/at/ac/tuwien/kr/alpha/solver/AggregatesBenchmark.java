@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.solver;
+
+import at.ac.tuwien.kr.alpha.api.Alpha;
+import at.ac.tuwien.kr.alpha.common.program.InputProgram;
+import at.ac.tuwien.kr.alpha.config.SystemConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares aggregates rewritten into normal rules with aggregates propagated natively as weight constraints. Items of
+ * different sizes must be distributed into boxes such that every box is filled at least up to a minimum, which is
+ * expressed by one #sum and one #count aggregate per box.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AggregatesBenchmark {
+
+	@Param({"10", "20"})
+	private int boxes;
+
+	@Param({"false", "true"})
+	private boolean nativeAggregates;
+
+	private Alpha system;
+	private InputProgram program;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		int items = boxes * 4;
+		String programString = "box(1.." + boxes + ")." +
+			"item(1.." + items + ")." +
+			"size(I,S) :- item(I), S = I \\ 7 + 1." +
+			"{ in(I,B) } :- item(I), box(B)." +
+			":- in(I,B1), in(I,B2), B1 < B2." +
+			"filled(B) :- box(B), 10 <= #sum { S,I : in(I,B), size(I,S) }." +
+			"used(B) :- box(B), 2 <= #count { I : in(I,B) }." +
+			":- box(B), not filled(B)." +
+			":- box(B), not used(B).";
+		SystemConfig config = new SystemConfig();
+		config.setNativeAggregates(nativeAggregates);
+		system = new Alpha(config);
+		program = system.readProgramString(programString);
+	}
+
+	@Benchmark
+	public long solveFirstAnswerSet() {
+		return system.solve(program).limit(1).count();
+	}
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.solver;
+
+import at.ac.tuwien.kr.alpha.BenchmarkInstance;
+import at.ac.tuwien.kr.alpha.api.Alpha;
+import at.ac.tuwien.kr.alpha.common.AtomStore;
+import at.ac.tuwien.kr.alpha.common.AtomStoreFactory;
+import at.ac.tuwien.kr.alpha.common.NoGood;
+import at.ac.tuwien.kr.alpha.common.program.InternalProgram;
+import at.ac.tuwien.kr.alpha.config.SystemConfig;
+import at.ac.tuwien.kr.alpha.grounder.Grounder;
+import at.ac.tuwien.kr.alpha.grounder.GrounderFactory;
+import at.ac.tuwien.kr.alpha.grounder.parser.ProgramParser;
+import at.ac.tuwien.kr.alpha.solver.heuristics.BranchingHeuristic;
+import at.ac.tuwien.kr.alpha.solver.heuristics.BranchingHeuristicFactory;
+import at.ac.tuwien.kr.alpha.solver.heuristics.ChainedBranchingHeuristics;
+import at.ac.tuwien.kr.alpha.solver.heuristics.HeuristicsConfiguration;
+import at.ac.tuwien.kr.alpha.solver.heuristics.NaiveHeuristic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static at.ac.tuwien.kr.alpha.common.Literals.atomToLiteral;
+import static at.ac.tuwien.kr.alpha.solver.heuristics.BranchingHeuristic.DEFAULT_CHOICE_LITERAL;
+
+/**
+ * Measures single search steps of the solver on the state reached after grounding and propagating a program instance
+ * on decision level zero: propagating a decision by {@link NoGoodStoreAlphaRoaming#propagate()}, and choosing a
+ * literal by a {@link BranchingHeuristic} and propagating it. Each step is undone afterwards by backjumping to
+ * decision level zero, hence the difference between both benchmarks is the time spent by the heuristic. Only
+ * instances of the corpus that require choices are used.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchBenchmark {
+
+	@Param({
+		"omiga/omiga-testcases/3col/3col-20-38.txt",
+		"omiga/omiga-testcases/cutedge/cutedge-100-30.txt",
+		"siemens/racks/racks.lp"
+	})
+	private String instance;
+
+	@Param({"VSIDS", "BERKMIN", "GDD_VSIDS"})
+	private BranchingHeuristicFactory.Heuristic heuristic;
+
+	private TrailAssignment assignment;
+	private NoGoodStoreAlphaRoaming store;
+	private ChoiceManager choiceManager;
+	private BranchingHeuristic branchingHeuristic;
+	private int[] choiceAtoms;
+	private int nextChoiceAtom;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		String programText = BenchmarkInstance.readProgramText(instance);
+		InternalProgram program = InternalProgram.fromNormalProgram(new Alpha().normalizeProgram(new ProgramParser().parse(programText)));
+		AtomStore atomStore = AtomStoreFactory.getInstance(SystemConfig.DEFAULT_ATOM_STORE_NAME);
+		Grounder grounder = GrounderFactory.getInstance(SystemConfig.DEFAULT_GROUNDER_NAME, program, atomStore, false);
+		assignment = new TrailAssignment(atomStore);
+		store = new NoGoodStoreAlphaRoaming(assignment);
+		choiceManager = new ChoiceManager(assignment, store);
+		HeuristicsConfiguration heuristicsConfiguration = HeuristicsConfiguration.builder().setHeuristic(heuristic).build();
+		// Like the solver, fall back to the naive heuristic when the configured one makes no choice.
+		branchingHeuristic = ChainedBranchingHeuristics.chainOf(
+				BranchingHeuristicFactory.getInstance(heuristicsConfiguration, grounder, assignment, choiceManager, new Random(0)),
+				new NaiveHeuristic(choiceManager));
+
+		// Ground and propagate on decision level zero until a fixpoint is reached, as the solver does before its first choice.
+		Map<Integer, NoGood> obtained = grounder.getNoGoods(assignment);
+		while (!obtained.isEmpty()) {
+			int maxAtomId = atomStore.getMaxAtomId();
+			assignment.growForMaxAtomId();
+			store.growForMaxAtomId(maxAtomId);
+			choiceManager.growForMaxAtomId(maxAtomId);
+			branchingHeuristic.growForMaxAtomId(maxAtomId);
+			branchingHeuristic.newNoGoods(obtained.values());
+			for (Map.Entry<Integer, NoGood> entry : obtained.entrySet()) {
+				if (store.add(entry.getKey(), entry.getValue()) != null) {
+					throw new IllegalStateException("Benchmark instance is unsatisfiable.");
+				}
+			}
+			if (store.propagate() != null) {
+				throw new IllegalStateException("Benchmark instance is unsatisfiable.");
+			}
+			grounder.updateAssignment(assignment.getNewPositiveAssignmentsIterator());
+			obtained = grounder.getNoGoods(assignment);
+		}
+		choiceManager.addChoiceInformation(grounder.getChoiceAtoms(), grounder.getHeadsToBodies());
+		choiceManager.updateAssignments();
+
+		choiceAtoms = new int[atomStore.getMaxAtomId() + 1];
+		int numChoiceAtoms = 0;
+		for (int atom = 1; atom <= atomStore.getMaxAtomId(); atom++) {
+			if (choiceManager.isActiveChoiceAtom(atom) && !assignment.isAssigned(atom)) {
+				choiceAtoms[numChoiceAtoms++] = atom;
+			}
+		}
+		if (numChoiceAtoms == 0) {
+			throw new IllegalStateException("Benchmark instance requires no choices.");
+		}
+		choiceAtoms = Arrays.copyOf(choiceAtoms, numChoiceAtoms);
+	}
+
+	@Benchmark
+	public ConflictCause propagateDecision() {
+		nextChoiceAtom = (nextChoiceAtom + 1) % choiceAtoms.length;
+		return decideAndPropagate(atomToLiteral(choiceAtoms[nextChoiceAtom]));
+	}
+
+	@Benchmark
+	public ConflictCause chooseAndPropagate() {
+		choiceManager.updateAssignments();
+		int literal = branchingHeuristic.chooseLiteral();
+		if (literal == DEFAULT_CHOICE_LITERAL) {
+			throw new IllegalStateException("No choice left for heuristic " + heuristic + ".");
+		}
+		return decideAndPropagate(literal);
+	}
+
+	private ConflictCause decideAndPropagate(int literal) {
+		choiceManager.choose(new Choice(literal, false));
+		ConflictCause conflictCause = store.propagate();
+		choiceManager.backjump(0);
+		return conflictCause;
+	}
+}
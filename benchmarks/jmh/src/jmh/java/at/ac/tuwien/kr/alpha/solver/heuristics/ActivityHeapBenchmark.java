@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.solver.heuristics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of one choice of an activity-based heuristic, i.e., bumping the activities of the atoms of a
+ * learnt nogood and then taking the most active atom from the heap. Compares the {@link PriorityQueue} of boxed atoms
+ * formerly used by {@link HeapOfActiveAtoms}, where bumped atoms are inserted again, with {@link IndexedIntMaxHeap}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ActivityHeapBenchmark {
+
+	@Param({"1000", "100000"})
+	private int numAtoms;
+
+	@Param({"10"})
+	private int atomsPerConflict;
+
+	private double[] activityScores;
+	private int[] bumpedAtoms;
+	private int nextBump;
+
+	private PriorityQueue<Integer> priorityQueue;
+	private IndexedIntMaxHeap indexedHeap;
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		Random random = new Random(42);
+		activityScores = new double[numAtoms + 1];
+		priorityQueue = new PriorityQueue<>((a1, a2) -> Double.compare(activityScores[a2], activityScores[a1]));
+		indexedHeap = new IndexedIntMaxHeap(atom -> activityScores[atom]);
+		for (int atom = 1; atom <= numAtoms; atom++) {
+			activityScores[atom] = random.nextDouble();
+			priorityQueue.add(atom);
+			indexedHeap.insert(atom);
+		}
+		// Conflicts mostly involve a small set of recently active atoms.
+		bumpedAtoms = new int[1 << 16];
+		int hotAtoms = Math.max(1, numAtoms / 20);
+		for (int i = 0; i < bumpedAtoms.length; i++) {
+			bumpedAtoms[i] = 1 + random.nextInt(hotAtoms);
+		}
+		nextBump = 0;
+	}
+
+	private int nextBumpedAtom() {
+		int atom = bumpedAtoms[nextBump];
+		nextBump = (nextBump + 1) & (bumpedAtoms.length - 1);
+		return atom;
+	}
+
+	@Benchmark
+	public int priorityQueueChoice() {
+		for (int i = 0; i < atomsPerConflict; i++) {
+			int atom = nextBumpedAtom();
+			activityScores[atom] += 1.0;
+			priorityQueue.add(atom);
+		}
+		Integer mostActiveAtom = priorityQueue.poll();
+		// The chosen atom becomes active again after backtracking.
+		priorityQueue.add(mostActiveAtom);
+		return mostActiveAtom;
+	}
+
+	@Benchmark
+	public int indexedHeapChoice() {
+		for (int i = 0; i < atomsPerConflict; i++) {
+			int atom = nextBumpedAtom();
+			activityScores[atom] += 1.0;
+			indexedHeap.insert(atom);
+		}
+		int mostActiveAtom = indexedHeap.removeMax();
+		// The chosen atom becomes active again after backtracking.
+		indexedHeap.insert(mostActiveAtom);
+		return mostActiveAtom;
+	}
+}
@@ -28,13 +28,15 @@
 package at.ac.tuwien.kr.alpha;
 
 import at.ac.tuwien.kr.alpha.api.Alpha;
+import at.ac.tuwien.kr.alpha.api.output.AnswerSetWriter;
+import at.ac.tuwien.kr.alpha.api.output.AnswerSetWriterFactory;
 import at.ac.tuwien.kr.alpha.common.AnswerSet;
-import at.ac.tuwien.kr.alpha.common.AnswerSetFormatter;
-import at.ac.tuwien.kr.alpha.common.SimpleAnswerSetFormatter;
 import at.ac.tuwien.kr.alpha.common.depgraph.ComponentGraph;
 import at.ac.tuwien.kr.alpha.common.depgraph.DependencyGraph;
 import at.ac.tuwien.kr.alpha.common.graphio.ComponentGraphWriter;
 import at.ac.tuwien.kr.alpha.common.graphio.DependencyGraphWriter;
+import at.ac.tuwien.kr.alpha.common.metrics.GroundingProfiler;
+import at.ac.tuwien.kr.alpha.common.metrics.MetricsRegistry;
 import at.ac.tuwien.kr.alpha.common.program.AnalyzedProgram;
 import at.ac.tuwien.kr.alpha.common.program.InputProgram;
 import at.ac.tuwien.kr.alpha.common.program.InternalProgram;
@@ -53,10 +55,13 @@
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.PrintStream;
-import java.nio.file.Paths;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.BiConsumer;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -172,7 +177,14 @@ private static void writeInternalProgram(InternalProgram prg, String path) {
 	}
 
 	private static void computeAndConsumeAnswerSets(Alpha alpha, InputConfig inputCfg, InternalProgram program) {
-		Solver solver = alpha.prepareSolverFor(program, inputCfg.getFilter());
+		MetricsRegistry metrics = new MetricsRegistry();
+		if (alpha.getConfig().isGroundingProfile()) {
+			metrics.enableGroundingProfiling();
+		}
+		if (alpha.getConfig().isPublishMetrics()) {
+			LOGGER.info("Publishing solving metrics as MBean {}.", metrics.publish());
+		}
+		Solver solver = alpha.prepareSolverFor(program, inputCfg.getFilter(), metrics);
 		Stream<AnswerSet> stream = solver.stream();
 		if (alpha.getConfig().isSortAnswerSets()) {
 			stream = stream.sorted();
@@ -184,33 +196,31 @@ private static void computeAndConsumeAnswerSets(Alpha alpha, InputConfig inputCf
 		}
 
 		if (!alpha.getConfig().isQuiet()) {
-			AtomicInteger counter = new AtomicInteger(0);
-			final BiConsumer<Integer, AnswerSet> answerSetHandler;
-			final AnswerSetFormatter<String> fmt = new SimpleAnswerSetFormatter(alpha.getConfig().getAtomSeparator());
-			BiConsumer<Integer, AnswerSet> stdoutPrinter = (n, as) -> {
-				System.out.println("Answer set " + Integer.toString(n) + ":" + System.lineSeparator() + fmt.format(as));
-			};
-			if (inputCfg.isWriteAnswerSetsAsXlsx()) {
-				BiConsumer<Integer, AnswerSet> xlsxWriter = new AnswerSetToXlsxWriter(inputCfg.getAnswerSetFileOutputPath());
-				answerSetHandler = stdoutPrinter.andThen(xlsxWriter);
-			} else {
-				answerSetHandler = stdoutPrinter;
+			List<AnswerSetWriter> writers = new ArrayList<>();
+			writers.add(AnswerSetWriterFactory.getInstance(inputCfg.getAnswerSetFormat(), System.out, alpha.getConfig().getAtomSeparator(),
+					inputCfg.getAnswerSetFileOutputPath()));
+			if (inputCfg.isWriteAnswerSetsAsXlsx() && inputCfg.getAnswerSetFormat() != AnswerSetWriterFactory.Format.XLSX) {
+				writers.add(AnswerSetWriterFactory.getInstance(AnswerSetWriterFactory.Format.XLSX, System.out, alpha.getConfig().getAtomSeparator(),
+						inputCfg.getAnswerSetFileOutputPath()));
 			}
-			stream.forEach(as -> {
-				int cnt = counter.incrementAndGet();
-				answerSetHandler.accept(cnt, as);
-			});
-			if (counter.get() == 0) {
-				System.out.println("UNSATISFIABLE");
-				if (inputCfg.isWriteAnswerSetsAsXlsx()) {
-					try {
-						AnswerSetToXlsxWriter.writeUnsatInfo(Paths.get(inputCfg.getAnswerSetFileOutputPath() + ".UNSAT.xlsx"));
-					} catch (IOException ex) {
-						System.err.println("Failed writing unsat file!");
+			try {
+				int counter = 0;
+				for (Iterator<AnswerSet> iterator = stream.iterator(); iterator.hasNext();) {
+					AnswerSet as = iterator.next();
+					counter++;
+					for (AnswerSetWriter writer : writers) {
+						writer.write(counter, as);
+						// Deliver each answer set as soon as it is found, it must not get lost if the run is killed later on.
+						writer.flush();
 					}
 				}
-			} else {
-				System.out.println("SATISFIABLE");
+				for (AnswerSetWriter writer : writers) {
+					writer.writeResult(counter > 0);
+				}
+			} catch (IOException ex) {
+				Main.bailOut("Failed writing answer sets: " + ex.getMessage());
+			} finally {
+				flushAll(writers);
 			}
 		} else {
 			// Note: Even though we are not consuming the result, we will still compute
@@ -220,6 +230,37 @@ private static void computeAndConsumeAnswerSets(Alpha alpha, InputConfig inputCf
 		if (alpha.getConfig().isPrintStats()) {
 			((SolverMaintainingStatistics) solver).printStatistics();
 		}
+		if (alpha.getConfig().isGroundingProfile()) {
+			GroundingProfiler.printReport(metrics.getGroundingProfile(), System.out);
+		}
+		if (alpha.getConfig().getMetricsReportPath() != null) {
+			writeMetricsReport(metrics, alpha.getConfig().getMetricsReportPath());
+		}
+		metrics.unpublish();
+	}
+
+	private static void flushAll(List<AnswerSetWriter> writers) {
+		for (AnswerSetWriter writer : writers) {
+			try {
+				writer.flush();
+			} catch (IOException ex) {
+				LOGGER.error("Failed flushing answer sets: {}", ex.getMessage());
+			}
+		}
+	}
+
+	private static void writeMetricsReport(MetricsRegistry metrics, String path) {
+		try {
+			if ("-".equals(path)) {
+				metrics.writeJson(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+			} else {
+				try (Writer writer = new OutputStreamWriter(new FileOutputStream(path), StandardCharsets.UTF_8)) {
+					metrics.writeJson(writer);
+				}
+			}
+		} catch (IOException ex) {
+			Main.bailOut("Failed writing metrics report: " + ex.getMessage());
+		}
 	}
 
 	private static void exitWithMessage(String msg, int exitCode) {
@@ -30,9 +30,10 @@
 import at.ac.tuwien.kr.alpha.Util;
 import at.ac.tuwien.kr.alpha.common.AnswerSet;
 import at.ac.tuwien.kr.alpha.common.AtomStore;
-import at.ac.tuwien.kr.alpha.common.AtomStoreImpl;
+import at.ac.tuwien.kr.alpha.common.AtomStoreFactory;
 import at.ac.tuwien.kr.alpha.common.Predicate;
 import at.ac.tuwien.kr.alpha.common.fixedinterpretations.PredicateInterpretation;
+import at.ac.tuwien.kr.alpha.common.metrics.MetricsRegistry;
 import at.ac.tuwien.kr.alpha.common.program.AnalyzedProgram;
 import at.ac.tuwien.kr.alpha.common.program.InputProgram;
 import at.ac.tuwien.kr.alpha.common.program.InternalProgram;
@@ -42,6 +43,7 @@
 import at.ac.tuwien.kr.alpha.grounder.Grounder;
 import at.ac.tuwien.kr.alpha.grounder.GrounderFactory;
 import at.ac.tuwien.kr.alpha.grounder.heuristics.GrounderHeuristicsConfiguration;
+import at.ac.tuwien.kr.alpha.grounder.parser.FactFileLoader;
 import at.ac.tuwien.kr.alpha.grounder.parser.ProgramParser;
 import at.ac.tuwien.kr.alpha.grounder.transformation.NormalizeProgramTransformation;
 import at.ac.tuwien.kr.alpha.grounder.transformation.StratifiedEvaluation;
@@ -58,8 +60,14 @@
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -77,17 +85,17 @@ public Alpha() {
 	}
 
 	public InputProgram readProgram(InputConfig cfg) throws IOException {
-		InputProgram.Builder prgBuilder = InputProgram.builder();
-		InputProgram tmpProg;
-		if (!cfg.getFiles().isEmpty()) {
-			tmpProg = readProgramFiles(cfg.isLiterate(), cfg.getPredicateMethods(), cfg.getFiles());
-			prgBuilder.accumulate(tmpProg);
+		Map<String, PredicateInterpretation> externals = cfg.getPredicateMethods();
+		List<Callable<InputProgram>> parseTasks = new ArrayList<>();
+		for (String file : cfg.getFiles()) {
+			Path path = Paths.get(file);
+			parseTasks.add(() -> readProgramFile(cfg.isLiterate(), externals, path));
 		}
 		if (!cfg.getAspStrings().isEmpty()) {
-			tmpProg = readProgramString(StringUtils.join(cfg.getAspStrings(), System.lineSeparator()), cfg.getPredicateMethods());
-			prgBuilder.accumulate(tmpProg);
+			String aspString = StringUtils.join(cfg.getAspStrings(), System.lineSeparator());
+			parseTasks.add(() -> readProgramString(aspString, externals));
 		}
-		return prgBuilder.build();
+		return parseAndAccumulate(parseTasks);
 	}
 
 	public InputProgram readProgramFiles(boolean literate, Map<String, PredicateInterpretation> externals, List<String> paths) throws IOException {
@@ -95,22 +103,91 @@ public InputProgram readProgramFiles(boolean literate, Map<String, PredicateInte
 	}
 
 	public InputProgram readProgramFiles(boolean literate, Map<String, PredicateInterpretation> externals, Path... paths) throws IOException {
+		List<Callable<InputProgram>> parseTasks = new ArrayList<>();
+		for (Path path : paths) {
+			parseTasks.add(() -> readProgramFile(literate, externals, path));
+		}
+		return parseAndAccumulate(parseTasks);
+	}
+
+	private InputProgram readProgramFile(boolean literate, Map<String, PredicateInterpretation> externals, Path path) throws IOException {
 		ProgramParser parser = new ProgramParser(externals);
+		if (literate) {
+			CharStream stream = CharStreams.fromChannel(Util.streamToChannel(Util.literate(Files.lines(path))), 4096, CodingErrorAction.REPLACE, path.toString());
+			return parser.parse(stream);
+		} else if (config.isFastFactLoading()) {
+			// Files of ground facts are loaded without building a parse tree for the facts, see FactFileLoader.
+			return new FactFileLoader(parser).load(path);
+		} else {
+			return parser.parse(CharStreams.fromPath(path));
+		}
+	}
+
+	/**
+	 * Runs the given parse tasks, each parsing one independent input, and accumulates their results in the order of the
+	 * tasks, i.e., the resulting program (including its inline directives) is the same as if the inputs were parsed one
+	 * after another. If there is more than one task, the tasks are run concurrently on a pool of at most as many threads
+	 * as there are available processors.
+	 */
+	private static InputProgram parseAndAccumulate(List<Callable<InputProgram>> parseTasks) throws IOException {
 		InputProgram.Builder prgBuilder = InputProgram.builder();
-		InputProgram tmpProg;
-		for (Path path : paths) {
-			CharStream stream;
-			if (!literate) {
-				stream = CharStreams.fromPath(path);
-			} else {
-				stream = CharStreams.fromChannel(Util.streamToChannel(Util.literate(Files.lines(path))), 4096, CodingErrorAction.REPLACE, path.toString());
+		if (parseTasks.size() <= 1) {
+			for (Callable<InputProgram> parseTask : parseTasks) {
+				prgBuilder.accumulate(runParseTask(parseTask));
 			}
-			tmpProg = parser.parse(stream);
-			prgBuilder.accumulate(tmpProg);
+			return prgBuilder.build();
+		}
+		int threads = Math.min(parseTasks.size(), Runtime.getRuntime().availableProcessors());
+		ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "alpha-parser");
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			List<Future<InputProgram>> results = new ArrayList<>();
+			for (Callable<InputProgram> parseTask : parseTasks) {
+				results.add(executor.submit(parseTask));
+			}
+			for (Future<InputProgram> result : results) {
+				prgBuilder.accumulate(result.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Interrupted while parsing input programs.", e);
+		} catch (ExecutionException e) {
+			throw parseFailure(e.getCause());
+		} finally {
+			// Stop parsing remaining inputs if one of them failed.
+			executor.shutdownNow();
 		}
 		return prgBuilder.build();
 	}
 
+	private static InputProgram runParseTask(Callable<InputProgram> parseTask) throws IOException {
+		try {
+			return parseTask.call();
+		} catch (Exception e) {
+			throw parseFailure(e);
+		}
+	}
+
+	/**
+	 * Rethrows I/O failures and errors of a parse task as they are, such that callers see the same exceptions as for
+	 * sequential parsing, and returns all other failures as unchecked exception.
+	 */
+	private static RuntimeException parseFailure(Throwable cause) throws IOException {
+		if (cause instanceof IOException) {
+			throw (IOException) cause;
+		}
+		if (cause instanceof Error) {
+			throw (Error) cause;
+		}
+		if (cause instanceof RuntimeException) {
+			return (RuntimeException) cause;
+		}
+		return new RuntimeException(cause);
+	}
+
 	public InputProgram readProgramString(String aspString, Map<String, PredicateInterpretation> externals) {
 		ProgramParser parser = new ProgramParser(externals);
 		return parser.parse(aspString);
@@ -121,14 +198,14 @@ public InputProgram readProgramString(String aspString) {
 	}
 
 	public NormalProgram normalizeProgram(InputProgram program) {
-		return new NormalizeProgramTransformation(config.isUseNormalizationGrid()).apply(program);
+		return new NormalizeProgramTransformation(config.isUseNormalizationGrid(), config.isNativeAggregates()).apply(program);
 	}
 
 	public InternalProgram performProgramPreprocessing(InternalProgram program) {
 		LOGGER.debug("Preprocessing InternalProgram!");
 		InternalProgram retVal = program;
 		if (config.isEvaluateStratifiedPart()) {
-			AnalyzedProgram analyzed = new AnalyzedProgram(program.getRules(), program.getFacts());
+			AnalyzedProgram analyzed = new AnalyzedProgram(program.getRules(), program.getFacts(), program.getGroundingContext());
 			retVal = new StratifiedEvaluation().apply(analyzed);
 		}
 		return retVal;
@@ -194,7 +271,8 @@ public Stream<AnswerSet> solve(InternalProgram program, java.util.function.Predi
 
 	/**
 	 * Prepares a solver (and accompanying grounder) instance pre-loaded with the given program. Use this if the
-	 * solver is needed after reading answer sets (e.g. for obtaining statistics).
+	 * solver is needed after reading answer sets (e.g. for obtaining statistics). If the configuration asks for more than
+	 * one thread, a {@link at.ac.tuwien.kr.alpha.solver.PortfolioSolver} is prepared, whose solvers each use their own grounder.
 	 * 
 	 * @param program the program to solve.
 	 * @param filter  a (java util) predicate that filters (asp-)predicates which should be contained in the answer
@@ -202,6 +280,20 @@ public Stream<AnswerSet> solve(InternalProgram program, java.util.function.Predi
 	 * @return a solver (and accompanying grounder) instance pre-loaded with the given program.
 	 */
 	public Solver prepareSolverFor(InternalProgram program, java.util.function.Predicate<Predicate> filter) {
+		return prepareSolverFor(program, filter, new MetricsRegistry());
+	}
+
+	/**
+	 * Prepares a solver like {@link #prepareSolverFor(InternalProgram, java.util.function.Predicate)}, which reports its
+	 * metrics to the given registry while solving.
+	 *
+	 * @param program the program to solve.
+	 * @param filter  a (java util) predicate that filters (asp-)predicates which should be contained in the answer
+	 *                set stream from the solver.
+	 * @param metrics the registry to report metrics to, see {@link MetricsRegistry#publish()} for watching them live.
+	 * @return a solver (and accompanying grounder) instance pre-loaded with the given program.
+	 */
+	public Solver prepareSolverFor(InternalProgram program, java.util.function.Predicate<Predicate> filter, MetricsRegistry metrics) {
 		String grounderName = config.getGrounderName();
 		boolean doDebugChecks = config.isDebugInternalChecks();
 
@@ -209,10 +301,15 @@ public Solver prepareSolverFor(InternalProgram program, java.util.function.Predi
 				.getInstance(config.getGrounderToleranceConstraints(), config.getGrounderToleranceRules());
 		grounderHeuristicConfiguration.setAccumulatorEnabled(config.isGrounderAccumulatorEnabled());
 
-		AtomStore atomStore = new AtomStoreImpl();
+		if (config.getThreads() > 1) {
+			return SolverFactory.getPortfolioInstance(config,
+					atomStore -> GrounderFactory.getInstance(grounderName, program, atomStore, filter, grounderHeuristicConfiguration, doDebugChecks), metrics);
+		}
+
+		AtomStore atomStore = AtomStoreFactory.getInstance(config.getAtomStoreName());
 		Grounder grounder = GrounderFactory.getInstance(grounderName, program, atomStore, filter, grounderHeuristicConfiguration, doDebugChecks);
 
-		return SolverFactory.getInstance(config, atomStore, grounder);
+		return SolverFactory.getInstance(config, atomStore, grounder, metrics);
 	}
 
 	public SystemConfig getConfig() {
@@ -97,12 +97,15 @@ private static Map<String, PredicateInterpretation> scanMethods(Iterable<Method>
 	}
 
 	public static PredicateInterpretation processPredicateMethod(Method method) {
+		Predicate annotation = method.getAnnotation(Predicate.class);
+		boolean memoize = annotation != null && annotation.pure();
+
 		if (method.getReturnType().equals(boolean.class)) {
-			return new MethodPredicateInterpretation(method);
+			return new MethodPredicateInterpretation(method, memoize);
 		}
 
 		if (method.getGenericReturnType().getTypeName().startsWith(PredicateInterpretation.EVALUATE_RETURN_TYPE_NAME_PREFIX)) {
-			return new BindingMethodPredicateInterpretation(method);
+			return new BindingMethodPredicateInterpretation(method, memoize);
 		}
 
 		throw new IllegalArgumentException("Passed method has unexpected return type. Should be either boolean or start with "
@@ -24,4 +24,14 @@
 	 * method will be used.
 	 */
 	String name() default "";
+
+	/**
+	 * Declares the annotated method to be pure, i.e., its result only
+	 * depends on its arguments and it has no side effects. Results of
+	 * pure methods are memoized in a bounded cache keyed on the ground
+	 * arguments, which pays off for expensive methods that are called
+	 * repeatedly with the same arguments. Results returned as sets are
+	 * shared between calls and must not be modified.
+	 */
+	boolean pure() default false;
 }
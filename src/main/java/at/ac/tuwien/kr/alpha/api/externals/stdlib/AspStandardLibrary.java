@@ -70,7 +70,7 @@ private AspStandardLibrary() {
 	 * @param format   a format string that is accepted by {@link DateTimeFormatter}
 	 * @return a 6-value integer tuple of format (YEAR, MONTH, DAY, HOUR, MIN, SEC)
 	 */
-	@Predicate(name = "stdlib_datetime_parse")
+	@Predicate(name = "stdlib_datetime_parse", pure = true)
 	public static Set<List<ConstantTerm<Integer>>> datetimeParse(String dtstr, String format) {
 		DateTimeFormatter formatter = DateTimeFormatter.ofPattern(format);
 		LocalDateTime datetime = LocalDateTime.parse(dtstr, formatter);
@@ -180,7 +180,7 @@ public static boolean datetimeIsBeforeOrEqual(int dt1Year, int dt1Month, int dt1
 	 * @return a string representing the given datetime in the format specified by
 	 *         the format string
 	 */
-	@Predicate(name = "stdlib_datetime_to_string")
+	@Predicate(name = "stdlib_datetime_to_string", pure = true)
 	public static Set<List<ConstantTerm<String>>> datetimeToString(int year, int month, int day, int hours, int minutes, int seconds, String format) {
 		LocalDateTime datetime = LocalDateTime.of(year, month, day, hours, minutes, seconds);
 		DateTimeFormatter formatter = DateTimeFormatter.ofPattern(format);
@@ -190,7 +190,7 @@ public static Set<List<ConstantTerm<String>>> datetimeToString(int year, int mon
 	/**
 	 * Checks whether the given string matches the given regex.
 	 */
-	@Predicate(name = "stdlib_string_matches_regex")
+	@Predicate(name = "stdlib_string_matches_regex", pure = true)
 	public static boolean stringMatchesRegex(String str, String regex) {
 		return str.matches(regex);
 	}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.api.output;
+
+import at.ac.tuwien.kr.alpha.common.atoms.Atom;
+import at.ac.tuwien.kr.alpha.common.terms.ConstantTerm;
+import at.ac.tuwien.kr.alpha.common.terms.FunctionTerm;
+import at.ac.tuwien.kr.alpha.common.terms.Term;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Base class of writers producing text, which write atoms and terms in ASP syntax directly into a buffered writer, i.e.,
+ * without creating their string representation first. Text is encoded in UTF-8.
+ *
+ * Copyright (c) 2020, the Alpha Team.
+ */
+public abstract class AbstractTextAnswerSetWriter implements AnswerSetWriter {
+	static final int BUFFER_SIZE = 1 << 16;
+
+	protected final Writer out;
+	private final char[] digits = new char[11];
+
+	protected AbstractTextAnswerSetWriter(OutputStream out) {
+		this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+	}
+
+	/**
+	 * Writes the given atom in ASP syntax, equal to {@link Atom#toString()} for atoms of answer sets.
+	 */
+	protected void writeAtom(Writer writer, Atom atom) throws IOException {
+		writer.write(atom.getPredicate().getName());
+		writeArguments(writer, atom.getTerms());
+	}
+
+	/**
+	 * Writes the given ground term in ASP syntax, equal to {@link Term#toString()}.
+	 */
+	protected void writeTerm(Writer writer, Term term) throws IOException {
+		if (term instanceof ConstantTerm) {
+			ConstantTerm<?> constantTerm = (ConstantTerm<?>) term;
+			Object object = constantTerm.getObject();
+			if (object instanceof Integer) {
+				writeInteger(writer, (Integer) object);
+			} else if (object instanceof String && !constantTerm.isSymbolic()) {
+				writer.write('"');
+				writer.write((String) object);
+				writer.write('"');
+			} else if (object instanceof String) {
+				writer.write((String) object);
+			} else {
+				writer.write(object.toString());
+			}
+		} else if (term instanceof FunctionTerm) {
+			FunctionTerm functionTerm = (FunctionTerm) term;
+			writer.write(functionTerm.getSymbol());
+			writeArguments(writer, functionTerm.getTerms());
+		} else {
+			writer.write(term.toString());
+		}
+	}
+
+	private void writeArguments(Writer writer, List<Term> terms) throws IOException {
+		if (terms.isEmpty()) {
+			return;
+		}
+		writer.write('(');
+		for (int i = 0; i < terms.size(); i++) {
+			if (i > 0) {
+				writer.write(", ");
+			}
+			writeTerm(writer, terms.get(i));
+		}
+		writer.write(')');
+	}
+
+	protected void writeInteger(Writer writer, int value) throws IOException {
+		if (value == Integer.MIN_VALUE) {
+			writer.write(Integer.toString(value));
+			return;
+		}
+		int position = digits.length;
+		int remaining = Math.abs(value);
+		do {
+			digits[--position] = (char) ('0' + remaining % 10);
+			remaining /= 10;
+		} while (remaining != 0);
+		if (value < 0) {
+			digits[--position] = '-';
+		}
+		writer.write(digits, position, digits.length - position);
+	}
+
+	@Override
+	public void flush() throws IOException {
+		out.flush();
+	}
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.api.output;
+
+import at.ac.tuwien.kr.alpha.common.AnswerSet;
+
+import java.io.Flushable;
+import java.io.IOException;
+
+/**
+ * Writes a stream of answer sets, one at a time, in some output format. Implementations serialize the atoms of an
+ * answer set directly into a buffered output, hence output may only be complete after {@link #flush()}.
+ *
+ * Copyright (c) 2020, the Alpha Team.
+ */
+public interface AnswerSetWriter extends Flushable {
+
+	/**
+	 * Writes the given answer set.
+	 * @param number    the number of the answer set, counting from 1.
+	 * @param answerSet the answer set to write.
+	 */
+	void write(int number, AnswerSet answerSet) throws IOException;
+
+	/**
+	 * Writes the result of solving after all answer sets have been written.
+	 * @param satisfiable true iff at least one answer set has been written.
+	 */
+	void writeResult(boolean satisfiable) throws IOException;
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.api.output;
+
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+public final class AnswerSetWriterFactory {
+
+	public enum Format {
+		/**
+		 * Plain ASP text, one answer set per line.
+		 */
+		ASP,
+
+		/**
+		 * Newline-delimited JSON, one answer set per line.
+		 */
+		JSON,
+
+		/**
+		 * A compact binary format, see {@link BinaryAnswerSetWriter}.
+		 */
+		BINARY,
+
+		/**
+		 * One xlsx workbook per answer set, written to files instead of the output stream.
+		 */
+		XLSX;
+
+		/**
+		 * @return a comma-separated list of names of known answer set formats
+		 */
+		public static String listAllowedValues() {
+			return Arrays.stream(values()).map(Format::toString).collect(Collectors.joining(", "));
+		}
+	}
+
+	/**
+	 * Creates a writer for answer sets.
+	 *
+	 * @param format         the output format.
+	 * @param out            the stream to write to, unless the format writes files.
+	 * @param atomSeparator  the separator between atoms for the {@link Format#ASP} format.
+	 * @param targetBasePath the base path of the files written by the {@link Format#XLSX} format.
+	 * @return a new answer set writer.
+	 */
+	public static AnswerSetWriter getInstance(Format format, OutputStream out, String atomSeparator, String targetBasePath) {
+		switch (format) {
+			case ASP:
+				return new AspAnswerSetWriter(out, atomSeparator);
+			case JSON:
+				return new JsonAnswerSetWriter(out);
+			case BINARY:
+				return new BinaryAnswerSetWriter(out);
+			case XLSX:
+				return new XlsxAnswerSetWriter(targetBasePath);
+		}
+		throw new IllegalArgumentException("Unknown answer set format requested.");
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.api.output;
+
+import at.ac.tuwien.kr.alpha.common.AnswerSet;
+import at.ac.tuwien.kr.alpha.common.Predicate;
+import at.ac.tuwien.kr.alpha.common.SimpleAnswerSetFormatter;
+import at.ac.tuwien.kr.alpha.common.atoms.Atom;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.SortedSet;
+
+/**
+ * Writes answer sets as plain ASP text in the same format as {@link SimpleAnswerSetFormatter}, each preceded by its
+ * number, followed by SATISFIABLE or UNSATISFIABLE at the end.
+ *
+ * Copyright (c) 2020, the Alpha Team.
+ */
+public class AspAnswerSetWriter extends AbstractTextAnswerSetWriter {
+	private static final String LS = System.lineSeparator();
+
+	private final String atomSeparator;
+
+	public AspAnswerSetWriter(OutputStream out, String atomSeparator) {
+		super(out);
+		this.atomSeparator = atomSeparator;
+	}
+
+	@Override
+	public void write(int number, AnswerSet answerSet) throws IOException {
+		out.write("Answer set ");
+		writeInteger(out, number);
+		out.write(":");
+		out.write(LS);
+		out.write("{ ");
+		boolean first = true;
+		for (Predicate predicate : answerSet.getPredicates()) {
+			SortedSet<Atom> instances = answerSet.getPredicateInstances(predicate);
+			if (instances == null || instances.isEmpty()) {
+				if (!first) {
+					out.write(atomSeparator);
+				}
+				first = false;
+				out.write(predicate.getName());
+				continue;
+			}
+			for (Atom atom : instances) {
+				if (!first) {
+					out.write(atomSeparator);
+				}
+				first = false;
+				writeAtom(out, atom);
+			}
+		}
+		out.write(" }");
+		out.write(LS);
+	}
+
+	@Override
+	public void writeResult(boolean satisfiable) throws IOException {
+		out.write(satisfiable ? "SATISFIABLE" : "UNSATISFIABLE");
+		out.write(LS);
+	}
+}
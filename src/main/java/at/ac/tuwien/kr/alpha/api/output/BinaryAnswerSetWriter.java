@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.api.output;
+
+import at.ac.tuwien.kr.alpha.common.AnswerSet;
+import at.ac.tuwien.kr.alpha.common.Predicate;
+import at.ac.tuwien.kr.alpha.common.atoms.Atom;
+import at.ac.tuwien.kr.alpha.common.terms.ConstantTerm;
+import at.ac.tuwien.kr.alpha.common.terms.FunctionTerm;
+import at.ac.tuwien.kr.alpha.common.terms.Term;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+
+/**
+ * Writes answer sets in a compact binary format. All numbers are unsigned variable-length integers (7 bits per byte,
+ * least significant group first, high bit set on all but the last byte), integer constants are zigzag-encoded before.
+ * Strings are interned: a string is written as its id, and only on its first occurrence the id (which then equals the
+ * number of strings written so far) is followed by the length and the UTF-8 bytes of the string.
+ *
+ * <pre>
+ * output    := MAGIC VERSION answerSet* result
+ * answerSet := 'A' number numPredicates (string(name) arity numInstances term*)*
+ * term      := 0 zigzag(integer) | 1 string(symbol) | 2 string(string) | 3 string(symbol) arity term* | 4 string(other)
+ * result    := 'E' (1 if satisfiable, 0 otherwise)
+ * </pre>
+ *
+ * Copyright (c) 2020, the Alpha Team.
+ */
+public class BinaryAnswerSetWriter implements AnswerSetWriter {
+	static final byte[] MAGIC = {'A', 'L', 'P', 'H', 'A', 'A', 'S'};
+	static final int VERSION = 1;
+
+	static final int ANSWER_SET = 'A';
+	static final int END = 'E';
+
+	static final int INTEGER_TERM = 0;
+	static final int SYMBOL_TERM = 1;
+	static final int STRING_TERM = 2;
+	static final int FUNCTION_TERM = 3;
+	static final int OTHER_TERM = 4;
+
+	private final OutputStream out;
+	private final Map<String, Integer> stringIds = new HashMap<>();
+	private boolean headerWritten;
+
+	public BinaryAnswerSetWriter(OutputStream out) {
+		this.out = new BufferedOutputStream(out, AbstractTextAnswerSetWriter.BUFFER_SIZE);
+	}
+
+	private void writeHeaderIfNecessary() throws IOException {
+		if (headerWritten) {
+			return;
+		}
+		out.write(MAGIC);
+		out.write(VERSION);
+		headerWritten = true;
+	}
+
+	@Override
+	public void write(int number, AnswerSet answerSet) throws IOException {
+		writeHeaderIfNecessary();
+		out.write(ANSWER_SET);
+		writeNumber(number);
+		SortedSet<Predicate> predicates = answerSet.getPredicates();
+		writeNumber(predicates.size());
+		for (Predicate predicate : predicates) {
+			writeString(predicate.getName());
+			writeNumber(predicate.getArity());
+			SortedSet<Atom> instances = answerSet.getPredicateInstances(predicate);
+			if (instances == null) {
+				writeNumber(0);
+				continue;
+			}
+			writeNumber(instances.size());
+			for (Atom atom : instances) {
+				writeTerms(atom.getTerms());
+			}
+		}
+	}
+
+	private void writeTerms(List<Term> terms) throws IOException {
+		for (Term term : terms) {
+			writeTerm(term);
+		}
+	}
+
+	private void writeTerm(Term term) throws IOException {
+		if (term instanceof ConstantTerm) {
+			ConstantTerm<?> constantTerm = (ConstantTerm<?>) term;
+			Object object = constantTerm.getObject();
+			if (object instanceof Integer) {
+				int value = (Integer) object;
+				out.write(INTEGER_TERM);
+				writeNumber((value << 1) ^ (value >> 31));
+			} else if (object instanceof String) {
+				out.write(constantTerm.isSymbolic() ? SYMBOL_TERM : STRING_TERM);
+				writeString((String) object);
+			} else {
+				out.write(OTHER_TERM);
+				writeString(object.toString());
+			}
+		} else if (term instanceof FunctionTerm) {
+			FunctionTerm functionTerm = (FunctionTerm) term;
+			out.write(FUNCTION_TERM);
+			writeString(functionTerm.getSymbol());
+			writeNumber(functionTerm.getTerms().size());
+			writeTerms(functionTerm.getTerms());
+		} else {
+			out.write(OTHER_TERM);
+			writeString(term.toString());
+		}
+	}
+
+	private void writeString(String string) throws IOException {
+		Integer id = stringIds.get(string);
+		if (id != null) {
+			writeNumber(id);
+			return;
+		}
+		int newId = stringIds.size();
+		stringIds.put(string, newId);
+		writeNumber(newId);
+		byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		writeNumber(bytes.length);
+		out.write(bytes);
+	}
+
+	/**
+	 * Writes the given number, which is treated as unsigned, as variable-length integer.
+	 */
+	private void writeNumber(int number) throws IOException {
+		int remaining = number;
+		while ((remaining & ~0x7F) != 0) {
+			out.write((remaining & 0x7F) | 0x80);
+			remaining >>>= 7;
+		}
+		out.write(remaining);
+	}
+
+	@Override
+	public void writeResult(boolean satisfiable) throws IOException {
+		writeHeaderIfNecessary();
+		out.write(END);
+		out.write(satisfiable ? 1 : 0);
+	}
+
+	@Override
+	public void flush() throws IOException {
+		out.flush();
+	}
+}
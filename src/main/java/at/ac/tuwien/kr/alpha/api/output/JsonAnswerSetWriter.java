@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.api.output;
+
+import at.ac.tuwien.kr.alpha.common.AnswerSet;
+import at.ac.tuwien.kr.alpha.common.Predicate;
+import at.ac.tuwien.kr.alpha.common.atoms.Atom;
+import at.ac.tuwien.kr.alpha.common.terms.ConstantTerm;
+import at.ac.tuwien.kr.alpha.common.terms.Term;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.List;
+import java.util.SortedSet;
+
+/**
+ * Writes answer sets as newline-delimited JSON, i.e., one JSON object per line. Each answer set is written as
+ * <pre>{"answerSet":1,"atoms":[{"predicate":"p","terms":["a",2,"f(b)"]},{"predicate":"q","terms":[]}]}</pre>
+ * where integer constants are JSON numbers and all other terms are JSON strings holding the term in ASP syntax. The
+ * last line is <pre>{"satisfiable":true}</pre> or <pre>{"satisfiable":false}</pre>.
+ *
+ * Copyright (c) 2020, the Alpha Team.
+ */
+public class JsonAnswerSetWriter extends AbstractTextAnswerSetWriter {
+	private final Writer stringContentWriter = new JsonStringContentWriter();
+
+	public JsonAnswerSetWriter(OutputStream out) {
+		super(out);
+	}
+
+	@Override
+	public void write(int number, AnswerSet answerSet) throws IOException {
+		out.write("{\"answerSet\":");
+		writeInteger(out, number);
+		out.write(",\"atoms\":[");
+		boolean first = true;
+		for (Predicate predicate : answerSet.getPredicates()) {
+			SortedSet<Atom> instances = answerSet.getPredicateInstances(predicate);
+			if (instances == null || instances.isEmpty()) {
+				if (!first) {
+					out.write(',');
+				}
+				first = false;
+				writeAtom(predicate, null);
+				continue;
+			}
+			for (Atom atom : instances) {
+				if (!first) {
+					out.write(',');
+				}
+				first = false;
+				writeAtom(predicate, atom.getTerms());
+			}
+		}
+		out.write("]}\n");
+	}
+
+	private void writeAtom(Predicate predicate, List<Term> terms) throws IOException {
+		out.write("{\"predicate\":\"");
+		stringContentWriter.write(predicate.getName());
+		out.write("\",\"terms\":[");
+		if (terms != null) {
+			for (int i = 0; i < terms.size(); i++) {
+				if (i > 0) {
+					out.write(',');
+				}
+				Term term = terms.get(i);
+				if (term instanceof ConstantTerm && ((ConstantTerm<?>) term).getObject() instanceof Integer) {
+					writeInteger(out, (Integer) ((ConstantTerm<?>) term).getObject());
+				} else {
+					out.write('"');
+					writeTerm(stringContentWriter, term);
+					out.write('"');
+				}
+			}
+		}
+		out.write("]}");
+	}
+
+	@Override
+	public void writeResult(boolean satisfiable) throws IOException {
+		out.write(satisfiable ? "{\"satisfiable\":true}\n" : "{\"satisfiable\":false}\n");
+	}
+
+	/**
+	 * Escapes everything written to it as the content of a JSON string and passes it on to the output.
+	 */
+	private class JsonStringContentWriter extends Writer {
+
+		@Override
+		public void write(int c) throws IOException {
+			switch (c) {
+				case '"':
+					out.write("\\\"");
+					break;
+				case '\\':
+					out.write("\\\\");
+					break;
+				case '\n':
+					out.write("\\n");
+					break;
+				case '\r':
+					out.write("\\r");
+					break;
+				case '\t':
+					out.write("\\t");
+					break;
+				default:
+					if (c < 0x20) {
+						out.write("\\u00");
+						out.write(Character.forDigit(c >> 4, 16));
+						out.write(Character.forDigit(c & 0xF, 16));
+					} else {
+						out.write(c);
+					}
+			}
+		}
+
+		@Override
+		public void write(char[] cbuf, int off, int len) throws IOException {
+			for (int i = off; i < off + len; i++) {
+				write(cbuf[i]);
+			}
+		}
+
+		@Override
+		public void write(String str, int off, int len) throws IOException {
+			for (int i = off; i < off + len; i++) {
+				write(str.charAt(i));
+			}
+		}
+
+		@Override
+		public void flush() throws IOException {
+			out.flush();
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+}
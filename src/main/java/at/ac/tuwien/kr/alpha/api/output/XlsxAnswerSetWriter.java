@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.api.output;
+
+import at.ac.tuwien.kr.alpha.common.AnswerSet;
+import at.ac.tuwien.kr.alpha.common.Predicate;
+import at.ac.tuwien.kr.alpha.common.atoms.Atom;
+import at.ac.tuwien.kr.alpha.common.terms.Term;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.SortedSet;
+
+/**
+ * Writes each answer set into its own xlsx workbook: a sheet "Flags" lists the predicates of arity zero, and each other
+ * predicate gets a sheet with one row per instance. The streaming API of POI is used, i.e., only a bounded window of
+ * rows is kept in memory, all others are flushed to temporary files right away. Columns are not auto-sized, since that
+ * would require keeping all rows in memory. If no answer set exists, a workbook stating so is written instead.
+ *
+ * Copyright (c) 2020, the Alpha Team.
+ */
+public class XlsxAnswerSetWriter implements AnswerSetWriter {
+	private static final Logger LOGGER = LoggerFactory.getLogger(XlsxAnswerSetWriter.class);
+
+	private static final int ROW_ACCESS_WINDOW_SIZE = 100;
+
+	private final String targetBasePath;
+
+	public XlsxAnswerSetWriter(String targetBasePath) {
+		this.targetBasePath = targetBasePath;
+	}
+
+	@Override
+	public void write(int number, AnswerSet answerSet) throws IOException {
+		Path outputPath = Paths.get(targetBasePath + "." + number + ".xlsx");
+		SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_ACCESS_WINDOW_SIZE);
+		try (OutputStream os = Files.newOutputStream(outputPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			CellStyle headerStyle = createHeaderStyle(workbook);
+			Sheet flags = createSheetWithHeader(workbook, headerStyle, "Flags", "Flags");
+			int flagsRow = 1;
+			for (Predicate predicate : answerSet.getPredicates()) {
+				SortedSet<Atom> instances = answerSet.getPredicateInstances(predicate);
+				if (predicate.getArity() == 0) {
+					flags.createRow(flagsRow++).createCell(0).setCellValue(predicate.getName());
+					continue;
+				}
+				String[] headerContent = new String[predicate.getArity()];
+				for (int i = 0; i < headerContent.length; i++) {
+					headerContent[i] = "Attribute " + (i + 1);
+				}
+				Sheet sheet = createSheetWithHeader(workbook, headerStyle, predicate.getName() + "_" + predicate.getArity(), headerContent);
+				if (instances == null) {
+					continue;
+				}
+				int rowNumber = 1;
+				for (Atom atom : instances) {
+					Row row = sheet.createRow(rowNumber++);
+					List<Term> terms = atom.getTerms();
+					for (int i = 0; i < terms.size(); i++) {
+						row.createCell(i).setCellValue(terms.get(i).toString());
+					}
+				}
+			}
+			workbook.write(os);
+		} finally {
+			workbook.dispose();
+			workbook.close();
+		}
+		LOGGER.info("Answer set written to file {}", outputPath);
+	}
+
+	@Override
+	public void writeResult(boolean satisfiable) throws IOException {
+		if (!satisfiable) {
+			writeUnsatInfo(Paths.get(targetBasePath + ".UNSAT.xlsx"));
+		}
+	}
+
+	private static void writeUnsatInfo(Path path) throws IOException {
+		try (Workbook workbook = new SXSSFWorkbook(ROW_ACCESS_WINDOW_SIZE);
+			OutputStream os = Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			Sheet sheet = workbook.createSheet("Unsatisfiable");
+			sheet.createRow(0).createCell(0).setCellValue("Input is unsatisfiable - No answer sets!");
+			workbook.write(os);
+		}
+	}
+
+	@Override
+	public void flush() {
+		// Every workbook is written completely when its answer set is written.
+	}
+
+	private static CellStyle createHeaderStyle(SXSSFWorkbook workbook) {
+		CellStyle headerStyle = workbook.createCellStyle();
+		Font headerFont = workbook.createFont();
+		headerFont.setFontHeightInPoints((short) 11);
+		headerFont.setBold(true);
+		headerStyle.setFont(headerFont);
+		headerStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+		headerStyle.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
+		return headerStyle;
+	}
+
+	private static Sheet createSheetWithHeader(SXSSFWorkbook workbook, CellStyle headerStyle, String sheetName, String... headerContent) {
+		Sheet sheet = workbook.createSheet(sheetName);
+		Row headerRow = sheet.createRow(0);
+		for (int i = 0; i < headerContent.length; i++) {
+			headerRow.createCell(i).setCellStyle(headerStyle);
+			headerRow.getCell(i).setCellValue(headerContent[i]);
+		}
+		return sheet;
+	}
+}
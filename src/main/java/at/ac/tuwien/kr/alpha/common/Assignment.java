@@ -134,6 +134,17 @@ default boolean isViolated(int literal) {
 
 	}
 
+	/**
+	 * Returns whether the atom of the given literal is assigned the truth value complementary to the literal, i.e.,
+	 * whether every nogood containing the literal is satisfied.
+	 * @param literal the literal to check.
+	 * @return {@code true} iff the atom of the literal is assigned and its truth value differs from the literal's.
+	 */
+	default boolean isComplementaryAssigned(int literal) {
+		final ThriceTruth truth = getTruth(atomOf(literal));
+		return truth != null && isNegated(literal) == truth.toBoolean();
+	}
+
 	default boolean violates(NoGood noGood) {
 		// Check each NoGood, if it is violated
 		for (Integer noGoodLiteral : noGood) {
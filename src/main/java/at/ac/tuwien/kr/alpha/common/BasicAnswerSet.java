@@ -4,6 +4,7 @@
 
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.SortedSet;
 
@@ -41,6 +42,21 @@ public boolean isEmpty() {
 
 	@Override
 	public String toString() {
+		return answerSetToString(this);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return answerSetsEqual(this, o);
+	}
+
+	@Override
+	public int hashCode() {
+		return answerSetHashCode(this);
+	}
+
+	static String answerSetToString(AnswerSet answerSet) {
+		SortedSet<Predicate> predicates = answerSet.getPredicates();
 		if (predicates.isEmpty()) {
 			return "{}";
 		}
@@ -48,7 +64,7 @@ public String toString() {
 		final StringBuilder sb = new StringBuilder("{ ");
 		for (Iterator<Predicate> iterator = predicates.iterator(); iterator.hasNext();) {
 			Predicate predicate = iterator.next();
-			Set<Atom> instances = getPredicateInstances(predicate);
+			Set<Atom> instances = answerSet.getPredicateInstances(predicate);
 
 			if (instances == null || instances.isEmpty()) {
 				sb.append(predicate.getName());
@@ -70,26 +86,41 @@ public String toString() {
 		return sb.toString();
 	}
 
-	@Override
-	public boolean equals(Object o) {
-		if (this == o) {
+	/**
+	 * Compares answer sets by their predicates and instances, such that answer sets are equal regardless of their
+	 * representation.
+	 */
+	static boolean answerSetsEqual(AnswerSet answerSet, Object o) {
+		if (answerSet == o) {
 			return true;
 		}
-		if (!(o instanceof BasicAnswerSet)) {
+		if (!(o instanceof AnswerSet)) {
 			return false;
 		}
 
-		BasicAnswerSet that = (BasicAnswerSet) o;
+		AnswerSet that = (AnswerSet) o;
 
-		if (!predicates.equals(that.predicates)) {
+		if (!answerSet.getPredicates().equals(that.getPredicates())) {
 			return false;
 		}
 
-		return predicateInstances.equals(that.predicateInstances);
+		for (Predicate predicate : answerSet.getPredicates()) {
+			if (!Objects.equals(answerSet.getPredicateInstances(predicate), that.getPredicateInstances(predicate))) {
+				return false;
+			}
+		}
+		return true;
 	}
 
-	@Override
-	public int hashCode() {
-		return  31 * predicates.hashCode() + predicateInstances.hashCode();
+	/**
+	 * Computes the hash code of an answer set, which equals the hash code of its predicates combined with the hash code
+	 * of a map from its predicates to their instances.
+	 */
+	static int answerSetHashCode(AnswerSet answerSet) {
+		int instancesHashCode = 0;
+		for (Predicate predicate : answerSet.getPredicates()) {
+			instancesHashCode += predicate.hashCode() ^ Objects.hashCode(answerSet.getPredicateInstances(predicate));
+		}
+		return 31 * answerSet.getPredicates().hashCode() + instancesHashCode;
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.common;
+
+import at.ac.tuwien.kr.alpha.common.atoms.Atom;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import static at.ac.tuwien.kr.alpha.Util.arrayGrowthSize;
+
+/**
+ * An answer set represented by the answer set holding all facts of the program, which is shared by all answer sets of
+ * a grounder, plus the ids of all true atoms that are not facts, grouped by their predicate when the answer set is
+ * built. Sorted sets of atoms are only materialized when the instances of a predicate are requested; for predicates
+ * without true non-fact atoms, the instances of the facts are returned as they are.
+ *
+ * Since atoms are only materialized on demand, each answer set keeps a reference to the {@link AtomStore} of the
+ * grounder that created it, and hence keeps the whole atom store alive for as long as the answer set is referenced.
+ *
+ * Equality, hash codes, ordering, and the string representation are the same as for {@link BasicAnswerSet}.
+ */
+public class CompactAnswerSet implements AnswerSet {
+	private final AnswerSet facts;
+	private final AtomStore atomStore;
+	private final Map<Predicate, int[]> atomIdsByPredicate;
+	private final SortedSet<Predicate> predicates;
+	private Map<Predicate, SortedSet<Atom>> materializedInstances;
+	private int hashCode;
+	private boolean hashCodeComputed;
+
+	/**
+	 * Creates an answer set from facts and atoms.
+	 * @param facts          the answer set consisting of all (visible) facts, its instances must not be modified.
+	 * @param atomStore      the atom store holding the true atoms.
+	 * @param atomIds        the ids of the (visible) true atoms that are not facts.
+	 * @param atomPredicates the predicates of the atoms in atomIds, at the same positions.
+	 * @param predicates     the predicates of the facts and atoms.
+	 */
+	public CompactAnswerSet(AnswerSet facts, AtomStore atomStore, int[] atomIds, Predicate[] atomPredicates, SortedSet<Predicate> predicates) {
+		if (atomIds.length != atomPredicates.length) {
+			throw new IllegalArgumentException("Atom ids and their predicates differ in length.");
+		}
+		this.facts = facts;
+		this.atomStore = atomStore;
+		this.atomIdsByPredicate = groupByPredicate(atomIds, atomPredicates);
+		this.predicates = predicates;
+	}
+
+	private static Map<Predicate, int[]> groupByPredicate(int[] atomIds, Predicate[] atomPredicates) {
+		Map<Predicate, GrowableIds> growableIdsByPredicate = new HashMap<>();
+		for (int i = 0; i < atomIds.length; i++) {
+			growableIdsByPredicate.computeIfAbsent(atomPredicates[i], predicate -> new GrowableIds()).add(atomIds[i]);
+		}
+		Map<Predicate, int[]> atomIdsByPredicate = new HashMap<>();
+		for (Map.Entry<Predicate, GrowableIds> entry : growableIdsByPredicate.entrySet()) {
+			atomIdsByPredicate.put(entry.getKey(), entry.getValue().toArray());
+		}
+		return atomIdsByPredicate;
+	}
+
+	@Override
+	public SortedSet<Predicate> getPredicates() {
+		return predicates;
+	}
+
+	@Override
+	public synchronized SortedSet<Atom> getPredicateInstances(Predicate predicate) {
+		if (!predicates.contains(predicate)) {
+			return null;
+		}
+		if (materializedInstances == null) {
+			materializedInstances = new HashMap<>();
+		}
+		SortedSet<Atom> instances = materializedInstances.get(predicate);
+		if (instances == null) {
+			instances = materializeInstances(predicate);
+			materializedInstances.put(predicate, instances);
+		}
+		return instances;
+	}
+
+	private SortedSet<Atom> materializeInstances(Predicate predicate) {
+		SortedSet<Atom> factInstances = facts.getPredicateInstances(predicate);
+		int[] atomIds = atomIdsByPredicate.get(predicate);
+		if (atomIds == null) {
+			return factInstances;
+		}
+		TreeSet<Atom> instances = factInstances != null ? new TreeSet<>(factInstances) : new TreeSet<>();
+		for (int atomId : atomIds) {
+			instances.add(atomStore.get(atomId));
+		}
+		return Collections.unmodifiableSortedSet(instances);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return predicates.isEmpty();
+	}
+
+	@Override
+	public String toString() {
+		return BasicAnswerSet.answerSetToString(this);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return BasicAnswerSet.answerSetsEqual(this, o);
+	}
+
+	/**
+	 * Returns the same hash code as {@link BasicAnswerSet#answerSetHashCode(AnswerSet)}, but computes the hash codes of
+	 * the instances of each predicate without materializing them, since answer sets are hashed, e.g., when collected into
+	 * a set, far more often than their instances are requested.
+	 */
+	@Override
+	public synchronized int hashCode() {
+		if (!hashCodeComputed) {
+			int instancesHashCode = 0;
+			for (Predicate predicate : predicates) {
+				instancesHashCode += predicate.hashCode() ^ instancesHashCode(predicate);
+			}
+			hashCode = 31 * predicates.hashCode() + instancesHashCode;
+			hashCodeComputed = true;
+		}
+		return hashCode;
+	}
+
+	/**
+	 * Returns the hash code of the set of instances of the given predicate, i.e., the sum of the hash codes of its
+	 * instances.
+	 */
+	private int instancesHashCode(Predicate predicate) {
+		if (materializedInstances != null && materializedInstances.containsKey(predicate)) {
+			return Objects.hashCode(materializedInstances.get(predicate));
+		}
+		SortedSet<Atom> factInstances = facts.getPredicateInstances(predicate);
+		int instancesHashCode = Objects.hashCode(factInstances);
+		int[] atomIds = atomIdsByPredicate.get(predicate);
+		if (atomIds == null) {
+			return instancesHashCode;
+		}
+		for (int atomId : atomIds) {
+			Atom atom = atomStore.get(atomId);
+			if (factInstances == null || !factInstances.contains(atom)) {
+				instancesHashCode += atom.hashCode();
+			}
+		}
+		return instancesHashCode;
+	}
+
+	private static class GrowableIds {
+		private int[] ids = new int[4];
+		private int size;
+
+		void add(int id) {
+			if (size == ids.length) {
+				ids = Arrays.copyOf(ids, arrayGrowthSize(ids.length));
+			}
+			ids[size++] = id;
+		}
+
+		int[] toArray() {
+			return Arrays.copyOf(ids, size);
+		}
+	}
+}
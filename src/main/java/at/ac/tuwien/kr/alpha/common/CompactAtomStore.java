@@ -0,0 +1,336 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Additional changes made by Siemens.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.common;
+
+import at.ac.tuwien.kr.alpha.common.atoms.Atom;
+import at.ac.tuwien.kr.alpha.common.atoms.BasicAtom;
+import at.ac.tuwien.kr.alpha.common.terms.Term;
+import at.ac.tuwien.kr.alpha.grounder.atoms.ChoiceAtom;
+import at.ac.tuwien.kr.alpha.grounder.atoms.RuleAtom;
+import at.ac.tuwien.kr.alpha.solver.AtomCounter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static at.ac.tuwien.kr.alpha.Util.arrayGrowthSize;
+import static at.ac.tuwien.kr.alpha.Util.oops;
+
+/**
+ * An {@link AtomStore} that does not keep ground atoms as objects. Every ground atom is encoded as a tuple of ints,
+ * consisting of a signature id (identifying predicate and type of the atom) followed by the ids of its terms. All
+ * tuples are stored consecutively in one int array and looked up via an open-addressing hash table over atom ids.
+ * {@link Atom} objects are only created when requested via {@link #get(int)}.
+ *
+ * {@link RuleAtom}s are encoded with one signature per non-ground rule, followed by the ground terms of the rule's
+ * variables.
+ *
+ * Only atoms of the classes listed in {@link #isReconstructible(Class)} are rebuilt from their tuples, atoms of all other
+ * classes are additionally kept as objects.
+ */
+public class CompactAtomStore implements AtomStore {
+	private static final int EMPTY = 0;
+	private static final int INITIAL_CAPACITY = 1 << 10;
+
+	// Signatures, i.e., (predicate, type of atom) pairs with a prototype atom used to reconstruct atoms.
+	private final Map<Class<? extends Atom>, Map<Predicate, Integer>> signatureIds = new HashMap<>();
+	private final Map<Integer, Integer> ruleAtomSignatureIds = new HashMap<>();
+	private final List<Atom> signaturePrototypes = new ArrayList<>();
+	private final List<Boolean> signatureReconstructible = new ArrayList<>();
+
+	// Terms are mapped to dense ids.
+	private final Map<Term, Integer> termIds = new HashMap<>();
+	private final List<Term> termsById = new ArrayList<>();
+
+	// Atom tuples (signature id followed by term ids), stored consecutively in order of atom ids.
+	private int[] tuples = new int[INITIAL_CAPACITY];
+	private int tuplesSize;
+	private int[] atomOffsets = new int[INITIAL_CAPACITY];
+	private int[] atomHashes = new int[INITIAL_CAPACITY];
+	private int maxAtomId;
+
+	// Open-addressing hash table containing atom ids, EMPTY marks free slots.
+	private int[] table = new int[INITIAL_CAPACITY];
+
+	// Atoms that cannot be reconstructed from their tuples.
+	private final Map<Integer, Atom> storedAtoms = new HashMap<>();
+
+	private final AtomCounter atomCounter = new AtomCounter();
+
+	// Scratch space for encoding atoms during lookup.
+	private int[] scratch = new int[8];
+
+	@Override
+	public int putIfAbsent(Atom groundAtom) {
+		if (!groundAtom.isGround()) {
+			throw new IllegalArgumentException("Atom must be ground: " + groundAtom);
+		}
+
+		final int length = encode(groundAtom, true);
+		final int hash = hash(scratch, length);
+		int slot = hash & (table.length - 1);
+		while (table[slot] != EMPTY) {
+			if (tupleEquals(table[slot], scratch, length)) {
+				return table[slot];
+			}
+			slot = (slot + 1) & (table.length - 1);
+		}
+
+		final int atomId = ++maxAtomId;
+		ensureCapacity(atomId, length);
+		atomOffsets[atomId] = tuplesSize;
+		atomHashes[atomId] = hash;
+		System.arraycopy(scratch, 0, tuples, tuplesSize, length);
+		tuplesSize += length;
+		table[slot] = atomId;
+		if (!signatureReconstructible.get(scratch[0])) {
+			storedAtoms.put(atomId, groundAtom);
+		}
+		atomCounter.add(groundAtom);
+
+		// Keep load factor at most 0.5.
+		if (2 * maxAtomId > table.length) {
+			rehash(2 * table.length);
+		}
+		return atomId;
+	}
+
+	@Override
+	public boolean contains(Atom groundAtom) {
+		return lookup(groundAtom) != EMPTY;
+	}
+
+	@Override
+	public int get(Atom atom) {
+		final int atomId = lookup(atom);
+		if (atomId == EMPTY) {
+			throw oops("Atom not contained in AtomStore: " + atom);
+		}
+		return atomId;
+	}
+
+	@Override
+	public Atom get(int atom) {
+		if (atom < 0 || atom > maxAtomId) {
+			throw oops("Unknown atom ID encountered: " + atom);
+		}
+		if (atom == 0) {
+			// AtomId 0 represents falsum, which has no Atom object.
+			return null;
+		}
+		final int offset = atomOffsets[atom];
+		final int signature = tuples[offset];
+		if (!signatureReconstructible.get(signature)) {
+			return storedAtoms.get(atom);
+		}
+		final int arity = tupleLength(atom) - 1;
+		List<Term> terms = new ArrayList<>(arity);
+		for (int i = 1; i <= arity; i++) {
+			terms.add(termsById.get(tuples[offset + i]));
+		}
+		return reconstruct(signaturePrototypes.get(signature), terms);
+	}
+
+	@Override
+	public String atomToString(int atom) {
+		return get(atom).toString();
+	}
+
+	@Override
+	public boolean isAtomChoicePoint(int atom) {
+		if (atom < 0 || atom > maxAtomId) {
+			throw oops("Unknown atom ID encountered: " + atom);
+		}
+		return atom != 0 && signaturePrototypes.get(tuples[atomOffsets[atom]]).getClass() == RuleAtom.class;
+	}
+
+	@Override
+	public int getMaxAtomId() {
+		return maxAtomId;
+	}
+
+	@Override
+	public AtomCounter getAtomCounter() {
+		return atomCounter;
+	}
+
+	/**
+	 * Returns the atom id of the given atom, or {@link #EMPTY} if the atom is not contained.
+	 */
+	private int lookup(Atom atom) {
+		final int length = encode(atom, false);
+		if (length < 0) {
+			// Atom contains unknown symbols, hence it cannot be stored.
+			return EMPTY;
+		}
+		int slot = hash(scratch, length) & (table.length - 1);
+		while (table[slot] != EMPTY) {
+			if (tupleEquals(table[slot], scratch, length)) {
+				return table[slot];
+			}
+			slot = (slot + 1) & (table.length - 1);
+		}
+		return EMPTY;
+	}
+
+	/**
+	 * Encodes the given atom into the scratch array.
+	 * @param atom the atom to encode.
+	 * @param register whether unknown signatures and terms shall be registered.
+	 * @return the length of the encoding, or -1 if the atom contains unknown symbols and register is false.
+	 */
+	private int encode(Atom atom, boolean register) {
+		final List<Term> terms = termsOf(atom);
+		final int length = terms.size() + 1;
+		if (scratch.length < length) {
+			scratch = new int[length];
+		}
+		final int signature = signatureId(atom, register);
+		if (signature < 0) {
+			return -1;
+		}
+		scratch[0] = signature;
+		for (int i = 0; i < terms.size(); i++) {
+			final int termId = termId(terms.get(i), register);
+			if (termId < 0) {
+				return -1;
+			}
+			scratch[i + 1] = termId;
+		}
+		return length;
+	}
+
+	private int signatureId(Atom atom, boolean register) {
+		Integer signature;
+		if (atom instanceof RuleAtom) {
+			signature = ruleAtomSignatureIds.get(((RuleAtom) atom).getNonGroundRule().getRuleId());
+		} else {
+			Map<Predicate, Integer> signaturesOfType = signatureIds.get(atom.getClass());
+			signature = signaturesOfType == null ? null : signaturesOfType.get(atom.getPredicate());
+		}
+		if (signature != null) {
+			return signature;
+		}
+		if (!register) {
+			return -1;
+		}
+		signature = signaturePrototypes.size();
+		if (atom instanceof RuleAtom) {
+			ruleAtomSignatureIds.put(((RuleAtom) atom).getNonGroundRule().getRuleId(), signature);
+		} else {
+			signatureIds.computeIfAbsent(atom.getClass(), k -> new HashMap<>()).put(atom.getPredicate(), signature);
+		}
+		signaturePrototypes.add(atom);
+		signatureReconstructible.add(isReconstructible(atom.getClass()));
+		return signature;
+	}
+
+	private static List<Term> termsOf(Atom atom) {
+		return atom instanceof RuleAtom ? ((RuleAtom) atom).getGroundTerms() : atom.getTerms();
+	}
+
+	private static Atom reconstruct(Atom prototype, List<Term> terms) {
+		return prototype instanceof RuleAtom ? ((RuleAtom) prototype).withGroundTerms(terms) : prototype.withTerms(terms);
+	}
+
+	/**
+	 * Returns whether atoms of the given class are rebuilt from their encoding: {@link BasicAtom}s and {@link ChoiceAtom}s
+	 * by {@link Atom#withTerms(List)}, {@link RuleAtom}s by {@link RuleAtom#withGroundTerms(List)}. Subclasses are not
+	 * covered, since withTerms of a subclass of BasicAtom yields a plain BasicAtom.
+	 */
+	private static boolean isReconstructible(Class<? extends Atom> atomClass) {
+		return atomClass == BasicAtom.class || atomClass == ChoiceAtom.class || atomClass == RuleAtom.class;
+	}
+
+	private int termId(Term term, boolean register) {
+		Integer termId = termIds.get(term);
+		if (termId != null) {
+			return termId;
+		}
+		if (!register) {
+			return -1;
+		}
+		termId = termsById.size();
+		termIds.put(term, termId);
+		termsById.add(term);
+		return termId;
+	}
+
+	private int tupleLength(int atomId) {
+		final int end = atomId == maxAtomId ? tuplesSize : atomOffsets[atomId + 1];
+		return end - atomOffsets[atomId];
+	}
+
+	private boolean tupleEquals(int atomId, int[] encoded, int length) {
+		if (tupleLength(atomId) != length) {
+			return false;
+		}
+		final int offset = atomOffsets[atomId];
+		for (int i = 0; i < length; i++) {
+			if (tuples[offset + i] != encoded[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int hash(int[] encoded, int length) {
+		int hash = 1;
+		for (int i = 0; i < length; i++) {
+			hash = 31 * hash + encoded[i];
+		}
+		// Spread bits since the table is indexed by the lowest bits only.
+		hash *= 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+
+	private void ensureCapacity(int atomId, int tupleLength) {
+		if (atomId >= atomOffsets.length) {
+			int newCapacity = Math.max(atomId + 1, arrayGrowthSize(atomOffsets.length));
+			atomOffsets = Arrays.copyOf(atomOffsets, newCapacity);
+			atomHashes = Arrays.copyOf(atomHashes, newCapacity);
+		}
+		if (tuplesSize + tupleLength > tuples.length) {
+			tuples = Arrays.copyOf(tuples, Math.max(tuplesSize + tupleLength, arrayGrowthSize(tuples.length)));
+		}
+	}
+
+	private void rehash(int newCapacity) {
+		int[] newTable = new int[newCapacity];
+		for (int atomId = 1; atomId <= maxAtomId; atomId++) {
+			int slot = atomHashes[atomId] & (newCapacity - 1);
+			while (newTable[slot] != EMPTY) {
+				slot = (slot + 1) & (newCapacity - 1);
+			}
+			newTable[slot] = atomId;
+		}
+		table = newTable;
+	}
+}
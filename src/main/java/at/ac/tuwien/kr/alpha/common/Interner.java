@@ -1,26 +1,113 @@
 package at.ac.tuwien.kr.alpha.common;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
-import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Keeps one canonical instance of each value such that equal values can be compared by identity. Interned values are
+ * only weakly referenced, i.e., a canonical instance no longer used elsewhere may be garbage collected.
+ *
+ * The interner may be used from several threads concurrently: canonical instances are kept in a
+ * {@link ConcurrentHashMap}, whose lookups do not lock and whose insertions only lock a single bin. Entries of
+ * collected values are removed using a {@link ReferenceQueue} whenever values are interned.
+ *
+ * Copyright (c) 2016-2020, the Alpha Team.
+ */
 public class Interner<T> {
-	private WeakHashMap<T, WeakReference<T>> pool = new WeakHashMap<>();
-
-	public synchronized T intern(T object) {
-		T res;
-		// (The loop is needed to deal with race
-		// conditions where the GC runs while we are
-		// accessing the 'pool' map or the 'ref' object.)
-		do {
-			WeakReference<T> ref = pool.get(object);
-			if (ref == null) {
-				ref = new WeakReference<>(object);
-				pool.put(object, ref);
-				res = object;
-			} else {
-				res = ref.get();
+	private final ConcurrentHashMap<Object, InternedReference<T>> pool = new ConcurrentHashMap<>();
+	private final ReferenceQueue<T> collected = new ReferenceQueue<>();
+
+	public T intern(T object) {
+		expungeCollected();
+		final int hash = object.hashCode();
+		InternedReference<T> existing = pool.get(new LookupKey(object, hash));
+		if (existing != null) {
+			T res = existing.get();
+			if (res != null) {
+				return res;
+			}
+		}
+		final InternedReference<T> reference = new InternedReference<>(object, hash, collected);
+		while (true) {
+			existing = pool.putIfAbsent(reference, reference);
+			if (existing == null) {
+				return object;
+			}
+			T res = existing.get();
+			if (res != null) {
+				return res;
 			}
-		} while (res == null);
-		return res;
+			// The equal value has been collected but its entry is not yet expunged, replace it.
+			pool.remove(existing, existing);
+		}
+	}
+
+	/**
+	 * @return the number of entries in the interner, including entries of collected values that were not yet removed.
+	 */
+	int size() {
+		return pool.size();
+	}
+
+	private void expungeCollected() {
+		Reference<? extends T> reference;
+		while ((reference = collected.poll()) != null) {
+			pool.remove(reference, reference);
+		}
+	}
+
+	/**
+	 * A weak reference to an interned value that is its own key in the pool. Two references are equal if they are
+	 * identical or if both values are still reachable and equal.
+	 */
+	private static final class InternedReference<T> extends WeakReference<T> {
+		private final int hash;
+
+		private InternedReference(T referent, int hash, ReferenceQueue<T> queue) {
+			super(referent, queue);
+			this.hash = hash;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof InternedReference)) {
+				return false;
+			}
+			Object referent = get();
+			return referent != null && referent.equals(((InternedReference<?>) o).get());
+		}
+	}
+
+	/**
+	 * A short-lived key used to look up a value without creating a weak reference for it.
+	 */
+	private static final class LookupKey {
+		private final Object value;
+		private final int hash;
+
+		private LookupKey(Object value, int hash) {
+			this.value = value;
+			this.hash = hash;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof InternedReference && value.equals(((InternedReference<?>) o).get());
+		}
 	}
-}
\ No newline at end of file
+}
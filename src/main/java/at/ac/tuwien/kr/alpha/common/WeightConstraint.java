@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.common;
+
+import java.util.Arrays;
+
+import static at.ac.tuwien.kr.alpha.Util.arrayGrowthSize;
+
+/**
+ * A ground weight constraint connecting an output atom to a lower bound and a set of weighted input atoms: whenever the
+ * bound holds, the output atom is true iff the weights of all true inputs sum up to at least the lower bound. The bound
+ * is either an atom or a fact; inputs that are facts are only recorded by their total weight.
+ *
+ * Weight constraints are created by the grounder and may be extended by further inputs as grounding proceeds, hence the
+ * solver must keep track of the number of inputs it has seen already.
+ */
+public class WeightConstraint {
+	public static final int BOUND_IS_FACT = 0;
+
+	private final int outputAtom;
+	private final int boundAtom;
+	private final int lowerBound;
+	private long factWeight;
+	private int[] inputAtoms = new int[4];
+	private int[] inputWeights = new int[4];
+	private int numInputs;
+
+	/**
+	 * Creates a weight constraint without inputs.
+	 * @param outputAtom the atom representing that the constraint holds.
+	 * @param boundAtom  the atom representing that the bound holds, or {@link #BOUND_IS_FACT} if it is a fact.
+	 * @param lowerBound the lower bound of the sum of weights.
+	 */
+	public WeightConstraint(int outputAtom, int boundAtom, int lowerBound) {
+		this.outputAtom = outputAtom;
+		this.boundAtom = boundAtom;
+		this.lowerBound = lowerBound;
+	}
+
+	public void addInput(int atom, int weight) {
+		if (numInputs == inputAtoms.length) {
+			int newCapacity = arrayGrowthSize(numInputs);
+			inputAtoms = Arrays.copyOf(inputAtoms, newCapacity);
+			inputWeights = Arrays.copyOf(inputWeights, newCapacity);
+		}
+		inputAtoms[numInputs] = atom;
+		inputWeights[numInputs] = weight;
+		numInputs++;
+	}
+
+	public void addFactWeight(long weight) {
+		factWeight += weight;
+	}
+
+	public int getOutputAtom() {
+		return outputAtom;
+	}
+
+	public int getBoundAtom() {
+		return boundAtom;
+	}
+
+	public boolean isBoundFact() {
+		return boundAtom == BOUND_IS_FACT;
+	}
+
+	public int getLowerBound() {
+		return lowerBound;
+	}
+
+	/**
+	 * Returns the sum of weights of all inputs that are facts.
+	 */
+	public long getFactWeight() {
+		return factWeight;
+	}
+
+	public int getNumInputs() {
+		return numInputs;
+	}
+
+	public int getInputAtom(int index) {
+		return inputAtoms[index];
+	}
+
+	public int getInputWeight(int index) {
+		return inputWeights[index];
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(outputAtom).append(" <- ").append(isBoundFact() ? "fact" : boundAtom).append(", ");
+		sb.append(lowerBound).append(" <= ").append(factWeight);
+		for (int i = 0; i < numInputs; i++) {
+			sb.append(" + ").append(inputWeights[i]).append("*").append(inputAtoms[i]);
+		}
+		return sb.toString();
+	}
+}
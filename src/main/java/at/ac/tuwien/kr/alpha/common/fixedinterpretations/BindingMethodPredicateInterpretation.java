@@ -27,10 +27,6 @@
  */
 package at.ac.tuwien.kr.alpha.common.fixedinterpretations;
 
-import org.apache.commons.lang3.ClassUtils;
-import org.apache.commons.lang3.StringUtils;
-
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.List;
 import java.util.Set;
@@ -39,14 +35,23 @@
 import at.ac.tuwien.kr.alpha.common.terms.Term;
 
 public class BindingMethodPredicateInterpretation implements BindingPredicateInterpretation {
-	private final Method method;
+	private final CompiledMethod method;
 
 	public BindingMethodPredicateInterpretation(Method method) {
+		this(method, false);
+	}
+
+	/**
+	 * @param method  the static method implementing the predicate.
+	 * @param memoize whether results of the method are memoized, which is only sound if the method is pure. Memoized
+	 *                results are shared between calls, hence they must not be modified.
+	 */
+	public BindingMethodPredicateInterpretation(Method method, boolean memoize) {
 		if (!method.getReturnType().equals(Set.class)) {
 			throw new IllegalArgumentException("method must return Set");
 		}
 
-		this.method = method;
+		this.method = new CompiledMethod(method, memoize);
 	}
 
 	@Override
@@ -58,8 +63,6 @@ public Set<List<ConstantTerm<?>>> evaluate(List<Term> terms) {
 							"Expected " + method.getParameterCount() + " parameters but got " + terms.size() + ".");
 		}
 
-		final Class<?>[] parameterTypes = method.getParameterTypes();
-
 		final Object[] arguments = new Object[terms.size()];
 
 		for (int i = 0; i < arguments.length; i++) {
@@ -71,27 +74,18 @@ public Set<List<ConstantTerm<?>>> evaluate(List<Term> terms) {
 
 			arguments[i] = ((ConstantTerm<?>) terms.get(i)).getObject();
 
-			final Class<?> expected = parameterTypes[i];
-			final Class<?> actual = arguments[i].getClass();
+			final Class<?> expected = method.checkArgument(i, arguments[i]);
 
-			if (expected.isAssignableFrom(actual)) {
-				continue;
-			}
-
-			if (expected.isPrimitive() && ClassUtils.primitiveToWrapper(expected).isAssignableFrom(actual)) {
+			if (expected == null) {
 				continue;
 			}
 
 			throw new IllegalArgumentException(
 					"Parameter type mismatch when calling " + method.getName() +
 							" at position " + i + ". Expected " + expected + " but got " +
-							actual + ".");
+							arguments[i].getClass() + ".");
 		}
 
-		try {
-			return (Set<List<ConstantTerm<?>>>) method.invoke(null, arguments);
-		} catch (IllegalAccessException | InvocationTargetException ex) {
-			throw new RuntimeException("Error invoking method " + method + "with args [" + StringUtils.join(arguments) + "], expection is: " + ex.getMessage());
-		}
+		return (Set<List<ConstantTerm<?>>>) method.invoke(arguments);
 	}
 }
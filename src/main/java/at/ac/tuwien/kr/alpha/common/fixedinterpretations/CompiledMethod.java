@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.common.fixedinterpretations;
+
+import org.apache.commons.lang3.ClassUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A static method implementing an external predicate, compiled into a {@link MethodHandle} once such that calling it
+ * does not go through reflection. The handle takes all arguments as one array and does all (un)boxing of primitive
+ * parameters and return values itself; the types arguments are checked against are resolved at construction time.
+ *
+ * Results of methods declared pure, i.e., whose result only depends on their arguments, may be memoized in a bounded
+ * cache keyed on the argument tuple, which evicts least recently used entries first.
+ */
+final class CompiledMethod {
+	static final int MEMOIZATION_CACHE_SIZE = 4096;
+
+	private final Method method;
+	private final MethodHandle handle;
+	private final Class<?>[] parameterTypes;
+	private final Class<?>[] argumentTypes;
+	private final Map<List<Object>, Object> memoizedResults;
+
+	CompiledMethod(Method method, boolean memoize) {
+		this.method = method;
+		final MethodHandle unreflected;
+		try {
+			unreflected = MethodHandles.publicLookup().unreflect(method);
+		} catch (IllegalAccessException e) {
+			throw new IllegalArgumentException("Method " + method + " is not accessible.", e);
+		}
+		this.handle = unreflected.asType(unreflected.type().generic()).asSpreader(Object[].class, method.getParameterCount());
+		this.parameterTypes = method.getParameterTypes();
+		this.argumentTypes = new Class<?>[parameterTypes.length];
+		for (int i = 0; i < parameterTypes.length; i++) {
+			argumentTypes[i] = ClassUtils.primitiveToWrapper(parameterTypes[i]);
+		}
+		this.memoizedResults = memoize ? Collections.synchronizedMap(new LruCache(MEMOIZATION_CACHE_SIZE)) : null;
+	}
+
+	int getParameterCount() {
+		return parameterTypes.length;
+	}
+
+	String getName() {
+		return method.getName();
+	}
+
+	/**
+	 * Returns the expected type of the argument at the given position if the given argument is not of that type,
+	 * otherwise null.
+	 */
+	Class<?> checkArgument(int position, Object argument) {
+		return argumentTypes[position].isInstance(argument) ? null : parameterTypes[position];
+	}
+
+	/**
+	 * Invokes the method on arguments that have been checked by {@link #checkArgument(int, Object)}. Exceptions thrown
+	 * by the method are wrapped into a {@link RuntimeException}.
+	 */
+	Object invoke(Object[] arguments) {
+		if (memoizedResults == null) {
+			return invokeHandle(arguments);
+		}
+		List<Object> key = Arrays.asList(arguments);
+		Object result = memoizedResults.get(key);
+		if (result == null) {
+			result = invokeHandle(arguments);
+			memoizedResults.put(key, result);
+		}
+		return result;
+	}
+
+	private Object invokeHandle(Object[] arguments) {
+		try {
+			return handle.invokeExact(arguments);
+		} catch (Throwable t) {
+			throw new RuntimeException("Error invoking method " + method + " with args " + Arrays.toString(arguments) + ".", t);
+		}
+	}
+
+	private static class LruCache extends LinkedHashMap<List<Object>, Object> {
+		private static final long serialVersionUID = 1L;
+
+		private final int capacity;
+
+		LruCache(int capacity) {
+			super(16, 0.75f, true);
+			this.capacity = capacity;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<List<Object>, Object> eldest) {
+			return size() > capacity;
+		}
+	}
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.common.metrics;
+
+import at.ac.tuwien.kr.alpha.common.atoms.Literal;
+import at.ac.tuwien.kr.alpha.common.rule.InternalRule;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records where one grounder spends its work, per non-ground rule (keyed by rule id): the time spent grounding the rule,
+ * the candidate instances examined and substitutions yielded when binding each body literal (i.e., the fan-out of each
+ * join step), the ground substitutions produced, and the nogoods generated from them, including those rejected as
+ * duplicates of earlier nogoods.
+ *
+ * Profiling is opt-in (see {@link MetricsRegistry#enableGroundingProfiling()}), since it takes a timestamp for each
+ * instantiation of a rule. A profiler is only written to by its grounder, but may be read from any thread.
+ *
+ * Only grounding during solving is profiled. Rules (or parts of the program) that the
+ * {@link at.ac.tuwien.kr.alpha.grounder.transformation.StratifiedEvaluation} evaluates completely before solving do not
+ * show up in the profile; disabling the stratified evaluation makes the grounder instantiate them instead.
+ */
+public class GroundingProfiler {
+
+	private final Map<Integer, RuleProfile> ruleProfiles = new ConcurrentHashMap<>();
+
+	private RuleProfile getRuleProfile(InternalRule rule) {
+		return ruleProfiles.computeIfAbsent(rule.getRuleId(), id -> new RuleProfile(rule));
+	}
+
+	/**
+	 * Records one attempt to instantiate the given rule, e.g., starting from a recently added instance.
+	 * @param rule the rule.
+	 * @param nanos the time spent on computing the ground substitutions and generating their nogoods.
+	 */
+	public void recordInstantiation(InternalRule rule, long nanos) {
+		RuleProfile profile = getRuleProfile(rule);
+		synchronized (profile) {
+			profile.instantiations++;
+			profile.nanos += nanos;
+		}
+	}
+
+	/**
+	 * Records that binding a body literal of the given rule under one partial substitution examined the given number of
+	 * candidate instances and yielded the given number of substitutions.
+	 */
+	public void recordBinding(InternalRule rule, Literal literal, long candidateInstances, int substitutions) {
+		RuleProfile profile = getRuleProfile(rule);
+		synchronized (profile) {
+			LiteralProfile literalProfile = profile.literalProfiles.computeIfAbsent(literal, LiteralProfile::new);
+			literalProfile.bindings++;
+			literalProfile.candidateInstances += candidateInstances;
+			literalProfile.substitutions += substitutions;
+		}
+	}
+
+	/**
+	 * Records the ground substitutions obtained for the given rule and the nogoods generated from them.
+	 * @param rule the rule.
+	 * @param substitutions the number of ground substitutions.
+	 * @param noGoods the number of nogoods generated.
+	 * @param newNoGoods the number of generated nogoods that were not known yet, i.e., not rejected as duplicates.
+	 */
+	public void recordGroundRules(InternalRule rule, int substitutions, int noGoods, int newNoGoods) {
+		RuleProfile profile = getRuleProfile(rule);
+		synchronized (profile) {
+			profile.substitutions += substitutions;
+			profile.noGoods += noGoods;
+			profile.duplicateNoGoods += noGoods - newNoGoods;
+		}
+	}
+
+	/**
+	 * @return a snapshot of the profiles of all rules grounded so far.
+	 */
+	public Collection<RuleProfile> getRuleProfiles() {
+		List<RuleProfile> snapshot = new ArrayList<>();
+		for (RuleProfile profile : ruleProfiles.values()) {
+			snapshot.add(profile.copy());
+		}
+		return snapshot;
+	}
+
+	/**
+	 * Merges the profiles of the same rules (e.g., from several grounders of a portfolio) and ranks them by the time
+	 * spent grounding them, most expensive first.
+	 */
+	public static List<RuleProfile> rank(Collection<RuleProfile> profiles) {
+		Map<Integer, RuleProfile> merged = new LinkedHashMap<>();
+		for (RuleProfile profile : profiles) {
+			RuleProfile existing = merged.get(profile.rule.getRuleId());
+			if (existing == null) {
+				merged.put(profile.rule.getRuleId(), profile.copy());
+			} else {
+				existing.add(profile);
+			}
+		}
+		List<RuleProfile> ranked = new ArrayList<>(merged.values());
+		ranked.sort(Comparator.comparingLong(RuleProfile::getNanos).reversed());
+		return ranked;
+	}
+
+	/**
+	 * Prints the given ranked rule profiles, one block per rule with one line per body literal in the order the literals
+	 * were first bound.
+	 */
+	public static void printReport(List<RuleProfile> rankedProfiles, PrintStream out) {
+		out.println("Grounding profile (rules ranked by grounding time, excluding the stratified evaluation before solving):");
+		int rank = 0;
+		for (RuleProfile profile : rankedProfiles) {
+			out.println(String.format(Locale.ROOT, "%d. rule %d: %s", ++rank, profile.rule.getRuleId(), profile.rule));
+			out.println(String.format(Locale.ROOT, "   time: %.3f ms, instantiations: %d, substitutions: %d, nogoods: %d (duplicates rejected: %d)",
+					profile.nanos / 1e6, profile.instantiations, profile.substitutions, profile.noGoods, profile.duplicateNoGoods));
+			for (LiteralProfile literalProfile : profile.literalProfiles.values()) {
+				out.println(String.format(Locale.ROOT, "   -> %s: bindings: %d, candidates examined: %d, substitutions: %d, fan-out: %.2f",
+						literalProfile.literal, literalProfile.bindings, literalProfile.candidateInstances, literalProfile.substitutions,
+						literalProfile.getFanOut()));
+			}
+		}
+	}
+
+	/**
+	 * The work spent on grounding one non-ground rule.
+	 */
+	public static final class RuleProfile {
+		private final InternalRule rule;
+		private final Map<Literal, LiteralProfile> literalProfiles = new LinkedHashMap<>();
+		private long nanos;
+		private long instantiations;
+		private long substitutions;
+		private long noGoods;
+		private long duplicateNoGoods;
+
+		private RuleProfile(InternalRule rule) {
+			this.rule = rule;
+		}
+
+		private synchronized RuleProfile copy() {
+			RuleProfile copy = new RuleProfile(rule);
+			copy.add(this);
+			return copy;
+		}
+
+		private void add(RuleProfile other) {
+			nanos += other.nanos;
+			instantiations += other.instantiations;
+			substitutions += other.substitutions;
+			noGoods += other.noGoods;
+			duplicateNoGoods += other.duplicateNoGoods;
+			for (LiteralProfile otherLiteralProfile : other.literalProfiles.values()) {
+				LiteralProfile literalProfile = literalProfiles.computeIfAbsent(otherLiteralProfile.literal, LiteralProfile::new);
+				literalProfile.bindings += otherLiteralProfile.bindings;
+				literalProfile.candidateInstances += otherLiteralProfile.candidateInstances;
+				literalProfile.substitutions += otherLiteralProfile.substitutions;
+			}
+		}
+
+		public InternalRule getRule() {
+			return rule;
+		}
+
+		public long getNanos() {
+			return nanos;
+		}
+
+		public long getInstantiations() {
+			return instantiations;
+		}
+
+		public long getSubstitutions() {
+			return substitutions;
+		}
+
+		public long getNoGoods() {
+			return noGoods;
+		}
+
+		public long getDuplicateNoGoods() {
+			return duplicateNoGoods;
+		}
+
+		public Collection<LiteralProfile> getLiteralProfiles() {
+			return literalProfiles.values();
+		}
+	}
+
+	/**
+	 * The work spent on binding one body literal of a rule.
+	 */
+	public static final class LiteralProfile {
+		private final Literal literal;
+		private long bindings;
+		private long candidateInstances;
+		private long substitutions;
+
+		private LiteralProfile(Literal literal) {
+			this.literal = literal;
+		}
+
+		public Literal getLiteral() {
+			return literal;
+		}
+
+		public long getBindings() {
+			return bindings;
+		}
+
+		public long getCandidateInstances() {
+			return candidateInstances;
+		}
+
+		public long getSubstitutions() {
+			return substitutions;
+		}
+
+		/**
+		 * @return the average number of substitutions yielded per binding of the literal.
+		 */
+		public double getFanOut() {
+			return bindings == 0 ? 0 : (double) substitutions / bindings;
+		}
+	}
+}
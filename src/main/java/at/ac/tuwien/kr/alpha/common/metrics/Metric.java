@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.common.metrics;
+
+/**
+ * The metrics collected by a {@link MetricsRegistry}. All metrics are counters, except for
+ * {@link #STORED_LEARNED_NOGOODS}, which may also decrease.
+ */
+public enum Metric {
+	CHOICES("choices", "Number of choices made by the solver."),
+	PROPAGATED_LITERALS("propagatedLiterals", "Number of literals assigned by propagation."),
+	CONFLICTS("conflicts", "Number of conflicts encountered by the solver."),
+	LEARNED_NOGOODS("learnedNoGoods", "Number of nogoods learned from conflicts."),
+	DELETED_NOGOODS("deletedNoGoods", "Number of learned nogoods deleted."),
+	STORED_LEARNED_NOGOODS("storedLearnedNoGoods", "Number of learned nogoods currently in the nogood store."),
+	REPLAYED_LITERALS("replayedLiterals", "Number of out-of-order literals replayed after backjumping."),
+	RESTARTS("restarts", "Number of restarts of the search."),
+	GROUNDING_ROUNDS("groundingRounds", "Number of times the solver asked the grounder for new nogoods."),
+	GROUNDER_NANOS("grounderNanos", "Time spent in the grounder while solving, in nanoseconds."),
+	SOLVER_NANOS("solverNanos", "Time spent in the solver outside of the grounder while solving, in nanoseconds.");
+
+	private final String key;
+	private final String description;
+
+	Metric(String key, String description) {
+		this.key = key;
+		this.description = description;
+	}
+
+	/**
+	 * @return the name of the metric in reports and the name of its JMX attribute.
+	 */
+	public String getKey() {
+		return key;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.common.metrics;
+
+import at.ac.tuwien.kr.alpha.common.rule.InternalRule;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.ReflectionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exposes the metrics of a {@link MetricsRegistry} as read-only JMX attributes, one per {@link Metric}, plus the
+ * elapsed time and the numbers of ground rules per non-ground rule.
+ */
+class MetricsMBean implements DynamicMBean {
+	private static final String ELAPSED_SECONDS = "elapsedSeconds";
+	private static final String GROUND_RULES_PER_RULE = "groundRulesPerRule";
+
+	private final MetricsRegistry registry;
+	private final MBeanInfo info;
+
+	MetricsMBean(MetricsRegistry registry) {
+		this.registry = registry;
+		List<MBeanAttributeInfo> attributes = new ArrayList<>();
+		for (Metric metric : Metric.values()) {
+			attributes.add(new MBeanAttributeInfo(metric.getKey(), Long.class.getName(), metric.getDescription(), true, false, false));
+		}
+		attributes.add(new MBeanAttributeInfo(ELAPSED_SECONDS, Double.class.getName(), "Time since solving started, in seconds.", true, false, false));
+		attributes.add(new MBeanAttributeInfo(GROUND_RULES_PER_RULE, String[].class.getName(),
+				"Number of ground rules created from each non-ground rule, in descending order.", true, false, false));
+		this.info = new MBeanInfo(MetricsMBean.class.getName(), "Metrics of an Alpha solve.",
+				attributes.toArray(new MBeanAttributeInfo[0]), null, new MBeanOperationInfo[0], null);
+	}
+
+	@Override
+	public Object getAttribute(String attribute) throws AttributeNotFoundException {
+		if (ELAPSED_SECONDS.equals(attribute)) {
+			return registry.getElapsedSeconds();
+		}
+		if (GROUND_RULES_PER_RULE.equals(attribute)) {
+			List<String> groundRulesPerRule = new ArrayList<>();
+			for (Map.Entry<InternalRule, Long> entry : registry.getGroundRulesPerRule().entrySet()) {
+				groundRulesPerRule.add(entry.getValue() + "\t" + entry.getKey());
+			}
+			return groundRulesPerRule.toArray(new String[0]);
+		}
+		for (Metric metric : Metric.values()) {
+			if (metric.getKey().equals(attribute)) {
+				return registry.get(metric);
+			}
+		}
+		throw new AttributeNotFoundException("Unknown metric: " + attribute);
+	}
+
+	@Override
+	public AttributeList getAttributes(String[] attributes) {
+		AttributeList list = new AttributeList();
+		for (String attribute : attributes) {
+			try {
+				list.add(new Attribute(attribute, getAttribute(attribute)));
+			} catch (AttributeNotFoundException e) {
+				// Unknown attributes are omitted from the result, as specified by DynamicMBean.
+			}
+		}
+		return list;
+	}
+
+	@Override
+	public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+		throw new AttributeNotFoundException("Metrics are read-only.");
+	}
+
+	@Override
+	public AttributeList setAttributes(AttributeList attributes) {
+		return new AttributeList();
+	}
+
+	@Override
+	public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+		throw new ReflectionException(new NoSuchMethodException(actionName));
+	}
+
+	@Override
+	public MBeanInfo getMBeanInfo() {
+		return info;
+	}
+}
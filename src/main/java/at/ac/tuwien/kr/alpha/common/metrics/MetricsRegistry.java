@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.common.metrics;
+
+import at.ac.tuwien.kr.alpha.common.rule.InternalRule;
+import org.apache.commons.text.StringEscapeUtils;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.MBeanRegistrationException;
+import javax.management.MalformedObjectNameException;
+import javax.management.NotCompliantMBeanException;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Collects the {@link Metric}s of one solve, which may be read while solving is in progress, e.g., via JMX (see
+ * {@link #publish()}). If several solvers take part in the solve (as in a portfolio), their metrics are summed up.
+ *
+ * Recording metrics must not slow down solving, hence there are two ways to record a metric: events that are rare
+ * compared to propagation (like conflicts) are counted by {@link #increment(Metric)} on a striped {@link LongAdder},
+ * which neither allocates nor contends when several solvers count concurrently. Counters on the hot path (like the
+ * number of propagated literals) stay plain fields of their owner, which are registered as a source by
+ * {@link #addSource(Metric, LongSupplier)} and are only read when the metric is requested.
+ */
+public class MetricsRegistry {
+	private static final String OBJECT_NAME_PREFIX = "at.ac.tuwien.kr.alpha:type=Metrics,name=solve";
+	private static final AtomicInteger PUBLISHED_REGISTRIES = new AtomicInteger();
+
+	private final LongAdder[] counters = new LongAdder[Metric.values().length];
+	private final List<List<LongSupplier>> sources = new ArrayList<>();
+	private final List<Supplier<Map<InternalRule, Long>>> groundRuleCountSources = new CopyOnWriteArrayList<>();
+	private final List<GroundingProfiler> groundingProfilers = new CopyOnWriteArrayList<>();
+	private final long startNanos = System.nanoTime();
+	private volatile boolean groundingProfilingEnabled;
+	private ObjectName objectName;
+
+	public MetricsRegistry() {
+		for (Metric metric : Metric.values()) {
+			counters[metric.ordinal()] = new LongAdder();
+			sources.add(new CopyOnWriteArrayList<>());
+		}
+	}
+
+	public void increment(Metric metric) {
+		counters[metric.ordinal()].increment();
+	}
+
+	public void add(Metric metric, long value) {
+		counters[metric.ordinal()].add(value);
+	}
+
+	/**
+	 * Registers a source contributing to the given metric, which is read whenever the metric is requested.
+	 * @param metric the metric.
+	 * @param source supplies the current value of a counter. It is called from the thread requesting the metric, hence it
+	 *               must not fail when called concurrently with solving, but it may return a stale value (e.g., when
+	 *               reading a plain field updated by the solving thread).
+	 */
+	public void addSource(Metric metric, LongSupplier source) {
+		sources.get(metric.ordinal()).add(source);
+	}
+
+	/**
+	 * Registers a source of the numbers of ground rules created from each non-ground rule (by one grounder).
+	 * @param source supplies a snapshot of the current numbers, which must be safe to call from any thread.
+	 */
+	public void addGroundRuleCountSource(Supplier<Map<InternalRule, Long>> source) {
+		groundRuleCountSources.add(source);
+	}
+
+	/**
+	 * Asks grounders registering with this registry afterwards to profile their grounding per rule, see
+	 * {@link GroundingProfiler}. Must be called before the solver is created.
+	 */
+	public void enableGroundingProfiling() {
+		groundingProfilingEnabled = true;
+	}
+
+	public boolean isGroundingProfilingEnabled() {
+		return groundingProfilingEnabled;
+	}
+
+	public void addGroundingProfiler(GroundingProfiler profiler) {
+		groundingProfilers.add(profiler);
+	}
+
+	/**
+	 * @return the profiles of all rules grounded so far by all grounders reporting to this registry, ranked by the time
+	 *         spent grounding them. Empty if grounding profiling is not enabled.
+	 */
+	public List<GroundingProfiler.RuleProfile> getGroundingProfile() {
+		List<GroundingProfiler.RuleProfile> profiles = new ArrayList<>();
+		for (GroundingProfiler profiler : groundingProfilers) {
+			profiles.addAll(profiler.getRuleProfiles());
+		}
+		return GroundingProfiler.rank(profiles);
+	}
+
+	public long get(Metric metric) {
+		long value = counters[metric.ordinal()].sum();
+		for (LongSupplier source : sources.get(metric.ordinal())) {
+			value += source.getAsLong();
+		}
+		return value;
+	}
+
+	/**
+	 * @return the number of ground rules created from each non-ground rule, in descending order of the numbers.
+	 */
+	public Map<InternalRule, Long> getGroundRulesPerRule() {
+		Map<InternalRule, Long> groundRulesPerRule = new LinkedHashMap<>();
+		for (Supplier<Map<InternalRule, Long>> source : groundRuleCountSources) {
+			for (Map.Entry<InternalRule, Long> entry : source.get().entrySet()) {
+				groundRulesPerRule.merge(entry.getKey(), entry.getValue(), Long::sum);
+			}
+		}
+		Map<InternalRule, Long> sorted = new LinkedHashMap<>();
+		groundRulesPerRule.entrySet().stream()
+				.sorted(Map.Entry.<InternalRule, Long>comparingByValue().reversed())
+				.forEachOrdered(entry -> sorted.put(entry.getKey(), entry.getValue()));
+		return sorted;
+	}
+
+	/**
+	 * @return the time since this registry was created, in seconds.
+	 */
+	public double getElapsedSeconds() {
+		return (System.nanoTime() - startNanos) / 1e9;
+	}
+
+	/**
+	 * Publishes the metrics as an MBean on the platform MBean server, such that they can be watched while solving,
+	 * e.g., by JConsole or JDK Mission Control.
+	 * @return the name of the MBean.
+	 */
+	public synchronized ObjectName publish() {
+		if (objectName != null) {
+			return objectName;
+		}
+		try {
+			ObjectName name = new ObjectName(OBJECT_NAME_PREFIX + PUBLISHED_REGISTRIES.incrementAndGet());
+			ManagementFactory.getPlatformMBeanServer().registerMBean(new MetricsMBean(this), name);
+			objectName = name;
+			return name;
+		} catch (MalformedObjectNameException | InstanceAlreadyExistsException | MBeanRegistrationException | NotCompliantMBeanException e) {
+			throw new IllegalStateException("Could not publish metrics.", e);
+		}
+	}
+
+	/**
+	 * Removes the MBean registered by {@link #publish()}, if any.
+	 */
+	public synchronized void unpublish() {
+		if (objectName == null) {
+			return;
+		}
+		try {
+			ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+		} catch (InstanceNotFoundException | MBeanRegistrationException e) {
+			throw new IllegalStateException("Could not unpublish metrics.", e);
+		}
+		objectName = null;
+	}
+
+	/**
+	 * Writes a report of all metrics as a JSON object, including rates per second of the main counters.
+	 */
+	public void writeJson(Writer out) throws IOException {
+		double elapsedSeconds = getElapsedSeconds();
+		out.write("{\n");
+		out.write(String.format(Locale.ROOT, "  \"elapsedSeconds\": %.3f,%n", elapsedSeconds));
+		for (Metric metric : Metric.values()) {
+			out.write("  \"" + metric.getKey() + "\": " + get(metric) + ",\n");
+		}
+		for (Metric metric : new Metric[] {Metric.CHOICES, Metric.PROPAGATED_LITERALS, Metric.CONFLICTS}) {
+			out.write(String.format(Locale.ROOT, "  \"%sPerSecond\": %.1f,%n", metric.getKey(), elapsedSeconds > 0 ? get(metric) / elapsedSeconds : 0));
+		}
+		out.write("  \"groundRulesPerRule\": [");
+		String separator = "\n";
+		for (Map.Entry<InternalRule, Long> entry : getGroundRulesPerRule().entrySet()) {
+			out.write(separator);
+			out.write("    {\"ruleId\": " + entry.getKey().getRuleId() + ", \"groundRules\": " + entry.getValue()
+					+ ", \"rule\": \"" + StringEscapeUtils.escapeJson(entry.getKey().toString()) + "\"}");
+			separator = ",\n";
+		}
+		out.write(separator.equals("\n") ? "]\n" : "\n  ]\n");
+		out.write("}\n");
+		out.flush();
+	}
+}
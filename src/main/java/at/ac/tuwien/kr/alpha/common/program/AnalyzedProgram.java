@@ -5,6 +5,7 @@
 import at.ac.tuwien.kr.alpha.common.depgraph.DependencyGraph;
 import at.ac.tuwien.kr.alpha.common.depgraph.StronglyConnectedComponentsAlgorithm;
 import at.ac.tuwien.kr.alpha.common.rule.InternalRule;
+import at.ac.tuwien.kr.alpha.grounder.GroundingContext;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 
 import java.util.List;
@@ -21,14 +22,19 @@ public class AnalyzedProgram extends InternalProgram {
 	private final ComponentGraph componentGraph;
 
 	public AnalyzedProgram(List<InternalRule> rules, List<Atom> facts) {
-		super(rules, facts);
+		this(rules, facts, new GroundingContext());
+	}
+
+	public AnalyzedProgram(List<InternalRule> rules, List<Atom> facts, GroundingContext groundingContext) {
+		super(rules, facts, groundingContext);
 		dependencyGraph = DependencyGraph.buildDependencyGraph(getRulesById());
 		componentGraph = buildComponentGraph(dependencyGraph);
 	}
 
 	public static AnalyzedProgram analyzeNormalProgram(NormalProgram prog) {
-		ImmutablePair<List<InternalRule>, List<Atom>> rulesAndFacts = InternalProgram.internalizeRulesAndFacts(prog);
-		return new AnalyzedProgram(rulesAndFacts.left, rulesAndFacts.right);
+		GroundingContext groundingContext = new GroundingContext();
+		ImmutablePair<List<InternalRule>, List<Atom>> rulesAndFacts = InternalProgram.internalizeRulesAndFacts(prog, groundingContext);
+		return new AnalyzedProgram(rulesAndFacts.left, rulesAndFacts.right, groundingContext);
 	}
 
 	private ComponentGraph buildComponentGraph(DependencyGraph depGraph) {
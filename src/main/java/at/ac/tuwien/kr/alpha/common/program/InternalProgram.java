@@ -5,6 +5,7 @@
 import at.ac.tuwien.kr.alpha.common.rule.InternalRule;
 import at.ac.tuwien.kr.alpha.common.rule.NormalRule;
 import at.ac.tuwien.kr.alpha.grounder.FactIntervalEvaluator;
+import at.ac.tuwien.kr.alpha.grounder.GroundingContext;
 import at.ac.tuwien.kr.alpha.grounder.Instance;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 
@@ -27,14 +28,39 @@ public class InternalProgram extends AbstractProgram<InternalRule> {
 	private final Map<Predicate, LinkedHashSet<InternalRule>> predicateDefiningRules = new LinkedHashMap<>();
 	private final Map<Predicate, LinkedHashSet<Instance>> factsByPredicate = new LinkedHashMap<>();
 	private final Map<Integer, InternalRule> rulesById = new LinkedHashMap<>();
+	private final GroundingContext groundingContext;
 
 	public InternalProgram(List<InternalRule> rules, List<Atom> facts) {
+		this(rules, facts, new GroundingContext());
+	}
+
+	/**
+	 * Creates a program sharing the given grounding context, e.g., because it results from transforming another program
+	 * whose grounding has already started.
+	 */
+	public InternalProgram(List<InternalRule> rules, List<Atom> facts, GroundingContext groundingContext) {
 		super(rules, facts, null);
+		this.groundingContext = groundingContext;
 		recordFacts(facts);
 		recordRules(rules);
 	}
 
-	static ImmutablePair<List<InternalRule>, List<Atom>> internalizeRulesAndFacts(NormalProgram normalProgram) {
+	/**
+	 * Creates a program whose facts are already grouped by predicate. Subclasses using this constructor must provide
+	 * the facts as atoms by overriding {@link #getFacts()}.
+	 */
+	protected InternalProgram(List<InternalRule> rules, Map<Predicate, LinkedHashSet<Instance>> factsByPredicate, GroundingContext groundingContext) {
+		super(rules, Collections.emptyList(), null);
+		this.groundingContext = groundingContext;
+		this.factsByPredicate.putAll(factsByPredicate);
+		recordRules(rules);
+	}
+
+	/**
+	 * Translates the rules of the given program into {@link InternalRule}s, with ids obtained from the given context, and
+	 * collects its facts.
+	 */
+	static ImmutablePair<List<InternalRule>, List<Atom>> internalizeRulesAndFacts(NormalProgram normalProgram, GroundingContext groundingContext) {
 		List<InternalRule> internalRules = new ArrayList<>();
 		List<Atom> facts = new ArrayList<>(normalProgram.getFacts());
 		for (NormalRule r : normalProgram.getRules()) {
@@ -44,15 +70,16 @@ static ImmutablePair<List<InternalRule>, List<Atom>> internalizeRulesAndFacts(No
 				}
 				facts.add(r.getHeadAtom());
 			} else {
-				internalRules.add(InternalRule.fromNormalRule(r));
+				internalRules.add(InternalRule.fromNormalRule(r, groundingContext.getNextRuleId()));
 			}
 		}
 		return new ImmutablePair<>(internalRules, facts);
 	}
 
 	public static InternalProgram fromNormalProgram(NormalProgram normalProgram) {
-		ImmutablePair<List<InternalRule>, List<Atom>> rulesAndFacts = InternalProgram.internalizeRulesAndFacts(normalProgram);
-		return new InternalProgram(rulesAndFacts.left, rulesAndFacts.right);
+		GroundingContext groundingContext = new GroundingContext();
+		ImmutablePair<List<InternalRule>, List<Atom>> rulesAndFacts = InternalProgram.internalizeRulesAndFacts(normalProgram, groundingContext);
+		return new InternalProgram(rulesAndFacts.left, rulesAndFacts.right, groundingContext);
 	}
 
 	private void recordFacts(List<Atom> facts) {
@@ -90,4 +117,12 @@ public Map<Integer, InternalRule> getRulesById() {
 		return Collections.unmodifiableMap(rulesById);
 	}
 
+	/**
+	 * Returns the state shared by everything grounding this program. Preprocessing and all grounders of one solve
+	 * must use the same context.
+	 */
+	public GroundingContext getGroundingContext() {
+		return groundingContext;
+	}
+
 }
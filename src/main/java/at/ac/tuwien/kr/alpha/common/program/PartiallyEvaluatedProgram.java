@@ -0,0 +1,105 @@
+package at.ac.tuwien.kr.alpha.common.program;
+
+import at.ac.tuwien.kr.alpha.common.Predicate;
+import at.ac.tuwien.kr.alpha.common.atoms.Atom;
+import at.ac.tuwien.kr.alpha.common.atoms.BasicAtom;
+import at.ac.tuwien.kr.alpha.common.rule.InternalRule;
+import at.ac.tuwien.kr.alpha.grounder.GroundingContext;
+import at.ac.tuwien.kr.alpha.grounder.IndexedInstanceStorage;
+import at.ac.tuwien.kr.alpha.grounder.Instance;
+import at.ac.tuwien.kr.alpha.grounder.WorkingMemory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An {@link InternalProgram} resulting from (partially) evaluating a program, e.g., by
+ * {@link at.ac.tuwien.kr.alpha.grounder.transformation.StratifiedEvaluation}. Its facts are not kept as atoms but
+ * reside in the populated {@link WorkingMemory} of the evaluation, which can be handed to a grounder once, such that the
+ * grounder need not re-initialize its working memory from the facts. Atoms for {@link #getFacts()} are only created on
+ * request.
+ *
+ * Copyright (c) 2020, the Alpha Team
+ */
+public class PartiallyEvaluatedProgram extends InternalProgram {
+
+	private final Set<Integer> solvedRuleIds;
+	private WorkingMemory workingMemory;
+	private List<Atom> facts;
+
+	/**
+	 * Creates a program from the remaining (unsolved) rules and the working memory holding all facts.
+	 *
+	 * @param rules         the rules that have not been completely evaluated.
+	 * @param workingMemory a working memory whose positive instances are exactly the facts of the program.
+	 * @param solvedRuleIds the ids of the rules that have been completely evaluated.
+	 * @param groundingContext the grounding context of the evaluated program.
+	 */
+	public PartiallyEvaluatedProgram(List<InternalRule> rules, WorkingMemory workingMemory, Set<Integer> solvedRuleIds,
+			GroundingContext groundingContext) {
+		super(rules, factsFromWorkingMemory(rules, workingMemory), groundingContext);
+		this.workingMemory = workingMemory;
+		this.solvedRuleIds = Collections.unmodifiableSet(solvedRuleIds);
+	}
+
+	/**
+	 * Collects the facts stored in the given working memory. The instances of predicates that are not defined by any of
+	 * the given rules never change once grounding starts, hence their instance sets are shared with the working memory.
+	 * All other instance sets are copied, since the grounder adds non-fact instances to them.
+	 */
+	private static Map<Predicate, LinkedHashSet<Instance>> factsFromWorkingMemory(List<InternalRule> rules, WorkingMemory workingMemory) {
+		Set<Predicate> definedPredicates = new HashSet<>();
+		for (InternalRule rule : rules) {
+			if (!rule.isConstraint()) {
+				definedPredicates.add(rule.getHeadAtom().getPredicate());
+			}
+		}
+		Map<Predicate, LinkedHashSet<Instance>> factsByPredicate = new LinkedHashMap<>();
+		for (IndexedInstanceStorage storage : workingMemory.getPositiveStorages()) {
+			LinkedHashSet<Instance> instances = storage.getAllInstances();
+			if (instances.isEmpty()) {
+				continue;
+			}
+			Predicate predicate = storage.getPredicate();
+			factsByPredicate.put(predicate, definedPredicates.contains(predicate) ? new LinkedHashSet<>(instances) : instances);
+		}
+		return factsByPredicate;
+	}
+
+	/**
+	 * Returns the populated working memory of the evaluation and relinquishes it, i.e., subsequent calls return null.
+	 * The working memory is modified by the grounder using it, hence it must only be used by one grounder.
+	 *
+	 * @return the working memory holding all facts and indices, or null if it has been taken already.
+	 */
+	public synchronized WorkingMemory takeWorkingMemory() {
+		WorkingMemory retVal = workingMemory;
+		workingMemory = null;
+		return retVal;
+	}
+
+	public Set<Integer> getSolvedRuleIds() {
+		return solvedRuleIds;
+	}
+
+	@Override
+	public List<Atom> getFacts() {
+		if (facts == null) {
+			List<Atom> atoms = new ArrayList<>();
+			for (Map.Entry<Predicate, LinkedHashSet<Instance>> entry : getFactsByPredicate().entrySet()) {
+				for (Instance instance : entry.getValue()) {
+					atoms.add(new BasicAtom(entry.getKey(), instance.terms));
+				}
+			}
+			facts = Collections.unmodifiableList(atoms);
+		}
+		return facts;
+	}
+
+}
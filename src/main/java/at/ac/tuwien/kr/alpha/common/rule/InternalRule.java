@@ -27,10 +27,11 @@
  */
 package at.ac.tuwien.kr.alpha.common.rule;
 
-import com.google.common.annotations.VisibleForTesting;
-
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
 
 import at.ac.tuwien.kr.alpha.common.Predicate;
 import at.ac.tuwien.kr.alpha.common.atoms.AggregateLiteral;
@@ -38,8 +39,8 @@
 import at.ac.tuwien.kr.alpha.common.atoms.Literal;
 import at.ac.tuwien.kr.alpha.common.rule.head.NormalHead;
 import at.ac.tuwien.kr.alpha.common.terms.VariableTerm;
-import at.ac.tuwien.kr.alpha.grounder.IntIdGenerator;
 import at.ac.tuwien.kr.alpha.grounder.RuleGroundingOrders;
+import at.ac.tuwien.kr.alpha.grounder.Substitution;
 import at.ac.tuwien.kr.alpha.grounder.Unifier;
 
 /**
@@ -48,21 +49,27 @@
  */
 public class InternalRule extends NormalRule {
 
-	private static final IntIdGenerator ID_GENERATOR = new IntIdGenerator();
-
 	private final int ruleId;
 
 	private final List<Predicate> occurringPredicates;
 
+	private final List<VariableTerm> occurringVariables;
+
+	private final Substitution emptySubstitution;
+
 	private final RuleGroundingOrders groundingOrders;
 
-	public InternalRule(NormalHead head, List<Literal> body) {
+	/**
+	 * Creates a rule with the given id, which must be unique among the rules of a program (cf.
+	 * {@link at.ac.tuwien.kr.alpha.grounder.GroundingContext#getNextRuleId()}).
+	 */
+	public InternalRule(int ruleId, NormalHead head, List<Literal> body) {
 		super(head, body);
 		if (body.isEmpty()) {
 			throw new IllegalArgumentException(
 					"Empty bodies are not supported for InternalRule! (Head = " + (head == null ? "NULL" : head.getAtom().toString()) + ")");
 		}
-		this.ruleId = InternalRule.ID_GENERATOR.getNextId();
+		this.ruleId = ruleId;
 
 		this.occurringPredicates = new ArrayList<>();
 		if (!isConstraint()) {
@@ -76,6 +83,16 @@ public InternalRule(NormalHead head, List<Literal> body) {
 			this.occurringPredicates.add(literal.getPredicate());
 		}
 
+		SortedSet<VariableTerm> variables = new TreeSet<>();
+		if (!isConstraint()) {
+			variables.addAll(this.getHeadAtom().getOccurringVariables());
+		}
+		for (Literal literal : body) {
+			variables.addAll(literal.getOccurringVariables());
+		}
+		this.occurringVariables = Collections.unmodifiableList(new ArrayList<>(variables));
+		this.emptySubstitution = Substitution.forVariables(this.occurringVariables);
+
 		// not needed, done in AbstractRule! Leaving it commented out for future reference since this might actually be the
 		// proper place to put it
 		// this.checkSafety();
@@ -84,18 +101,13 @@ public InternalRule(NormalHead head, List<Literal> body) {
 		this.groundingOrders.computeGroundingOrders();
 	}
 
-	@VisibleForTesting
-	public static void resetIdGenerator() {
-		InternalRule.ID_GENERATOR.resetGenerator();
-	}
-
-	public static InternalRule fromNormalRule(NormalRule rule) {
-		return new InternalRule(rule.isConstraint() ? null : new NormalHead(rule.getHeadAtom()), new ArrayList<>(rule.getBody()));
+	public static InternalRule fromNormalRule(NormalRule rule, int ruleId) {
+		return new InternalRule(ruleId, rule.isConstraint() ? null : new NormalHead(rule.getHeadAtom()), new ArrayList<>(rule.getBody()));
 	}
 
 	/**
 	 * Returns a new Rule that is equal to this one except that all variables are renamed to have the newVariablePostfix
-	 * appended.
+	 * appended. The renamed rule keeps the id of this rule.
 	 * 
 	 * @param newVariablePostfix
 	 * @return
@@ -117,7 +129,7 @@ public InternalRule renameVariables(String newVariablePostfix) {
 		for (Literal literal : this.getBody()) {
 			renamedBody.add(literal.substitute(variableReplacement));
 		}
-		return new InternalRule(new NormalHead(renamedHeadAtom), renamedBody);
+		return new InternalRule(ruleId, new NormalHead(renamedHeadAtom), renamedBody);
 	}
 
 	/**
@@ -128,6 +140,23 @@ public List<Predicate> getOccurringPredicates() {
 		return this.occurringPredicates;
 	}
 
+	/**
+	 * Returns the variables occurring in this rule.
+	 * @return a list of all variables occurring in the rule, sorted and without duplicates.
+	 */
+	public List<VariableTerm> getOccurringVariables() {
+		return this.occurringVariables;
+	}
+
+	/**
+	 * Returns an empty substitution whose layout covers all variables of this rule, grounding should start from it.
+	 * The slot of each variable in that substitution is its index in {@link #getOccurringVariables()}.
+	 * @return an immutable empty substitution, it may only be copied or specialized.
+	 */
+	public Substitution getEmptySubstitution() {
+		return this.emptySubstitution;
+	}
+
 	public RuleGroundingOrders getGroundingOrders() {
 		return this.groundingOrders;
 	}
@@ -151,4 +151,8 @@ public Term normalizeVariables(String renamePrefix, RenameCounter counter) {
 	public T getObject() {
 		return object;
 	}
+
+	public boolean isSymbolic() {
+		return symbolic;
+	}
 }
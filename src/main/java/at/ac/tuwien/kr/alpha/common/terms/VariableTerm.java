@@ -14,7 +14,6 @@ public class VariableTerm extends Term {
 	private static final Interner<VariableTerm> INTERNER = new Interner<>();
 
 	private static final String ANONYMOUS_VARIABLE_PREFIX = "_";
-	private static final IntIdGenerator ANONYMOUS_VARIABLE_COUNTER = new IntIdGenerator();
 
 	private final String variableName;
 
@@ -26,8 +25,12 @@ public static VariableTerm getInstance(String variableName) {
 		return INTERNER.intern(new VariableTerm(variableName));
 	}
 
-	public static VariableTerm getAnonymousInstance() {
-		return getInstance(ANONYMOUS_VARIABLE_PREFIX + ANONYMOUS_VARIABLE_COUNTER.getNextId());
+	/**
+	 * Returns an anonymous variable named by the next id of the given generator, hence anonymous variables obtained from
+	 * the same generator (e.g., the one of a parser) are distinct.
+	 */
+	public static VariableTerm getAnonymousInstance(IntIdGenerator idGenerator) {
+		return getInstance(ANONYMOUS_VARIABLE_PREFIX + idGenerator.getNextId());
 	}
 
 	@Override
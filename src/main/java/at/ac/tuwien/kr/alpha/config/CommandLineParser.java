@@ -27,8 +27,10 @@
  */
 package at.ac.tuwien.kr.alpha.config;
 
+import at.ac.tuwien.kr.alpha.api.output.AnswerSetWriterFactory;
 import at.ac.tuwien.kr.alpha.solver.BinaryNoGoodPropagationEstimation;
 import at.ac.tuwien.kr.alpha.solver.heuristics.BranchingHeuristicFactory.Heuristic;
+import at.ac.tuwien.kr.alpha.solver.restarts.RestartStrategyFactory;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.DefaultParser;
 import org.apache.commons.cli.HelpFormatter;
@@ -87,6 +89,9 @@ public class CommandLineParser {
 			.desc("Write a dot file with the input program's component graph").build();
 	private static final Option OPT_WRITE_XSLX = Option.builder("wx").longOpt("write-xlsx").hasArg(true).argName("path").type(String.class)
 			.desc("Write answer sets to excel files, i.e. xlsx workbooks (one workbook per answer set)").build();
+	private static final Option OPT_OUTPUT_FORMAT = Option.builder("of").longOpt("outputFormat").hasArg(true).argName("format")
+			.desc("the format in which answer sets are written: " + AnswerSetWriterFactory.Format.listAllowedValues() + " (default: "
+					+ InputConfig.DEFAULT_ANSWER_SET_FORMAT.name() + "). Format XLSX writes files as -wx does, all others write to STDOUT.").build();
 
 	// general system-wide config
 	private static final Option OPT_GROUNDER = Option.builder("g").longOpt("grounder").hasArg(true).argName("grounder")
@@ -94,7 +99,9 @@ public class CommandLineParser {
 	private static final Option OPT_SOLVER = Option.builder("s").longOpt("solver").hasArg(true).argName("solver")
 			.desc("the solver implementation to use (default: " + SystemConfig.DEFAULT_SOLVER_NAME + ")").build();
 	private static final Option OPT_NOGOOD_STORE = Option.builder("r").longOpt("store").hasArg(true).argName("store")
-			.desc("the nogood store to use (default: " + SystemConfig.DEFAULT_NOGOOD_STORE_NAME + ")").build();
+			.desc("the nogood store to use (default: " + SystemConfig.DEFAULT_NOGOOD_STORE_NAME + ", alphaRoamingArena, or naive)").build();
+	private static final Option OPT_ATOM_STORE = Option.builder("as").longOpt("atomStore").hasArg(true).argName("store")
+			.desc("the atom store to use (default: " + SystemConfig.DEFAULT_ATOM_STORE_NAME + ", or compact)").build();
 	private static final Option OPT_SORT = Option.builder("sort").longOpt("sort").hasArg(false)
 			.desc("sort answer sets (default: " + SystemConfig.DEFAULT_SORT_ANSWER_SETS + ")").build();
 	private static final Option OPT_DETERMINISTIC = Option.builder("d").longOpt("deterministic").hasArg(false)
@@ -122,6 +129,10 @@ public class CommandLineParser {
 	private static final Option OPT_NORMALIZATION_GRID = Option.builder("ng").longOpt("normalizationCountingGrid")
 			.desc("use counting grid normalization instead of sorting circuit for #count (default: " + SystemConfig.DEFAULT_USE_NORMALIZATION_GRID + ")")
 			.build();
+	private static final Option OPT_NATIVE_AGGREGATES = Option.builder("na").longOpt("nativeAggregates")
+			.desc("propagate #count and #sum aggregates natively in the solver instead of rewriting them into normal rules (default: "
+					+ SystemConfig.DEFAULT_NATIVE_AGGREGATES + ")")
+			.build();
 	private static final Option OPT_NO_EVAL_STRATIFIED = Option.builder("dse").longOpt("disableStratifiedEvaluation")
 			.desc("Disable stratified evaluation")
 			.build();
@@ -129,6 +140,17 @@ public class CommandLineParser {
 			.desc("disable the deletion of (learned, little active) nogoods (default: " 
 					+ SystemConfig.DEFAULT_DISABLE_NOGOOD_DELETION + ")")
 			.build();
+	private static final Option OPT_RESTART_POLICY = Option.builder("rs").longOpt("restarts").hasArg(true).argName("policy")
+			.desc("the restart policy to use (" + RestartStrategyFactory.Policy.listAllowedValues() + ", default: "
+					+ SystemConfig.DEFAULT_RESTART_POLICY.name() + ")")
+			.build();
+	private static final Option OPT_RESTART_INTERVAL = Option.builder("ri").longOpt("restartInterval").hasArg(true).argName("conflicts").type(Integer.class)
+			.desc("the base number of conflicts for restarts, i.e., the unit of LUBY, the first interval of GEOMETRIC, and the LBD window of DYNAMIC (default: "
+					+ SystemConfig.DEFAULT_RESTART_INTERVAL + ")")
+			.build();
+	private static final Option OPT_PHASE_SAVING = Option.builder("ps").longOpt("phaseSaving")
+			.desc("after a restart, choose the truth values that atoms had before the restart (default: " + SystemConfig.DEFAULT_PHASE_SAVING + ")")
+			.build();
 	private static final Option OPT_GROUNDER_TOLERANCE_CONSTRAINTS = Option.builder("gtc").longOpt("grounderToleranceConstraints")
 			.desc("grounder tolerance for constraints (default: " + SystemConfig.DEFAULT_GROUNDER_TOLERANCE_CONSTRAINTS + ")")
 			.hasArg().argName("tolerance")
@@ -145,6 +167,26 @@ public class CommandLineParser {
 			.desc("a character (sequence) to use as separator for atoms in printed answer sets (default: "
 					+ SystemConfig.DEFAULT_ATOM_SEPARATOR + ")")
 			.build();
+	private static final Option OPT_THREADS = Option.builder("t").longOpt("threads").hasArg(true).argName("number").type(Integer.class)
+			.desc("the number of solver threads, more than one runs a portfolio of differently configured solvers that share short learned nogoods, "
+					+ "the first solver to find an answer set (or unsatisfiability) wins (default: " + SystemConfig.DEFAULT_THREADS + ")")
+			.build();
+	private static final Option OPT_METRICS_REPORT = Option.builder("mr").longOpt("metricsReport").hasArg(true).argName("file")
+			.desc("write a JSON report of solving metrics (choices, propagations, conflicts, learned nogoods, grounding rounds and time, "
+					+ "ground rules per rule) to the given file after solving, - for standard output")
+			.build();
+	private static final Option OPT_PUBLISH_METRICS = Option.builder("jmx").longOpt("publishMetrics")
+			.desc("publish solving metrics as a JMX MBean while solving (default: " + SystemConfig.DEFAULT_PUBLISH_METRICS + ")")
+			.build();
+	private static final Option OPT_NO_FAST_FACT_LOADING = Option.builder("dffl").longOpt("disableFastFactLoading")
+			.desc("parse input files entirely by the ANTLR parser instead of scanning ground facts directly (default: "
+					+ !SystemConfig.DEFAULT_FAST_FACT_LOADING + ")")
+			.build();
+	private static final Option OPT_GROUNDING_PROFILE = Option.builder("gp").longOpt("groundingProfile")
+			.desc("profile grounding per rule (time, candidate instances and substitutions per body literal, nogoods and duplicates) "
+					+ "and print the rules ranked by grounding time after solving; rules evaluated completely by the stratified evaluation "
+					+ "before solving are not profiled, use -dse to profile them as well (default: " + SystemConfig.DEFAULT_GROUNDING_PROFILE + ")")
+			.build();
 	//@formatter:on
 
 	private static final Options CLI_OPTS = new Options();
@@ -161,6 +203,7 @@ public class CommandLineParser {
 		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_INPUT);
 		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_ASPSTRING);
 		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_WRITE_XSLX);
+		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_OUTPUT_FORMAT);
 		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_WRITE_PREPROCESSED);
 		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_WRITE_DEPGRAPH);
 		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_WRITE_COMPGRAPH);
@@ -168,6 +211,7 @@ public class CommandLineParser {
 		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_GROUNDER);
 		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_SOLVER);
 		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_NOGOOD_STORE);
+		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_ATOM_STORE);
 		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_SORT);
 		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_DETERMINISTIC);
 		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_SEED);
@@ -179,13 +223,22 @@ public class CommandLineParser {
 		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_STATS);
 		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_NO_JUSTIFICATION);
 		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_NORMALIZATION_GRID);
+		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_NATIVE_AGGREGATES);
 
 		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_NO_EVAL_STRATIFIED);
 		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_NO_NOGOOD_DELETION);
+		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_RESTART_POLICY);
+		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_RESTART_INTERVAL);
+		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_PHASE_SAVING);
 		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_GROUNDER_TOLERANCE_CONSTRAINTS);
 		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_GROUNDER_TOLERANCE_RULES);
 		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_GROUNDER_ACCUMULATOR_ENABLED);
 		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_OUTPUT_ATOM_SEPARATOR);
+		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_THREADS);
+		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_METRICS_REPORT);
+		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_PUBLISH_METRICS);
+		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_GROUNDING_PROFILE);
+		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_NO_FAST_FACT_LOADING);
 	}
 
 	/*
@@ -225,6 +278,7 @@ private void initializeGlobalOptionHandlers() {
 		this.globalOptionHandlers.put(CommandLineParser.OPT_GROUNDER.getOpt(), this::handleGrounder);
 		this.globalOptionHandlers.put(CommandLineParser.OPT_SOLVER.getOpt(), this::handleSolver);
 		this.globalOptionHandlers.put(CommandLineParser.OPT_NOGOOD_STORE.getOpt(), this::handleNogoodStore);
+		this.globalOptionHandlers.put(CommandLineParser.OPT_ATOM_STORE.getOpt(), this::handleAtomStore);
 		this.globalOptionHandlers.put(CommandLineParser.OPT_SORT.getOpt(), this::handleSort);
 		this.globalOptionHandlers.put(CommandLineParser.OPT_DETERMINISTIC.getOpt(), this::handleDeterministic);
 		this.globalOptionHandlers.put(CommandLineParser.OPT_SEED.getOpt(), this::handleSeed);
@@ -236,12 +290,21 @@ private void initializeGlobalOptionHandlers() {
 		this.globalOptionHandlers.put(CommandLineParser.OPT_STATS.getOpt(), this::handleStats);
 		this.globalOptionHandlers.put(CommandLineParser.OPT_NO_JUSTIFICATION.getOpt(), this::handleNoJustification);
 		this.globalOptionHandlers.put(CommandLineParser.OPT_NORMALIZATION_GRID.getOpt(), this::handleNormalizationGrid);
+		this.globalOptionHandlers.put(CommandLineParser.OPT_NATIVE_AGGREGATES.getOpt(), this::handleNativeAggregates);
 		this.globalOptionHandlers.put(CommandLineParser.OPT_NO_EVAL_STRATIFIED.getOpt(), this::handleDisableStratifedEval);
 		this.globalOptionHandlers.put(CommandLineParser.OPT_NO_NOGOOD_DELETION.getOpt(), this::handleNoNoGoodDeletion);
+		this.globalOptionHandlers.put(CommandLineParser.OPT_RESTART_POLICY.getOpt(), this::handleRestartPolicy);
+		this.globalOptionHandlers.put(CommandLineParser.OPT_RESTART_INTERVAL.getOpt(), this::handleRestartInterval);
+		this.globalOptionHandlers.put(CommandLineParser.OPT_PHASE_SAVING.getOpt(), this::handlePhaseSaving);
 		this.globalOptionHandlers.put(CommandLineParser.OPT_GROUNDER_TOLERANCE_CONSTRAINTS.getOpt(), this::handleGrounderToleranceConstraints);
 		this.globalOptionHandlers.put(CommandLineParser.OPT_GROUNDER_TOLERANCE_RULES.getOpt(), this::handleGrounderToleranceRules);
 		this.globalOptionHandlers.put(CommandLineParser.OPT_GROUNDER_ACCUMULATOR_ENABLED.getOpt(), this::handleGrounderNoInstanceRemoval);
 		this.globalOptionHandlers.put(CommandLineParser.OPT_OUTPUT_ATOM_SEPARATOR.getOpt(), this::handleAtomSeparator);
+		this.globalOptionHandlers.put(CommandLineParser.OPT_THREADS.getOpt(), this::handleThreads);
+		this.globalOptionHandlers.put(CommandLineParser.OPT_METRICS_REPORT.getOpt(), this::handleMetricsReport);
+		this.globalOptionHandlers.put(CommandLineParser.OPT_PUBLISH_METRICS.getOpt(), this::handlePublishMetrics);
+		this.globalOptionHandlers.put(CommandLineParser.OPT_GROUNDING_PROFILE.getOpt(), this::handleGroundingProfile);
+		this.globalOptionHandlers.put(CommandLineParser.OPT_NO_FAST_FACT_LOADING.getOpt(), this::handleNoFastFactLoading);
 	}
 
 	private void initializeInputOptionHandlers() {
@@ -251,6 +314,7 @@ private void initializeInputOptionHandlers() {
 		this.inputOptionHandlers.put(CommandLineParser.OPT_ASPSTRING.getOpt(), this::handleAspString);
 		this.inputOptionHandlers.put(CommandLineParser.OPT_LITERATE.getOpt(), this::handleLiterate);
 		this.inputOptionHandlers.put(CommandLineParser.OPT_WRITE_XSLX.getOpt(), this::handleWriteXlsx);
+		this.inputOptionHandlers.put(CommandLineParser.OPT_OUTPUT_FORMAT.getOpt(), this::handleOutputFormat);
 		this.inputOptionHandlers.put(CommandLineParser.OPT_WRITE_PREPROCESSED.getOpt(), this::handleWritePreprocessed);
 		this.inputOptionHandlers.put(CommandLineParser.OPT_WRITE_DEPGRAPH.getOpt(), this::handleWriteDepgraph);
 		this.inputOptionHandlers.put(CommandLineParser.OPT_WRITE_COMPGRAPH.getOpt(), this::handleWriteCompgraph);
@@ -345,6 +409,10 @@ private void handleNogoodStore(Option opt, SystemConfig cfg) {
 		cfg.setNogoodStoreName(opt.getValue(SystemConfig.DEFAULT_NOGOOD_STORE_NAME));
 	}
 
+	private void handleAtomStore(Option opt, SystemConfig cfg) {
+		cfg.setAtomStoreName(opt.getValue(SystemConfig.DEFAULT_ATOM_STORE_NAME));
+	}
+
 	private void handleFilters(Option opt, InputConfig cfg) {
 		String pred = opt.getValue().trim();
 		cfg.getDesiredPredicates().add(pred);
@@ -423,6 +491,19 @@ private void handleWriteXlsx(Option opt, InputConfig cfg) {
 		cfg.setAnswerSetFileOutputPath(outputPath);
 	}
 
+	private void handleOutputFormat(Option opt, InputConfig cfg) throws ParseException {
+		String formatName = opt.getValue(InputConfig.DEFAULT_ANSWER_SET_FORMAT.name());
+		try {
+			cfg.setAnswerSetFormatName(formatName);
+		} catch (IllegalArgumentException e) {
+			throw new ParseException("Unknown answer set format: " + formatName + ". Please try one of the following: "
+					+ AnswerSetWriterFactory.Format.listAllowedValues());
+		}
+		if (cfg.getAnswerSetFormat() == AnswerSetWriterFactory.Format.XLSX && cfg.getAnswerSetFileOutputPath() == null) {
+			cfg.setAnswerSetFileOutputPath(InputConfig.DEFAULT_XLSX_OUTFILE_PATH);
+		}
+	}
+
 	private void handleStats(Option opt, SystemConfig cfg) {
 		cfg.setPrintStats(true);
 	}
@@ -435,6 +516,10 @@ private void handleNormalizationGrid(Option opt, SystemConfig cfg) {
 		cfg.setUseNormalizationGrid(true);
 	}
 
+	private void handleNativeAggregates(Option opt, SystemConfig cfg) {
+		cfg.setNativeAggregates(true);
+	}
+
 	private void handleDisableStratifedEval(Option opt, SystemConfig cfg) {
 		cfg.setEvaluateStratifiedPart(false);
 	}
@@ -461,6 +546,34 @@ private void handleNoNoGoodDeletion(Option opt, SystemConfig cfg) {
 		cfg.setDisableNoGoodDeletion(true);
 	}
 
+	private void handleRestartPolicy(Option opt, SystemConfig cfg) throws ParseException {
+		String restartPolicyName = opt.getValue(SystemConfig.DEFAULT_RESTART_POLICY.name());
+		try {
+			cfg.setRestartPolicyName(restartPolicyName);
+		} catch (IllegalArgumentException e) {
+			throw new ParseException("Unknown restart policy: " + restartPolicyName + ". Please try one of the following: "
+					+ RestartStrategyFactory.Policy.listAllowedValues());
+		}
+	}
+
+	private void handleRestartInterval(Option opt, SystemConfig cfg) throws ParseException {
+		String optVal = opt.getValue(Integer.toString(SystemConfig.DEFAULT_RESTART_INTERVAL));
+		int restartInterval;
+		try {
+			restartInterval = Integer.parseInt(optVal);
+		} catch (NumberFormatException e) {
+			throw new ParseException("Cannot parse restart interval: " + optVal);
+		}
+		if (restartInterval < 1) {
+			throw new ParseException("Restart interval must be positive: " + optVal);
+		}
+		cfg.setRestartInterval(restartInterval);
+	}
+
+	private void handlePhaseSaving(Option opt, SystemConfig cfg) {
+		cfg.setPhaseSaving(true);
+	}
+
 	private void handleGrounderToleranceConstraints(Option opt, SystemConfig cfg) {
 		String grounderToleranceConstraints = opt.getValue(SystemConfig.DEFAULT_GROUNDER_TOLERANCE_CONSTRAINTS);
 		cfg.setGrounderToleranceConstraints(grounderToleranceConstraints);
@@ -478,5 +591,35 @@ private void handleGrounderNoInstanceRemoval(Option opt, SystemConfig cfg) {
 	private void handleAtomSeparator(Option opt, SystemConfig cfg) {
 		cfg.setAtomSeparator(StringEscapeUtils.unescapeJava(opt.getValue(SystemConfig.DEFAULT_ATOM_SEPARATOR)));
 	}
+
+	private void handleThreads(Option opt, SystemConfig cfg) throws ParseException {
+		String optVal = opt.getValue(Integer.toString(SystemConfig.DEFAULT_THREADS));
+		int threads;
+		try {
+			threads = Integer.parseInt(optVal);
+		} catch (NumberFormatException e) {
+			throw new ParseException("Cannot parse number of threads: " + optVal);
+		}
+		if (threads < 1) {
+			throw new ParseException("Number of threads must be positive: " + optVal);
+		}
+		cfg.setThreads(threads);
+	}
+
+	private void handleMetricsReport(Option opt, SystemConfig cfg) {
+		cfg.setMetricsReportPath(opt.getValue());
+	}
+
+	private void handlePublishMetrics(Option opt, SystemConfig cfg) {
+		cfg.setPublishMetrics(true);
+	}
+
+	private void handleGroundingProfile(Option opt, SystemConfig cfg) {
+		cfg.setGroundingProfile(true);
+	}
+
+	private void handleNoFastFactLoading(Option opt, SystemConfig cfg) {
+		cfg.setFastFactLoading(false);
+	}
 	
 }
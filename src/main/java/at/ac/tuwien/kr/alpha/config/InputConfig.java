@@ -1,6 +1,7 @@
 package at.ac.tuwien.kr.alpha.config;
 
 import at.ac.tuwien.kr.alpha.api.externals.Externals;
+import at.ac.tuwien.kr.alpha.api.output.AnswerSetWriterFactory;
 import at.ac.tuwien.kr.alpha.common.Predicate;
 import at.ac.tuwien.kr.alpha.common.fixedinterpretations.PredicateInterpretation;
 
@@ -24,6 +25,7 @@ public class InputConfig {
 	public static final String PREPROC_STDOUT_PATH = "---"; // indicator preprocessed program should be written to stdout
 	public static final boolean DEFAULT_WRITE_XLSX = false;
 	public static final String DEFAULT_XLSX_OUTFILE_PATH = "alphaAnswerSet"; // current directory, files named "alphaAnswerSet.{num}.{ext}"
+	public static final AnswerSetWriterFactory.Format DEFAULT_ANSWER_SET_FORMAT = AnswerSetWriterFactory.Format.ASP;
 
 	private List<String> aspStrings = new ArrayList<>();
 	private List<String> files = new ArrayList<>();
@@ -40,6 +42,7 @@ public class InputConfig {
 	private Map<String, PredicateInterpretation> predicateMethods = Externals.getStandardLibraryExternals();
 	private boolean writeAnswerSetsAsXlsx = InputConfig.DEFAULT_WRITE_XLSX;
 	private String answerSetFileOutputPath;
+	private AnswerSetWriterFactory.Format answerSetFormat = InputConfig.DEFAULT_ANSWER_SET_FORMAT;
 
 	public static InputConfig forString(String str) {
 		InputConfig retVal = new InputConfig();
@@ -172,4 +175,16 @@ public void setAnswerSetFileOutputPath(String answerSetFileOutputPath) {
 		this.answerSetFileOutputPath = answerSetFileOutputPath;
 	}
 
+	public AnswerSetWriterFactory.Format getAnswerSetFormat() {
+		return this.answerSetFormat;
+	}
+
+	public void setAnswerSetFormat(AnswerSetWriterFactory.Format answerSetFormat) {
+		this.answerSetFormat = answerSetFormat;
+	}
+
+	public void setAnswerSetFormatName(String answerSetFormatName) {
+		this.answerSetFormat = AnswerSetWriterFactory.Format.valueOf(answerSetFormatName.toUpperCase());
+	}
+
 }
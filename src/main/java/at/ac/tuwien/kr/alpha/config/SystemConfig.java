@@ -30,6 +30,7 @@
 import at.ac.tuwien.kr.alpha.grounder.heuristics.GrounderHeuristicsConfiguration;
 import at.ac.tuwien.kr.alpha.solver.BinaryNoGoodPropagationEstimation;
 import at.ac.tuwien.kr.alpha.solver.heuristics.BranchingHeuristicFactory.Heuristic;
+import at.ac.tuwien.kr.alpha.solver.restarts.RestartStrategyFactory.Policy;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -45,6 +46,7 @@ public class SystemConfig {
 	public static final String DEFAULT_GROUNDER_NAME = "naive";
 	public static final String DEFAULT_SOLVER_NAME = "default";
 	public static final String DEFAULT_NOGOOD_STORE_NAME = "alphaRoaming";
+	public static final String DEFAULT_ATOM_STORE_NAME = "default";
 	public static final Heuristic DEFAULT_BRANCHING_HEURISTIC = Heuristic.VSIDS;
 	public static final BinaryNoGoodPropagationEstimation.Strategy DEFAULT_MOMS_STRATEGY = BinaryNoGoodPropagationEstimation.Strategy.CountBinaryWatches;
 	public static final long DEFAULT_SEED = System.nanoTime();
@@ -54,18 +56,28 @@ public class SystemConfig {
 	public static final boolean DEFAULT_DISABLE_JUSTIFICATION_SEARCH = false;
 	public static final boolean DEFAULT_DEBUG_INTERNAL_CHECKS = false;
 	public static final boolean DEFAULT_USE_NORMALIZATION_GRID = false;
+	public static final boolean DEFAULT_NATIVE_AGGREGATES = false;
 	public static final boolean DEFAULT_SORT_ANSWER_SETS = false;
 	public static final List<Integer> DEFAULT_REPLAY_CHOICES = Collections.emptyList();
 	public static final boolean DEFAULT_STRATIFIED_EVALUATION = true;
 	public static final boolean DEFAULT_DISABLE_NOGOOD_DELETION = false;
+	public static final Policy DEFAULT_RESTART_POLICY = Policy.NONE;
+	public static final int DEFAULT_RESTART_INTERVAL = 100;
+	public static final boolean DEFAULT_PHASE_SAVING = false;
 	public static final String DEFAULT_GROUNDER_TOLERANCE_CONSTRAINTS = GrounderHeuristicsConfiguration.STRICT_STRING;
 	public static final String DEFAULT_GROUNDER_TOLERANCE_RULES = GrounderHeuristicsConfiguration.STRICT_STRING;
 	public static final boolean DEFAULT_GROUNDER_ACCUMULATOR_ENABLED = false;
 	public static final String DEFAULT_ATOM_SEPARATOR = ", ";
+	public static final int DEFAULT_THREADS = 1;
+	public static final String DEFAULT_METRICS_REPORT_PATH = null;
+	public static final boolean DEFAULT_PUBLISH_METRICS = false;
+	public static final boolean DEFAULT_GROUNDING_PROFILE = false;
+	public static final boolean DEFAULT_FAST_FACT_LOADING = true;
 
 	private String grounderName = SystemConfig.DEFAULT_GROUNDER_NAME;
 	private String solverName = SystemConfig.DEFAULT_SOLVER_NAME;
 	private String nogoodStoreName = SystemConfig.DEFAULT_NOGOOD_STORE_NAME;
+	private String atomStoreName = SystemConfig.DEFAULT_ATOM_STORE_NAME;
 	private boolean deterministic = SystemConfig.DEFAULT_DETERMINISTIC;
 	private long seed = SystemConfig.DEFAULT_SEED;
 	private boolean debugInternalChecks = SystemConfig.DEFAULT_DEBUG_INTERNAL_CHECKS;
@@ -75,14 +87,63 @@ public class SystemConfig {
 	private boolean printStats = SystemConfig.DEFAULT_PRINT_STATS;
 	private boolean disableJustificationSearch = SystemConfig.DEFAULT_DISABLE_JUSTIFICATION_SEARCH;
 	private boolean useNormalizationGrid = SystemConfig.DEFAULT_USE_NORMALIZATION_GRID;
+	private boolean nativeAggregates = SystemConfig.DEFAULT_NATIVE_AGGREGATES;
 	private boolean sortAnswerSets = SystemConfig.DEFAULT_SORT_ANSWER_SETS;
 	private List<Integer> replayChoices = SystemConfig.DEFAULT_REPLAY_CHOICES;
 	private boolean evaluateStratifiedPart = SystemConfig.DEFAULT_STRATIFIED_EVALUATION;
 	private boolean disableNoGoodDeletion = SystemConfig.DEFAULT_DISABLE_NOGOOD_DELETION;
+	private Policy restartPolicy = SystemConfig.DEFAULT_RESTART_POLICY;
+	private int restartInterval = SystemConfig.DEFAULT_RESTART_INTERVAL;
+	private boolean phaseSaving = SystemConfig.DEFAULT_PHASE_SAVING;
 	private String grounderToleranceConstraints = DEFAULT_GROUNDER_TOLERANCE_CONSTRAINTS;
 	private String grounderToleranceRules = DEFAULT_GROUNDER_TOLERANCE_RULES;
 	private boolean grounderAccumulatorEnabled = DEFAULT_GROUNDER_ACCUMULATOR_ENABLED;
 	private String atomSeparator = DEFAULT_ATOM_SEPARATOR;
+	private int threads = DEFAULT_THREADS;
+	private String metricsReportPath = DEFAULT_METRICS_REPORT_PATH;
+	private boolean publishMetrics = DEFAULT_PUBLISH_METRICS;
+	private boolean groundingProfile = DEFAULT_GROUNDING_PROFILE;
+	private boolean fastFactLoading = DEFAULT_FAST_FACT_LOADING;
+
+	public SystemConfig() {
+	}
+
+	/**
+	 * Creates a copy of the given configuration, e.g., to derive differently configured solvers from it.
+	 * @param other the configuration to copy.
+	 */
+	public SystemConfig(SystemConfig other) {
+		this.grounderName = other.grounderName;
+		this.solverName = other.solverName;
+		this.nogoodStoreName = other.nogoodStoreName;
+		this.atomStoreName = other.atomStoreName;
+		this.deterministic = other.deterministic;
+		this.seed = other.seed;
+		this.debugInternalChecks = other.debugInternalChecks;
+		this.branchingHeuristic = other.branchingHeuristic;
+		this.momsStrategy = other.momsStrategy;
+		this.quiet = other.quiet;
+		this.printStats = other.printStats;
+		this.disableJustificationSearch = other.disableJustificationSearch;
+		this.useNormalizationGrid = other.useNormalizationGrid;
+		this.nativeAggregates = other.nativeAggregates;
+		this.sortAnswerSets = other.sortAnswerSets;
+		this.replayChoices = other.replayChoices;
+		this.evaluateStratifiedPart = other.evaluateStratifiedPart;
+		this.disableNoGoodDeletion = other.disableNoGoodDeletion;
+		this.restartPolicy = other.restartPolicy;
+		this.restartInterval = other.restartInterval;
+		this.phaseSaving = other.phaseSaving;
+		this.grounderToleranceConstraints = other.grounderToleranceConstraints;
+		this.grounderToleranceRules = other.grounderToleranceRules;
+		this.grounderAccumulatorEnabled = other.grounderAccumulatorEnabled;
+		this.atomSeparator = other.atomSeparator;
+		this.threads = other.threads;
+		this.metricsReportPath = other.metricsReportPath;
+		this.publishMetrics = other.publishMetrics;
+		this.groundingProfile = other.groundingProfile;
+		this.fastFactLoading = other.fastFactLoading;
+	}
 
 	public String getGrounderName() {
 		return this.grounderName;
@@ -108,6 +169,14 @@ public void setNogoodStoreName(String nogoodStoreName) {
 		this.nogoodStoreName = nogoodStoreName;
 	}
 
+	public String getAtomStoreName() {
+		return this.atomStoreName;
+	}
+
+	public void setAtomStoreName(String atomStoreName) {
+		this.atomStoreName = atomStoreName;
+	}
+
 	public boolean isDeterministic() {
 		return this.deterministic;
 	}
@@ -188,6 +257,14 @@ public void setUseNormalizationGrid(boolean useNormalizationGrid) {
 		this.useNormalizationGrid = useNormalizationGrid;
 	}
 
+	public boolean isNativeAggregates() {
+		return this.nativeAggregates;
+	}
+
+	public void setNativeAggregates(boolean nativeAggregates) {
+		this.nativeAggregates = nativeAggregates;
+	}
+
 	public boolean isSortAnswerSets() {
 		return this.sortAnswerSets;
 	}
@@ -224,6 +301,34 @@ public void setDisableNoGoodDeletion(boolean disableNoGoodDeletion) {
 		this.disableNoGoodDeletion = disableNoGoodDeletion;
 	}
 
+	public Policy getRestartPolicy() {
+		return restartPolicy;
+	}
+
+	public void setRestartPolicy(Policy restartPolicy) {
+		this.restartPolicy = restartPolicy;
+	}
+
+	public void setRestartPolicyName(String restartPolicyName) {
+		this.restartPolicy = Policy.valueOf(restartPolicyName.toUpperCase());
+	}
+
+	public int getRestartInterval() {
+		return restartInterval;
+	}
+
+	public void setRestartInterval(int restartInterval) {
+		this.restartInterval = restartInterval;
+	}
+
+	public boolean isPhaseSaving() {
+		return phaseSaving;
+	}
+
+	public void setPhaseSaving(boolean phaseSaving) {
+		this.phaseSaving = phaseSaving;
+	}
+
 	public String getGrounderToleranceConstraints() {
 		return grounderToleranceConstraints;
 	}
@@ -255,4 +360,48 @@ public String getAtomSeparator() {
 	public void setAtomSeparator(String atomSeparator) {
 		this.atomSeparator = atomSeparator;
 	}
+
+	public int getThreads() {
+		return this.threads;
+	}
+
+	public void setThreads(int threads) {
+		this.threads = threads;
+	}
+
+	/**
+	 * @return the path of the file to write a JSON report of the solving metrics to, "-" for standard output, or null
+	 *         if no report is requested.
+	 */
+	public String getMetricsReportPath() {
+		return this.metricsReportPath;
+	}
+
+	public void setMetricsReportPath(String metricsReportPath) {
+		this.metricsReportPath = metricsReportPath;
+	}
+
+	public boolean isPublishMetrics() {
+		return this.publishMetrics;
+	}
+
+	public void setPublishMetrics(boolean publishMetrics) {
+		this.publishMetrics = publishMetrics;
+	}
+
+	public boolean isGroundingProfile() {
+		return this.groundingProfile;
+	}
+
+	public void setGroundingProfile(boolean groundingProfile) {
+		this.groundingProfile = groundingProfile;
+	}
+
+	public boolean isFastFactLoading() {
+		return this.fastFactLoading;
+	}
+
+	public void setFastFactLoading(boolean fastFactLoading) {
+		this.fastFactLoading = fastFactLoading;
+	}
 }
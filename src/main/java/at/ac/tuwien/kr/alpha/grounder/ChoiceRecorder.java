@@ -41,7 +41,7 @@
 import static java.util.Collections.emptyList;
 
 public class ChoiceRecorder {
-	private static final IntIdGenerator ID_GENERATOR = new IntIdGenerator();
+	private final IntIdGenerator idGenerator = new IntIdGenerator();
 
 	private final AtomStore atomStore;
 	private Pair<Map<Integer, Integer>, Map<Integer, Integer>> newChoiceAtoms = new ImmutablePair<>(new LinkedHashMap<>(), new LinkedHashMap<>());
@@ -72,7 +72,7 @@ public Map<Integer, Set<Integer>> getAndResetHeadsToBodies() {
 	
 	public List<NoGood> generateChoiceNoGoods(final List<Integer> posLiterals, final List<Integer> negLiterals, final int bodyRepresentingLiteral) {
 		// Obtain an ID for this new choice.
-		final int choiceId = ID_GENERATOR.getNextId();
+		final int choiceId = idGenerator.getNextId();
 		final int bodyRepresentingAtom = atomOf(bodyRepresentingLiteral);
 		// Create ChoiceOn and ChoiceOff atoms.
 		final int choiceOnAtom = atomStore.putIfAbsent(on(choiceId));
@@ -31,9 +31,13 @@
 import at.ac.tuwien.kr.alpha.common.Assignment;
 import at.ac.tuwien.kr.alpha.common.IntIterator;
 import at.ac.tuwien.kr.alpha.common.NoGood;
+import at.ac.tuwien.kr.alpha.common.WeightConstraint;
+import at.ac.tuwien.kr.alpha.common.metrics.MetricsRegistry;
 import at.ac.tuwien.kr.alpha.grounder.atoms.RuleAtom;
 import org.apache.commons.lang3.tuple.Pair;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 
@@ -73,10 +77,27 @@ public interface Grounder {
 
 	void forgetAssignment(int[] atomIds);
 
+	/**
+	 * Returns the weight constraints that have been created or extended by new inputs since the last call of this method.
+	 * Must be preceeded by a call to getNoGoods(). Grounders not supporting native aggregates never return any.
+	 * @return the new or extended weight constraints.
+	 */
+	default Collection<WeightConstraint> getNewWeightConstraints() {
+		return Collections.emptyList();
+	}
+
 	/**
 	 * Registers the given NoGood and returns the identifier of it.
 	 * @param noGood
 	 * @return
 	 */
 	int register(NoGood noGood);
+
+	/**
+	 * Lets the grounder report its metrics, e.g., the number of ground rules per non-ground rule, to the given registry.
+	 * Grounders not collecting any metrics ignore the registry.
+	 * @param metrics the registry of the solve this grounder takes part in.
+	 */
+	default void registerMetrics(MetricsRegistry metrics) {
+	}
 }
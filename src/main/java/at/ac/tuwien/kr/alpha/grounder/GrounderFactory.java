@@ -39,6 +39,8 @@ public static Grounder getInstance(String name, InternalProgram program, AtomSto
 		switch (name.toLowerCase()) {
 			case "naive":
 				return new NaiveGrounder(program, atomStore, filter, heuristicsConfiguration, debugInternalChecks, bridges);
+			case "rete":
+				return new ReteGrounder(program, atomStore, filter, heuristicsConfiguration, debugInternalChecks, bridges);
 		}
 		throw new IllegalArgumentException("Unknown grounder requested.");
 	}
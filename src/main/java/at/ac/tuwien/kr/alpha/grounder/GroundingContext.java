@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.grounder;
+
+import at.ac.tuwien.kr.alpha.common.terms.Term;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Holds the state that all components grounding the same program must share, i.e., the stratified evaluation of the
+ * program and every grounder working on (the evaluated) program. Each program obtains its own context when it is
+ * created from a {@link at.ac.tuwien.kr.alpha.common.program.NormalProgram}, hence independent programs can be
+ * grounded and solved concurrently within the same JVM.
+ *
+ * Currently the context consists of the ids of the rules of the program and of the indices assigned to the ground terms
+ * of enumeration atoms (see {@link at.ac.tuwien.kr.alpha.grounder.atoms.EnumerationAtom}). Grounders of a portfolio run
+ * concurrently on the same program and must obtain the same indices, therefore access is synchronized.
+ *
+ * Copyright (c) 2020, the Alpha Team.
+ */
+public class GroundingContext {
+
+	private final IntIdGenerator ruleIdGenerator = new IntIdGenerator();
+	private final Map<Term, Map<Term, Integer>> enumerations = new HashMap<>();
+
+	/**
+	 * Returns a fresh id for a rule of the program, ids start at 0.
+	 */
+	public synchronized int getNextRuleId() {
+		return ruleIdGenerator.getNextId();
+	}
+
+	/**
+	 * Returns the index of the given term within the enumeration of the given identifier. Terms not seen before are
+	 * assigned the next free index, indices start at 1.
+	 *
+	 * @param identifier      the (ground) identifier of the enumeration.
+	 * @param enumerationTerm the (ground) term to enumerate.
+	 * @return the index of enumerationTerm within the enumeration.
+	 */
+	public synchronized int getEnumerationIndex(Term identifier, Term enumerationTerm) {
+		Map<Term, Integer> enumeratedTerms = enumerations.computeIfAbsent(identifier, k -> new HashMap<>());
+		Integer assignedInteger = enumeratedTerms.get(enumerationTerm);
+		if (assignedInteger == null) {
+			int enumerationIndex = enumeratedTerms.size() + 1;
+			enumeratedTerms.put(enumerationTerm, enumerationIndex);
+			return enumerationIndex;
+		}
+		return assignedInteger;
+	}
+}
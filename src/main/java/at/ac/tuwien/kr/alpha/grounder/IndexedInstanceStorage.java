@@ -28,22 +28,32 @@
 package at.ac.tuwien.kr.alpha.grounder;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import at.ac.tuwien.kr.alpha.common.Predicate;
 import at.ac.tuwien.kr.alpha.common.atoms.Atom;
 import at.ac.tuwien.kr.alpha.common.terms.Term;
 
 /**
- * A storage for instances with a certain arity, where each position of the instance can be indexed.
- * This aids in matching and joining instances. An index can be added or removed at any time for a desired position of
- * all instances.
+ * A storage for instances with a certain arity, where single positions or combinations of positions of the instances
+ * can be indexed. This aids in matching and joining instances. An index can be added or removed at any time.
+ *
+ * Instances are kept in insertion-ordered hash sets, both overall and in the buckets of each index, hence adding and
+ * removing an instance takes constant time per index.
+ *
+ * Queries return unmodifiable views of the instances stored, not copies. A view reflects later additions and removals,
+ * hence it must not be iterated while instances are added to or removed from the storage; a caller doing so has to copy
+ * the view first. Grounders only add instances between grounding runs, so they may iterate the views lazily.
+ *
+ * Reading from the storage is safe from several threads at once, as long as no instances are added or removed
+ * concurrently. In particular, indices created on demand by a query are published safely to other readers.
  * Copyright (c) 2016-2020, the Alpha Team.
  */
 public class IndexedInstanceStorage {
@@ -56,20 +66,21 @@ public class IndexedInstanceStorage {
 	private final LinkedHashSet<Instance> instances = new LinkedHashSet<>();
 
 	/**
-	 * For each position, a mapping of termIds to list of instances with this termId at the corresponding position
+	 * All indices of this storage, both single-position and compound ones.
+	 */
+	private final List<Index> indices = new CopyOnWriteArrayList<>();
+
+	/**
+	 * For each position, the single-position index on it or null if the position is not indexed on its own.
 	 */
-	private final ArrayList<HashMap<Term, ArrayList<Instance>>> indices = new ArrayList<>();
+	private final Index[] positionIndices;
 
 	private final ArrayList<Instance> recentlyAddedInstances = new ArrayList<>();
 
 	public IndexedInstanceStorage(Predicate predicate, boolean positive) {
 		this.predicate = predicate;
 		this.positive = positive;
-
-		// Create list of mappings, initialize to null.
-		while (indices.size() < predicate.getArity()) {
-			indices.add(null);
-		}
+		this.positionIndices = new Index[predicate.getArity()];
 	}
 
 	public Predicate getPredicate() {
@@ -80,28 +91,67 @@ public void markRecentlyAddedInstancesDone() {
 		recentlyAddedInstances.clear();
 	}
 
+	/**
+	 * Marks all instances currently stored as recently added, as if they had just been added one by one.
+	 * @return true if the storage contains any instances.
+	 */
+	public boolean markAllInstancesRecentlyAdded() {
+		recentlyAddedInstances.clear();
+		recentlyAddedInstances.addAll(instances);
+		return !instances.isEmpty();
+	}
+
 	public void addIndexPosition(int position) {
-		if (position < 0 || position > predicate.getArity() - 1) {
-			throw new RuntimeException("Requested to create indices for attribute out of range." +
-				"IndexedInstanceStorage: " + this + "  requested indices position: " + position);
+		addIndex(position);
+	}
+
+	public synchronized void removeIndexPosition(int position) {
+		checkPosition(position);
+		Index index = positionIndices[position];
+		if (index != null) {
+			indices.remove(index);
+			positionIndices[position] = null;
 		}
-		// Add index
-		indices.set(position, new LinkedHashMap<>());
+	}
 
-		// Initialize index with all instances currently used.
+	/**
+	 * Adds an index on the combination of the given positions, unless such an index exists already. The index is
+	 * initialized with all instances currently stored.
+	 * @param positions the positions to index, in any order.
+	 */
+	public void addIndex(int... positions) {
+		getOrCreateIndex(positions);
+	}
+
+	private synchronized Index getOrCreateIndex(int... positions) {
+		int[] sortedPositions = Arrays.stream(positions).sorted().distinct().toArray();
+		if (sortedPositions.length == 0) {
+			throw new RuntimeException("Requested to create index without positions. IndexedInstanceStorage: " + this);
+		}
+		for (int position : sortedPositions) {
+			checkPosition(position);
+		}
+		for (Index index : indices) {
+			if (Arrays.equals(index.positions, sortedPositions)) {
+				return index;
+			}
+		}
+		Index index = new Index(sortedPositions);
 		for (Instance instance : instances) {
-			indices.get(position).putIfAbsent(instance.terms.get(position), new ArrayList<>());
-			ArrayList<Instance> instancesAtPosition = indices.get(position).get(instance.terms.get(position));
-			instancesAtPosition.add(instance);
+			index.add(instance);
 		}
+		indices.add(index);
+		if (sortedPositions.length == 1) {
+			positionIndices[sortedPositions[0]] = index;
+		}
+		return index;
 	}
 
-	public void removeIndexPosition(int position) {
+	private void checkPosition(int position) {
 		if (position < 0 || position > predicate.getArity() - 1) {
 			throw new RuntimeException("Requested to create indices for attribute out of range." +
 				"IndexedInstanceStorage: " + this + "  requested indices position: " + position);
 		}
-		indices.set(position, null);
 	}
 
 	/**
@@ -113,24 +163,26 @@ public boolean containsInstance(Instance instance) {
 		return instances.contains(instance);
 	}
 
-	public void addInstance(Instance instance) {
+	/**
+	 * Adds an instance to the storage and to its recently added instances, unless the instance is stored already.
+	 * @param instance the instance to add.
+	 * @return true if the instance was added, false if it was stored already, in which case the storage is unchanged.
+	 */
+	public boolean addInstance(Instance instance) {
 		if (instance.terms.size() != predicate.getArity()) {
 			throw new RuntimeException("Instance length does not match arity of IndexedInstanceStorage: " +
 				"instance size: " + instance.terms.size()
 				+ "IndexedInstanceStorage: " + this);
 		}
-		instances.add(instance);
+		if (!instances.add(instance)) {
+			return false;
+		}
 		recentlyAddedInstances.add(instance);
 		// Add instance to all indices.
-		for (int i = 0; i < indices.size(); i++) {
-			HashMap<Term, ArrayList<Instance>> posIndex = indices.get(i);
-			if (posIndex == null) {
-				continue;
-			}
-			posIndex.putIfAbsent(instance.terms.get(i), new ArrayList<>());
-			ArrayList<Instance> matchingInstancesAtPos = posIndex.get(instance.terms.get(i));
-			matchingInstancesAtPos.add(instance);	// Add instance
+		for (Index index : indices) {
+			index.add(instance);
 		}
+		return true;
 	}
 
 	public void removeInstance(Instance instance) {
@@ -138,22 +190,13 @@ public void removeInstance(Instance instance) {
 			// Hint: exception may be replaced by removing the instance also from the list of recentlyAddedInstances.
 			throw new RuntimeException("Instance is removed while there are unprocessed new instances; Result dubious.");
 		}
+		if (!instances.remove(instance)) {
+			return;
+		}
 		// Remove from all indices
-		for (int i = 0; i < indices.size(); i++) {
-			HashMap<Term, ArrayList<Instance>> posIndex = indices.get(i);
-			if (posIndex == null) {
-				continue;
-			}
-			ArrayList<Instance> matchingInstancesAtPos = posIndex.get(instance.terms.get(i));
-			matchingInstancesAtPos.remove(instance);	// Remove instance
-
-			// If there are no more instances having the term at the current position,
-			// remove the entry from the hash.
-			if (matchingInstancesAtPos.size() == 0) {
-				posIndex.remove(instance.terms.get(i));
-			}
+		for (Index index : indices) {
+			index.remove(instance);
 		}
-		instances.remove(instance);
 	}
 
 	public List<Instance> getRecentlyAddedInstances() {
@@ -161,56 +204,68 @@ public List<Instance> getRecentlyAddedInstances() {
 	}
 
 	/**
-	 * Returns a list of all instances having the given term at the given position. Returns null if no such
+	 * Returns all instances having the given term at the given position. Returns an empty collection if no such
 	 * instances exist.
 	 * @param term
 	 * @param position
-	 * @return
+	 * @return an unmodifiable view of the matching instances.
 	 */
-	public List<Instance> getInstancesMatchingAtPosition(Term term, int position) {
-		Map<Term, ArrayList<Instance>> indexForPosition = indices.get(position);
+	public Collection<Instance> getInstancesMatchingAtPosition(Term term, int position) {
+		Index indexForPosition = positionIndices[position];
 		if (indexForPosition == null) {
 			throw new RuntimeException("IndexedInstanceStorage queried for position " + position + " which is not indexed.");
 		}
-		ArrayList<Instance> matchingInstances = indexForPosition.get(term);
-		return matchingInstances == null ? Collections.emptyList() : matchingInstances;
+		return Collections.unmodifiableSet(indexForPosition.getByKey(term));
 	}
 
-
-	private int getMostSelectiveGroundTermPosition(Atom atom) {
-		int smallestNumberOfInstances = Integer.MAX_VALUE;
-		int mostSelectiveTermPosition = -1;
-		for (int i = 0; i < atom.getTerms().size(); i++) {
-			Term testTerm = atom.getTerms().get(i);
-			if (testTerm.isGround()) {
-				ArrayList<Instance> instancesMatchingTest = indices.get(i).get(testTerm);
-				if (instancesMatchingTest == null) {
-					// Ground term at i matches zero instances, it is most selective.
-					return i;
-				}
-				int numInstancesTestTerm = instancesMatchingTest.size();
-				if (numInstancesTestTerm < smallestNumberOfInstances) {
-					smallestNumberOfInstances = numInstancesTestTerm;
-					mostSelectiveTermPosition = i;
-				}
+	/**
+	 * Returns the instances that potentially match the given partially ground atom, i.e., a superset of all instances
+	 * that agree with the atom on its ground terms. Among all indices whose positions are ground in the atom, the one
+	 * yielding the fewest instances is used. If no index is applicable but the atom has ground terms, an index on the
+	 * first ground position is created, so that subsequent queries with this pattern are served by it.
+	 * @param substitute the partially ground atom.
+	 * @return an unmodifiable view of the candidate instances.
+	 */
+	public Collection<Instance> getInstancesFromPartiallyGroundAtom(Atom substitute) {
+		List<Term> terms = substitute.getTerms();
+		Set<Instance> mostSelectiveMatches = null;
+		for (Index index : indices) {
+			if (!index.isApplicableTo(terms)) {
+				continue;
+			}
+			Set<Instance> matches = index.get(terms);
+			if (matches.isEmpty()) {
+				// Index matches zero instances, it is most selective.
+				return Collections.emptySet();
+			}
+			if (mostSelectiveMatches == null || matches.size() < mostSelectiveMatches.size()) {
+				mostSelectiveMatches = matches;
+			}
+		}
+		if (mostSelectiveMatches == null) {
+			int firstGroundTermPosition = getFirstGroundTermPosition(terms);
+			if (firstGroundTermPosition == -1) {
+				// Select all if no ground term was found.
+				return Collections.unmodifiableSet(instances);
 			}
+			mostSelectiveMatches = getOrCreateIndex(firstGroundTermPosition).get(terms);
 		}
-		return mostSelectiveTermPosition;
+		return Collections.unmodifiableSet(mostSelectiveMatches);
 	}
 
-	public List<Instance> getInstancesFromPartiallyGroundAtom(Atom substitute) {
-		// For selection of the instances, find ground term on which to select.
-		int firstGroundTermPosition = getMostSelectiveGroundTermPosition(substitute);
-		// Select matching instances, select all if no ground term was found.
-		if (firstGroundTermPosition != -1) {
-			Term firstGroundTerm = substitute.getTerms().get(firstGroundTermPosition);
-			return getInstancesMatchingAtPosition(firstGroundTerm, firstGroundTermPosition);
-		} else {
-			return new ArrayList<>(getAllInstances());
+	private static int getFirstGroundTermPosition(List<Term> terms) {
+		for (int i = 0; i < terms.size(); i++) {
+			if (terms.get(i).isGround()) {
+				return i;
+			}
 		}
+		return -1;
 	}
 
-	public Set<Instance> getAllInstances() {
+	/**
+	 * @return the set of all instances stored, which is backed by the storage and must not be modified.
+	 */
+	public LinkedHashSet<Instance> getAllInstances() {
 		return instances;
 	}
 
@@ -218,4 +273,63 @@ public Set<Instance> getAllInstances() {
 	public String toString() {
 		return (positive ? "+" : "-") + predicate;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * An index mapping the terms at a (sorted) combination of positions to the instances having these terms there.
+	 * Single-position indices use the term itself as key, compound ones a list of the terms.
+	 */
+	private static class Index {
+		private final int[] positions;
+		private final HashMap<Object, LinkedHashSet<Instance>> buckets = new HashMap<>();
+
+		Index(int[] positions) {
+			this.positions = positions;
+		}
+
+		private Object keyOf(List<Term> terms) {
+			if (positions.length == 1) {
+				return terms.get(positions[0]);
+			}
+			Term[] key = new Term[positions.length];
+			for (int i = 0; i < positions.length; i++) {
+				key[i] = terms.get(positions[i]);
+			}
+			return Arrays.asList(key);
+		}
+
+		boolean isApplicableTo(List<Term> terms) {
+			for (int position : positions) {
+				if (!terms.get(position).isGround()) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		void add(Instance instance) {
+			buckets.computeIfAbsent(keyOf(instance.terms), k -> new LinkedHashSet<>()).add(instance);
+		}
+
+		void remove(Instance instance) {
+			Object key = keyOf(instance.terms);
+			LinkedHashSet<Instance> bucket = buckets.get(key);
+			if (bucket == null) {
+				return;
+			}
+			bucket.remove(instance);
+			// If there are no more instances having the terms at the indexed positions, remove the bucket.
+			if (bucket.isEmpty()) {
+				buckets.remove(key);
+			}
+		}
+
+		Set<Instance> get(List<Term> terms) {
+			return getByKey(keyOf(terms));
+		}
+
+		Set<Instance> getByKey(Object key) {
+			LinkedHashSet<Instance> bucket = buckets.get(key);
+			return bucket == null ? Collections.emptySet() : bucket;
+		}
+	}
+}
@@ -32,14 +32,19 @@
 import at.ac.tuwien.kr.alpha.common.Assignment;
 import at.ac.tuwien.kr.alpha.common.AtomStore;
 import at.ac.tuwien.kr.alpha.common.BasicAnswerSet;
+import at.ac.tuwien.kr.alpha.common.CompactAnswerSet;
 import at.ac.tuwien.kr.alpha.common.IntIterator;
 import at.ac.tuwien.kr.alpha.common.NoGood;
 import at.ac.tuwien.kr.alpha.common.NoGoodInterface;
 import at.ac.tuwien.kr.alpha.common.Predicate;
+import at.ac.tuwien.kr.alpha.common.WeightConstraint;
 import at.ac.tuwien.kr.alpha.common.atoms.Atom;
 import at.ac.tuwien.kr.alpha.common.atoms.BasicAtom;
 import at.ac.tuwien.kr.alpha.common.atoms.Literal;
+import at.ac.tuwien.kr.alpha.common.metrics.GroundingProfiler;
+import at.ac.tuwien.kr.alpha.common.metrics.MetricsRegistry;
 import at.ac.tuwien.kr.alpha.common.program.InternalProgram;
+import at.ac.tuwien.kr.alpha.common.program.PartiallyEvaluatedProgram;
 import at.ac.tuwien.kr.alpha.common.rule.InternalRule;
 import at.ac.tuwien.kr.alpha.common.terms.VariableTerm;
 import at.ac.tuwien.kr.alpha.grounder.atoms.ChoiceAtom;
@@ -49,18 +54,21 @@
 import at.ac.tuwien.kr.alpha.grounder.instantiation.AssignmentStatus;
 import at.ac.tuwien.kr.alpha.grounder.instantiation.BindingResult;
 import at.ac.tuwien.kr.alpha.grounder.instantiation.DefaultLazyGroundingInstantiationStrategy;
-import at.ac.tuwien.kr.alpha.grounder.instantiation.LiteralInstantiationResult;
+import at.ac.tuwien.kr.alpha.grounder.instantiation.LiteralInstantiationCursor;
 import at.ac.tuwien.kr.alpha.grounder.instantiation.LiteralInstantiator;
 import at.ac.tuwien.kr.alpha.grounder.structure.AnalyzeUnjustified;
-import org.apache.commons.lang3.tuple.ImmutablePair;
+import at.ac.tuwien.kr.alpha.grounder.transformation.NativeAggregateNormalization;
 import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -70,6 +78,7 @@
 import java.util.SortedSet;
 import java.util.TreeSet;
 
+import static at.ac.tuwien.kr.alpha.Util.arrayGrowthSize;
 import static at.ac.tuwien.kr.alpha.Util.oops;
 import static at.ac.tuwien.kr.alpha.common.Literals.atomOf;
 
@@ -81,28 +90,41 @@
 public class NaiveGrounder extends BridgedGrounder implements ProgramAnalyzingGrounder {
 	private static final Logger LOGGER = LoggerFactory.getLogger(NaiveGrounder.class);
 
-	private final WorkingMemory workingMemory = new WorkingMemory();
+	final WorkingMemory workingMemory;
+	// True if the working memory was handed over from the (partial) evaluation of the program and holds all facts already.
+	private final boolean workingMemoryHoldsFacts;
 	private final AtomStore atomStore;
 	private final NogoodRegistry registry = new NogoodRegistry();
 	final NoGoodGenerator noGoodGenerator;
 	private final ChoiceRecorder choiceRecorder;
 	private final InternalProgram program;
 	private final AnalyzeUnjustified analyzeUnjustified;
+	private final WeightConstraintCollector weightConstraintCollector;
 
 	private final Map<Predicate, LinkedHashSet<Instance>> factsFromProgram;
+	private AnswerSet factsAnswerSet;
 	private final Map<IndexedInstanceStorage, ArrayList<FirstBindingAtom>> rulesUsingPredicateWorkingMemory = new HashMap<>();
 	private final Map<Integer, InternalRule> knownNonGroundRules;
+	// One substitution per non-ground rule, in which the variables of the rule are bound in place while grounding it.
+	private final Map<InternalRule, TrailedSubstitution> ruleSubstitutions = new IdentityHashMap<>();
+	// Grounding orders of each non-ground rule, adapted to the literal selectivities observed by this grounder only, such
+	// that grounders of the same program neither interfere with each other nor depend on earlier solves.
+	private final Map<InternalRule, RuleGroundingOrders> groundingOrders = new IdentityHashMap<>();
+	// Number of ground instantiations of each non-ground rule, guarded by itself since metrics may be read concurrently.
+	private final Map<InternalRule, long[]> groundInstantiationCounts = new IdentityHashMap<>();
+	// Only set if grounding profiling is enabled.
+	private GroundingProfiler profiler;
 
 	private ArrayList<InternalRule> fixedRules = new ArrayList<>();
 	private LinkedHashSet<Atom> removeAfterObtainingNewNoGoods = new LinkedHashSet<>();
 	private final boolean debugInternalChecks;
 
-	private final GrounderHeuristicsConfiguration heuristicsConfiguration;
+	final GrounderHeuristicsConfiguration heuristicsConfiguration;
 
 	// Handles instantiation of literals, i.e. supplies ground substitutions for literals of non-ground rules
 	// according to the rules set by the LiteralInstantiationStrategy used by this grounder.
-	private final LiteralInstantiator ruleInstantiator;
-	private final DefaultLazyGroundingInstantiationStrategy instantiationStrategy;
+	final LiteralInstantiator ruleInstantiator;
+	final DefaultLazyGroundingInstantiationStrategy instantiationStrategy;
 
 	public NaiveGrounder(InternalProgram program, AtomStore atomStore, boolean debugInternalChecks, Bridge... bridges) {
 		this(program, atomStore, new GrounderHeuristicsConfiguration(), debugInternalChecks, bridges);
@@ -122,10 +144,19 @@ private NaiveGrounder(InternalProgram program, AtomStore atomStore, GrounderHeur
 
 		this.program = program;
 
+		WorkingMemory evaluatedWorkingMemory = null;
+		if (program instanceof PartiallyEvaluatedProgram) {
+			evaluatedWorkingMemory = ((PartiallyEvaluatedProgram) program).takeWorkingMemory();
+			LOGGER.debug("Program has {} rules solved by evaluation.", ((PartiallyEvaluatedProgram) program).getSolvedRuleIds().size());
+		}
+		this.workingMemoryHoldsFacts = evaluatedWorkingMemory != null;
+		this.workingMemory = workingMemoryHoldsFacts ? evaluatedWorkingMemory : new WorkingMemory();
+
 		this.factsFromProgram = program.getFactsByPredicate();
 		this.knownNonGroundRules = program.getRulesById();
 
 		this.analyzeUnjustified = new AnalyzeUnjustified(this.program, this.atomStore, this.factsFromProgram);
+		this.weightConstraintCollector = containsNativeAggregates(program) ? new WeightConstraintCollector(atomStore, factsFromProgram) : null;
 
 		this.initializeFactsAndRules();
 
@@ -140,14 +171,12 @@ private NaiveGrounder(InternalProgram program, AtomStore atomStore, GrounderHeur
 		this.instantiationStrategy = new DefaultLazyGroundingInstantiationStrategy(this.workingMemory, this.atomStore, this.factsFromProgram,
 				this.heuristicsConfiguration.isAccumulatorEnabled());
 		this.instantiationStrategy.setStaleWorkingMemoryEntries(this.removeAfterObtainingNewNoGoods);
-		this.ruleInstantiator = new LiteralInstantiator(this.instantiationStrategy);
+		this.ruleInstantiator = new LiteralInstantiator(this.instantiationStrategy, program.getGroundingContext());
 	}
 
 	private void initializeFactsAndRules() {
 		// Initialize all facts.
-		for (Atom fact : program.getFacts()) {
-			final Predicate predicate = fact.getPredicate();
-
+		for (Predicate predicate : factsFromProgram.keySet()) {
 			// Record predicate
 			workingMemory.initialize(predicate);
 		}
@@ -164,20 +193,42 @@ private void initializeFactsAndRules() {
 				// FIXME: this also contains interval/builtin predicates that are not needed.
 				workingMemory.initialize(predicate);
 			}
+			RuleGroundingOrders ruleGroundingOrders = new RuleGroundingOrders(nonGroundRule);
+			ruleGroundingOrders.computeGroundingOrders();
+			groundingOrders.put(nonGroundRule, ruleGroundingOrders);
+			workingMemory.addJoinIndices(ruleGroundingOrders);
+
+			// The interface rule of native aggregates is not grounded, its instances are weight constraints.
+			if (isNativeAggregateInterfaceRule(nonGroundRule)) {
+				continue;
+			}
 
 			// If the rule has fixed ground instantiations, it is not registered but grounded once like facts.
-			if (nonGroundRule.getGroundingOrders().fixedInstantiation()) {
+			if (ruleGroundingOrders.fixedInstantiation()) {
 				fixedRules.add(nonGroundRule);
 				continue;
 			}
 
 			// Register each starting literal at the corresponding working memory.
-			for (Literal literal : nonGroundRule.getGroundingOrders().getStartingLiterals()) {
+			for (Literal literal : ruleGroundingOrders.getStartingLiterals()) {
 				registerLiteralAtWorkingMemory(literal, nonGroundRule);
 			}
 		}
 	}
 
+	private static boolean isNativeAggregateInterfaceRule(InternalRule rule) {
+		return !rule.isConstraint() && NativeAggregateNormalization.isInterfaceRule(rule.getHeadAtom().getPredicate());
+	}
+
+	private static boolean containsNativeAggregates(InternalProgram program) {
+		for (InternalRule rule : program.getRulesById().values()) {
+			if (isNativeAggregateInterfaceRule(rule)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	private Set<InternalRule> getRulesWithUniqueHead() {
 		// FIXME: below optimisation (adding support nogoods if there is only one rule instantiation per unique atom over the interpretation) could
 		// be done as a transformation (adding a non-ground constraint corresponding to the nogood that is generated by the grounder).
@@ -231,13 +282,15 @@ private void registerLiteralAtWorkingMemory(Literal literal, InternalRule nonGro
 
 	@Override
 	public AnswerSet assignmentToAnswerSet(Iterable<Integer> trueAtoms) {
-		Map<Predicate, SortedSet<Atom>> predicateInstances = new LinkedHashMap<>();
-		SortedSet<Predicate> knownPredicates = new TreeSet<>();
+		AnswerSet facts = getFactsAnswerSet();
+		int[] atomIds = new int[16];
+		Predicate[] atomPredicates = new Predicate[16];
+		int numAtomIds = 0;
+		SortedSet<Predicate> knownPredicates = null;
 
-		// Iterate over all true atomIds, computeNextAnswerSet instances from atomStore and add them if not filtered.
+		// Iterate over all true atomIds and record them if not filtered, their instances are only created on demand.
 		for (int trueAtom : trueAtoms) {
-			final Atom atom = atomStore.get(trueAtom);
-			Predicate predicate = atom.getPredicate();
+			Predicate predicate = atomStore.get(trueAtom).getPredicate();
 
 			// Skip atoms over internal predicates.
 			if (predicate.isInternal()) {
@@ -249,13 +302,37 @@ public AnswerSet assignmentToAnswerSet(Iterable<Integer> trueAtoms) {
 				continue;
 			}
 
+			if (knownPredicates == null) {
+				knownPredicates = new TreeSet<>(facts.getPredicates());
+			}
 			knownPredicates.add(predicate);
-			predicateInstances.putIfAbsent(predicate, new TreeSet<>());
-			Set<Atom> instances = predicateInstances.get(predicate);
-			instances.add(atom);
+			if (numAtomIds == atomIds.length) {
+				atomIds = Arrays.copyOf(atomIds, arrayGrowthSize(atomIds.length));
+				atomPredicates = Arrays.copyOf(atomPredicates, atomIds.length);
+			}
+			atomIds[numAtomIds] = trueAtom;
+			atomPredicates[numAtomIds] = predicate;
+			numAtomIds++;
 		}
 
-		// Add true atoms from facts.
+		// Without any true atoms besides facts, all answer sets share the facts.
+		if (knownPredicates == null) {
+			return facts;
+		}
+
+		return new CompactAnswerSet(facts, atomStore, Arrays.copyOf(atomIds, numAtomIds), Arrays.copyOf(atomPredicates, numAtomIds),
+				Collections.unmodifiableSortedSet(knownPredicates));
+	}
+
+	/**
+	 * Returns the answer set consisting of all true atoms from facts, which is created once and shared by all answer sets.
+	 */
+	private AnswerSet getFactsAnswerSet() {
+		if (factsAnswerSet != null) {
+			return factsAnswerSet;
+		}
+		Map<Predicate, SortedSet<Atom>> predicateInstances = new LinkedHashMap<>();
+		SortedSet<Predicate> knownPredicates = new TreeSet<>();
 		for (Map.Entry<Predicate, LinkedHashSet<Instance>> facts : factsFromProgram.entrySet()) {
 			Predicate factPredicate = facts.getKey();
 			// Skip atoms over internal predicates.
@@ -271,18 +348,19 @@ public AnswerSet assignmentToAnswerSet(Iterable<Integer> trueAtoms) {
 				continue;
 			}
 			knownPredicates.add(factPredicate);
-			predicateInstances.putIfAbsent(factPredicate, new TreeSet<>());
+			SortedSet<Atom> instances = new TreeSet<>();
 			for (Instance factInstance : facts.getValue()) {
-				SortedSet<Atom> instances = predicateInstances.get(factPredicate);
 				instances.add(new BasicAtom(factPredicate, factInstance.terms));
 			}
+			predicateInstances.put(factPredicate, Collections.unmodifiableSortedSet(instances));
 		}
 
 		if (knownPredicates.isEmpty()) {
-			return BasicAnswerSet.EMPTY;
+			factsAnswerSet = BasicAnswerSet.EMPTY;
+		} else {
+			factsAnswerSet = new BasicAnswerSet(Collections.unmodifiableSortedSet(knownPredicates), predicateInstances);
 		}
-
-		return new BasicAnswerSet(knownPredicates, predicateInstances);
+		return factsAnswerSet;
 	}
 
 	/**
@@ -293,16 +371,30 @@ public AnswerSet assignmentToAnswerSet(Iterable<Integer> trueAtoms) {
 	protected HashMap<Integer, NoGood> bootstrap() {
 		final HashMap<Integer, NoGood> groundNogoods = new LinkedHashMap<>();
 
-		for (Predicate predicate : factsFromProgram.keySet()) {
-			// Instead of generating NoGoods, add instance to working memories directly.
-			workingMemory.addInstances(predicate, true, factsFromProgram.get(predicate));
+		if (workingMemoryHoldsFacts) {
+			// Facts are in the working memories already, only ground the rules using them.
+			for (Predicate predicate : factsFromProgram.keySet()) {
+				IndexedInstanceStorage storage = workingMemory.get(predicate, true);
+				if (rulesUsingPredicateWorkingMemory.containsKey(storage)) {
+					workingMemory.markAllInstancesRecentlyAdded(storage);
+				}
+			}
+		} else {
+			for (Predicate predicate : factsFromProgram.keySet()) {
+				// Instead of generating NoGoods, add instance to working memories directly.
+				workingMemory.addInstances(predicate, true, factsFromProgram.get(predicate));
+			}
 		}
 
 		for (InternalRule nonGroundRule : fixedRules) {
 			// Generate NoGoods for all rules that have a fixed grounding.
-			RuleGroundingOrder groundingOrder = nonGroundRule.getGroundingOrders().getFixedGroundingOrder();
-			BindingResult bindingResult = getGroundInstantiations(nonGroundRule, groundingOrder, new Substitution(), null);
+			RuleGroundingOrder groundingOrder = groundingOrders.get(nonGroundRule).getFixedGroundingOrder();
+			final long start = profiler != null ? System.nanoTime() : 0;
+			BindingResult bindingResult = getGroundInstantiations(nonGroundRule, groundingOrder, new TrailedSubstitution(nonGroundRule.getEmptySubstitution()), null);
 			groundAndRegister(nonGroundRule, bindingResult.getGeneratedSubstitutions(), groundNogoods);
+			if (profiler != null) {
+				profiler.recordInstantiation(nonGroundRule, System.nanoTime() - start);
+			}
 		}
 
 		fixedRules = null;
@@ -337,22 +429,7 @@ public Map<Integer, NoGood> getNoGoods(Assignment currentAssignment) {
 
 				// Generate substitutions from each recent instance.
 				for (Instance instance : modifiedWorkingMemory.getRecentlyAddedInstances()) {
-					// Check instance if it matches with the atom.
-
-					final Substitution unifier = Substitution.specializeSubstitution(firstBindingAtom.startingLiteral, instance,
-							Substitution.EMPTY_SUBSTITUTION);
-
-					if (unifier == null) {
-						continue;
-					}
-
-					final BindingResult bindingResult = getGroundInstantiations(
-							nonGroundRule,
-							nonGroundRule.getGroundingOrders().orderStartingFrom(firstBindingAtom.startingLiteral),
-							unifier,
-							currentAssignment);
-
-					groundAndRegister(nonGroundRule, bindingResult.getGeneratedSubstitutions(), newNoGoods);
+					groundFromRecentInstance(nonGroundRule, firstBindingAtom.startingLiteral, instance, currentAssignment, newNoGoods);
 				}
 			}
 
@@ -361,12 +438,17 @@ public Map<Integer, NoGood> getNoGoods(Assignment currentAssignment) {
 		}
 
 		workingMemory.reset();
+		if (weightConstraintCollector != null) {
+			// Turn the newly grounded bound and input atoms of native aggregates into weight constraints.
+			registry.register(weightConstraintCollector.collect(), newNoGoods);
+		}
 		for (Atom removeAtom : removeAfterObtainingNewNoGoods) {
 			final IndexedInstanceStorage storage = workingMemory.get(removeAtom, true);
 			Instance instance = new Instance(removeAtom.getTerms());
 			if (storage.containsInstance(instance)) {
 				// permissive grounder heuristics may attempt to remove instances that are not yet in the working memory
 				storage.removeInstance(instance);
+				instanceRemoved(storage, instance);
 			}
 		}
 
@@ -388,6 +470,52 @@ public Map<Integer, NoGood> getNoGoods(Assignment currentAssignment) {
 		return newNoGoods;
 	}
 
+	/**
+	 * Called after an instance whose atom is no longer true has been removed from the working memory.
+	 *
+	 * @param storage  the working memory the instance was removed from.
+	 * @param instance the removed instance.
+	 */
+	void instanceRemoved(IndexedInstanceStorage storage, Instance instance) {
+	}
+
+	/**
+	 * Computes all ground instantiations of the given rule in which the given starting literal is instantiated by the given
+	 * instance that was recently added to the working memory, and registers the nogoods of the resulting ground rules.
+	 *
+	 * @param nonGroundRule     the rule to ground.
+	 * @param startingLiteral   a starting literal of the rule.
+	 * @param instance          a recently added instance of the predicate of the starting literal.
+	 * @param currentAssignment the current assignment of the solver.
+	 * @param newNoGoods        a set of nogoods to which newly generated nogoods will be added.
+	 */
+	void groundFromRecentInstance(InternalRule nonGroundRule, Literal startingLiteral, Instance instance, Assignment currentAssignment,
+			Map<Integer, NoGood> newNoGoods) {
+		// Check instance if it matches with the atom.
+		final TrailedSubstitution unifier = ruleSubstitutions.computeIfAbsent(nonGroundRule, rule -> new TrailedSubstitution(rule.getEmptySubstitution()));
+		if (!unifier.unify(startingLiteral.getAtom(), instance)) {
+			return;
+		}
+
+		final long start = profiler != null ? System.nanoTime() : 0;
+		final BindingResult bindingResult;
+		try {
+			bindingResult = getGroundInstantiations(
+					nonGroundRule,
+					groundingOrders.get(nonGroundRule).orderStartingFrom(startingLiteral),
+					unifier,
+					currentAssignment);
+		} finally {
+			// Leave the substitution of the rule empty for the next instance.
+			unifier.backtrackTo(0);
+		}
+
+		groundAndRegister(nonGroundRule, bindingResult.getGeneratedSubstitutions(), newNoGoods);
+		if (profiler != null) {
+			profiler.recordInstantiation(nonGroundRule, System.nanoTime() - start);
+		}
+	}
+
 	/**
 	 * Grounds the given {@code nonGroundRule} by applying the given {@code substitutions} and registers the nogoods generated during that
 	 * process.
@@ -396,21 +524,63 @@ public Map<Integer, NoGood> getNoGoods(Assignment currentAssignment) {
 	 * @param substitutions the substitutions to be applied.
 	 * @param newNoGoods    a set of nogoods to which newly generated nogoods will be added.
 	 */
-	private void groundAndRegister(final InternalRule nonGroundRule, final List<Substitution> substitutions, final Map<Integer, NoGood> newNoGoods) {
+	void groundAndRegister(final InternalRule nonGroundRule, final List<Substitution> substitutions, final Map<Integer, NoGood> newNoGoods) {
+		if (!substitutions.isEmpty()) {
+			synchronized (groundInstantiationCounts) {
+				groundInstantiationCounts.computeIfAbsent(nonGroundRule, rule -> new long[1])[0] += substitutions.size();
+			}
+		}
+		int generated = 0;
+		int registered = 0;
 		for (Substitution substitution : substitutions) {
 			List<NoGood> generatedNoGoods = noGoodGenerator.generateNoGoodsFromGroundSubstitution(nonGroundRule, substitution);
-			registry.register(generatedNoGoods, newNoGoods);
+			generated += generatedNoGoods.size();
+			registered += registry.register(generatedNoGoods, newNoGoods);
+		}
+		if (profiler != null) {
+			profiler.recordGroundRules(nonGroundRule, substitutions.size(), generated, registered);
 		}
 	}
 
+	@Override
+	public Collection<WeightConstraint> getNewWeightConstraints() {
+		return weightConstraintCollector != null ? weightConstraintCollector.takeNewWeightConstraints() : Collections.emptyList();
+	}
+
 	@Override
 	public int register(NoGood noGood) {
 		return registry.register(noGood);
 	}
 
+	/**
+	 * Reports the number of ground instantiations of each non-ground rule. Since the grounder may instantiate a rule with
+	 * the same substitution again in later grounding rounds, this counts grounding work rather than distinct ground rules.
+	 */
+	@Override
+	public void registerMetrics(MetricsRegistry metrics) {
+		if (metrics.isGroundingProfilingEnabled()) {
+			profiler = new GroundingProfiler();
+			metrics.addGroundingProfiler(profiler);
+		}
+		metrics.addGroundRuleCountSource(() -> {
+			Map<InternalRule, Long> counts = new LinkedHashMap<>();
+			synchronized (groundInstantiationCounts) {
+				for (Map.Entry<InternalRule, long[]> entry : groundInstantiationCounts.entrySet()) {
+					counts.put(entry.getKey(), entry.getValue()[0]);
+				}
+			}
+			return counts;
+		});
+	}
+
 	// Ideally, this method should be private. It's only visible because NaiveGrounderTest needs to access it.
 	BindingResult getGroundInstantiations(InternalRule rule, RuleGroundingOrder groundingOrder, Substitution partialSubstitution,
 			Assignment currentAssignment) {
+		return getGroundInstantiations(rule, groundingOrder, new TrailedSubstitution(partialSubstitution), currentAssignment);
+	}
+
+	private BindingResult getGroundInstantiations(InternalRule rule, RuleGroundingOrder groundingOrder, TrailedSubstitution substitution,
+			Assignment currentAssignment) {
 		int tolerance = heuristicsConfiguration.getTolerance(rule.isConstraint());
 		if (tolerance < 0) {
 			tolerance = Integer.MAX_VALUE;
@@ -420,7 +590,8 @@ BindingResult getGroundInstantiations(InternalRule rule, RuleGroundingOrder grou
 		// Note: Actually the assignment could be an instance variable of the grounder (shared with solver),
 		// but this would have a larger impact on grounder/solver communication design as a whole.
 		instantiationStrategy.setCurrentAssignment(currentAssignment);
-		BindingResult bindingResult = bindNextAtomInRule(groundingOrder, 0, tolerance, tolerance, partialSubstitution);
+		BindingResult bindingResult = new BindingResult();
+		bindNextAtomInRule(rule, groundingOrder, 0, tolerance, tolerance, substitution, bindingResult);
 		if (LOGGER.isDebugEnabled()) {
 			for (int i = 0; i < bindingResult.size(); i++) {
 				Integer numberOfUnassignedPositiveBodyAtoms = bindingResult.getNumbersOfUnassignedPositiveBodyAtoms().get(i);
@@ -434,37 +605,35 @@ BindingResult getGroundInstantiations(InternalRule rule, RuleGroundingOrder grou
 	}
 
 	/**
-	 * Helper method used by {@link NaiveGrounder#bindNextAtomInRule(RuleGroundingOrder, int, int, int, Substitution)}.
+	 * Helper method used by {@link NaiveGrounder#bindNextAtomInRule(InternalRule, RuleGroundingOrder, int, int, int, TrailedSubstitution, BindingResult)}.
 	 * 
-	 * Takes an <code>ImmutablePair</code> of a {@link Substitution} and an accompanying {@link AssignmentStatus} and calls
-	 * <code>bindNextAtomInRule</code> for the next literal in the grounding order.
-	 * If the assignment status for the last bound literal was {@link AssignmentStatus#UNASSIGNED}, the <code>remainingTolerance</code>
-	 * parameter is decreased by 1. If the remaining tolerance drops below zero, this method returns an empty {@link BindingResult}.
+	 * Takes the {@link AssignmentStatus} of the literal bound last and calls <code>bindNextAtomInRule</code> for the next literal in the
+	 * grounding order. If the assignment status for the last bound literal was {@link AssignmentStatus#UNASSIGNED}, the
+	 * <code>remainingTolerance</code> parameter is decreased by 1. If the remaining tolerance drops below zero, binding stops.
 	 * 
+	 * @param rule
 	 * @param groundingOrder
 	 * @param orderPosition
 	 * @param originalTolerance
 	 * @param remainingTolerance
-	 * @param lastLiteralBindingResult
-	 * @return the result of calling bindNextAtomInRule on the next literal in the grounding order, or an empty binding result if remaining
-	 *         tolerance is less than zero.
+	 * @param lastBoundLiteralAssignmentStatus
+	 * @param substitution
+	 * @param bindingResult
 	 */
-	private BindingResult continueBinding(RuleGroundingOrder groundingOrder, int orderPosition, int originalTolerance, int remainingTolerance,
-			ImmutablePair<Substitution, AssignmentStatus> lastLiteralBindingResult) {
-		Substitution substitution = lastLiteralBindingResult.left;
-		AssignmentStatus lastBoundLiteralAssignmentStatus = lastLiteralBindingResult.right;
+	private void continueBinding(InternalRule rule, RuleGroundingOrder groundingOrder, int orderPosition, int originalTolerance, int remainingTolerance,
+			AssignmentStatus lastBoundLiteralAssignmentStatus, TrailedSubstitution substitution, BindingResult bindingResult) {
 		switch (lastBoundLiteralAssignmentStatus) {
 			case TRUE:
-				return advanceAndBindNextAtomInRule(groundingOrder, orderPosition, originalTolerance, remainingTolerance, substitution);
+				advanceAndBindNextAtomInRule(rule, groundingOrder, orderPosition, originalTolerance, remainingTolerance, substitution, bindingResult);
+				return;
 			case UNASSIGNED:
 				// The last literal bound to obtain the current substitution has not been assigned a truth value by the solver yet.
 				// If we still have enough tolerance, we can continue grounding nevertheless.
 				int toleranceForNextRun = remainingTolerance - 1;
 				if (toleranceForNextRun >= 0) {
-					return advanceAndBindNextAtomInRule(groundingOrder, orderPosition, originalTolerance, toleranceForNextRun, substitution);
-				} else {
-					return BindingResult.empty();
+					advanceAndBindNextAtomInRule(rule, groundingOrder, orderPosition, originalTolerance, toleranceForNextRun, substitution, bindingResult);
 				}
+				return;
 			case FALSE:
 				throw Util.oops("Got an assignmentStatus FALSE for literal " + groundingOrder.getLiteralAtOrderPosition(orderPosition) + " and substitution "
 						+ substitution + " - should not happen!");
@@ -473,74 +642,81 @@ private BindingResult continueBinding(RuleGroundingOrder groundingOrder, int ord
 		}
 	}
 
-	private BindingResult advanceAndBindNextAtomInRule(RuleGroundingOrder groundingOrder, int orderPosition, int originalTolerance, int remainingTolerance,
-			Substitution partialSubstitution) {
+	private void advanceAndBindNextAtomInRule(InternalRule rule, RuleGroundingOrder groundingOrder, int orderPosition, int originalTolerance, int remainingTolerance,
+			TrailedSubstitution substitution, BindingResult bindingResult) {
 		groundingOrder.considerUntilCurrentEnd();
-		return bindNextAtomInRule(groundingOrder, orderPosition + 1, originalTolerance, remainingTolerance, partialSubstitution);
+		bindNextAtomInRule(rule, groundingOrder, orderPosition + 1, originalTolerance, remainingTolerance, substitution, bindingResult);
 	}
 
-	private BindingResult pushBackAndBindNextAtomInRule(RuleGroundingOrder groundingOrder, int orderPosition, int originalTolerance, int remainingTolerance,
-			Substitution partialSubstitution) {
+	private void pushBackAndBindNextAtomInRule(InternalRule rule, RuleGroundingOrder groundingOrder, int orderPosition, int originalTolerance, int remainingTolerance,
+			TrailedSubstitution substitution, BindingResult bindingResult) {
 		RuleGroundingOrder modifiedGroundingOrder = groundingOrder.pushBack(orderPosition);
 		if (modifiedGroundingOrder == null) {
-			return BindingResult.empty();
+			return;
 		}
-		return bindNextAtomInRule(modifiedGroundingOrder, orderPosition + 1, originalTolerance, remainingTolerance, partialSubstitution);
+		bindNextAtomInRule(rule, modifiedGroundingOrder, orderPosition + 1, originalTolerance, remainingTolerance, substitution, bindingResult);
 	}
 
 	//@formatter:off
 	/**
-	 * Computes ground substitutions for a literal based on a {@link RuleGroundingOrder} and a {@link Substitution}.
+	 * Computes ground substitutions for a literal based on a {@link RuleGroundingOrder} and a {@link TrailedSubstitution}.
 	 * 
 	 * Computes ground substitutions for the literal at position <code>orderPosition</code> of <code>groundingOrder</code>
-	 * Actual substitutions are computed by this grounder's {@link LiteralInstantiator}. 
+	 * Actual substitutions are computed by this grounder's {@link LiteralInstantiator}, which binds the ground instances
+	 * of the literal one after another in the given substitution. Only once all literals are bound, a copy of the
+	 * substitution is added to the binding result. When this method returns, the substitution is in the same state
+	 * as when it was called.
 	 * 
+	 * @param rule the rule being grounded
 	 * @param groundingOrder a {@link RuleGroundingOrder} representing the body literals of a rule in the 
 	 * 						 sequence in which the should be bound during grounding.
 	 * @param orderPosition the current position within <code>groundingOrder</code>, indicates which literal should be bound
 	 * @param originalTolerance the original tolerance of the used grounding heuristic
 	 * @param remainingTolerance the remaining tolerance, determining if binding continues in the presence of substitutions based on unassigned atoms
-	 * @param partialSubstitution a substitution
-	 * @return a {@link BindingResult} representing applicable ground substitutions for all literals after orderPosition in groundingOrder
+	 * @param substitution the partial substitution, extended in place
+	 * @param bindingResult receives the applicable ground substitutions for all literals after orderPosition in groundingOrder
 	 */
 	//@formatter:on
-	private BindingResult bindNextAtomInRule(RuleGroundingOrder groundingOrder, int orderPosition, int originalTolerance, int remainingTolerance,
-			Substitution partialSubstitution) {
+	private void bindNextAtomInRule(InternalRule rule, RuleGroundingOrder groundingOrder, int orderPosition, int originalTolerance, int remainingTolerance,
+			TrailedSubstitution substitution, BindingResult bindingResult) {
 		Literal currentLiteral = groundingOrder.getLiteralAtOrderPosition(orderPosition);
 		if (currentLiteral == null) {
 			LOGGER.trace("No more literals found in grounding order, therefore stopping binding!");
-			return BindingResult.singleton(partialSubstitution, originalTolerance - remainingTolerance);
+			bindingResult.add(substitution.snapshot(), originalTolerance - remainingTolerance);
+			return;
 		}
 		LOGGER.trace("Binding current literal {} with remaining tolerance {} and partial substitution {}.", currentLiteral,
-				remainingTolerance, partialSubstitution);
-		LiteralInstantiationResult instantiationResult = ruleInstantiator.instantiateLiteral(currentLiteral, partialSubstitution);
-		switch (instantiationResult.getType()) {
+				remainingTolerance, substitution);
+		LiteralInstantiationCursor instantiation = ruleInstantiator.instantiateLiteralInPlace(currentLiteral, substitution);
+		switch (instantiation.getType()) {
 			case CONTINUE:
 				/*
-				 * Recursively call bindNextAtomInRule for each generated substitution
+				 * Recursively call bindNextAtomInRule for each ground instance bound by the instantiator
 				 * and the next literal in the grounding order (i.e. advance), thereby reducing remaining
 				 * tolerance by 1 iff a substitution uses an unassigned ground atom.
-				 * If remainingTolerance falls below zero, an empty {@link BindingResult} is returned.
+				 * If remainingTolerance falls below zero, binding stops.
 				 */
-				List<ImmutablePair<Substitution, AssignmentStatus>> substitutionInfos = instantiationResult.getSubstitutions();
-				LOGGER.trace("Literal instantiator yielded {} substitutions for literal {}.", substitutionInfos.size(), currentLiteral);
-				BindingResult retVal = new BindingResult();
-				for (ImmutablePair<Substitution, AssignmentStatus> substitutionInfo : substitutionInfos) {
-					retVal.add(this.continueBinding(groundingOrder, orderPosition, originalTolerance, remainingTolerance,
-							substitutionInfo));
+				int numSubstitutions = 0;
+				while (instantiation.bindNext()) {
+					numSubstitutions++;
+					continueBinding(rule, groundingOrder, orderPosition, originalTolerance, remainingTolerance, instantiation.getAssignmentStatus(),
+							substitution, bindingResult);
 				}
-				return retVal;
+				LOGGER.trace("Literal instantiator yielded {} substitutions for literal {}.", numSubstitutions, currentLiteral);
+				recordLiteralSelectivity(rule, currentLiteral, instantiation.getNumberOfExaminedInstances(), numSubstitutions);
+				return;
 			case PUSH_BACK:
 				/*
 				 * Delegate to pushBackAndBindNextAtomInRule(RuleGroundingOrder, int, int, int, Substitution, Assignment).
 				 * Pushes the current literal to the end of the grounding order and calls bindNextAtomInRule with the modified grounding oder.
 				 */
 				LOGGER.trace("Pushing back literal {} in grounding order.", currentLiteral);
-				return pushBackAndBindNextAtomInRule(groundingOrder, orderPosition, originalTolerance, remainingTolerance, partialSubstitution);
+				pushBackAndBindNextAtomInRule(rule, groundingOrder, orderPosition, originalTolerance, remainingTolerance, substitution, bindingResult);
+				return;
 			case MAYBE_PUSH_BACK:
 				/*
 				 * Indicates that the rule instantiator could not find any substitutions for the current literal. If a permissive grounder heuristic is in
-				 * use, push the current literal to the end of the grounding order and proceed with the next one, otherwise return an empty BindingResult.
+				 * use, push the current literal to the end of the grounding order and proceed with the next one, otherwise stop binding.
 				 */
 				if (originalTolerance > 0) {
 					LOGGER.trace(
@@ -548,16 +724,33 @@ private BindingResult bindNextAtomInRule(RuleGroundingOrder groundingOrder, int
 							currentLiteral);
 					// This occurs when the grounder heuristic in use is a "permissive" one,
 					// i.e. it is deemed acceptable to have ground rules where a number of body atoms are not yet assigned a truth value by the solver.
-					return pushBackAndBindNextAtomInRule(groundingOrder, orderPosition, originalTolerance, remainingTolerance, partialSubstitution);
+					pushBackAndBindNextAtomInRule(rule, groundingOrder, orderPosition, originalTolerance, remainingTolerance, substitution, bindingResult);
 				} else {
 					LOGGER.trace("No substitutions found for literal {}", currentLiteral);
-					return BindingResult.empty();
+					recordLiteralSelectivity(rule, currentLiteral, instantiation.getNumberOfExaminedInstances(), 0);
 				}
+				return;
 			case STOP_BINDING:
 				LOGGER.trace("No substitutions found for literal {}", currentLiteral);
-				return BindingResult.empty();
+				recordLiteralSelectivity(rule, currentLiteral, instantiation.getNumberOfExaminedInstances(), 0);
+				return;
 			default:
-				throw Util.oops("Unhandled literal instantiation result type: " + instantiationResult.getType());
+				throw Util.oops("Unhandled literal instantiation result type: " + instantiation.getType());
+		}
+	}
+
+	/**
+	 * Records that binding the given literal under one partial substitution yielded the given number of substitutions.
+	 * If this makes the rule recompute its grounding orders, indices for the new join patterns are added.
+	 * @param examinedInstances the number of instances examined by the instantiation strategy for binding the literal.
+	 */
+	private void recordLiteralSelectivity(InternalRule rule, Literal literal, long examinedInstances, int numObtainedSubstitutions) {
+		if (profiler != null) {
+			profiler.recordBinding(rule, literal, examinedInstances, numObtainedSubstitutions);
+		}
+		RuleGroundingOrders ruleGroundingOrders = groundingOrders.get(rule);
+		if (ruleGroundingOrders.updateLiteralSelectivity(literal, 1, numObtainedSubstitutions)) {
+			workingMemory.addJoinIndices(ruleGroundingOrders);
 		}
 	}
 
@@ -600,6 +793,10 @@ public boolean isFact(Atom atom) {
 	@Override
 	public Set<Literal> justifyAtom(int atomToJustify, Assignment currentAssignment) {
 		Set<Literal> literals = analyzeUnjustified.analyze(atomToJustify, currentAssignment);
+		if (literals == null) {
+			LOGGER.debug("Unable to justify atom {}, it depends on a native aggregate.", atomToJustify);
+			return null;
+		}
 		// Remove facts from justification before handing it over to the solver.
 		for (Iterator<Literal> iterator = literals.iterator(); iterator.hasNext();) {
 			Literal literal = iterator.next();
@@ -6,7 +6,7 @@
 import java.util.Map;
 
 public class NogoodRegistry {
-	private static final IntIdGenerator ID_GENERATOR = new IntIdGenerator();
+	private final IntIdGenerator idGenerator = new IntIdGenerator();
 
 	private Map<NoGood, Integer> registeredIdentifiers = new LinkedHashMap<>();
 
@@ -22,20 +22,27 @@ public float computeAverageNoGoodLength() {
 		return ((float) totalSizes) / registeredIdentifiers.size();
 	}
 
-	void register(Iterable<NoGood> noGoods, Map<Integer, NoGood> difference) {
+	/**
+	 * Registers the given nogoods and adds those not registered before to the given difference.
+	 * @return the number of nogoods not registered before.
+	 */
+	int register(Iterable<NoGood> noGoods, Map<Integer, NoGood> difference) {
+		int newNoGoods = 0;
 		for (NoGood noGood : noGoods) {
 			// Check if noGood was already derived earlier, add if it is new
 			if (!registeredIdentifiers.containsKey(noGood)) {
-				int noGoodId = ID_GENERATOR.getNextId();
+				int noGoodId = idGenerator.getNextId();
 				registeredIdentifiers.put(noGood, noGoodId);
 				difference.put(noGoodId, noGood);
+				newNoGoods++;
 			}
 		}
+		return newNoGoods;
 	}
 
 	int register(NoGood noGood) {
 		if (!registeredIdentifiers.containsKey(noGood)) {
-			int noGoodId = ID_GENERATOR.getNextId();
+			int noGoodId = idGenerator.getNextId();
 			registeredIdentifiers.put(noGood, noGoodId);
 			return noGoodId;
 		}
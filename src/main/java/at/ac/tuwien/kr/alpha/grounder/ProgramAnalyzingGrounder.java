@@ -16,7 +16,8 @@ public interface ProgramAnalyzingGrounder extends Grounder {
 	 * Justifies the absence of an atom, i.e., returns reasons why the atom is not TRUE given the assignment.
 	 * @param atomToJustify the atom to justify.
 	 * @param currentAssignment the current assignment.
-	 * @return a set of literals who jointly imply the atomToJustify not being TRUE.
+	 * @return a set of literals who jointly imply the atomToJustify not being TRUE, or null if the atom cannot be justified
+	 * by analyzing the program, e.g., because it depends on a native aggregate.
 	 */
 	Set<Literal> justifyAtom(int atomToJustify, Assignment currentAssignment);
 
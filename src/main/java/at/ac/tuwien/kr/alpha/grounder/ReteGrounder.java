@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Additional changes made by Siemens.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.grounder;
+
+import at.ac.tuwien.kr.alpha.common.Assignment;
+import at.ac.tuwien.kr.alpha.common.AtomStore;
+import at.ac.tuwien.kr.alpha.common.NoGood;
+import at.ac.tuwien.kr.alpha.common.Predicate;
+import at.ac.tuwien.kr.alpha.common.atoms.Literal;
+import at.ac.tuwien.kr.alpha.common.program.InternalProgram;
+import at.ac.tuwien.kr.alpha.common.rule.InternalRule;
+import at.ac.tuwien.kr.alpha.grounder.bridges.Bridge;
+import at.ac.tuwien.kr.alpha.grounder.heuristics.GrounderHeuristicsConfiguration;
+import at.ac.tuwien.kr.alpha.grounder.rete.RuleNetwork;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A grounder that joins rule bodies incrementally using a RETE-style network per rule (see {@link RuleNetwork}).
+ * Partial matches of rule bodies are kept between calls of {@link #getNoGoods(Assignment)}, such that an instance
+ * added to the working memory is only joined with the partial matches it extends instead of re-running the whole
+ * join starting from it.
+ *
+ * Networks only support strict grounding, rules for which the grounder heuristics are permissive are grounded as
+ * in {@link NaiveGrounder}.
+ *
+ * Copyright (c) 2020, the Alpha Team.
+ */
+public class ReteGrounder extends NaiveGrounder {
+
+	private final Map<InternalRule, RuleNetwork> networks = new HashMap<>();
+
+	ReteGrounder(InternalProgram program, AtomStore atomStore, java.util.function.Predicate<Predicate> filter,
+			GrounderHeuristicsConfiguration heuristicsConfiguration, boolean debugInternalChecks, Bridge... bridges) {
+		super(program, atomStore, filter, heuristicsConfiguration, debugInternalChecks, bridges);
+	}
+
+	@Override
+	void groundFromRecentInstance(InternalRule nonGroundRule, Literal startingLiteral, Instance instance, Assignment currentAssignment,
+			Map<Integer, NoGood> newNoGoods) {
+		if (heuristicsConfiguration.isPermissive(nonGroundRule.isConstraint())) {
+			super.groundFromRecentInstance(nonGroundRule, startingLiteral, instance, currentAssignment, newNoGoods);
+			return;
+		}
+		RuleNetwork network = networks.computeIfAbsent(nonGroundRule, this::createNetwork);
+		int position = network.getPosition(startingLiteral);
+		if (position == -1) {
+			super.groundFromRecentInstance(nonGroundRule, startingLiteral, instance, currentAssignment, newNoGoods);
+			return;
+		}
+		instantiationStrategy.setCurrentAssignment(currentAssignment);
+		List<Substitution> substitutions = network.propagate(position, instance);
+		groundAndRegister(nonGroundRule, substitutions, newNoGoods);
+	}
+
+	@Override
+	void instanceRemoved(IndexedInstanceStorage storage, Instance instance) {
+		for (RuleNetwork network : networks.values()) {
+			network.retract(storage, instance);
+		}
+	}
+
+	private RuleNetwork createNetwork(InternalRule rule) {
+		RuleGroundingOrders groundingOrders = rule.getGroundingOrders();
+		Literal firstStartingLiteral = groundingOrders.getStartingLiterals().get(0);
+		return new RuleNetwork(rule, groundingOrders.orderStartingFrom(firstStartingLiteral), workingMemory, ruleInstantiator, instantiationStrategy);
+	}
+}
@@ -46,8 +46,13 @@
  * Provides the grounder with information on the order to ground the literals in the body of a rule.
  * Grounding starts with some starting literal (i.e., one that does not require any variables to be bound already) and
  * then may join this with any other literal that requires no other variables to be bound other than those already bound
- * by the first literal. This class is prepared to take join-selectivities into account for finding a good grounding
- * order.
+ * by the first literal. Join-selectivities observed during grounding (see
+ * {@link #updateLiteralSelectivity(Literal, int, int)}) are taken into account for finding a good grounding order,
+ * grounding orders are recomputed periodically to reflect them.
+ *
+ * The grounding orders of an {@link InternalRule} are computed once and only read afterwards, since rules are shared by
+ * all grounders and solves of a program. A grounder adapting grounding orders to the selectivities it observes creates
+ * its own instance of this class per rule, which is not thread-safe.
  *
  * Since the grounder must yield all ground instantiations of rules whose positive body is true in the current assignment,
  * a starting literals is a positive BasicAtom and the grounder can wait until after some instance in the working memory
@@ -61,6 +66,16 @@
  * literal (whose interpretation is not fixed) is a starting literal, at least for the current grounding procedure.
  */
 public class RuleGroundingOrders {
+	/**
+	 * Weight of the previous estimate when a new selectivity observation is recorded.
+	 */
+	private static final float SELECTIVITY_DECAY = 0.9f;
+
+	/**
+	 * Number of recorded selectivity observations after which the grounding orders are recomputed.
+	 */
+	private static final int RECOMPUTE_INTERVAL = 1024;
+
 	private final InternalRule internalRule;
 	HashMap<Literal, RuleGroundingOrder> groundingOrders;
 	private HashMap<Literal, Float> literalSelectivity;
@@ -68,6 +83,7 @@ public class RuleGroundingOrders {
 
 	private final boolean fixedGroundingInstantiation;
 	private RuleGroundingOrder fixedGroundingOrder;
+	private int selectivityUpdatesSinceRecompute;
 
 	public RuleGroundingOrders(InternalRule internalRule) {
 		this.internalRule = internalRule;
@@ -131,8 +147,39 @@ public List<Literal> getStartingLiterals() {
 		return Collections.unmodifiableList(startingLiterals);
 	}
 
-	public void updateLiteralSelectivity(Literal literal, int numGivenTuples, int numObtainedTuples) {
-		// TODO: add old selectivity (with a decay factor) and new selectivity.
+	/**
+	 * Records that joining the given literal with the given number of (partial) tuples yielded the given number of
+	 * tuples. The selectivity of a literal is the decayed average of its observed ratio of obtained to given tuples,
+	 * i.e., lower values mean more selective literals, which are preferred when computing grounding orders. After
+	 * every {@link #RECOMPUTE_INTERVAL} observations, the grounding orders are recomputed.
+	 *
+	 * @param literal           a body literal of the rule.
+	 * @param numGivenTuples    the number of tuples the literal was joined with.
+	 * @param numObtainedTuples the number of tuples resulting from the join.
+	 * @return true iff the grounding orders have been recomputed.
+	 */
+	public boolean updateLiteralSelectivity(Literal literal, int numGivenTuples, int numObtainedTuples) {
+		Float previousSelectivity = literalSelectivity.get(literal);
+		if (previousSelectivity == null || numGivenTuples <= 0 || fixedGroundingInstantiation) {
+			return false;
+		}
+		float observedSelectivity = (float) numObtainedTuples / numGivenTuples;
+		literalSelectivity.put(literal, SELECTIVITY_DECAY * previousSelectivity + (1 - SELECTIVITY_DECAY) * observedSelectivity);
+		if (++selectivityUpdatesSinceRecompute < RECOMPUTE_INTERVAL) {
+			return false;
+		}
+		selectivityUpdatesSinceRecompute = 0;
+		computeGroundingOrders();
+		return true;
+	}
+
+	/**
+	 * Returns the current selectivity estimate of the given literal.
+	 * @param literal a body literal of the rule.
+	 * @return the selectivity of the literal, lower values mean more selective.
+	 */
+	public float getLiteralSelectivity(Literal literal) {
+		return literalSelectivity.get(literal);
 	}
 
 	public RuleGroundingOrder orderStartingFrom(Literal startingLiteral) {
@@ -140,6 +187,18 @@ public RuleGroundingOrder orderStartingFrom(Literal startingLiteral) {
 	}
 
 
+	/**
+	 * Returns all grounding orders of the rule, including the fixed grounding order if the rule has one.
+	 * @return the grounding orders of the rule.
+	 */
+	public Collection<RuleGroundingOrder> getAllGroundingOrders() {
+		List<RuleGroundingOrder> allGroundingOrders = new ArrayList<>(groundingOrders.values());
+		if (fixedGroundingOrder != null) {
+			allGroundingOrders.add(fixedGroundingOrder);
+		}
+		return allGroundingOrders;
+	}
+
 	public RuleGroundingOrder getFixedGroundingOrder() {
 		return fixedGroundingOrder;
 	}
@@ -35,39 +35,92 @@
 import at.ac.tuwien.kr.alpha.common.terms.VariableTerm;
 import at.ac.tuwien.kr.alpha.grounder.parser.ProgramPartParser;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
-import java.util.TreeMap;
+import java.util.function.BiConsumer;
 
 import static at.ac.tuwien.kr.alpha.Util.oops;
 
+/**
+ * A substitution of variables by ground terms.
+ *
+ * Bindings are stored in two parallel arrays: a sorted array of variables (the layout) and an array of the terms bound
+ * to them, where unbound slots hold null. The layout is never modified once created, hence copies of a substitution
+ * share it and only clone the (small) array of bound terms. Substitutions used for grounding a rule should be created
+ * with the layout of all variables occurring in the rule (cf. {@link #forVariables(List)}), such that extending them
+ * never needs to grow the arrays. The index of a variable in the layout is its slot; {@link TrailedSubstitution} records
+ * the slots it binds in order to undo them on backtracking.
+ */
 public class Substitution {
 
-	private static final ProgramPartParser PROGRAM_PART_PARSER = new ProgramPartParser();
-	public static final Substitution EMPTY_SUBSTITUTION = new Substitution() {
-		@Override
-		public <T extends Comparable<T>> Term put(VariableTerm variableTerm, Term groundTerm) {
-			throw oops("Should not be called on EMPTY_SUBSTITUTION");
-		}
-	};
+	private static final VariableTerm[] NO_VARIABLES = new VariableTerm[0];
+	private static final Term[] NO_TERMS = new Term[0];
 
-	protected TreeMap<VariableTerm, Term> substitution;
+	public static final Substitution EMPTY_SUBSTITUTION = new EmptySubstitution(NO_VARIABLES);
 
-	private Substitution(TreeMap<VariableTerm, Term> substitution) {
-		if (substitution == null) {
-			throw oops("Substitution is null.");
-		}
-		this.substitution = substitution;
+	/**
+	 * The variables that may be bound by this substitution, sorted and free of duplicates. Never modified, may be
+	 * shared among several substitutions.
+	 */
+	private VariableTerm[] variables;
+
+	/**
+	 * The terms bound to the variables at the same index in {@link #variables}, null if the variable is unbound.
+	 */
+	private Term[] values;
+
+	private int boundVariables;
+
+	private Substitution(VariableTerm[] variables, Term[] values, int boundVariables) {
+		this.variables = variables;
+		this.values = values;
+		this.boundVariables = boundVariables;
 	}
 
 	public Substitution() {
-		this(new TreeMap<>());
+		this(NO_VARIABLES, NO_TERMS, 0);
 	}
 
 	public Substitution(Substitution clone) {
-		this(new TreeMap<>(clone.substitution));
+		this(clone.variables, clone.boundVariables == 0 ? new Term[clone.variables.length] : clone.values.clone(), clone.boundVariables);
+	}
+
+	/**
+	 * Creates an immutable empty substitution whose layout consists of the given variables. Substitutions derived from
+	 * it (e.g. by {@link #specializeSubstitution(Atom, Instance, Substitution)}) inherit the layout, hence binding any
+	 * of the given variables does not require to resize the substitution.
+	 *
+	 * @param variables the variables of the layout, must be sorted and free of duplicates.
+	 * @return an empty substitution that may be used in place of {@link #EMPTY_SUBSTITUTION}.
+	 */
+	public static Substitution forVariables(List<VariableTerm> variables) {
+		if (variables.isEmpty()) {
+			return EMPTY_SUBSTITUTION;
+		}
+		VariableTerm[] layout = variables.toArray(new VariableTerm[0]);
+		for (int i = 1; i < layout.length; i++) {
+			if (layout[i - 1].compareTo(layout[i]) >= 0) {
+				throw oops("Variables of substitution layout are not sorted.");
+			}
+		}
+		return new EmptySubstitution(layout);
+	}
+
+	/**
+	 * An empty substitution that must not be extended, only copied.
+	 */
+	private static class EmptySubstitution extends Substitution {
+		EmptySubstitution(VariableTerm[] variables) {
+			super(variables, new Term[variables.length], 0);
+		}
+
+		@Override
+		public <T extends Comparable<T>> Term put(VariableTerm variableTerm, Term groundTerm) {
+			throw oops("Should not be called on EMPTY_SUBSTITUTION");
+		}
 	}
 
 	public static Substitution specializeSubstitution(Literal literal, Instance instance, Substitution substitution) {
@@ -166,31 +219,134 @@ public static Substitution specializeSubstitution(Atom atom, Instance instance,
 	 * @return a constant term if the substitution contains the given variable, {@code null} otherwise.
 	 */
 	public Term eval(VariableTerm variableTerm) {
-		return this.substitution.get(variableTerm);
+		final int slot = slotOf(variableTerm);
+		return slot < 0 ? null : values[slot];
+	}
+
+	/**
+	 * Returns the slot of the given variable, i.e., its index in the layout of this substitution.
+	 *
+	 * @return the slot of the variable, or -1 if the variable is not part of the layout.
+	 */
+	int slotOf(VariableTerm variableTerm) {
+		// Variables are interned and layouts are small, hence a linear scan by identity is cheapest.
+		for (int i = 0; i < variables.length; i++) {
+			if (variables[i] == variableTerm) {
+				return i;
+			}
+		}
+		return -1;
 	}
 
 	public <T extends Comparable<T>> Term put(VariableTerm variableTerm, Term groundTerm) {
 		if (!groundTerm.isGround()) {
 			throw oops("Right-hand term is not ground.");
 		}
-		Term alreadyAssigned = substitution.get(variableTerm);
+		Term alreadyAssigned = eval(variableTerm);
 		if (alreadyAssigned != null && alreadyAssigned != groundTerm) {
 			throw oops("Variable is already assigned to another term.");
 		}
 		// Note: We're destroying type information here.
-		return substitution.put(variableTerm, groundTerm);
+		return bind(variableTerm, groundTerm);
+	}
+
+	/**
+	 * Binds the given variable to the given term without any checks, overwriting any previous binding.
+	 *
+	 * @return the term previously bound to the variable, null if there was none.
+	 */
+	protected Term bind(VariableTerm variableTerm, Term term) {
+		int slot = slotOf(variableTerm);
+		if (slot < 0) {
+			slot = extendLayout(variableTerm);
+		}
+		return bindSlot(slot, term);
+	}
+
+	/**
+	 * Binds the variable in the given slot to the given term, overwriting any previous binding.
+	 *
+	 * @return the term previously bound to the variable, null if there was none.
+	 */
+	Term bindSlot(int slot, Term term) {
+		Term previous = values[slot];
+		values[slot] = term;
+		if (previous == null) {
+			boundVariables++;
+		}
+		return previous;
+	}
+
+	/**
+	 * Removes the binding of the variable in the given slot.
+	 */
+	void unbindSlot(int slot) {
+		if (values[slot] != null) {
+			values[slot] = null;
+			boundVariables--;
+		}
+	}
+
+	/**
+	 * Called after a variable has been inserted into the layout at the given slot, i.e., the variables at this and all
+	 * following slots have moved up by one.
+	 */
+	void layoutExtended(int slot) {
+	}
+
+	/**
+	 * Adds a variable to the layout of this substitution, keeping the layout sorted.
+	 *
+	 * @return the slot of the added variable.
+	 */
+	private int extendLayout(VariableTerm variableTerm) {
+		int index = 0;
+		while (index < variables.length && variables[index].compareTo(variableTerm) < 0) {
+			index++;
+		}
+		VariableTerm[] extendedVariables = new VariableTerm[variables.length + 1];
+		Term[] extendedValues = new Term[variables.length + 1];
+		System.arraycopy(variables, 0, extendedVariables, 0, index);
+		System.arraycopy(values, 0, extendedValues, 0, index);
+		extendedVariables[index] = variableTerm;
+		System.arraycopy(variables, index, extendedVariables, index + 1, variables.length - index);
+		System.arraycopy(values, index, extendedValues, index + 1, variables.length - index);
+		variables = extendedVariables;
+		values = extendedValues;
+		layoutExtended(index);
+		return index;
+	}
+
+	/**
+	 * Calls the given consumer for every bound variable and its term, in the order of the variables.
+	 */
+	public void forEachBinding(BiConsumer<VariableTerm, Term> consumer) {
+		for (int i = 0; i < variables.length; i++) {
+			if (values[i] != null) {
+				consumer.accept(variables[i], values[i]);
+			}
+		}
 	}
 
 	public boolean isEmpty() {
-		return substitution.isEmpty();
+		return boundVariables == 0;
 	}
 
 	public boolean isVariableSet(VariableTerm variable) {
-		return substitution.get(variable) != null;
+		return eval(variable) != null;
 	}
 
+	/**
+	 * Returns the variables bound by this substitution.
+	 * @return the bound variables, in sorted order.
+	 */
 	public Set<VariableTerm> getMappedVariables() {
-		return substitution.keySet();
+		if (boundVariables == 0) {
+			return Collections.emptySet();
+		}
+		Set<VariableTerm> ret = new LinkedHashSet<>();
+		forEachBinding((variable, term) -> ret.add(variable));
+		return ret;
 	}
 
 	/**
@@ -202,13 +358,16 @@ public Set<VariableTerm> getMappedVariables() {
 	public String toString() {
 		final StringBuilder ret = new StringBuilder("{");
 		boolean isFirst = true;
-		for (Map.Entry<VariableTerm, Term> e : substitution.entrySet()) {
+		for (int i = 0; i < variables.length; i++) {
+			if (values[i] == null) {
+				continue;
+			}
 			if (isFirst) {
 				isFirst = false;
 			} else {
 				ret.append(",");
 			}
-			ret.append(e.getKey()).append("->").append(e.getValue());
+			ret.append(variables[i]).append("->").append(values[i]);
 		}
 		ret.append("}");
 		return ret.toString();
@@ -218,10 +377,12 @@ public static Substitution fromString(String substitution) {
 		String bare = substitution.substring(1, substitution.length() - 1);
 		String[] assignments = bare.split(",");
 		Substitution ret = new Substitution();
+		// The parser keeps state while parsing, hence it must not be shared among threads.
+		ProgramPartParser parser = new ProgramPartParser();
 		for (String assignment : assignments) {
 			String[] keyVal = assignment.split("->");
 			VariableTerm variable = VariableTerm.getInstance(keyVal[0]);
-			Term assignedTerm = PROGRAM_PART_PARSER.parseTerm(keyVal[1]);
+			Term assignedTerm = parser.parseTerm(keyVal[1]);
 			ret.put(variable, assignedTerm);
 		}
 		return ret;
@@ -238,11 +399,29 @@ public boolean equals(Object o) {
 
 		Substitution that = (Substitution) o;
 
-		return Objects.equals(substitution, that.substitution);
+		if (boundVariables != that.boundVariables) {
+			return false;
+		}
+		if (variables == that.variables) {
+			return Arrays.equals(values, that.values);
+		}
+		for (int i = 0; i < variables.length; i++) {
+			if (values[i] != null && !values[i].equals(that.eval(variables[i]))) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	@Override
 	public int hashCode() {
-		return substitution != null ? substitution.hashCode() : 0;
+		// Same as the hash code of a map holding the bindings, independent of the layout.
+		int hash = 0;
+		for (int i = 0; i < variables.length; i++) {
+			if (values[i] != null) {
+				hash += variables[i].hashCode() ^ values[i].hashCode();
+			}
+		}
+		return hash;
 	}
 }
@@ -0,0 +1,168 @@
+/**
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Additional changes made by Siemens.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.grounder;
+
+import at.ac.tuwien.kr.alpha.common.atoms.Atom;
+import at.ac.tuwien.kr.alpha.common.terms.ConstantTerm;
+import at.ac.tuwien.kr.alpha.common.terms.FunctionTerm;
+import at.ac.tuwien.kr.alpha.common.terms.Term;
+import at.ac.tuwien.kr.alpha.common.terms.VariableTerm;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A substitution that is extended in place while grounding a rule, and whose extensions are undone on backtracking.
+ *
+ * Every binding of a previously unbound variable is recorded on a trail. {@link #mark()} returns the current position
+ * on the trail and {@link #backtrackTo(int)} removes all bindings recorded after that position. Hence a grounder binds
+ * the variables of a rule one candidate instance at a time in the very same substitution, and only copies it (by
+ * {@link #snapshot()}) once all variables of the rule are bound. A trailed substitution should be created from
+ * {@link at.ac.tuwien.kr.alpha.common.rule.InternalRule#getEmptySubstitution()}, whose layout gives each variable of the
+ * rule a fixed slot, so that binding never has to grow the layout.
+ */
+public class TrailedSubstitution extends Substitution {
+
+	private int[] trail = new int[8];
+	private int trailSize;
+
+	/**
+	 * Creates a trailed substitution with the layout and the bindings of the given substitution. Bindings of the given
+	 * substitution are not on the trail, i.e., they are never undone.
+	 */
+	public TrailedSubstitution(Substitution substitution) {
+		super(substitution);
+	}
+
+	/**
+	 * @return the current position on the trail, to be passed to {@link #backtrackTo(int)}.
+	 */
+	public int mark() {
+		return trailSize;
+	}
+
+	/**
+	 * Removes all bindings made since the given mark was obtained.
+	 */
+	public void backtrackTo(int mark) {
+		while (trailSize > mark) {
+			unbindSlot(trail[--trailSize]);
+		}
+	}
+
+	/**
+	 * @return a copy of the current bindings, which is not affected by any later binding or backtracking.
+	 */
+	public Substitution snapshot() {
+		return new Substitution(this);
+	}
+
+	/**
+	 * Extends this substitution in place such that applying it to the given atom yields the given instance, like
+	 * {@link Substitution#specializeSubstitution(Atom, Instance, Substitution)} does on a copy.
+	 *
+	 * @return true if the atom unifies with the instance under this substitution. If not, false is returned and this
+	 *         substitution is left unchanged.
+	 */
+	public boolean unify(Atom atom, Instance instance) {
+		final int mark = mark();
+		final List<Term> terms = atom.getTerms();
+		for (int i = 0; i < terms.size(); i++) {
+			if (!unifyTerms(terms.get(i), instance.terms.get(i))) {
+				backtrackTo(mark);
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean unifyTerms(Term termNonGround, Term termGround) {
+		if (termNonGround == termGround) {
+			// Both terms are either the same constant or the same variable term.
+			return true;
+		} else if (termNonGround instanceof ConstantTerm) {
+			// Since right term is ground, both terms differ.
+			return false;
+		} else if (termNonGround instanceof VariableTerm) {
+			VariableTerm variableTerm = (VariableTerm) termNonGround;
+			Term bound = eval(variableTerm);
+			if (bound != null) {
+				// Variable is already bound, the terms unify if the binding is the same as the ground term.
+				return termGround == bound;
+			}
+			bind(variableTerm, termGround);
+			return true;
+		} else if (termNonGround instanceof FunctionTerm && termGround instanceof FunctionTerm) {
+			FunctionTerm ftNonGround = (FunctionTerm) termNonGround;
+			FunctionTerm ftGround = (FunctionTerm) termGround;
+			if (!ftNonGround.getSymbol().equals(ftGround.getSymbol()) || ftNonGround.getTerms().size() != ftGround.getTerms().size()) {
+				return false;
+			}
+			for (int i = 0; i < ftNonGround.getTerms().size(); i++) {
+				if (!unifyTerms(ftNonGround.getTerms().get(i), ftGround.getTerms().get(i))) {
+					return false;
+				}
+			}
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Extends this substitution in place by all bindings of the given substitution for variables not bound yet.
+	 */
+	public void extendBy(Substitution substitution) {
+		substitution.forEachBinding((variable, term) -> {
+			if (eval(variable) == null) {
+				bind(variable, term);
+			}
+		});
+	}
+
+	@Override
+	Term bindSlot(int slot, Term term) {
+		Term previous = super.bindSlot(slot, term);
+		if (previous == null) {
+			if (trailSize == trail.length) {
+				trail = Arrays.copyOf(trail, trailSize * 2);
+			}
+			trail[trailSize++] = slot;
+		}
+		return previous;
+	}
+
+	@Override
+	void layoutExtended(int slot) {
+		// Slots at or above the inserted one moved up by one.
+		for (int i = 0; i < trailSize; i++) {
+			if (trail[i] >= slot) {
+				trail[i]++;
+			}
+		}
+	}
+}
@@ -1,11 +1,8 @@
 package at.ac.tuwien.kr.alpha.grounder;
 
-import static at.ac.tuwien.kr.alpha.Util.oops;
-
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
 
@@ -21,31 +18,24 @@ public class Unifier extends Substitution {
 
 	private final TreeMap<VariableTerm, List<VariableTerm>> rightHandVariableOccurrences;
 
-	private Unifier(TreeMap<VariableTerm, Term> substitution, TreeMap<VariableTerm, List<VariableTerm>> rightHandVariableOccurrences) {
-		if (substitution == null) {
-			throw oops("Substitution is null.");
-		}
-		this.substitution = substitution;
-		this.rightHandVariableOccurrences = rightHandVariableOccurrences;
-	}
-
 	public Unifier() {
-		this(new TreeMap<>(), new TreeMap<>());
+		super();
+		this.rightHandVariableOccurrences = new TreeMap<>();
 	}
 
 	public Unifier(Unifier clone) {
-		this(new TreeMap<>(clone.substitution), new TreeMap<>(clone.rightHandVariableOccurrences));
+		super(clone);
+		this.rightHandVariableOccurrences = new TreeMap<>(clone.rightHandVariableOccurrences);
 	}
 
 	public Unifier(Substitution clone) {
-		this(new TreeMap<>(clone.substitution), new TreeMap<>());
+		super(clone);
+		this.rightHandVariableOccurrences = new TreeMap<>();
 	}
 
 
 	public Unifier extendWith(Substitution extension) {
-		for (Map.Entry<VariableTerm, Term> extensionVariable : extension.substitution.entrySet()) {
-			this.put(extensionVariable.getKey(), extensionVariable.getValue());
-		}
+		extension.forEachBinding(this::put);
 		return this;
 	}
 
@@ -56,10 +46,10 @@ public Unifier extendWith(Substitution extension) {
 	@Override
 	public Set<VariableTerm> getMappedVariables() {
 		Set<VariableTerm> ret = new HashSet<>();
-		for (Map.Entry<VariableTerm, Term> substitution : substitution.entrySet()) {
-			ret.add(substitution.getKey());
-			ret.addAll(substitution.getValue().getOccurringVariables());
-		}
+		forEachBinding((variable, term) -> {
+			ret.add(variable);
+			ret.addAll(term.getOccurringVariables());
+		});
 		return ret;
 	}
 
@@ -74,7 +64,7 @@ public <T extends Comparable<T>> Term put(VariableTerm variableTerm, Term term)
 			}
 		}
 		// Note: We're destroying type information here.
-		Term ret = substitution.put(variableTerm, term);
+		Term ret = bind(variableTerm, term);
 
 		// Check if the just-assigned variable occurs somewhere in the right-hand side already.
 		List<VariableTerm> rightHandOccurrences = rightHandVariableOccurrences.get(variableTerm);
@@ -82,12 +72,12 @@ public <T extends Comparable<T>> Term put(VariableTerm variableTerm, Term term)
 			// Replace all occurrences on the right-hand side with the just-assigned term.
 			for (VariableTerm rightHandOccurrence : rightHandOccurrences) {
 				// Substitute the right hand where this assigned variable occurs with the new value and store it.
-				Term previousRightHand = substitution.get(rightHandOccurrence);
+				Term previousRightHand = eval(rightHandOccurrence);
 				if (previousRightHand == null) {
 					// Variable does not occur on the lef-hand side, skip.
 					continue;
 				}
-				substitution.put(rightHandOccurrence, previousRightHand.substitute(this));
+				bind(rightHandOccurrence, previousRightHand.substitute(this));
 			}
 		}
 
@@ -106,9 +96,10 @@ public <T extends Comparable<T>> Term put(VariableTerm variableTerm, Term term)
 	public static Unifier mergeIntoLeft(Unifier left, Unifier right) {
 		// Note: we assume both substitutions are free of chains, i.e., no A->B, B->C but A->C, B->C.
 		Unifier ret = new Unifier(left);
-		for (Map.Entry<VariableTerm, Term> mapping : right.substitution.entrySet()) {
-			VariableTerm variable = mapping.getKey();
-			Term term = mapping.getValue();
+		List<VariableTerm> rightVariables = new ArrayList<>();
+		right.forEachBinding((variable, term) -> rightVariables.add(variable));
+		for (VariableTerm variable : rightVariables) {
+			Term term = right.eval(variable);
 			// If variable is unset, simply add.
 			if (!ret.isVariableSet(variable)) {
 				ret.put(variable, term);
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.grounder;
+
+import at.ac.tuwien.kr.alpha.common.AtomStore;
+import at.ac.tuwien.kr.alpha.common.NoGood;
+import at.ac.tuwien.kr.alpha.common.Predicate;
+import at.ac.tuwien.kr.alpha.common.WeightConstraint;
+import at.ac.tuwien.kr.alpha.common.atoms.Atom;
+import at.ac.tuwien.kr.alpha.common.atoms.BasicAtom;
+import at.ac.tuwien.kr.alpha.common.terms.Term;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static at.ac.tuwien.kr.alpha.common.Literals.atomToLiteral;
+import static at.ac.tuwien.kr.alpha.common.Literals.atomToNegatedLiteral;
+import static at.ac.tuwien.kr.alpha.grounder.transformation.NativeAggregateNormalization.BOUND_PREDICATE;
+import static at.ac.tuwien.kr.alpha.grounder.transformation.NativeAggregateNormalization.INPUT_PREDICATE;
+import static at.ac.tuwien.kr.alpha.grounder.transformation.NativeAggregateNormalization.OUTPUT_PREDICATE;
+import static at.ac.tuwien.kr.alpha.grounder.transformation.NativeAggregateNormalization.toLowerBound;
+import static at.ac.tuwien.kr.alpha.grounder.transformation.NativeAggregateNormalization.toWeight;
+
+/**
+ * Collects the bound and input atoms of native aggregates (cf.
+ * {@link at.ac.tuwien.kr.alpha.grounder.transformation.NativeAggregateNormalization}) into {@link WeightConstraint}s.
+ * Bound and input atoms are ordinary heads of ground rules, hence each newly created atom in the {@link AtomStore} is
+ * inspected once. Every bound yields a weight constraint with a new output atom, inputs are added to all constraints of
+ * their aggregate, including the ones created later on.
+ */
+class WeightConstraintCollector {
+	private static final Logger LOGGER = LoggerFactory.getLogger(WeightConstraintCollector.class);
+	private static final int INPUT_IS_FACT = 0;
+
+	private final AtomStore atomStore;
+	private final Map<Predicate, LinkedHashSet<Instance>> factsFromProgram;
+	private final Map<Term, AggregateInputs> inputsByAggregate = new HashMap<>();
+	private final Map<Integer, WeightConstraint> constraintsByOutputAtom = new HashMap<>();
+	private Set<WeightConstraint> newWeightConstraints = new LinkedHashSet<>();
+	private boolean factsCollected;
+	private int maxCollectedAtomId;
+
+	WeightConstraintCollector(AtomStore atomStore, Map<Predicate, LinkedHashSet<Instance>> factsFromProgram) {
+		this.atomStore = atomStore;
+		this.factsFromProgram = factsFromProgram;
+	}
+
+	/**
+	 * Inspects all atoms created since the last call and creates or extends the weight constraints accordingly.
+	 * @return the nogoods stating that the output of each newly created weight constraint requires its bound to hold.
+	 */
+	List<NoGood> collect() {
+		List<NoGood> boundNoGoods = new ArrayList<>();
+		if (!factsCollected) {
+			// Collect inputs first, such that bound facts yield constraints already containing them.
+			for (Instance input : factsOf(INPUT_PREDICATE)) {
+				addInput(input.terms, INPUT_IS_FACT);
+			}
+			for (Instance bound : factsOf(BOUND_PREDICATE)) {
+				addBound(bound.terms, WeightConstraint.BOUND_IS_FACT, boundNoGoods);
+			}
+			factsCollected = true;
+		}
+		// Note: creating output atoms extends the atom store, but those atoms need no inspection.
+		int maxAtomId = atomStore.getMaxAtomId();
+		for (int atomId = maxCollectedAtomId + 1; atomId <= maxAtomId; atomId++) {
+			Atom atom = atomStore.get(atomId);
+			if (INPUT_PREDICATE.equals(atom.getPredicate())) {
+				addInput(atom.getTerms(), atomId);
+			} else if (BOUND_PREDICATE.equals(atom.getPredicate())) {
+				addBound(atom.getTerms(), atomId, boundNoGoods);
+			}
+		}
+		maxCollectedAtomId = atomStore.getMaxAtomId();
+		return boundNoGoods;
+	}
+
+	/**
+	 * Returns the weight constraints created or extended since the last call of this method.
+	 */
+	Collection<WeightConstraint> takeNewWeightConstraints() {
+		Set<WeightConstraint> retVal = newWeightConstraints;
+		newWeightConstraints = new LinkedHashSet<>();
+		return retVal;
+	}
+
+	private Set<Instance> factsOf(Predicate predicate) {
+		Set<Instance> facts = factsFromProgram.get(predicate);
+		return facts != null ? facts : new LinkedHashSet<>();
+	}
+
+	private void addInput(List<Term> inputTerms, int inputAtom) {
+		int weight = toWeight(inputTerms.get(1));
+		AggregateInputs inputs = inputsByAggregate.computeIfAbsent(inputTerms.get(0), aggregate -> new AggregateInputs());
+		if (inputAtom == INPUT_IS_FACT) {
+			inputs.factWeight += weight;
+		} else {
+			inputs.atoms.add(inputAtom);
+			inputs.weights.add(weight);
+		}
+		for (WeightConstraint weightConstraint : inputs.constraints) {
+			if (inputAtom == INPUT_IS_FACT) {
+				weightConstraint.addFactWeight(weight);
+			} else {
+				weightConstraint.addInput(inputAtom, weight);
+			}
+			newWeightConstraints.add(weightConstraint);
+		}
+	}
+
+	private void addBound(List<Term> boundTerms, int boundAtom, List<NoGood> boundNoGoods) {
+		Term aggregate = boundTerms.get(0);
+		Term lowerBoundTerm = boundTerms.get(1);
+		if (factsOf(OUTPUT_PREDICATE).contains(new Instance(aggregate, lowerBoundTerm))) {
+			// The aggregate holds already, e.g., as computed by the stratified evaluation.
+			return;
+		}
+		int lowerBound = toLowerBound(lowerBoundTerm);
+		int outputAtom = atomStore.putIfAbsent(new BasicAtom(OUTPUT_PREDICATE, aggregate, lowerBoundTerm));
+		if (constraintsByOutputAtom.containsKey(outputAtom)) {
+			return;
+		}
+		WeightConstraint weightConstraint = new WeightConstraint(outputAtom, boundAtom, lowerBound);
+		AggregateInputs inputs = inputsByAggregate.computeIfAbsent(aggregate, a -> new AggregateInputs());
+		weightConstraint.addFactWeight(inputs.factWeight);
+		for (int i = 0; i < inputs.atoms.size(); i++) {
+			weightConstraint.addInput(inputs.atoms.get(i), inputs.weights.get(i));
+		}
+		inputs.constraints.add(weightConstraint);
+		constraintsByOutputAtom.put(outputAtom, weightConstraint);
+		newWeightConstraints.add(weightConstraint);
+		LOGGER.debug("Created weight constraint {} for aggregate {} with lower bound {}.", weightConstraint, aggregate, lowerBoundTerm);
+		if (boundAtom != WeightConstraint.BOUND_IS_FACT) {
+			boundNoGoods.add(new NoGood(atomToLiteral(outputAtom), atomToNegatedLiteral(boundAtom)));
+		}
+	}
+
+	private static class AggregateInputs {
+		private final List<Integer> atoms = new ArrayList<>();
+		private final List<Integer> weights = new ArrayList<>();
+		private final List<WeightConstraint> constraints = new ArrayList<>();
+		private long factWeight;
+	}
+}
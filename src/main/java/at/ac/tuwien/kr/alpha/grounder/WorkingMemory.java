@@ -27,16 +27,21 @@
  */
 package at.ac.tuwien.kr.alpha.grounder;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.apache.commons.lang3.tuple.ImmutablePair;
 
 import at.ac.tuwien.kr.alpha.common.Predicate;
 import at.ac.tuwien.kr.alpha.common.atoms.Atom;
+import at.ac.tuwien.kr.alpha.common.atoms.BasicAtom;
 import at.ac.tuwien.kr.alpha.common.atoms.Literal;
+import at.ac.tuwien.kr.alpha.common.terms.Term;
+import at.ac.tuwien.kr.alpha.common.terms.VariableTerm;
 
 public class WorkingMemory {
 	protected HashMap<Predicate, ImmutablePair<IndexedInstanceStorage, IndexedInstanceStorage>> workingMemory = new HashMap<>();
@@ -51,17 +56,54 @@ public void initialize(Predicate predicate) {
 			return;
 		}
 
+		// Storages are not indexed upfront, indices are added for the join patterns of rules (see addJoinIndices)
+		// or on demand by the storage itself.
 		IndexedInstanceStorage pos = new IndexedInstanceStorage(predicate, true);
 		IndexedInstanceStorage neg = new IndexedInstanceStorage(predicate, false);
-		// Index all positions of the storage (may impair efficiency)
-		for (int i = 0; i < predicate.getArity(); i++) {
-			pos.addIndexPosition(i);
-			neg.addIndexPosition(i);
-		}
 
 		workingMemory.put(predicate, new ImmutablePair<>(pos, neg));
 	}
 
+	/**
+	 * Adds the indices needed for joining the body literals of a rule along the given grounding orders. For each
+	 * positive basic literal, the positions whose terms are ground once the preceding literals of a grounding order are
+	 * bound are indexed in combination. The working memories of all predicates of the rule must have been initialized.
+	 * @param groundingOrders the grounding orders of the rule whose join patterns shall be supported by indices.
+	 */
+	public void addJoinIndices(RuleGroundingOrders groundingOrders) {
+		for (RuleGroundingOrder groundingOrder : groundingOrders.getAllGroundingOrders()) {
+			Set<VariableTerm> boundVariables = new HashSet<>();
+			Literal startingLiteral = groundingOrder.getStartingLiteral();
+			if (startingLiteral != null) {
+				addJoinIndex(startingLiteral, boundVariables);
+				boundVariables.addAll(startingLiteral.getBindingVariables());
+			}
+			Literal literal;
+			for (int orderPosition = 0; (literal = groundingOrder.getLiteralAtOrderPosition(orderPosition)) != null; orderPosition++) {
+				addJoinIndex(literal, boundVariables);
+				boundVariables.addAll(literal.getBindingVariables());
+			}
+		}
+	}
+
+	private void addJoinIndex(Literal literal, Set<VariableTerm> boundVariables) {
+		if (literal.isNegated() || !(literal.getAtom() instanceof BasicAtom)) {
+			// Only positive basic literals are instantiated by looking up matching instances.
+			return;
+		}
+		List<Term> terms = literal.getAtom().getTerms();
+		List<Integer> boundPositions = new ArrayList<>();
+		for (int i = 0; i < terms.size(); i++) {
+			if (boundVariables.containsAll(terms.get(i).getOccurringVariables())) {
+				boundPositions.add(i);
+			}
+		}
+		if (boundPositions.isEmpty()) {
+			return;
+		}
+		get(literal).addIndex(boundPositions.stream().mapToInt(Integer::intValue).toArray());
+	}
+
 	public IndexedInstanceStorage get(Literal literal) {
 		return get(literal.getAtom(), !literal.isNegated());
 	}
@@ -86,8 +128,7 @@ public void addInstance(Atom atom, boolean value) {
 	public void addInstance(Predicate predicate, boolean value, Instance instance) {
 		IndexedInstanceStorage storage = get(predicate, value);
 
-		if (!storage.containsInstance(instance)) {
-			storage.addInstance(instance);
+		if (storage.addInstance(instance)) {
 			modifiedWorkingMemories.add(storage);
 		}
 	}
@@ -96,13 +137,34 @@ public void addInstances(Predicate predicate, boolean value, Iterable<Instance>
 		IndexedInstanceStorage storage = get(predicate, value);
 
 		for (Instance instance : instances) {
-			if (!storage.containsInstance(instance)) {
-				storage.addInstance(instance);
+			if (storage.addInstance(instance)) {
 				modifiedWorkingMemories.add(storage);
 			}
 		}
 	}
 
+	/**
+	 * Marks all instances of the given storage as recently added, such that a grounder considers them for grounding.
+	 * This is needed for instances that were added before the working memory was handed to the grounder.
+	 * @param storage a storage of this working memory.
+	 */
+	public void markAllInstancesRecentlyAdded(IndexedInstanceStorage storage) {
+		if (storage.markAllInstancesRecentlyAdded()) {
+			modifiedWorkingMemories.add(storage);
+		}
+	}
+
+	/**
+	 * Returns the storages for the positive instances of all predicates known to this working memory.
+	 */
+	public List<IndexedInstanceStorage> getPositiveStorages() {
+		List<IndexedInstanceStorage> storages = new ArrayList<>();
+		for (ImmutablePair<IndexedInstanceStorage, IndexedInstanceStorage> storagePair : workingMemory.values()) {
+			storages.add(storagePair.getLeft());
+		}
+		return storages;
+	}
+
 	public void reset() {
 		modifiedWorkingMemories = new LinkedHashSet<>();
 	}
@@ -97,7 +97,10 @@ public String toString() {
 
 	@Override
 	public Atom withTerms(List<Term> terms) {
-		throw new UnsupportedOperationException("Changing terms is not supported for ChoiceAtoms!");
+		if (terms.size() != 1) {
+			throw new IllegalArgumentException("ChoiceAtom must have exactly one term, given: " + terms);
+		}
+		return new ChoiceAtom(predicate, terms.get(0));
 	}
 
 	@Override
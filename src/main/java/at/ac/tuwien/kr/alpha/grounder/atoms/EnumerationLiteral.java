@@ -3,6 +3,7 @@
 import at.ac.tuwien.kr.alpha.common.atoms.BasicLiteral;
 import at.ac.tuwien.kr.alpha.common.terms.Term;
 import at.ac.tuwien.kr.alpha.common.terms.VariableTerm;
+import at.ac.tuwien.kr.alpha.grounder.GroundingContext;
 import at.ac.tuwien.kr.alpha.grounder.Substitution;
 
 import java.util.Collections;
@@ -53,7 +54,7 @@ public Set<VariableTerm> getNonBindingVariables() {
 
 	}
 	
-	public Substitution addEnumerationIndexToSubstitution(Substitution partialSubstitution) {
-		return this.getAtom().addEnumerationIndexToSubstitution(partialSubstitution);
+	public Substitution addEnumerationIndexToSubstitution(Substitution partialSubstitution, GroundingContext context) {
+		return this.getAtom().addEnumerationIndexToSubstitution(partialSubstitution, context);
 	}
 }
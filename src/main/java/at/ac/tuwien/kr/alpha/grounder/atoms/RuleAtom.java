@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2016-2018, the Alpha Team.
+ * Copyright (c) 2016-2020, the Alpha Team.
  * All rights reserved.
  *
  * Additional changes made by Siemens.
@@ -31,11 +31,12 @@
 import at.ac.tuwien.kr.alpha.common.atoms.Atom;
 import at.ac.tuwien.kr.alpha.common.atoms.Literal;
 import at.ac.tuwien.kr.alpha.common.rule.InternalRule;
-import at.ac.tuwien.kr.alpha.common.terms.ConstantTerm;
 import at.ac.tuwien.kr.alpha.common.terms.Term;
+import at.ac.tuwien.kr.alpha.common.terms.VariableTerm;
 import at.ac.tuwien.kr.alpha.grounder.Substitution;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static at.ac.tuwien.kr.alpha.common.terms.ConstantTerm.getInstance;
@@ -43,26 +44,93 @@
 /**
  * Atoms corresponding to rule bodies use this predicate, first term is rule number,
  * second is a term containing variable substitutions.
+ *
+ * Internally, a RuleAtom references its non-ground rule and stores the ground terms of the variables of that rule
+ * (in the order given by {@link InternalRule#getOccurringVariables()}), so that the non-ground rule and the grounding
+ * substitution can be recovered without any parsing. The grounding substitution and the terms of the atom are only
+ * built when first requested and cached afterwards.
  */
 public class RuleAtom extends Atom {
 	public static final Predicate PREDICATE = Predicate.getInstance("_R_", 2, true, true);
 
-	private final List<ConstantTerm<String>> terms;
+	private final InternalRule nonGroundRule;
+	private final Term[] groundTerms;
+	private final int hashCode;
+
+	// Built on first use, volatile since RuleAtoms are shared by the solvers of a portfolio.
+	private volatile List<Term> groundTermList;
+	private volatile Substitution substitution;
+	private volatile List<Term> terms;
 
-	private RuleAtom(List<ConstantTerm<String>> terms) {
-		if (terms.size() != 2) {
+	private RuleAtom(InternalRule nonGroundRule, Term[] groundTerms) {
+		if (groundTerms.length != nonGroundRule.getOccurringVariables().size()) {
 			throw new IllegalArgumentException();
 		}
 
-		this.terms = terms;
+		this.nonGroundRule = nonGroundRule;
+		this.groundTerms = groundTerms;
+		this.hashCode = 31 * nonGroundRule.getRuleId() + Arrays.hashCode(groundTerms);
 	}
 
 	public RuleAtom(InternalRule nonGroundRule, Substitution substitution) {
-		this(Arrays.asList(
-				getInstance(Integer.toString(nonGroundRule.getRuleId())), 
-				getInstance(substitution.toString())
-				)
-			);
+		this(nonGroundRule, groundTermsOf(nonGroundRule, substitution));
+	}
+
+	private static Term[] groundTermsOf(InternalRule nonGroundRule, Substitution substitution) {
+		final List<VariableTerm> variables = nonGroundRule.getOccurringVariables();
+		final Term[] groundTerms = new Term[variables.size()];
+		for (int i = 0; i < groundTerms.length; i++) {
+			groundTerms[i] = substitution.eval(variables.get(i));
+		}
+		return groundTerms;
+	}
+
+	/**
+	 * Returns the non-ground rule this RuleAtom represents a ground instance of.
+	 */
+	public InternalRule getNonGroundRule() {
+		return nonGroundRule;
+	}
+
+	/**
+	 * Returns the substitution that grounds the non-ground rule of this RuleAtom. The substitution is shared by all
+	 * callers and must not be modified.
+	 */
+	public Substitution getSubstitution() {
+		Substitution result = substitution;
+		if (result == null) {
+			final List<VariableTerm> variables = nonGroundRule.getOccurringVariables();
+			result = new Substitution(nonGroundRule.getEmptySubstitution());
+			for (int i = 0; i < groundTerms.length; i++) {
+				if (groundTerms[i] != null) {
+					result.put(variables.get(i), groundTerms[i]);
+				}
+			}
+			substitution = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the ground terms of the variables of the non-ground rule, in the order of
+	 * {@link InternalRule#getOccurringVariables()}.
+	 */
+	public List<Term> getGroundTerms() {
+		List<Term> result = groundTermList;
+		if (result == null) {
+			result = Collections.unmodifiableList(Arrays.asList(groundTerms));
+			groundTermList = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Creates a RuleAtom for the same non-ground rule as this one, but with the given ground terms.
+	 * @param groundTerms the ground terms of the rule variables, cf. {@link #getGroundTerms()}.
+	 * @return a new RuleAtom with the given ground terms.
+	 */
+	public RuleAtom withGroundTerms(List<Term> groundTerms) {
+		return new RuleAtom(nonGroundRule, groundTerms.toArray(new Term[0]));
 	}
 
 	@Override
@@ -72,7 +140,12 @@ public Predicate getPredicate() {
 
 	@Override
 	public List<Term> getTerms() {
-		return Arrays.asList(terms.get(0), terms.get(1));
+		List<Term> result = terms;
+		if (result == null) {
+			result = Collections.unmodifiableList(Arrays.asList(getInstance(Integer.toString(nonGroundRule.getRuleId())), getInstance(getSubstitution().toString())));
+			terms = result;
+		}
+		return result;
 	}
 
 	@Override
@@ -102,17 +175,17 @@ public boolean equals(Object o) {
 
 		RuleAtom that = (RuleAtom) o;
 
-		return terms.equals(that.terms);
+		return hashCode == that.hashCode && nonGroundRule.getRuleId() == that.nonGroundRule.getRuleId() && Arrays.equals(groundTerms, that.groundTerms);
 	}
 
 	@Override
 	public int hashCode() {
-		return 31 * PREDICATE.hashCode() + terms.hashCode();
+		return hashCode;
 	}
 
 	@Override
 	public String toString() {
-		return PREDICATE.getName() + "(" + terms.get(0) + "," + terms.get(1) + ')';
+		return PREDICATE.getName() + "(" + nonGroundRule.getRuleId() + "," + getSubstitution() + ')';
 	}
 
 	@Override
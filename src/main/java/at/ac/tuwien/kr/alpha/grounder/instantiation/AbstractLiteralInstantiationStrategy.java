@@ -29,17 +29,15 @@
 import at.ac.tuwien.kr.alpha.common.atoms.BasicAtom;
 import at.ac.tuwien.kr.alpha.common.atoms.Literal;
 import at.ac.tuwien.kr.alpha.grounder.Instance;
-import at.ac.tuwien.kr.alpha.grounder.Substitution;
-import org.apache.commons.lang3.tuple.ImmutablePair;
+import at.ac.tuwien.kr.alpha.grounder.TrailedSubstitution;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Iterator;
 
 /**
  * Abstract base implementation of {@link LiteralInstantiationStrategy} that outlines a basic workflow for
  * {@link LiteralInstantiationStrategy#getTruthForGroundLiteral(Literal)} and
- * {@link LiteralInstantiationStrategy#getAcceptedSubstitutions(Literal, Substitution)} while leaving details of when an atom is true and
- * which {@link AssignmentStatus}es to consider valid for <code>getAcceptedSubstitutions</code> to implementations.
+ * {@link LiteralInstantiationStrategy#bindAcceptedInstances(Literal, TrailedSubstitution)} while leaving details of when an atom is true and
+ * which {@link AssignmentStatus}es to consider valid for <code>bindAcceptedInstances</code> to implementations.
  * 
  * Copyright (c) 2020, the Alpha Team.
  */
@@ -62,7 +60,7 @@ public final AssignmentStatus getTruthForGroundLiteral(Literal groundLiteral) {
 	}
 
 	/**
-	 * See {@link LiteralInstantiationStrategy#getAcceptedSubstitutions(Literal, Substitution)}.
+	 * See {@link LiteralInstantiationStrategy#bindAcceptedInstances(Literal, TrailedSubstitution)}.
 	 * 
 	 * A very general implementation of the basic steps needed to obtain ground substitutions for a positive literal.
 	 * Potentially valid ground instances are obtained using {@link AbstractLiteralInstantiationStrategy#computeCandidateInstances(Atom)}, then
@@ -71,10 +69,9 @@ public final AssignmentStatus getTruthForGroundLiteral(Literal groundLiteral) {
 	 * {@link AbstractLiteralInstantiationStrategy#assignmentStatusAccepted(AssignmentStatus)}.
 	 */
 	@Override
-	public final List<ImmutablePair<Substitution, AssignmentStatus>> getAcceptedSubstitutions(Literal lit, Substitution partialSubstitution) {
+	public final LiteralInstantiationCursor bindAcceptedInstances(Literal lit, TrailedSubstitution substitution) {
 		Atom atom = lit.getAtom();
-		Iterable<Instance> groundInstances = this.computeCandidateInstances(atom);
-		return this.buildSubstitutionsFromInstances(atom, groundInstances, partialSubstitution);
+		return new CandidateInstancesCursor(atom, this.computeCandidateInstances(atom).iterator(), substitution);
 	}
 
 	/**
@@ -89,39 +86,40 @@ public final List<ImmutablePair<Substitution, AssignmentStatus>> getAcceptedSubs
 	protected abstract Iterable<Instance> computeCandidateInstances(Atom partiallyGroundAtom);
 
 	/**
-	 * Based on a list of candidate instances (see {@link AbstractLiteralInstantiationStrategy#computeCandidateInstances(Atom)}), create a list
-	 * of substitutions and assignment statuses such that each substitution represents a valid (according to the implementation-specific
-	 * definition of this instantiation strategy) ground instance of <code>atomToSubstitute</code>.
-	 * 
-	 * @param atomToSubstitute
-	 * @param candidateInstances
-	 * @param partialSubstitution
-	 * @return
+	 * Binds those candidate instances (see {@link AbstractLiteralInstantiationStrategy#computeCandidateInstances(Atom)}) that unify with
+	 * the substitution and whose ground atom has a valid (according to the implementation-specific definition of this instantiation strategy)
+	 * {@link AssignmentStatus}.
 	 */
-	protected final List<ImmutablePair<Substitution, AssignmentStatus>> buildSubstitutionsFromInstances(Atom atomToSubstitute,
-			Iterable<Instance> candidateInstances, Substitution partialSubstitution) {
-		List<ImmutablePair<Substitution, AssignmentStatus>> retVal = new ArrayList<>();
-		// Filter for only instances unifying with partialSubsitution, i.e. "where all joins work out".
-		Substitution currentInstanceSubstitution;
-		Atom atomForCurrentInstance;
-		for (Instance instance : candidateInstances) {
-			currentInstanceSubstitution = Substitution.specializeSubstitution(atomToSubstitute, instance, partialSubstitution);
-			if (currentInstanceSubstitution == null) {
-				// Instance does not unify with partialSubstitution, move on to the next instance.
-				continue;
-			}
-			// At this point, we know that the substitution works out.
-			// Now check whether the resulting Atom has an acceptable AssignmentStatus.
-			atomForCurrentInstance = new BasicAtom(atomToSubstitute.getPredicate(), atomToSubstitute.getTerms())
-					.substitute(currentInstanceSubstitution);
-			AssignmentStatus assignmentStatus = this.getAssignmentStatusForAtom(atomForCurrentInstance);
-			if (!this.assignmentStatusAccepted(assignmentStatus)) {
+	private class CandidateInstancesCursor extends LiteralInstantiationCursor {
+		private final Atom atomToSubstitute;
+		private final Iterator<Instance> candidateInstances;
+
+		CandidateInstancesCursor(Atom atomToSubstitute, Iterator<Instance> candidateInstances, TrailedSubstitution substitution) {
+			super(LiteralInstantiationResult.Type.CONTINUE, substitution);
+			this.atomToSubstitute = atomToSubstitute;
+			this.candidateInstances = candidateInstances;
+		}
+
+		@Override
+		protected AssignmentStatus bindNextInstance() {
+			while (candidateInstances.hasNext()) {
+				Instance instance = candidateInstances.next();
+				countExaminedInstances(1);
+				// Filter for only instances unifying with the substitution, i.e. "where all joins work out".
+				if (!substitution.unify(atomToSubstitute, instance)) {
+					continue;
+				}
+				// At this point, we know that the substitution works out and the ground atom has the terms of the instance.
+				// Now check whether the resulting Atom has an acceptable AssignmentStatus.
+				AssignmentStatus assignmentStatus = getAssignmentStatusForAtom(new BasicAtom(atomToSubstitute.getPredicate(), instance.terms));
+				if (assignmentStatusAccepted(assignmentStatus)) {
+					return assignmentStatus;
+				}
 				// Atom has an assignment status deemed unacceptable by this instantiation strategy.
-				continue;
+				undoBindings();
 			}
-			retVal.add(new ImmutablePair<>(currentInstanceSubstitution, assignmentStatus));
+			return null;
 		}
-		return retVal;
 	}
 
 	protected abstract AssignmentStatus getAssignmentStatusForAtom(Atom atom);
@@ -33,6 +33,7 @@
 /**
  * Contains substitutions produced for generating ground substitutions of a rule,
  * and for every substitution the number of positive body atoms still unassigned in the respective ground rule.
+ * The grounder binds variables in a single substitution in place and adds a copy of it here once all body literals are bound.
  */
 public class BindingResult {
 
@@ -44,25 +45,10 @@ public void add(Substitution generatedSubstitution, int numberOfUnassignedPositi
 		numbersOfUnassignedPositiveBodyAtoms.add(numberOfUnassignedPositiveBodyAtoms);
 	}
 
-	public void add(BindingResult otherBindingResult) {
-		generatedSubstitutions.addAll(otherBindingResult.generatedSubstitutions);
-		numbersOfUnassignedPositiveBodyAtoms.addAll(otherBindingResult.numbersOfUnassignedPositiveBodyAtoms);
-	}
-
 	public int size() {
 		return generatedSubstitutions.size();
 	}
 
-	public static BindingResult empty() {
-		return new BindingResult();
-	}
-
-	public static BindingResult singleton(Substitution generatedSubstitution, int numberOfUnassignedPositiveBodyAtoms) {
-		BindingResult bindingResult = new BindingResult();
-		bindingResult.add(generatedSubstitution, numberOfUnassignedPositiveBodyAtoms);
-		return bindingResult;
-	}
-
 	public List<Substitution> getGeneratedSubstitutions() {
 		return generatedSubstitutions;
 	}
@@ -0,0 +1,214 @@
+/**
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.grounder.instantiation;
+
+import at.ac.tuwien.kr.alpha.grounder.Substitution;
+import at.ac.tuwien.kr.alpha.grounder.TrailedSubstitution;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Enumerates the ground instances of a literal by extending a {@link TrailedSubstitution} in place, one instance at a
+ * time. This is the counterpart of {@link LiteralInstantiationResult} used by grounders, which avoids copying the
+ * substitution for every candidate instance.
+ *
+ * Every call of {@link #bindNext()} undoes the bindings made for the previous instance and binds the variables of the
+ * literal for the next one. Once it returns false, the substitution is in the same state as when the cursor was
+ * created. The type of the cursor tells how a grounder should proceed, as the type of a {@link LiteralInstantiationResult}
+ * does; only cursors of type {@link LiteralInstantiationResult.Type#CONTINUE} yield instances.
+ *
+ * Copyright (c) 2020, the Alpha Team.
+ */
+public abstract class LiteralInstantiationCursor {
+
+	private final LiteralInstantiationResult.Type type;
+	protected final TrailedSubstitution substitution;
+	private final int mark;
+
+	private AssignmentStatus assignmentStatus;
+	private boolean prefetched;
+	private long examinedInstances;
+
+	protected LiteralInstantiationCursor(LiteralInstantiationResult.Type type, TrailedSubstitution substitution) {
+		this.type = type;
+		this.substitution = substitution;
+		this.mark = substitution.mark();
+	}
+
+	public static LiteralInstantiationCursor stopBinding(TrailedSubstitution substitution, long examinedInstances) {
+		return new EmptyCursor(LiteralInstantiationResult.Type.STOP_BINDING, substitution, examinedInstances);
+	}
+
+	public static LiteralInstantiationCursor pushBack(TrailedSubstitution substitution) {
+		return new EmptyCursor(LiteralInstantiationResult.Type.PUSH_BACK, substitution, 0);
+	}
+
+	public static LiteralInstantiationCursor maybePushBack(TrailedSubstitution substitution, long examinedInstances) {
+		return new EmptyCursor(LiteralInstantiationResult.Type.MAYBE_PUSH_BACK, substitution, examinedInstances);
+	}
+
+	/**
+	 * Creates a cursor yielding one instance that needs no further bindings, i.e., for a literal that is ground under the
+	 * substitution.
+	 */
+	public static LiteralInstantiationCursor continueBinding(TrailedSubstitution substitution, AssignmentStatus assignmentStatus, long examinedInstances) {
+		return new SingletonCursor(substitution, assignmentStatus, examinedInstances);
+	}
+
+	/**
+	 * Creates a cursor yielding the given substitutions, which must be extensions of the current bindings of the trailed
+	 * substitution, as instances that are true.
+	 */
+	public static LiteralInstantiationCursor continueBindingWithTrueSubstitutions(TrailedSubstitution substitution, List<Substitution> substitutions) {
+		return new SubstitutionsCursor(substitution, substitutions);
+	}
+
+	public LiteralInstantiationResult.Type getType() {
+		return type;
+	}
+
+	/**
+	 * Undoes the bindings of the previous instance, if any, and binds the next instance.
+	 *
+	 * @return true if the next instance is bound, false if there are no more instances.
+	 */
+	public final boolean bindNext() {
+		if (prefetched) {
+			prefetched = false;
+			return assignmentStatus != null;
+		}
+		substitution.backtrackTo(mark);
+		assignmentStatus = bindNextInstance();
+		return assignmentStatus != null;
+	}
+
+	/**
+	 * Binds the first instance, if there is one, such that the next call of {@link #bindNext()} returns it without
+	 * advancing. Used to find out whether the cursor yields any instance at all.
+	 *
+	 * @return true if the cursor yields at least one instance.
+	 */
+	boolean prefetch() {
+		boolean found = bindNext();
+		prefetched = true;
+		return found;
+	}
+
+	/**
+	 * @return the assignment status of the currently bound instance.
+	 */
+	public AssignmentStatus getAssignmentStatus() {
+		return assignmentStatus;
+	}
+
+	/**
+	 * @return the number of (candidate) ground instances whose truth was looked up by this cursor so far.
+	 */
+	public long getNumberOfExaminedInstances() {
+		return examinedInstances;
+	}
+
+	protected void countExaminedInstances(long numInstances) {
+		examinedInstances += numInstances;
+	}
+
+	/**
+	 * Undoes all bindings made since this cursor was created.
+	 */
+	protected void undoBindings() {
+		substitution.backtrackTo(mark);
+	}
+
+	/**
+	 * Binds the variables of the literal for the next instance. Called with the substitution in the state it had when
+	 * the cursor was created.
+	 *
+	 * @return the assignment status of the bound instance, or null if there are no more instances, in which case the
+	 *         substitution must be left unchanged.
+	 */
+	protected abstract AssignmentStatus bindNextInstance();
+
+	/**
+	 * Collects all remaining instances as copies of the substitution along with their assignment status.
+	 */
+	public List<ImmutablePair<Substitution, AssignmentStatus>> collectSubstitutions() {
+		List<ImmutablePair<Substitution, AssignmentStatus>> substitutions = new ArrayList<>();
+		while (bindNext()) {
+			substitutions.add(new ImmutablePair<>(substitution.snapshot(), assignmentStatus));
+		}
+		return substitutions;
+	}
+
+	private static class EmptyCursor extends LiteralInstantiationCursor {
+		EmptyCursor(LiteralInstantiationResult.Type type, TrailedSubstitution substitution, long examinedInstances) {
+			super(type, substitution);
+			countExaminedInstances(examinedInstances);
+		}
+
+		@Override
+		protected AssignmentStatus bindNextInstance() {
+			return null;
+		}
+	}
+
+	private static class SingletonCursor extends LiteralInstantiationCursor {
+		private AssignmentStatus pendingAssignmentStatus;
+
+		SingletonCursor(TrailedSubstitution substitution, AssignmentStatus assignmentStatus, long examinedInstances) {
+			super(LiteralInstantiationResult.Type.CONTINUE, substitution);
+			this.pendingAssignmentStatus = assignmentStatus;
+			countExaminedInstances(examinedInstances);
+		}
+
+		@Override
+		protected AssignmentStatus bindNextInstance() {
+			AssignmentStatus result = pendingAssignmentStatus;
+			pendingAssignmentStatus = null;
+			return result;
+		}
+	}
+
+	private static class SubstitutionsCursor extends LiteralInstantiationCursor {
+		private final Iterator<Substitution> substitutions;
+
+		SubstitutionsCursor(TrailedSubstitution substitution, List<Substitution> substitutions) {
+			super(substitutions.isEmpty() ? LiteralInstantiationResult.Type.STOP_BINDING : LiteralInstantiationResult.Type.CONTINUE, substitution);
+			this.substitutions = substitutions.iterator();
+		}
+
+		@Override
+		protected AssignmentStatus bindNextInstance() {
+			if (!substitutions.hasNext()) {
+				return null;
+			}
+			substitution.extendBy(substitutions.next());
+			return AssignmentStatus.TRUE;
+		}
+	}
+}
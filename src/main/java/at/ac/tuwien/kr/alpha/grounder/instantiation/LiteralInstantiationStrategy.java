@@ -31,6 +31,7 @@
 
 import at.ac.tuwien.kr.alpha.common.atoms.Literal;
 import at.ac.tuwien.kr.alpha.grounder.Substitution;
+import at.ac.tuwien.kr.alpha.grounder.TrailedSubstitution;
 
 /**
  * A {@link LiteralInstantiationStrategy} finds and validates {@link Substitution}s for {@link Literal}s based on a specific definition of
@@ -59,6 +60,18 @@ public interface LiteralInstantiationStrategy {
 	 * @param partialSubstitution a (possibly empty) substitution to use as a starting point
 	 * @return a list of substitutions along with the assignment status of the respective ground atoms
 	 */
-	List<ImmutablePair<Substitution, AssignmentStatus>> getAcceptedSubstitutions(Literal lit, Substitution partialSubstitution);
+	default List<ImmutablePair<Substitution, AssignmentStatus>> getAcceptedSubstitutions(Literal lit, Substitution partialSubstitution) {
+		return bindAcceptedInstances(lit, new TrailedSubstitution(partialSubstitution)).collectSubstitutions();
+	}
+
+	/**
+	 * Like {@link #getAcceptedSubstitutions(Literal, Substitution)}, but binds the substitutions one after another in the
+	 * given substitution instead of copying it.
+	 * 
+	 * @param lit          a non-ground {@link Literal} for which to compute substitutions.
+	 * @param substitution the substitution to extend in place, it is restored once the returned cursor is exhausted.
+	 * @return a cursor of type {@link LiteralInstantiationResult.Type#CONTINUE} binding the accepted ground instances.
+	 */
+	LiteralInstantiationCursor bindAcceptedInstances(Literal lit, TrailedSubstitution substitution);
 
 }
@@ -25,17 +25,20 @@
  */
 package at.ac.tuwien.kr.alpha.grounder.instantiation;
 
+import java.util.Collections;
 import java.util.List;
 
-import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import at.ac.tuwien.kr.alpha.Util;
 import at.ac.tuwien.kr.alpha.common.atoms.ComparisonLiteral;
 import at.ac.tuwien.kr.alpha.common.atoms.ExternalLiteral;
 import at.ac.tuwien.kr.alpha.common.atoms.FixedInterpretationLiteral;
 import at.ac.tuwien.kr.alpha.common.atoms.Literal;
+import at.ac.tuwien.kr.alpha.grounder.GroundingContext;
 import at.ac.tuwien.kr.alpha.grounder.Substitution;
+import at.ac.tuwien.kr.alpha.grounder.TrailedSubstitution;
 import at.ac.tuwien.kr.alpha.grounder.atoms.EnumerationLiteral;
 import at.ac.tuwien.kr.alpha.grounder.atoms.IntervalLiteral;
 
@@ -53,14 +56,27 @@ public class LiteralInstantiator {
 	private static final Logger LOGGER = LoggerFactory.getLogger(LiteralInstantiator.class);
 
 	private final LiteralInstantiationStrategy instantiationStrategy;
+	private final GroundingContext groundingContext;
 
 	/**
-	 * Creates a new {@link LiteralInstantiator} with the given {@link LiteralInstantiationStrategy}.
+	 * Creates a new {@link LiteralInstantiator} with the given {@link LiteralInstantiationStrategy} and a fresh
+	 * {@link GroundingContext}.
 	 * 
 	 * @param instantiationStrategy the instantiation strategy to use for this instantiator
 	 */
 	public LiteralInstantiator(LiteralInstantiationStrategy instantiationStrategy) {
+		this(instantiationStrategy, new GroundingContext());
+	}
+
+	/**
+	 * Creates a new {@link LiteralInstantiator} with the given {@link LiteralInstantiationStrategy}.
+	 * 
+	 * @param instantiationStrategy the instantiation strategy to use for this instantiator
+	 * @param groundingContext      the grounding context of the program whose literals are instantiated
+	 */
+	public LiteralInstantiator(LiteralInstantiationStrategy instantiationStrategy, GroundingContext groundingContext) {
 		this.instantiationStrategy = instantiationStrategy;
+		this.groundingContext = groundingContext;
 	}
 
 	/**
@@ -69,23 +85,52 @@ public LiteralInstantiator(LiteralInstantiationStrategy instantiationStrategy) {
 	 * This method is intended to be called as part of a larger rule instantiation (i.e. grounding) workflow in order to find ground
 	 * instantiations of literals, i.e. extensions of the given partial substitution that yield useable ground instances for the given literal.
 	 * These substitutions (if any exist) are wrapped together with some additional status information in a {@link LiteralInstantiationResult}.
+	 * Grounders should rather use {@link #instantiateLiteralInPlace(Literal, TrailedSubstitution)}, which does not copy the substitution
+	 * for every ground instance.
 	 * 
 	 * @param lit                 the literal for which to find substitutions that yield ground instances
 	 * @param partialSubstitution a substitution that serves as a starting point. May be empty.
 	 * @return a {@link LiteralInstantiationResult} containing ground substitutions - if any exist - along with some metadata for the grounder
 	 */
 	public LiteralInstantiationResult instantiateLiteral(Literal lit, Substitution partialSubstitution) {
+		LiteralInstantiationCursor cursor = instantiateLiteralInPlace(lit, new TrailedSubstitution(partialSubstitution));
+		switch (cursor.getType()) {
+			case CONTINUE:
+				return LiteralInstantiationResult.continueBinding(cursor.collectSubstitutions());
+			case STOP_BINDING:
+				return LiteralInstantiationResult.stopBinding();
+			case PUSH_BACK:
+				return LiteralInstantiationResult.pushBack();
+			case MAYBE_PUSH_BACK:
+				return LiteralInstantiationResult.maybePushBack();
+			default:
+				throw Util.oops("Unhandled literal instantiation result type: " + cursor.getType());
+		}
+	}
+
+	/**
+	 * Instantiates a literal by extending the given substitution in place.
+	 * 
+	 * The returned cursor binds the ground instances of the literal one after another in the given substitution, see
+	 * {@link LiteralInstantiationCursor}. Its type tells the grounder how to proceed, as the type of the result of
+	 * {@link #instantiateLiteral(Literal, Substitution)} does.
+	 * 
+	 * @param lit          the literal for which to find substitutions that yield ground instances
+	 * @param substitution the substitution to extend, it is restored once the returned cursor is exhausted.
+	 * @return a {@link LiteralInstantiationCursor} over the ground instances of the literal
+	 */
+	public LiteralInstantiationCursor instantiateLiteralInPlace(Literal lit, TrailedSubstitution substitution) {
 		LOGGER.trace("Instantiating literal: {}", lit);
 		if (lit instanceof FixedInterpretationLiteral) {
-			return this.instantiateFixedInterpretationLiteral((FixedInterpretationLiteral) lit, partialSubstitution);
+			return this.instantiateFixedInterpretationLiteral((FixedInterpretationLiteral) lit, substitution);
 		} else if (lit instanceof EnumerationLiteral) {
-			return this.instantiateEnumerationLiteral((EnumerationLiteral) lit, partialSubstitution);
+			return this.instantiateEnumerationLiteral((EnumerationLiteral) lit, substitution);
 		} else {
 			// Note: At this point we just assume lit to be a basic literal, actual type
 			// check is not performed since the assumption is that any literal that is no
 			// FixedInterpretationLiteral or EnumerationLiteral follows the semantics of a
 			// BasicLiteral even if it has another (currently not existing) type.
-			return this.instantiateBasicLiteral(lit, partialSubstitution);
+			return this.instantiateBasicLiteral(lit, substitution);
 		}
 	}
 
@@ -95,23 +140,21 @@ public LiteralInstantiationResult instantiateLiteral(Literal lit, Substitution p
 	 * 
 	 * @param lit                 the (fixed interpretation) literal for which to calculate substitutions
 	 * @param partialSubstitution
-	 * @return a LiteralInstantiationResult representing the result of the search for substitutions
+	 * @return a cursor representing the result of the search for substitutions
 	 */
-	private LiteralInstantiationResult instantiateFixedInterpretationLiteral(FixedInterpretationLiteral lit, Substitution partialSubstitution) {
+	private LiteralInstantiationCursor instantiateFixedInterpretationLiteral(FixedInterpretationLiteral lit, TrailedSubstitution partialSubstitution) {
 		LOGGER.trace("Instantiating FixedInterpretationLiteral: {}", lit);
-		List<Substitution> substitutions;
 		FixedInterpretationLiteral substitutedLiteral = (FixedInterpretationLiteral) lit.substitute(partialSubstitution);
 		if (this.shouldPushBackFixedInterpretationLiteral(substitutedLiteral)) {
-			return LiteralInstantiationResult.pushBack();
+			return LiteralInstantiationCursor.pushBack(partialSubstitution);
 		} else {
-			substitutions = substitutedLiteral.getSatisfyingSubstitutions(partialSubstitution);
-			return substitutions.isEmpty() ? LiteralInstantiationResult.stopBinding()
-					: LiteralInstantiationResult.continueBindingWithTrueSubstitutions(substitutions);
+			List<Substitution> substitutions = substitutedLiteral.getSatisfyingSubstitutions(partialSubstitution);
+			return LiteralInstantiationCursor.continueBindingWithTrueSubstitutions(partialSubstitution, substitutions);
 		}
 	}
 
 	/**
-	 * Calculates a substitution that adds an enumeration index (see {@link EnumerationLiteral#addEnumerationIndexToSubstitution(Substitution)})
+	 * Calculates a substitution that adds an enumeration index (see {@link EnumerationLiteral#addEnumerationIndexToSubstitution(Substitution, GroundingContext)})
 	 * to the given partial substitution. Due to the special nature of enumeration literals, this method will always return
 	 * {@link LiteralInstantiationResult.Type#CONTINUE} as its result type. This method assumes that the partial substitution has
 	 * <emph>not</emph> been applied to the passed literal.
@@ -119,9 +162,10 @@ private LiteralInstantiationResult instantiateFixedInterpretationLiteral(FixedIn
 	 * @param lit                 an enumeration literal
 	 * @param partialSubstitution
 	 */
-	private LiteralInstantiationResult instantiateEnumerationLiteral(EnumerationLiteral lit, Substitution partialSubstitution) {
+	private LiteralInstantiationCursor instantiateEnumerationLiteral(EnumerationLiteral lit, TrailedSubstitution partialSubstitution) {
 		LOGGER.trace("Instantiating EnumerationLiteral: {}", lit);
-		return LiteralInstantiationResult.continueBinding(lit.addEnumerationIndexToSubstitution(partialSubstitution), AssignmentStatus.TRUE);
+		return LiteralInstantiationCursor.continueBindingWithTrueSubstitutions(partialSubstitution,
+				Collections.singletonList(lit.addEnumerationIndexToSubstitution(partialSubstitution, groundingContext)));
 	}
 
 	/**
@@ -134,9 +178,8 @@ private LiteralInstantiationResult instantiateEnumerationLiteral(EnumerationLite
 	 * @param lit
 	 * @param partialSubstitution
 	 */
-	private LiteralInstantiationResult instantiateBasicLiteral(Literal lit, Substitution partialSubstitution) {
+	private LiteralInstantiationCursor instantiateBasicLiteral(Literal lit, TrailedSubstitution partialSubstitution) {
 		LOGGER.trace("Instantiating basic literal: {}", lit);
-		List<ImmutablePair<Substitution, AssignmentStatus>> substitutions;
 		Literal substitutedLiteral = lit.substitute(partialSubstitution);
 		LOGGER.trace("Substituted literal is {}", substitutedLiteral);
 		if (substitutedLiteral.isGround()) {
@@ -146,22 +189,25 @@ private LiteralInstantiationResult instantiateBasicLiteral(Literal lit, Substitu
 			// instantiationStrategy.
 			AssignmentStatus truthForLiteral = this.instantiationStrategy.getTruthForGroundLiteral(substitutedLiteral);
 			if (truthForLiteral == AssignmentStatus.FALSE) {
-				return LiteralInstantiationResult.stopBinding();
+				return LiteralInstantiationCursor.stopBinding(partialSubstitution, 1);
 			} else {
-				return LiteralInstantiationResult.continueBinding(partialSubstitution, truthForLiteral);
+				return LiteralInstantiationCursor.continueBinding(partialSubstitution, truthForLiteral, 1);
 			}
 		} else {
 			LOGGER.trace("Handling non-ground literal {}", substitutedLiteral);
 			if (substitutedLiteral.isNegated()) {
-				return LiteralInstantiationResult.maybePushBack();
+				return LiteralInstantiationCursor.maybePushBack(partialSubstitution, 0);
 			}
 			// Query instantiationStrategy for acceptable substitutions.
-			// Note: getAcceptedSubstitutions will only give substitutions where the
+			// Note: bindAcceptedInstances will only bind instances where the
 			// resulting ground atom is true or unassigned, false atoms are internally
 			// discarded.
-			substitutions = this.instantiationStrategy.getAcceptedSubstitutions(substitutedLiteral, partialSubstitution);
-			LOGGER.trace("Got {} substitutions from instantiation strategy for {}", substitutions.size(), substitutedLiteral);
-			return substitutions.isEmpty() ? LiteralInstantiationResult.maybePushBack() : LiteralInstantiationResult.continueBinding(substitutions);
+			LiteralInstantiationCursor cursor = this.instantiationStrategy.bindAcceptedInstances(substitutedLiteral, partialSubstitution);
+			if (!cursor.prefetch()) {
+				LOGGER.trace("Got no substitutions from instantiation strategy for {}", substitutedLiteral);
+				return LiteralInstantiationCursor.maybePushBack(partialSubstitution, cursor.getNumberOfExaminedInstances());
+			}
+			return cursor;
 		}
 	}
 
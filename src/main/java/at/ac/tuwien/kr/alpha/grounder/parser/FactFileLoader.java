@@ -0,0 +1,385 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.grounder.parser;
+
+import at.ac.tuwien.kr.alpha.common.Predicate;
+import at.ac.tuwien.kr.alpha.common.atoms.Atom;
+import at.ac.tuwien.kr.alpha.common.atoms.BasicAtom;
+import at.ac.tuwien.kr.alpha.common.program.InputProgram;
+import at.ac.tuwien.kr.alpha.common.terms.ConstantTerm;
+import at.ac.tuwien.kr.alpha.common.terms.FunctionTerm;
+import at.ac.tuwien.kr.alpha.common.terms.Term;
+import org.antlr.v4.runtime.CharStreams;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Loads program files consisting mostly of ground facts without building an ANTLR token stream and parse tree for them.
+ *
+ * The file is read through a channel in chunks and scanned statement by statement: ground facts whose terms are
+ * constants, integers, strings (without escapes) and function terms thereof are turned into atoms directly, all other
+ * statements (rules, facts containing intervals, arithmetics, or anything else) are collected in their original form and
+ * parsed by a {@link ProgramParser} afterwards. Line breaks of skipped facts are kept in the collected text, such that
+ * the {@link ProgramParser} reports errors at the original lines. Columns, however, are shifted: on a line containing
+ * facts loaded by the scanner, the parser reports columns behind these facts shifted to the left by their length
+ * (including the blanks before them). Since the scanner only accepts what the grammar accepts as a fact, the loaded
+ * program equals the program parsed by {@link ProgramParser}, except for the order of facts.
+ *
+ * A loader is not thread-safe, it may be used for several files one after another.
+ */
+public class FactFileLoader {
+
+	private static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+	private static final int EOF = -1;
+
+	private final ProgramParser fallbackParser;
+	private final int initialBufferSize;
+
+	// The buffer holds the bytes read so far, starting at the beginning of the current statement (the mark).
+	private ReadableByteChannel channel;
+	private byte[] buffer;
+	private int mark;
+	private int position;
+	private int limit;
+	private boolean endOfInput;
+
+	public FactFileLoader(ProgramParser fallbackParser) {
+		this(fallbackParser, DEFAULT_BUFFER_SIZE);
+	}
+
+	FactFileLoader(ProgramParser fallbackParser, int initialBufferSize) {
+		this.fallbackParser = fallbackParser;
+		this.initialBufferSize = initialBufferSize;
+	}
+
+	public InputProgram load(Path path) throws IOException {
+		try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return load(fileChannel, path.toString());
+		}
+	}
+
+	/**
+	 * Loads the program read from the given channel, which is not closed.
+	 * @param channel the channel to read the program from, encoded in UTF-8.
+	 * @param sourceName the name of the source to report parse errors for.
+	 * @return the program.
+	 */
+	public InputProgram load(ReadableByteChannel channel, String sourceName) throws IOException {
+		this.channel = channel;
+		this.buffer = new byte[initialBufferSize];
+		this.mark = 0;
+		this.position = 0;
+		this.limit = 0;
+		this.endOfInput = false;
+
+		List<Atom> facts = new ArrayList<>();
+		ByteArrayOutputStream remainder = new ByteArrayOutputStream();
+		int skippedLineBreaks = 0;
+		while (true) {
+			mark = position;
+			Atom fact = null;
+			boolean blanksSkipped = skipBlanks();
+			if (blanksSkipped && peek(0) == EOF) {
+				break;
+			}
+			if (blanksSkipped) {
+				fact = scanFact();
+			}
+			if (fact != null) {
+				facts.add(fact);
+				skippedLineBreaks += countLineBreaks(mark, position);
+				continue;
+			}
+			// Not a fact the scanner can handle, hand the whole statement to the parser.
+			position = mark;
+			boolean endOfStatementFound = skipToEndOfStatement();
+			for (; skippedLineBreaks > 0; skippedLineBreaks--) {
+				remainder.write('\n');
+			}
+			remainder.write(buffer, mark, position - mark);
+			if (!endOfStatementFound) {
+				break;
+			}
+		}
+		this.channel = null;
+		this.buffer = null;
+
+		InputProgram.Builder programBuilder = InputProgram.builder().addFacts(facts);
+		if (remainder.size() > 0) {
+			programBuilder.accumulate(fallbackParser.parse(CharStreams.fromString(new String(remainder.toByteArray(), StandardCharsets.UTF_8), sourceName)));
+		}
+		return programBuilder.build();
+	}
+
+	/**
+	 * Returns the byte at the given offset from the current position, reading more input if necessary.
+	 * @return the byte (as unsigned value), or {@link #EOF} if the input ends before.
+	 */
+	private int peek(int offset) throws IOException {
+		while (position + offset >= limit) {
+			if (!fill()) {
+				return EOF;
+			}
+		}
+		return buffer[position + offset] & 0xFF;
+	}
+
+	private boolean fill() throws IOException {
+		if (endOfInput) {
+			return false;
+		}
+		if (mark > 0) {
+			// Drop everything before the current statement.
+			System.arraycopy(buffer, mark, buffer, 0, limit - mark);
+			position -= mark;
+			limit -= mark;
+			mark = 0;
+		}
+		if (limit == buffer.length) {
+			buffer = Arrays.copyOf(buffer, buffer.length * 2);
+		}
+		int read = channel.read(ByteBuffer.wrap(buffer, limit, buffer.length - limit));
+		if (read < 0) {
+			endOfInput = true;
+			return false;
+		}
+		limit += read;
+		return true;
+	}
+
+	/**
+	 * Skips blanks and line comments.
+	 * @return false iff a multi-line comment starts, which is left to the parser.
+	 */
+	private boolean skipBlanks() throws IOException {
+		while (true) {
+			int c = peek(0);
+			if (c == ' ' || c == '\t' || c == '\r' || c == '\n' || c == '\f') {
+				position++;
+			} else if (c == '%') {
+				if (peek(1) == '*') {
+					return false;
+				}
+				while ((c = peek(0)) != EOF && c != '\r' && c != '\n') {
+					position++;
+				}
+			} else {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Moves the position behind the dot ending the current statement, skipping dots in strings, comments and intervals.
+	 * @return false iff the input ends before or a multi-line comment occurs, in which case the position is moved to the
+	 *         end of the input.
+	 */
+	private boolean skipToEndOfStatement() throws IOException {
+		while (true) {
+			int c = peek(0);
+			if (c == EOF) {
+				// An unterminated string may have moved the position behind the end of the input.
+				position = Math.min(position, limit);
+				return false;
+			}
+			position++;
+			if (c == '"') {
+				while ((c = peek(0)) != EOF && c != '"') {
+					position += c == '\\' && peek(1) == '"' ? 2 : 1;
+				}
+				position++;
+			} else if (c == '%') {
+				if (peek(0) == '*') {
+					// The extent of multi-line comments depends on the longest match of the lexer, parse the remaining input at once.
+					while (peek(0) != EOF) {
+						position = limit;
+					}
+					return false;
+				}
+				while ((c = peek(0)) != EOF && c != '\r' && c != '\n') {
+					position++;
+				}
+			} else if (c == '.') {
+				if (peek(0) != '.') {
+					return true;
+				}
+				position++;
+			}
+		}
+	}
+
+	private int countLineBreaks(int from, int to) {
+		int lineBreaks = 0;
+		for (int i = from; i < to; i++) {
+			if (buffer[i] == '\n') {
+				lineBreaks++;
+			}
+		}
+		return lineBreaks;
+	}
+
+	/**
+	 * Scans a fact of the form <code>p(t1, ..., tn).</code> or <code>p.</code>.
+	 * @return the atom of the fact, or null if the statement is not a fact the scanner can handle.
+	 */
+	private Atom scanFact() throws IOException {
+		String predicateName = scanIdentifier();
+		if (predicateName == null || !skipBlanks()) {
+			return null;
+		}
+		List<Term> terms = Collections.emptyList();
+		if (peek(0) == '(') {
+			position++;
+			terms = scanTerms();
+			if (terms == null || !skipBlanks()) {
+				return null;
+			}
+		}
+		if (peek(0) != '.' || peek(1) == '.') {
+			return null;
+		}
+		position++;
+		return new BasicAtom(Predicate.getInstance(predicateName, terms.size()), terms);
+	}
+
+	/**
+	 * Scans a non-empty list of terms and the closing parenthesis.
+	 */
+	private List<Term> scanTerms() throws IOException {
+		List<Term> terms = new ArrayList<>();
+		while (true) {
+			if (!skipBlanks()) {
+				return null;
+			}
+			Term term = scanTerm();
+			if (term == null || !skipBlanks()) {
+				return null;
+			}
+			terms.add(term);
+			int c = peek(0);
+			position++;
+			if (c == ')') {
+				return terms;
+			} else if (c != ',') {
+				return null;
+			}
+		}
+	}
+
+	private Term scanTerm() throws IOException {
+		int c = peek(0);
+		if (c >= 'a' && c <= 'z') {
+			String symbol = scanIdentifier();
+			if (symbol == null || !skipBlanks()) {
+				return null;
+			}
+			if (peek(0) != '(') {
+				return ConstantTerm.getSymbolicInstance(symbol);
+			}
+			position++;
+			List<Term> terms = scanTerms();
+			return terms == null ? null : FunctionTerm.getInstance(symbol, terms);
+		} else if (c >= '0' && c <= '9') {
+			return scanNumber();
+		} else if (c == '"') {
+			return scanString();
+		}
+		return null;
+	}
+
+	/**
+	 * Scans an identifier starting with a lower-case letter, as in the lexer.
+	 * @return the identifier, or null if it is the keyword <code>not</code>.
+	 */
+	private String scanIdentifier() throws IOException {
+		int c = peek(0);
+		if (c < 'a' || c > 'z') {
+			return null;
+		}
+		final int start = position - mark;
+		do {
+			position++;
+			c = peek(0);
+		} while (isIdentifierPart(c));
+		// The buffer may have been compacted while reading, but the mark stays at the same statement.
+		String identifier = new String(buffer, mark + start, position - mark - start, StandardCharsets.US_ASCII);
+		return "not".equals(identifier) ? null : identifier;
+	}
+
+	private static boolean isIdentifierPart(int c) {
+		return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_';
+	}
+
+	private Term scanNumber() throws IOException {
+		long value = peek(0) - '0';
+		position++;
+		int c = peek(0);
+		if (value == 0 && c >= '0' && c <= '9') {
+			return null;
+		}
+		while (c >= '0' && c <= '9') {
+			value = value * 10 + c - '0';
+			if (value > Integer.MAX_VALUE) {
+				return null;
+			}
+			position++;
+			c = peek(0);
+		}
+		if (isIdentifierPart(c)) {
+			return null;
+		}
+		return ConstantTerm.getInstance((int) value);
+	}
+
+	/**
+	 * Scans a quoted string without escaped quotes.
+	 */
+	private Term scanString() throws IOException {
+		position++;
+		final int start = position - mark;
+		int c;
+		while ((c = peek(0)) != '"') {
+			if (c == EOF || c == '\\') {
+				return null;
+			}
+			position++;
+		}
+		String string = new String(buffer, mark + start, position - mark - start, StandardCharsets.UTF_8);
+		position++;
+		return ConstantTerm.getInstance(string);
+	}
+}
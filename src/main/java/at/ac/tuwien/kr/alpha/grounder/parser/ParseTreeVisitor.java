@@ -56,6 +56,7 @@
 import at.ac.tuwien.kr.alpha.common.terms.IntervalTerm;
 import at.ac.tuwien.kr.alpha.common.terms.Term;
 import at.ac.tuwien.kr.alpha.common.terms.VariableTerm;
+import at.ac.tuwien.kr.alpha.grounder.IntIdGenerator;
 import org.antlr.v4.runtime.RuleContext;
 import org.antlr.v4.runtime.tree.TerminalNode;
 
@@ -77,6 +78,8 @@
 public class ParseTreeVisitor extends ASPCore2BaseVisitor<Object> {
 	private final Map<String, PredicateInterpretation> externals;
 	private final boolean acceptVariables;
+	// Anonymous variables are numbered per visitor, i.e., per parsed program.
+	private final IntIdGenerator anonymousVariableIds = new IntIdGenerator();
 
 	private InputProgram.Builder programBuilder;
 	private InlineDirectives inlineDirectives;
@@ -398,7 +401,7 @@ public Term visitVariable_term(ASPCore2Parser.Variable_termContext ctx) {
 		if (ctx.VARIABLE() != null) {
 			return VariableTerm.getInstance(ctx.VARIABLE().getText());
 		} else {
-			return VariableTerm.getAnonymousInstance();
+			return VariableTerm.getAnonymousInstance(anonymousVariableIds);
 		}
 	}
 
@@ -516,7 +519,7 @@ public VariableTerm visitTerm_anonymousVariable(ASPCore2Parser.Term_anonymousVar
 			throw notSupported(ctx);
 		}
 
-		return VariableTerm.getAnonymousInstance();
+		return VariableTerm.getAnonymousInstance(anonymousVariableIds);
 	}
 
 	@Override
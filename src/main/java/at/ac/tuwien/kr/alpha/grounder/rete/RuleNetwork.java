@@ -0,0 +1,374 @@
+/**
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Additional changes made by Siemens.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.grounder.rete;
+
+import at.ac.tuwien.kr.alpha.common.atoms.BasicAtom;
+import at.ac.tuwien.kr.alpha.common.atoms.Literal;
+import at.ac.tuwien.kr.alpha.common.rule.InternalRule;
+import at.ac.tuwien.kr.alpha.common.terms.Term;
+import at.ac.tuwien.kr.alpha.common.terms.VariableTerm;
+import at.ac.tuwien.kr.alpha.grounder.IndexedInstanceStorage;
+import at.ac.tuwien.kr.alpha.grounder.Instance;
+import at.ac.tuwien.kr.alpha.grounder.RuleGroundingOrder;
+import at.ac.tuwien.kr.alpha.grounder.Substitution;
+import at.ac.tuwien.kr.alpha.grounder.WorkingMemory;
+import at.ac.tuwien.kr.alpha.grounder.atoms.EnumerationLiteral;
+import at.ac.tuwien.kr.alpha.grounder.instantiation.AssignmentStatus;
+import at.ac.tuwien.kr.alpha.grounder.instantiation.LiteralInstantiationResult;
+import at.ac.tuwien.kr.alpha.grounder.instantiation.LiteralInstantiationStrategy;
+import at.ac.tuwien.kr.alpha.grounder.instantiation.LiteralInstantiator;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import static at.ac.tuwien.kr.alpha.Util.oops;
+
+/**
+ * A RETE-style join network for a single rule. The body literals are joined along a fixed order and the partial matches
+ * of every prefix that is followed by a positive basic literal are kept in a {@link TupleStore} (the beta memory of
+ * that prefix). The working memory serves as alpha memories.
+ *
+ * When an instance is added to the working memory, it is only joined with the stored partial matches of the prefix
+ * preceding the literals it matches (see {@link #propagate(int, Instance)}), and the resulting partial matches are
+ * extended along the remaining literals, instead of re-running the whole join. Partial matches depend on the instances
+ * of their positive literals; those that depend on an instance removed from the working memory (i.e., whose atom was
+ * found to be false or unassigned after backtracking) are retracted right away (see
+ * {@link #retract(IndexedInstanceStorage, Instance)}), hence the memories only hold partial matches of instances
+ * currently in the working memory. If the atom becomes true again, it is re-added to the working memory and the partial
+ * matches depending on it are re-derived from it.
+ *
+ * Every partial match is extended only once: if it is derived again while it is stored already, e.g., since instances of
+ * several literals are propagated in the same round and the first of them was already joined with the others, it is
+ * dropped. The full matches are stored as well, such that each one is reported only once.
+ *
+ * Only strict grounding is supported, i.e., a ground rule is only derived if all its positive body atoms are true.
+ * Copyright (c) 2020, the Alpha Team.
+ */
+public class RuleNetwork {
+	private final InternalRule rule;
+	private final LiteralInstantiator instantiator;
+	private final LiteralInstantiationStrategy instantiationStrategy;
+
+	/**
+	 * The literals of the rule body in the order they are joined.
+	 */
+	private final List<Literal> literals;
+
+	/**
+	 * For each literal, its position in the support of tokens if it is a positive basic literal, -1 otherwise.
+	 */
+	private final int[] supportPositions;
+
+	/**
+	 * For each position in the support of tokens, the working memory holding the supporting instances.
+	 */
+	private final IndexedInstanceStorage[] supportStorages;
+
+	/**
+	 * For each prefix (identified by its last position), the variables bound by the prefix in sorted order.
+	 */
+	private final List<List<VariableTerm>> prefixVariables = new ArrayList<>();
+
+	/**
+	 * For each prefix, its beta memory if the prefix is followed by a positive basic literal or is the whole body, null
+	 * otherwise.
+	 */
+	private final TupleStore[] memories;
+
+	/**
+	 * For each position in the support of tokens, the stored tokens having a given instance at that position.
+	 */
+	private final List<Map<Instance, Set<Token>>> dependentTokens = new ArrayList<>();
+
+	/**
+	 * For each positive basic literal, the variables it shares with the preceding prefix, i.e., the join variables.
+	 */
+	private final List<List<VariableTerm>> joinVariables = new ArrayList<>();
+
+	private final Map<Literal, Integer> positions = new HashMap<>();
+
+	public RuleNetwork(InternalRule rule, RuleGroundingOrder groundingOrder, WorkingMemory workingMemory, LiteralInstantiator instantiator,
+			LiteralInstantiationStrategy instantiationStrategy) {
+		this.rule = rule;
+		this.instantiator = instantiator;
+		this.instantiationStrategy = instantiationStrategy;
+
+		this.literals = new ArrayList<>();
+		if (groundingOrder.getStartingLiteral() != null) {
+			literals.add(groundingOrder.getStartingLiteral());
+		}
+		Literal literal;
+		for (int orderPosition = 0; (literal = groundingOrder.getLiteralAtOrderPosition(orderPosition)) != null; orderPosition++) {
+			literals.add(literal);
+		}
+
+		this.supportPositions = new int[literals.size()];
+		List<IndexedInstanceStorage> storages = new ArrayList<>();
+		SortedSet<VariableTerm> boundVariables = new TreeSet<>();
+		for (int i = 0; i < literals.size(); i++) {
+			Literal current = literals.get(i);
+			if (isPositiveBasicLiteral(current)) {
+				supportPositions[i] = storages.size();
+				storages.add(workingMemory.get(current));
+				positions.putIfAbsent(current, i);
+				List<VariableTerm> shared = new ArrayList<>(current.getOccurringVariables());
+				shared.retainAll(boundVariables);
+				Collections.sort(shared);
+				joinVariables.add(shared);
+			} else {
+				supportPositions[i] = -1;
+				joinVariables.add(null);
+			}
+			boundVariables.addAll(current.getBindingVariables());
+			prefixVariables.add(new ArrayList<>(boundVariables));
+		}
+		this.supportStorages = storages.toArray(new IndexedInstanceStorage[0]);
+		for (int i = 0; i < supportStorages.length; i++) {
+			dependentTokens.add(new HashMap<>());
+		}
+
+		this.memories = new TupleStore[literals.size()];
+		for (int i = 0; i + 1 < literals.size(); i++) {
+			List<VariableTerm> join = joinVariables.get(i + 1);
+			if (join == null) {
+				continue;
+			}
+			int[] columns = new int[join.size()];
+			for (int j = 0; j < columns.length; j++) {
+				columns[j] = prefixVariables.get(i).indexOf(join.get(j));
+			}
+			memories[i] = new TupleStore(prefixVariables.get(i).size(), columns);
+		}
+		int lastPosition = literals.size() - 1;
+		memories[lastPosition] = new TupleStore(prefixVariables.get(lastPosition).size(), null);
+	}
+
+	private static boolean isPositiveBasicLiteral(Literal literal) {
+		// Enumeration literals are instantiated from the grounding context, not from the working memory.
+		return !literal.isNegated() && literal.getAtom() instanceof BasicAtom && !(literal instanceof EnumerationLiteral);
+	}
+
+	public InternalRule getRule() {
+		return rule;
+	}
+
+	/**
+	 * Returns the position at which the given literal is joined, or -1 if the literal is no positive basic literal of
+	 * the rule.
+	 */
+	public int getPosition(Literal literal) {
+		Integer position = positions.get(literal);
+		return position == null ? -1 : position;
+	}
+
+	/**
+	 * Returns the number of partial matches currently stored in the beta memory of the prefix ending at the given
+	 * position, or -1 if no memory is kept for that prefix.
+	 */
+	public int getMemorySize(int position) {
+		return memories[position] == null ? -1 : memories[position].size();
+	}
+
+	/**
+	 * Propagates an instance newly added to the working memory through the network, starting at the literal at the
+	 * given position. The instantiation strategy must have been updated with the current assignment before.
+	 *
+	 * @param position the position of a positive basic literal matching the instance (cf. {@link #getPosition(Literal)}).
+	 * @param instance the new instance.
+	 * @return the substitutions grounding the whole rule body that are newly obtained using the instance.
+	 */
+	public List<Substitution> propagate(int position, Instance instance) {
+		Literal literal = literals.get(position);
+		List<Substitution> fullMatches = new ArrayList<>();
+		if (position == 0) {
+			Substitution substitution = Substitution.specializeSubstitution(literal, instance, rule.getEmptySubstitution());
+			if (substitution != null) {
+				Token initial = new Token(rule.getEmptySubstitution(), new Instance(), new Instance[supportStorages.length]);
+				extend(initial.extend(substitution, tupleOf(0, substitution), supportPositions[0], instance), 0, fullMatches);
+			}
+			return fullMatches;
+		}
+		Substitution instanceSubstitution = Substitution.specializeSubstitution(literal, instance, rule.getEmptySubstitution());
+		if (instanceSubstitution == null) {
+			return fullMatches;
+		}
+		List<VariableTerm> join = joinVariables.get(position);
+		Term[] key = new Term[join.size()];
+		for (int i = 0; i < key.length; i++) {
+			key[i] = instanceSubstitution.eval(join.get(i));
+		}
+		TupleStore memory = memories[position - 1];
+		// Copy the matching tokens, extending may add tokens to the memory if the rule contains self-joins.
+		for (Token token : new ArrayList<>(memory.get(new Instance(key)))) {
+			Substitution joined = Substitution.specializeSubstitution(literal, instance, token.getSubstitution());
+			if (joined == null) {
+				continue;
+			}
+			extend(token.extend(joined, tupleOf(position, joined), supportPositions[position], instance), position, fullMatches);
+		}
+		return fullMatches;
+	}
+
+	/**
+	 * Retracts all partial matches depending on an instance that has been removed from the working memory.
+	 *
+	 * @param storage  the working memory the instance was removed from.
+	 * @param instance the removed instance.
+	 */
+	public void retract(IndexedInstanceStorage storage, Instance instance) {
+		for (int supportPosition = 0; supportPosition < supportStorages.length; supportPosition++) {
+			if (supportStorages[supportPosition] != storage) {
+				continue;
+			}
+			Set<Token> tokens = dependentTokens.get(supportPosition).remove(instance);
+			if (tokens == null) {
+				continue;
+			}
+			for (Token token : tokens) {
+				remove(token, supportPosition);
+			}
+		}
+	}
+
+	/**
+	 * Stores the given token (matching the prefix up to the given position) and extends it along the remaining literals,
+	 * unless it is stored already.
+	 */
+	private void extend(Token token, int position, List<Substitution> fullMatches) {
+		TupleStore memory = memories[position];
+		if (memory != null && memory.contains(token.getTuple())) {
+			// The token has been derived and extended before, extensions by instances propagated since are obtained
+			// from the memory.
+			return;
+		}
+		if (position == literals.size() - 1) {
+			if (isTrue(token)) {
+				store(memory, token);
+				fullMatches.add(token.getSubstitution());
+			}
+			return;
+		}
+		if (memory != null) {
+			store(memory, token);
+		}
+		int nextPosition = position + 1;
+		Literal next = literals.get(nextPosition);
+		LiteralInstantiationResult result = instantiator.instantiateLiteral(next, token.getSubstitution());
+		switch (result.getType()) {
+			case CONTINUE:
+				for (ImmutablePair<Substitution, AssignmentStatus> substitutionInfo : result.getSubstitutions()) {
+					if (substitutionInfo.right != AssignmentStatus.TRUE) {
+						// Strict grounding, the atom must be true.
+						continue;
+					}
+					Substitution extended = substitutionInfo.left;
+					Instance supportingInstance = null;
+					if (supportPositions[nextPosition] != -1) {
+						supportingInstance = new Instance(next.getAtom().substitute(extended).getTerms());
+					}
+					extend(token.extend(extended, tupleOf(nextPosition, extended), supportPositions[nextPosition], supportingInstance), nextPosition, fullMatches);
+				}
+				return;
+			case STOP_BINDING:
+			case MAYBE_PUSH_BACK:
+				return;
+			case PUSH_BACK:
+				throw oops("Literal " + next + " cannot be instantiated in join order of rule " + rule);
+			default:
+				throw oops("Unhandled literal instantiation result type: " + result.getType());
+		}
+	}
+
+	private Instance tupleOf(int position, Substitution substitution) {
+		List<VariableTerm> variables = prefixVariables.get(position);
+		Term[] terms = new Term[variables.size()];
+		for (int i = 0; i < terms.length; i++) {
+			terms[i] = substitution.eval(variables.get(i));
+		}
+		return new Instance(terms);
+	}
+
+	private void store(TupleStore memory, Token token) {
+		memory.add(token);
+		Instance[] support = token.getSupport();
+		for (int i = 0; i < support.length; i++) {
+			if (support[i] != null) {
+				dependentTokens.get(i).computeIfAbsent(support[i], k -> new HashSet<>()).add(token);
+			}
+		}
+	}
+
+	/**
+	 * Removes a token from its memory and from the dependents of its support, except for the given support position
+	 * whose dependents are being retracted.
+	 */
+	private void remove(Token token, int retractedSupportPosition) {
+		for (TupleStore memory : memories) {
+			if (memory != null && memory.remove(token)) {
+				break;
+			}
+		}
+		Instance[] support = token.getSupport();
+		for (int i = 0; i < support.length; i++) {
+			if (i == retractedSupportPosition || support[i] == null) {
+				continue;
+			}
+			Map<Instance, Set<Token>> dependents = dependentTokens.get(i);
+			Set<Token> tokens = dependents.get(support[i]);
+			if (tokens != null && tokens.remove(token) && tokens.isEmpty()) {
+				dependents.remove(support[i]);
+			}
+		}
+	}
+
+	/**
+	 * Checks that all positive atoms of a full match are true. Atoms that are not are marked for removal from the working
+	 * memory by the instantiation strategy.
+	 */
+	private boolean isTrue(Token token) {
+		boolean allTrue = true;
+		for (int i = 0; i < literals.size(); i++) {
+			if (supportPositions[i] == -1) {
+				continue;
+			}
+			Literal groundLiteral = literals.get(i).substitute(token.getSubstitution());
+			if (instantiationStrategy.getTruthForGroundLiteral(groundLiteral) != AssignmentStatus.TRUE) {
+				allTrue = false;
+			}
+		}
+		return allTrue;
+	}
+}
@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Additional changes made by Siemens.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.grounder.rete;
+
+import at.ac.tuwien.kr.alpha.grounder.Instance;
+import at.ac.tuwien.kr.alpha.grounder.Substitution;
+
+import java.util.Arrays;
+
+/**
+ * A partial match of a rule body, i.e., a substitution grounding a prefix of the literals of a {@link RuleNetwork}
+ * together with the instances of the positive literals of that prefix it depends on.
+ * Copyright (c) 2020, the Alpha Team.
+ */
+public class Token {
+	private final Substitution substitution;
+	private final Instance tuple;
+	private final Instance[] support;
+
+	Token(Substitution substitution, Instance tuple, Instance[] support) {
+		this.substitution = substitution;
+		this.tuple = tuple;
+		this.support = support;
+	}
+
+	public Substitution getSubstitution() {
+		return substitution;
+	}
+
+	/**
+	 * Returns the terms bound to the variables of the prefix, in the order of the variables.
+	 */
+	public Instance getTuple() {
+		return tuple;
+	}
+
+	/**
+	 * Returns the instances of the positive literals of the prefix, null for positions not yet bound.
+	 */
+	Instance[] getSupport() {
+		return support;
+	}
+
+	Token extend(Substitution extendedSubstitution, Instance extendedTuple, int supportPosition, Instance supportingInstance) {
+		Instance[] extendedSupport = support;
+		if (supportingInstance != null) {
+			extendedSupport = Arrays.copyOf(support, support.length);
+			extendedSupport[supportPosition] = supportingInstance;
+		}
+		return new Token(extendedSubstitution, extendedTuple, extendedSupport);
+	}
+
+	@Override
+	public String toString() {
+		return substitution.toString();
+	}
+}
@@ -1,7 +1,83 @@
+/**
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Additional changes made by Siemens.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
 package at.ac.tuwien.kr.alpha.grounder.rete;
 
+import at.ac.tuwien.kr.alpha.common.terms.Term;
+import at.ac.tuwien.kr.alpha.grounder.Instance;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+
 /**
- * Copyright (c) 2016, the Alpha Team.
+ * An index of the tokens of a {@link TupleStore} by the terms at some columns of their tuples.
+ * Copyright (c) 2016-2020, the Alpha Team.
  */
 public class TupleIndex {
+	private final int[] columns;
+	private final HashMap<Instance, LinkedHashSet<Token>> buckets = new HashMap<>();
+
+	public TupleIndex(int[] columns) {
+		this.columns = columns;
+	}
+
+	private Instance keyOf(Instance tuple) {
+		Term[] key = new Term[columns.length];
+		for (int i = 0; i < columns.length; i++) {
+			key[i] = tuple.terms.get(columns[i]);
+		}
+		return new Instance(key);
+	}
+
+	void add(Token token) {
+		buckets.computeIfAbsent(keyOf(token.getTuple()), k -> new LinkedHashSet<>()).add(token);
+	}
+
+	void remove(Token token) {
+		Instance key = keyOf(token.getTuple());
+		LinkedHashSet<Token> bucket = buckets.get(key);
+		if (bucket == null) {
+			return;
+		}
+		bucket.remove(token);
+		if (bucket.isEmpty()) {
+			buckets.remove(key);
+		}
+	}
+
+	/**
+	 * Returns all tokens whose tuples have the given terms at the indexed columns.
+	 * @param key the terms of the indexed columns, in the order of the columns.
+	 * @return the matching tokens, which must not be modified.
+	 */
+	Collection<Token> get(Instance key) {
+		LinkedHashSet<Token> bucket = buckets.get(key);
+		return bucket == null ? Collections.emptySet() : Collections.unmodifiableSet(bucket);
+	}
 }
@@ -1,10 +1,102 @@
+/**
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Additional changes made by Siemens.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
 package at.ac.tuwien.kr.alpha.grounder.rete;
 
+import at.ac.tuwien.kr.alpha.grounder.Instance;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+
 /**
- * Copyright (c) 2016, the Alpha Team.
+ * A memory of a {@link RuleNetwork} storing tokens whose tuples have the same arity. A token replaces any previously
+ * stored token with the same tuple. Adding and removing a token takes constant time, lookups by the terms at the
+ * indexed columns are served by a {@link TupleIndex}, if the store has indexed columns.
+ * Copyright (c) 2016-2020, the Alpha Team.
  */
 public class TupleStore {
 
-	int arity;
-	TupleIndex[] tupleIndex;
+	private final int arity;
+	private final TupleIndex tupleIndex;
+	private final LinkedHashMap<Instance, Token> tokens = new LinkedHashMap<>();
+
+	/**
+	 * @param arity          the arity of the tuples of stored tokens.
+	 * @param indexedColumns the columns to look up tokens by, null if tokens are not looked up.
+	 */
+	public TupleStore(int arity, int[] indexedColumns) {
+		this.arity = arity;
+		this.tupleIndex = indexedColumns == null ? null : new TupleIndex(indexedColumns);
+	}
+
+	public int getArity() {
+		return arity;
+	}
+
+	public int size() {
+		return tokens.size();
+	}
+
+	void add(Token token) {
+		if (token.getTuple().terms.size() != arity) {
+			throw new RuntimeException("Tuple length does not match arity of TupleStore: " + token.getTuple());
+		}
+		Token previous = tokens.put(token.getTuple(), token);
+		if (tupleIndex == null) {
+			return;
+		}
+		if (previous != null) {
+			tupleIndex.remove(previous);
+		}
+		tupleIndex.add(token);
+	}
+
+	/**
+	 * Removes the given token if it is stored.
+	 * @return true if the token was stored.
+	 */
+	boolean remove(Token token) {
+		if (!tokens.remove(token.getTuple(), token)) {
+			return false;
+		}
+		if (tupleIndex != null) {
+			tupleIndex.remove(token);
+		}
+		return true;
+	}
+
+	boolean contains(Instance tuple) {
+		return tokens.containsKey(tuple);
+	}
+
+	/**
+	 * Returns all tokens whose tuples have the given terms at the indexed columns.
+	 */
+	Collection<Token> get(Instance key) {
+		return tupleIndex.get(key);
+	}
 }
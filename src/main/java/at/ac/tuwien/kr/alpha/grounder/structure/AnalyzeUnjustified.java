@@ -9,7 +9,6 @@
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -30,6 +29,7 @@
 import at.ac.tuwien.kr.alpha.grounder.Instance;
 import at.ac.tuwien.kr.alpha.grounder.Unification;
 import at.ac.tuwien.kr.alpha.grounder.Unifier;
+import at.ac.tuwien.kr.alpha.grounder.transformation.NativeAggregateNormalization;
 import at.ac.tuwien.kr.alpha.solver.ThriceTruth;
 
 /**
@@ -40,6 +40,7 @@ public class AnalyzeUnjustified {
 	private final InternalProgram programAnalysis;
 	private final AtomStore atomStore;
 	private final Map<Predicate, LinkedHashSet<Instance>> factsFromProgram;
+	private final AtomStoreIndex atomStoreIndex;
 	private int renamingCounter;
 	private int padDepth;
 
@@ -47,11 +48,15 @@ public AnalyzeUnjustified(InternalProgram programAnalysis, AtomStore atomStore,
 		this.programAnalysis = programAnalysis;
 		this.atomStore = atomStore;
 		this.factsFromProgram = factsFromProgram;
+		this.atomStoreIndex = new AtomStoreIndex(atomStore);
 		padDepth = 0;
 	}
 
-	private Map<Predicate, List<Atom>> assignedAtoms;
-
+	/**
+	 * Computes reasons why the given atom is not TRUE under the given assignment.
+	 * @return a set of literals jointly implying that the atom is not TRUE, or null if the atom depends on the output of a
+	 * native aggregate, whose absence cannot be explained by analyzing the rules of the program.
+	 */
 	public Set<Literal> analyze(int atomToJustify, Assignment currentAssignment) {
 		padDepth = 0;
 		Atom atom = atomStore.get(atomToJustify);
@@ -65,16 +70,8 @@ public Set<Literal> analyze(int atomToJustify, Assignment currentAssignment) {
 		// If atom instanceof ChoiceAtom and atom is MBT, then the corresponding rule body has a BasicAtom that is MBT.
 		// If atom instanceof RuleAtom and atom is FALSE, then this comes from a violated constraint in the end and the corresponding rule body can be taken as the single rule deriving the RuleAtom.
 		//@formatter:on
-		assignedAtoms = new LinkedHashMap<>();
-		for (int i = 1; i <= atomStore.getMaxAtomId(); i++) {
-			ThriceTruth truth = currentAssignment.getTruth(i);
-			if (truth == null) {
-				continue;
-			}
-			Atom assignedAtom = atomStore.get(i);
-			assignedAtoms.putIfAbsent(assignedAtom.getPredicate(), new ArrayList<>());
-			assignedAtoms.get(assignedAtom.getPredicate()).add(assignedAtom);
-		}
+		// Only atoms created since the last analysis need to be indexed, assigned ones are filtered upon lookup.
+		atomStoreIndex.update();
 		return analyze((BasicAtom) atom, currentAssignment);
 	}
 
@@ -87,6 +84,11 @@ private Set<Literal> analyze(BasicAtom atom, Assignment currentAssignment) {
 			Iterator<LitSet> it = vToDo.iterator();
 			LitSet x = it.next();
 			it.remove();
+			if (NativeAggregateNormalization.isInterfaceRule(x.getAtom().getPredicate())) {
+				// Outputs of native aggregates are derived by weight constraints in the solver, not by their interface rule.
+				log("Cannot justify native aggregate output: {}", x);
+				return null;
+			}
 			log("");
 			log("Treating now: {}", x);
 			vDone.add(x);
@@ -144,7 +146,7 @@ private ReturnExplainUnjust explainUnjust(LitSet x, Assignment currentAssignment
 				}
 				Atom lb = lit.getAtom().substitute(sigma);
 				log("Found: {}, searching falsifying ground instances of {} (with unifier from the head) now.", lit, lb);
-				AssignedAtomsIterator assignedAtomsOverPredicate = getAssignedAtomsOverPredicate(lb.getPredicate());
+				AssignedAtomsIterator assignedAtomsOverPredicate = getAssignedAtomsMatching(lb, currentAssignment);
 				while (assignedAtomsOverPredicate.hasNext()) {
 					Atom lg = assignedAtomsOverPredicate.next();
 					log("Considering: {}", lg);
@@ -220,7 +222,8 @@ private Set<LitSet> unjustCover(List<Literal> vB, Set<Unifier> vY, Set<Unifier>
 			Set<Unifier> vYp = new LinkedHashSet<>();
 
 			log("Checking atoms over predicate: {}", b.getPredicate());
-			AssignedAtomsIterator assignedAtomsOverPredicate = getAssignedAtomsOverPredicate(b.getPredicate());
+			// Atoms not matching bSigmaY are never added to Y', hence only those matching it are considered.
+			AssignedAtomsIterator assignedAtomsOverPredicate = getAssignedAtomsMatching(bSigmaY, currentAssignment);
 			atomLoop:
 			while (assignedAtomsOverPredicate.hasNext()) {
 				Atom atom = assignedAtomsOverPredicate.next();
@@ -291,39 +294,64 @@ private String pad(String string) {
 		return sb.toString();
 	}
 
-	private AssignedAtomsIterator getAssignedAtomsOverPredicate(Predicate predicate) {
+	/**
+	 * Returns an iterator over all assigned atoms and facts that may match the given atom, see
+	 * {@link AtomStoreIndex#getCandidates(Atom)}.
+	 */
+	private AssignedAtomsIterator getAssignedAtomsMatching(Atom pattern, Assignment currentAssignment) {
 		// Find more substitutions, consider currentAssignment.
-		List<Atom> assignedAtoms = this.assignedAtoms.get(predicate);
+		AtomStoreIndex.IndexedAtoms candidates = atomStoreIndex.getCandidates(pattern);
 		// Consider instances from facts.
-		LinkedHashSet<Instance> factsOverPredicate = factsFromProgram.get(predicate);
-		return new AssignedAtomsIterator(predicate, assignedAtoms, factsOverPredicate);
+		LinkedHashSet<Instance> factsOverPredicate = factsFromProgram.get(pattern.getPredicate());
+		return new AssignedAtomsIterator(pattern, candidates, currentAssignment, factsOverPredicate);
 	}
 
 	private static class AssignedAtomsIterator implements Iterator<Atom> {
-		private final Predicate predicate;
-		private final Iterator<Atom> assignedAtomsIterator;
+		private final Atom pattern;
+		private final AtomStoreIndex.IndexedAtoms candidates;
+		private final Assignment currentAssignment;
 		private final Iterator<Instance> factsIterator;
+		private int nextCandidate;
+		private Atom next;
 
-		public AssignedAtomsIterator(Predicate predicate, List<Atom> assignedAtoms, Set<Instance> facts) {
-			this.predicate = predicate;
-			this.assignedAtomsIterator = assignedAtoms == null ? Collections.emptyIterator() : assignedAtoms.iterator();
+		public AssignedAtomsIterator(Atom pattern, AtomStoreIndex.IndexedAtoms candidates, Assignment currentAssignment, Set<Instance> facts) {
+			this.pattern = pattern;
+			this.candidates = candidates;
+			this.currentAssignment = currentAssignment;
 			this.factsIterator = facts == null ? Collections.emptyIterator() : facts.iterator();
+			this.next = findNext();
+		}
+
+		private Atom findNext() {
+			while (nextCandidate < candidates.size()) {
+				int atomId = candidates.getAtomId(nextCandidate);
+				Atom atom = candidates.getAtom(nextCandidate++);
+				if (currentAssignment.getTruth(atomId) != null) {
+					return atom;
+				}
+			}
+			while (factsIterator.hasNext()) {
+				Instance fact = factsIterator.next();
+				if (AtomStoreIndex.mayMatch(pattern, fact.terms)) {
+					return new BasicAtom(pattern.getPredicate(), fact.terms);
+				}
+			}
+			return null;
 		}
 
 		@Override
 		public boolean hasNext() {
-			return assignedAtomsIterator.hasNext() || factsIterator.hasNext();
+			return next != null;
 		}
 
 		@Override
 		public Atom next() {
-			if (assignedAtomsIterator.hasNext()) {
-				return assignedAtomsIterator.next();
-			}
-			if (factsIterator.hasNext()) {
-				return new BasicAtom(predicate, factsIterator.next().terms);
+			if (next == null) {
+				throw new NoSuchElementException();
 			}
-			throw new NoSuchElementException();
+			Atom retVal = next;
+			next = findNext();
+			return retVal;
 		}
 	}
 
@@ -331,7 +359,6 @@ private List<RuleAndUnifier> rulesHeadUnifyingWith(Atom p) {
 
 		List<RuleAndUnifier> rulesWithUnifier = new ArrayList<>();
 		Predicate predicate = p.getPredicate();
-		
 		ArrayList<FactOrNonGroundRule> definingRulesAndFacts = new ArrayList<>();
 		// Get facts over the same predicate.
 		LinkedHashSet<Instance> factInstances = factsFromProgram.get(predicate);
@@ -0,0 +1,145 @@
+package at.ac.tuwien.kr.alpha.grounder.structure;
+
+import static at.ac.tuwien.kr.alpha.Util.arrayGrowthSize;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import at.ac.tuwien.kr.alpha.common.AtomStore;
+import at.ac.tuwien.kr.alpha.common.Predicate;
+import at.ac.tuwien.kr.alpha.common.atoms.Atom;
+import at.ac.tuwien.kr.alpha.common.terms.Term;
+
+/**
+ * Indexes the atoms of an {@link AtomStore} by predicate and by the terms occurring at each argument position. Atoms
+ * are never removed from an atom store, hence the index is extended incrementally by {@link #update()} with the atoms
+ * added since the last update. The index does not record truth values, since these change with every assignment and
+ * backtrack of the solver; users check the truth of the (few) candidate atoms instead.
+ *
+ * Copyright (c) 2020, the Alpha Team.
+ */
+class AtomStoreIndex {
+
+	static final IndexedAtoms NO_ATOMS = new IndexedAtoms();
+
+	private final AtomStore atomStore;
+	private final Map<Predicate, PredicateIndex> predicateIndices = new HashMap<>();
+	private int maxIndexedAtomId;
+
+	AtomStoreIndex(AtomStore atomStore) {
+		this.atomStore = atomStore;
+	}
+
+	/**
+	 * Adds all atoms that have been added to the atom store since the last update.
+	 */
+	void update() {
+		int maxAtomId = atomStore.getMaxAtomId();
+		for (int atomId = maxIndexedAtomId + 1; atomId <= maxAtomId; atomId++) {
+			Atom atom = atomStore.get(atomId);
+			predicateIndices.computeIfAbsent(atom.getPredicate(), PredicateIndex::new).add(atomId, atom);
+		}
+		maxIndexedAtomId = Math.max(maxIndexedAtomId, maxAtomId);
+	}
+
+	/**
+	 * Returns all indexed atoms that may unify with the given atom, i.e., all atoms over its predicate having the same
+	 * terms at all positions where the given atom has a ground term. Uses the most selective ground position; the
+	 * returned atoms therefore are candidates only, and unification must still be checked.
+	 *
+	 * @param pattern the (possibly non-ground) atom to look up matching atoms for.
+	 * @return the candidate atoms in increasing order of their ids.
+	 */
+	IndexedAtoms getCandidates(Atom pattern) {
+		PredicateIndex predicateIndex = predicateIndices.get(pattern.getPredicate());
+		if (predicateIndex == null) {
+			return NO_ATOMS;
+		}
+		IndexedAtoms candidates = predicateIndex.all;
+		List<Term> terms = pattern.getTerms();
+		for (int i = 0; i < terms.size(); i++) {
+			Term term = terms.get(i);
+			if (!term.isGround()) {
+				continue;
+			}
+			IndexedAtoms atomsWithTerm = predicateIndex.byPosition[i].get(term);
+			if (atomsWithTerm == null) {
+				return NO_ATOMS;
+			}
+			if (atomsWithTerm.size < candidates.size) {
+				candidates = atomsWithTerm;
+			}
+		}
+		return candidates;
+	}
+
+	/**
+	 * Checks whether the given ground atom (which is not required to be in the atom store) may match the given pattern,
+	 * i.e., whether both have equal terms at all positions where the pattern has a ground term.
+	 */
+	static boolean mayMatch(Atom pattern, List<Term> groundTerms) {
+		List<Term> terms = pattern.getTerms();
+		for (int i = 0; i < terms.size(); i++) {
+			Term term = terms.get(i);
+			if (term.isGround() && !term.equals(groundTerms.get(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static final class PredicateIndex {
+		private final IndexedAtoms all = new IndexedAtoms();
+		private final Map<Term, IndexedAtoms>[] byPosition;
+
+		@SuppressWarnings("unchecked")
+		PredicateIndex(Predicate predicate) {
+			byPosition = new Map[predicate.getArity()];
+			for (int i = 0; i < byPosition.length; i++) {
+				byPosition[i] = new HashMap<>();
+			}
+		}
+
+		void add(int atomId, Atom atom) {
+			all.add(atomId, atom);
+			List<Term> terms = atom.getTerms();
+			for (int i = 0; i < byPosition.length; i++) {
+				byPosition[i].computeIfAbsent(terms.get(i), t -> new IndexedAtoms()).add(atomId, atom);
+			}
+		}
+	}
+
+	/**
+	 * An append-only list of atoms together with their ids.
+	 */
+	static final class IndexedAtoms {
+		private int[] atomIds = new int[0];
+		private Atom[] atoms = new Atom[0];
+		private int size;
+
+		private void add(int atomId, Atom atom) {
+			if (size == atomIds.length) {
+				int newCapacity = Math.max(4, arrayGrowthSize(size));
+				atomIds = Arrays.copyOf(atomIds, newCapacity);
+				atoms = Arrays.copyOf(atoms, newCapacity);
+			}
+			atomIds[size] = atomId;
+			atoms[size] = atom;
+			size++;
+		}
+
+		int size() {
+			return size;
+		}
+
+		int getAtomId(int index) {
+			return atomIds[index];
+		}
+
+		Atom getAtom(int index) {
+			return atoms[index];
+		}
+	}
+}
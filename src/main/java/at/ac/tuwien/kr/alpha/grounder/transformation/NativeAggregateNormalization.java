@@ -0,0 +1,196 @@
+package at.ac.tuwien.kr.alpha.grounder.transformation;
+
+import at.ac.tuwien.kr.alpha.common.Predicate;
+import at.ac.tuwien.kr.alpha.common.atoms.AggregateAtom;
+import at.ac.tuwien.kr.alpha.common.atoms.AggregateLiteral;
+import at.ac.tuwien.kr.alpha.common.atoms.BasicAtom;
+import at.ac.tuwien.kr.alpha.common.atoms.Literal;
+import at.ac.tuwien.kr.alpha.common.program.InputProgram;
+import at.ac.tuwien.kr.alpha.common.rule.BasicRule;
+import at.ac.tuwien.kr.alpha.common.rule.head.NormalHead;
+import at.ac.tuwien.kr.alpha.common.terms.ConstantTerm;
+import at.ac.tuwien.kr.alpha.common.terms.FunctionTerm;
+import at.ac.tuwien.kr.alpha.common.terms.Term;
+import at.ac.tuwien.kr.alpha.common.terms.VariableTerm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Rewrites #count and #sum aggregates into weight constraints that are propagated natively by the solver, instead of
+ * encoding them by normal rules (cf. {@link CardinalityNormalization} and {@link SumNormalization}).
+ *
+ * Each aggregate is connected to the solver by three internal predicates: every element yields an input atom holding
+ * its weight (1 for #count, the first element term for #sum), the rule body yields a bound atom holding the lower
+ * bound, and the aggregate in the rule body is replaced by an output atom. The output atoms are defined by a single
+ * interface rule depending on bound and input atoms, which is not grounded like an ordinary rule: the grounder turns
+ * all output, bound, and input atoms of an aggregate into one {@link at.ac.tuwien.kr.alpha.common.WeightConstraint} and
+ * the stratified evaluation computes outputs by summing up the weights of inputs. The interface rule only makes the
+ * dependencies of outputs visible to all program analyses.
+ *
+ * Note: the same restrictions as for the rewriting encodings apply, i.e., aggregates must not be negated, must not have
+ * an upper bound, and each rule may contain at most one aggregate. Weights must be non-negative integers.
+ *
+ * Copyright (c) 2020, the Alpha Team.
+ */
+public class NativeAggregateNormalization extends ProgramTransformation<InputProgram, InputProgram> {
+
+	public static final Predicate INPUT_PREDICATE = Predicate.getInstance("aggregate_input", 3, true);
+	public static final Predicate BOUND_PREDICATE = Predicate.getInstance("aggregate_bound", 2, true);
+	public static final Predicate OUTPUT_PREDICATE = Predicate.getInstance("aggregate_output", 2, true);
+
+	private static final Term COUNT_WEIGHT = ConstantTerm.getInstance(1);
+
+	private int aggregateCount;
+
+	@Override
+	public InputProgram apply(InputProgram inputProgram) {
+		if (!rewritingNecessary(inputProgram)) {
+			return inputProgram;
+		}
+		InputProgram.Builder programBuilder = InputProgram.builder();
+		programBuilder.addFacts(inputProgram.getFacts());
+		programBuilder.addInlineDirectives(inputProgram.getInlineDirectives());
+		for (BasicRule rule : inputProgram.getRules()) {
+			programBuilder.addRules(rewriteAggregatesInRule(rule));
+		}
+		programBuilder.addRule(createInterfaceRule());
+		return programBuilder.build();
+	}
+
+	/**
+	 * Returns true iff a rule with the given head predicate is the interface rule defining the output atoms of native
+	 * aggregates, which must not be grounded like an ordinary rule.
+	 */
+	public static boolean isInterfaceRule(Predicate headPredicate) {
+		return OUTPUT_PREDICATE.equals(headPredicate);
+	}
+
+	/**
+	 * Returns the weight represented by the given term, which must be a non-negative integer.
+	 * @param weightTerm the ground weight term of an input atom.
+	 * @return the weight.
+	 */
+	public static int toWeight(Term weightTerm) {
+		if (weightTerm instanceof ConstantTerm && ((ConstantTerm<?>) weightTerm).getObject() instanceof Integer) {
+			int weight = (Integer) ((ConstantTerm<?>) weightTerm).getObject();
+			if (weight >= 0) {
+				return weight;
+			}
+		}
+		throw new IllegalArgumentException("Native aggregates only support non-negative integer weights, but got: " + weightTerm);
+	}
+
+	/**
+	 * Returns the lower bound represented by the given term, which must be an integer.
+	 * @param lowerBoundTerm the ground lower bound term of a bound atom.
+	 * @return the lower bound.
+	 */
+	public static int toLowerBound(Term lowerBoundTerm) {
+		if (lowerBoundTerm instanceof ConstantTerm && ((ConstantTerm<?>) lowerBoundTerm).getObject() instanceof Integer) {
+			return (Integer) ((ConstantTerm<?>) lowerBoundTerm).getObject();
+		}
+		throw new IllegalArgumentException("Native aggregates only support integer bounds, but got: " + lowerBoundTerm);
+	}
+
+	private static boolean rewritingNecessary(InputProgram program) {
+		for (BasicRule rule : program.getRules()) {
+			for (Literal lit : rule.getBody()) {
+				if (lit instanceof AggregateLiteral) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private static BasicRule createInterfaceRule() {
+		// The interface rule is: aggregate_output(A, K) :- aggregate_bound(A, K), aggregate_input(A, W, T).
+		VariableTerm aggregate = VariableTerm.getInstance("A");
+		VariableTerm bound = VariableTerm.getInstance("K");
+		BasicAtom head = new BasicAtom(OUTPUT_PREDICATE, aggregate, bound);
+		List<Literal> body = Arrays.asList(
+				new BasicAtom(BOUND_PREDICATE, aggregate, bound).toLiteral(),
+				new BasicAtom(INPUT_PREDICATE, aggregate, VariableTerm.getInstance("W"), VariableTerm.getInstance("T")).toLiteral());
+		return new BasicRule(new NormalHead(head), body);
+	}
+
+	private List<BasicRule> rewriteAggregatesInRule(BasicRule rule) {
+		// Example rewriting:
+		// x :- 6 <= #sum {3,a:a; 4,b:b; 5,c:c}.
+		// is rewritten to:
+		// x :- aggregate_output(aggregate(1), 6).
+		// aggregate_input(aggregate(1), 3, element_tuple(3, a)) :- a.
+		// aggregate_input(aggregate(1), 4, element_tuple(4, b)) :- b.
+		// aggregate_input(aggregate(1), 5, element_tuple(5, c)) :- c.
+		// aggregate_bound(aggregate(1), 6).
+		List<BasicRule> additionalRules = new ArrayList<>();
+		List<Literal> rewrittenBody = new ArrayList<>(rule.getBody());
+		Literal outputLiteral = null;
+		for (Iterator<Literal> iterator = rewrittenBody.iterator(); iterator.hasNext();) {
+			Literal bodyElement = iterator.next();
+			// Skip non-aggregates.
+			if (!(bodyElement instanceof AggregateLiteral)) {
+				continue;
+			}
+			AggregateLiteral aggregateLiteral = (AggregateLiteral) bodyElement;
+			AggregateAtom aggregateAtom = aggregateLiteral.getAtom();
+
+			// Check that aggregate is limited to what we currently can deal with.
+			if (aggregateLiteral.isNegated() || aggregateAtom.getUpperBoundOperator() != null
+					|| (aggregateAtom.getAggregatefunction() != AggregateAtom.AGGREGATEFUNCTION.COUNT
+						&& aggregateAtom.getAggregatefunction() != AggregateAtom.AGGREGATEFUNCTION.SUM)
+					|| outputLiteral != null) {
+				throw new UnsupportedOperationException(
+						"Only limited #count/#sum aggregates without upper bound are currently supported." + "No rule may have more than one aggregate.");
+			}
+			// Remove aggregate from rule body.
+			iterator.remove();
+
+			// Identify the aggregate, in case some variables are not local to it, add them to the identifier.
+			aggregateCount++;
+			Collection<Term> globalVariables = CardinalityNormalization.getGlobalVariables(rewrittenBody, aggregateAtom);
+			Term aggregateId;
+			if (globalVariables.isEmpty()) {
+				aggregateId = ConstantTerm.getInstance(aggregateCount);
+			} else {
+				List<Term> globalVariableTermlist = new ArrayList<>(globalVariables);
+				globalVariableTermlist.add(ConstantTerm.getInstance(aggregateCount));
+				aggregateId = FunctionTerm.getInstance("agg", globalVariableTermlist);
+			}
+			Term aggregateTerm = FunctionTerm.getInstance("aggregate", aggregateId);
+			Term lowerBound = aggregateAtom.getLowerBoundTerm();
+			outputLiteral = new BasicAtom(OUTPUT_PREDICATE, aggregateTerm, lowerBound).toLiteral();
+
+			// Create one input rule per aggregate element.
+			boolean isCount = aggregateAtom.getAggregatefunction() == AggregateAtom.AGGREGATEFUNCTION.COUNT;
+			for (AggregateAtom.AggregateElement aggregateElement : aggregateAtom.getAggregateElements()) {
+				FunctionTerm elementTuple = FunctionTerm.getInstance("element_tuple", aggregateElement.getElementTerms());
+				Term weight = isCount ? COUNT_WEIGHT : elementTuple.getTerms().get(0);
+				BasicAtom inputHeadAtom = new BasicAtom(INPUT_PREDICATE, aggregateTerm, weight, elementTuple);
+				List<Literal> elementLiterals = new ArrayList<>(aggregateElement.getElementLiterals());
+				// If there are global variables used inside the aggregate, add original rule body (minus the aggregate itself) to input rule.
+				if (!globalVariables.isEmpty()) {
+					elementLiterals.addAll(rewrittenBody);
+				}
+				additionalRules.add(new BasicRule(new NormalHead(inputHeadAtom), elementLiterals));
+			}
+
+			// Create lower bound for the aggregate.
+			BasicAtom lowerBoundHeadAtom = new BasicAtom(BOUND_PREDICATE, aggregateTerm, lowerBound);
+			additionalRules.add(new BasicRule(new NormalHead(lowerBoundHeadAtom), rewrittenBody));
+		}
+		if (outputLiteral == null) {
+			// Return original rule if no aggregate occurs in it.
+			additionalRules.add(rule);
+			return additionalRules;
+		}
+		List<Literal> rewrittenRuleBody = new ArrayList<>(rewrittenBody);
+		rewrittenRuleBody.add(outputLiteral);
+		additionalRules.add(new BasicRule(rule.getHead(), rewrittenRuleBody));
+		return additionalRules;
+	}
+}
@@ -2,7 +2,6 @@
 
 import at.ac.tuwien.kr.alpha.common.program.InputProgram;
 import at.ac.tuwien.kr.alpha.common.program.NormalProgram;
-import at.ac.tuwien.kr.alpha.grounder.atoms.EnumerationAtom;
 
 /**
  * Encapsulates all transformations necessary to transform a given program into a @{link NormalProgram} that is understood by Alpha internally
@@ -12,9 +11,20 @@
 public class NormalizeProgramTransformation extends ProgramTransformation<InputProgram, NormalProgram> {
 
 	private boolean useNormalizationGrid;
+	private boolean nativeAggregates;
 
 	public NormalizeProgramTransformation(boolean useNormalizationGrid) {
+		this(useNormalizationGrid, false);
+	}
+
+	/**
+	 * @param useNormalizationGrid whether to use the counting grid instead of the sorting circuit for #count aggregates.
+	 * @param nativeAggregates     whether #count and #sum aggregates are propagated natively by the solver instead of being
+	 *                             rewritten into normal rules.
+	 */
+	public NormalizeProgramTransformation(boolean useNormalizationGrid, boolean nativeAggregates) {
 		this.useNormalizationGrid = useNormalizationGrid;
+		this.nativeAggregates = nativeAggregates;
 	}
 
 	@Override
@@ -22,13 +32,17 @@ public NormalProgram apply(InputProgram inputProgram) {
 		InputProgram tmpPrg;
 		// Transform choice rules.
 		tmpPrg = new ChoiceHeadToNormal().apply(inputProgram);
-		// Transform cardinality aggregates.
-		tmpPrg = new CardinalityNormalization(!this.useNormalizationGrid).apply(tmpPrg);
-		// Transform sum aggregates.
-		tmpPrg = new SumNormalization().apply(tmpPrg);
+		if (this.nativeAggregates) {
+			// Connect cardinality and sum aggregates to weight constraints of the solver.
+			tmpPrg = new NativeAggregateNormalization().apply(tmpPrg);
+		} else {
+			// Transform cardinality aggregates.
+			tmpPrg = new CardinalityNormalization(!this.useNormalizationGrid).apply(tmpPrg);
+			// Transform sum aggregates.
+			tmpPrg = new SumNormalization().apply(tmpPrg);
+		}
 		// Transform enumeration atoms.
 		tmpPrg = new EnumerationRewriting().apply(tmpPrg);
-		EnumerationAtom.resetEnumerations();
 
 		// Construct the normal program.
 		NormalProgram retVal = NormalProgram.fromInputProgram(tmpPrg);
@@ -2,32 +2,35 @@
 
 import at.ac.tuwien.kr.alpha.common.Predicate;
 import at.ac.tuwien.kr.alpha.common.atoms.Atom;
-import at.ac.tuwien.kr.alpha.common.atoms.BasicAtom;
 import at.ac.tuwien.kr.alpha.common.atoms.Literal;
 import at.ac.tuwien.kr.alpha.common.depgraph.ComponentGraph;
 import at.ac.tuwien.kr.alpha.common.depgraph.ComponentGraph.SCComponent;
 import at.ac.tuwien.kr.alpha.common.depgraph.Node;
 import at.ac.tuwien.kr.alpha.common.depgraph.StratificationAlgorithm;
 import at.ac.tuwien.kr.alpha.common.program.AnalyzedProgram;
-import at.ac.tuwien.kr.alpha.common.program.InternalProgram;
+import at.ac.tuwien.kr.alpha.common.program.PartiallyEvaluatedProgram;
 import at.ac.tuwien.kr.alpha.common.rule.InternalRule;
+import at.ac.tuwien.kr.alpha.common.terms.Term;
+import at.ac.tuwien.kr.alpha.grounder.GroundingContext;
 import at.ac.tuwien.kr.alpha.grounder.IndexedInstanceStorage;
 import at.ac.tuwien.kr.alpha.grounder.Instance;
 import at.ac.tuwien.kr.alpha.grounder.RuleGroundingOrder;
 import at.ac.tuwien.kr.alpha.grounder.RuleGroundingOrders;
 import at.ac.tuwien.kr.alpha.grounder.Substitution;
+import at.ac.tuwien.kr.alpha.grounder.TrailedSubstitution;
 import at.ac.tuwien.kr.alpha.grounder.WorkingMemory;
-import at.ac.tuwien.kr.alpha.grounder.instantiation.AssignmentStatus;
+import at.ac.tuwien.kr.alpha.grounder.atoms.EnumerationLiteral;
+import at.ac.tuwien.kr.alpha.grounder.instantiation.LiteralInstantiationCursor;
 import at.ac.tuwien.kr.alpha.grounder.instantiation.LiteralInstantiationResult;
 import at.ac.tuwien.kr.alpha.grounder.instantiation.LiteralInstantiator;
 import at.ac.tuwien.kr.alpha.grounder.instantiation.WorkingMemoryBasedInstantiationStrategy;
-import org.apache.commons.collections4.SetUtils;
-import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -35,31 +38,52 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.Stack;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static at.ac.tuwien.kr.alpha.Util.oops;
+import static at.ac.tuwien.kr.alpha.grounder.transformation.NativeAggregateNormalization.BOUND_PREDICATE;
+import static at.ac.tuwien.kr.alpha.grounder.transformation.NativeAggregateNormalization.INPUT_PREDICATE;
+import static at.ac.tuwien.kr.alpha.grounder.transformation.NativeAggregateNormalization.OUTPUT_PREDICATE;
 
 /**
  * Evaluates the stratifiable part of a given (analyzed) ASP program.
+ *
+ * Components are evaluated in the order computed by {@link StratificationAlgorithm}, where components that do not depend
+ * on each other are grouped into levels and evaluated together. Recursive rules are evaluated semi-naively, i.e., after
+ * an initial full evaluation each iteration only considers ground rules that use at least one instance derived in the
+ * previous iteration. Within each iteration, the substitutions of all rules are computed concurrently on the common
+ * fork-join pool while the working memory is only read, afterwards all rules are fired sequentially.
  * 
  * Copyright (c) 2019-2020, the Alpha Team.
  */
-public class StratifiedEvaluation extends ProgramTransformation<AnalyzedProgram, InternalProgram> {
+public class StratifiedEvaluation extends ProgramTransformation<AnalyzedProgram, PartiallyEvaluatedProgram> {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(StratifiedEvaluation.class);
 
+	/**
+	 * The maximal number of instances of a starting literal that are processed by one grounding task.
+	 */
+	private static final int STARTING_INSTANCES_PER_TASK = 256;
+
 	private WorkingMemory workingMemory = new WorkingMemory();
 	private Map<Predicate, LinkedHashSet<InternalRule>> predicateDefiningRules;
 
-	private Map<Predicate, Set<Instance>> modifiedInLastEvaluationRun = new HashMap<>();
-
-	private List<Atom> additionalFacts = new ArrayList<>(); // The additional facts derived by stratified evaluation. Note that it may contain duplicates.
 	private Set<Integer> solvedRuleIds = new HashSet<>(); // Set of rules that have been completely evaluated.
 
-	private LiteralInstantiator literalInstantiator;
+	private GroundingContext groundingContext;
+
+	/**
+	 * Runs grounding tasks concurrently. Created on first use and shut down once the evaluation is done.
+	 */
+	private ExecutorService executor;
 
 	@Override
-	// Note: ideally this returns a "PartiallyEvaluatedProgram" such that the grounder can directly use the working
-	// memories created here rather than re-initialize everything.
-	public InternalProgram apply(AnalyzedProgram inputProgram) {
+	// Note: the resulting program carries the working memory created here, such that the grounder can directly use it
+	// rather than re-initialize everything from the derived facts.
+	public PartiallyEvaluatedProgram apply(AnalyzedProgram inputProgram) {
 		// Calculate a stratification and initialize the working memory.
 		ComponentGraph componentGraph = inputProgram.getComponentGraph();
 		List<SCComponent> strata = StratificationAlgorithm.calculateStratification(componentGraph);
@@ -70,6 +94,8 @@ public InternalProgram apply(AnalyzedProgram inputProgram) {
 		for (Map.Entry<Predicate, Set<Instance>> entry : knownFacts.entrySet()) {
 			workingMemory.initialize(entry.getKey());
 			workingMemory.addInstances(entry.getKey(), true, entry.getValue());
+			// Input facts are not derived by the evaluation, hence they must not show up as newly derived instances.
+			workingMemory.get(entry.getKey(), true).markRecentlyAddedInstancesDone();
 		}
 
 		// Create working memories for all predicates occurring in each rule.
@@ -77,222 +103,288 @@ public InternalProgram apply(AnalyzedProgram inputProgram) {
 			for (Predicate predicate : nonGroundRule.getOccurringPredicates()) {
 				workingMemory.initialize(predicate);
 			}
+			workingMemory.addJoinIndices(nonGroundRule.getGroundingOrders());
 		}
 
 		workingMemory.reset();
 
-		// Set up literal instantiator.
-		literalInstantiator = new LiteralInstantiator(new WorkingMemoryBasedInstantiationStrategy(workingMemory));
+		// Grounding tasks set up their own literal instantiators in this context.
+		groundingContext = inputProgram.getGroundingContext();
 
 		// Evaluate the program part covered by the calculated stratification.
-		for (SCComponent currComponent : strata) {
-			evaluateComponent(currComponent);
+		try {
+			for (List<SCComponent> level : groupIntoLevels(strata)) {
+				evaluateComponents(level);
+			}
+		} finally {
+			if (executor != null) {
+				executor.shutdownNow();
+				executor = null;
+			}
 		}
 
-		// Build the program resulting from evaluating the stratified part.
-		additionalFacts.addAll(inputProgram.getFacts()); // Add original input facts to newly derived ones.
+		// Build the program resulting from evaluating the stratified part, all facts are held by the working memory.
+		workingMemory.reset();
 		List<InternalRule> outputRules = new ArrayList<>();
 		inputProgram.getRulesById().entrySet().stream().filter((entry) -> !solvedRuleIds.contains(entry.getKey()))
 				.forEach((entry) -> outputRules.add(entry.getValue()));
 
-		// NOTE: if InternalProgram requires solved rules, they should be added here.
-		return new InternalProgram(outputRules, additionalFacts);
+		return new PartiallyEvaluatedProgram(outputRules, workingMemory, solvedRuleIds, inputProgram.getGroundingContext());
+	}
+
+	/**
+	 * Groups the given stratification into levels, such that the components of each level only depend on components of
+	 * lower levels. Components of the same level are therefore independent of each other and can be evaluated together.
+	 */
+	private static List<List<SCComponent>> groupIntoLevels(List<SCComponent> strata) {
+		List<List<SCComponent>> levels = new ArrayList<>();
+		Map<Integer, Integer> levelOfComponent = new HashMap<>();
+		for (SCComponent component : strata) {
+			int level = 0;
+			for (Integer dependencyId : component.getDependencyIds().keySet()) {
+				Integer dependencyLevel = levelOfComponent.get(dependencyId);
+				if (dependencyLevel == null) {
+					throw oops("Stratification contains component " + component + " before one of its dependencies");
+				}
+				level = Math.max(level, dependencyLevel + 1);
+			}
+			levelOfComponent.put(component.getId(), level);
+			if (level == levels.size()) {
+				levels.add(new ArrayList<>());
+			}
+			levels.get(level).add(component);
+		}
+		return levels;
 	}
 
-	private void evaluateComponent(SCComponent comp) {
-		LOGGER.debug("Evaluating component {}", comp);
-		ComponentEvaluationInfo evaluationInfo = getRulesToEvaluate(comp);
-		if (evaluationInfo.isEmpty()) {
-			LOGGER.debug("No rules to evaluate for component {}", comp);
+	private void evaluateComponents(List<SCComponent> components) {
+		LOGGER.debug("Evaluating components {}", components);
+		List<InternalRule> nonRecursiveRules = new ArrayList<>();
+		List<InternalRule> recursiveRules = new ArrayList<>();
+		for (SCComponent component : components) {
+			ComponentEvaluationInfo evaluationInfo = getRulesToEvaluate(component);
+			nonRecursiveRules.addAll(evaluationInfo.nonRecursiveRules);
+			recursiveRules.addAll(evaluationInfo.recursiveRules);
+		}
+		if (nonRecursiveRules.isEmpty() && recursiveRules.isEmpty()) {
+			LOGGER.debug("No rules to evaluate for components {}", components);
 			return;
 		}
+		// Keep the evaluation order (and hence the order of derived facts) independent of hashing.
+		nonRecursiveRules.sort(Comparator.comparingInt(InternalRule::getRuleId));
+		recursiveRules.sort(Comparator.comparingInt(InternalRule::getRuleId));
 
 		// Rules outside of dependency cycles only need to be evaluated once.
-		if (!evaluationInfo.nonRecursiveRules.isEmpty()) {
-			prepareInitialEvaluation(evaluationInfo.nonRecursiveRules);
-			evaluateRules(evaluationInfo.nonRecursiveRules, true);
-			for (IndexedInstanceStorage instanceStorage : workingMemory.modified()) {
-				// Directly record all newly derived instances as additional facts.
-				for (Instance recentlyAddedInstance : instanceStorage.getRecentlyAddedInstances()) {
-					additionalFacts.add(new BasicAtom(instanceStorage.getPredicate(), recentlyAddedInstance.terms));
-				}
-				instanceStorage.markRecentlyAddedInstancesDone();
-			}
+		if (!nonRecursiveRules.isEmpty()) {
+			evaluateRules(nonRecursiveRules, null);
+			collectDerivedInstances();
 		}
-		boolean isInitialRun = true;
-		if (!evaluationInfo.recursiveRules.isEmpty()) {
+		if (!recursiveRules.isEmpty()) {
+			// Now do the rules that cyclically depend on each other, evaluate these until nothing new can be derived any more.
+			// The first run is a full evaluation, each further run only uses the instances derived in the preceding one.
+			Map<Predicate, Set<Instance>> delta = null;
 			do {
-				// Now do the rules that cyclically depend on each other,
-				// evaluate these until nothing new can be derived any more.
-				if (isInitialRun) {
-					prepareInitialEvaluation(evaluationInfo.recursiveRules);
-				}
-				evaluateRules(evaluationInfo.recursiveRules, isInitialRun);
-				isInitialRun = false;
-				modifiedInLastEvaluationRun = new HashMap<>();
-				// Since we are stratified we never have to backtrack, therefore just collect the added instances.
-				for (IndexedInstanceStorage instanceStorage : workingMemory.modified()) {
-					// Directly record all newly derived instances as additional facts.
-					for (Instance recentlyAddedInstance : instanceStorage.getRecentlyAddedInstances()) {
-						additionalFacts.add(new BasicAtom(instanceStorage.getPredicate(), recentlyAddedInstance.terms));
-					}
-					modifiedInLastEvaluationRun.putIfAbsent(instanceStorage.getPredicate(), new LinkedHashSet<>());
-					modifiedInLastEvaluationRun.get(instanceStorage.getPredicate()).addAll(instanceStorage.getRecentlyAddedInstances());
-					instanceStorage.markRecentlyAddedInstancesDone();
-				}
+				evaluateRules(recursiveRules, delta);
+				delta = collectDerivedInstances();
 				// If the evaluation of rules did not modify the working memory we have a fixed-point.
-			} while (!workingMemory.modified().isEmpty());
+			} while (!delta.isEmpty());
+		}
+		LOGGER.debug("Evaluation done - reached a fixed point on components {}", components);
+		for (InternalRule rule : nonRecursiveRules) {
+			solvedRuleIds.add(rule.getRuleId());
 		}
-		LOGGER.debug("Evaluation done - reached a fixed point on component {}", comp);
-		SetUtils.union(evaluationInfo.nonRecursiveRules, evaluationInfo.recursiveRules)
-				.forEach((rule) -> solvedRuleIds.add(rule.getRuleId()));
+		for (InternalRule rule : recursiveRules) {
+			solvedRuleIds.add(rule.getRuleId());
+		}
+	}
+
+	/**
+	 * Collects all instances derived by the last evaluation run, which remain in the working memory as facts. Since we are
+	 * stratified we never have to backtrack, therefore the added instances can be collected directly.
+	 * 
+	 * @return the newly derived instances by predicate, i.e., the delta relations for the next evaluation run.
+	 */
+	private Map<Predicate, Set<Instance>> collectDerivedInstances() {
+		Map<Predicate, Set<Instance>> derivedInstances = new HashMap<>();
+		for (IndexedInstanceStorage instanceStorage : workingMemory.modified()) {
+			derivedInstances.put(instanceStorage.getPredicate(), new LinkedHashSet<>(instanceStorage.getRecentlyAddedInstances()));
+			instanceStorage.markRecentlyAddedInstancesDone();
+		}
+		return derivedInstances;
 	}
 
-	private void evaluateRules(Set<InternalRule> rules, boolean isInitialRun) {
+	/**
+	 * Runs one evaluation of the given rules. First, the satisfying substitutions of all rules are computed, which only
+	 * reads the working memory and is done concurrently. Then, all rules are fired with the substitutions found.
+	 * 
+	 * @param rules the rules to evaluate.
+	 * @param delta the instances derived by the preceding evaluation run, or null if all instances are to be considered.
+	 */
+	private void evaluateRules(List<InternalRule> rules, Map<Predicate, Set<Instance>> delta) {
 		workingMemory.reset();
 		LOGGER.debug("Starting component evaluation run...");
-		for (InternalRule r : rules) {
-			evaluateRule(r, !isInitialRun);
+		List<GroundingTask> concurrentTasks = new ArrayList<>();
+		List<GroundingTask> sequentialTasks = new ArrayList<>();
+		boolean evaluateNativeAggregates = false;
+		for (InternalRule rule : rules) {
+			if (NativeAggregateNormalization.isInterfaceRule(rule.getHeadAtom().getPredicate())) {
+				evaluateNativeAggregates = true;
+				continue;
+			}
+			// Enumeration atoms assign indices in the order of evaluation, hence rules containing them are grounded
+			// sequentially in order to obtain the same indices on each run.
+			List<GroundingTask> tasks = containsEnumerationLiteral(rule) ? sequentialTasks : concurrentTasks;
+			addGroundingTasks(tasks, rule, delta);
+		}
+		List<List<Substitution>> concurrentResults = calculateSubstitutionsConcurrently(concurrentTasks);
+		List<List<Substitution>> sequentialResults = new ArrayList<>();
+		for (GroundingTask task : sequentialTasks) {
+			sequentialResults.add(task.calculateSubstitutions());
+		}
+		fireRules(concurrentTasks, concurrentResults);
+		fireRules(sequentialTasks, sequentialResults);
+		if (evaluateNativeAggregates) {
+			evaluateNativeAggregateOutputs();
 		}
 	}
 
 	/**
-	 * To be called at the start of evaluateComponent. Adds all known instances of the predicates occurring in the given set
-	 * of rules to the "modifiedInLastEvaluationRun" map in order to "bootstrap" incremental grounding, i.e. making sure
-	 * that those instances are taken into account for ground substitutions by evaluateRule.
+	 * Runs the given grounding tasks, if there is more than one, on a pool of at most as many threads as there are
+	 * available processors, and returns their results in the order of the tasks.
 	 */
-	private void prepareInitialEvaluation(Set<InternalRule> rulesToEvaluate) {
-		modifiedInLastEvaluationRun = new HashMap<>();
-		for (InternalRule rule : rulesToEvaluate) {
-			// Register rule head instances.
-			Predicate headPredicate = rule.getHeadAtom().getPredicate();
-			IndexedInstanceStorage headInstances = workingMemory.get(headPredicate, true);
-			modifiedInLastEvaluationRun.putIfAbsent(headPredicate, new LinkedHashSet<>());
-			if (headInstances != null) {
-				modifiedInLastEvaluationRun.get(headPredicate).addAll(headInstances.getAllInstances());
+	private List<List<Substitution>> calculateSubstitutionsConcurrently(List<GroundingTask> tasks) {
+		List<List<Substitution>> results = new ArrayList<>(tasks.size());
+		if (tasks.size() <= 1) {
+			for (GroundingTask task : tasks) {
+				results.add(task.calculateSubstitutions());
 			}
-			// Register positive body literal instances.
-			for (Literal lit : rule.getPositiveBody()) {
-				Predicate bodyPredicate = lit.getPredicate();
-				IndexedInstanceStorage bodyInstances = workingMemory.get(bodyPredicate, true);
-				modifiedInLastEvaluationRun.putIfAbsent(bodyPredicate, new LinkedHashSet<>());
-				if (bodyInstances != null) {
-					modifiedInLastEvaluationRun.get(bodyPredicate).addAll(bodyInstances.getAllInstances());
-				}
+			return results;
+		}
+		if (executor == null) {
+			executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+				Thread thread = new Thread(runnable, "alpha-stratified-evaluation");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		List<Future<List<Substitution>>> futures = new ArrayList<>(tasks.size());
+		for (GroundingTask task : tasks) {
+			futures.add(executor.submit(task::calculateSubstitutions));
+		}
+		try {
+			for (Future<List<Substitution>> future : futures) {
+				results.add(future.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Interrupted while evaluating the stratified part of the program.", e);
+		} catch (ExecutionException e) {
+			for (Future<List<Substitution>> future : futures) {
+				future.cancel(true);
+			}
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
 			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new RuntimeException(cause);
 		}
+		return results;
 	}
 
-	private void evaluateRule(InternalRule rule, boolean checkAllStartingLiterals) {
-		LOGGER.debug("Evaluating rule {}", rule);
-		List<Substitution> satisfyingSubstitutions = calculateSatisfyingSubstitutionsForRule(rule, checkAllStartingLiterals);
-		for (Substitution subst : satisfyingSubstitutions) {
-			fireRule(rule, subst);
+	/**
+	 * Derives the outputs of native aggregates. Instead of grounding their interface rule, an output is derived if its
+	 * bound holds and the weights of its inputs sum up to at least the lower bound. Since weights are non-negative,
+	 * outputs only need to be computed from the current instances on each evaluation run, even in recursive components.
+	 */
+	private void evaluateNativeAggregateOutputs() {
+		IndexedInstanceStorage outputs = workingMemory.get(OUTPUT_PREDICATE, true);
+		IndexedInstanceStorage inputs = workingMemory.get(INPUT_PREDICATE, true);
+		// Inputs are looked up by their aggregate, i.e., the first term.
+		inputs.addIndexPosition(0);
+		for (Instance bound : new ArrayList<>(workingMemory.get(BOUND_PREDICATE, true).getAllInstances())) {
+			if (outputs.containsInstance(bound)) {
+				continue;
+			}
+			Term aggregate = bound.terms.get(0);
+			int lowerBound = NativeAggregateNormalization.toLowerBound(bound.terms.get(1));
+			long sum = 0;
+			for (Instance input : inputs.getInstancesMatchingAtPosition(aggregate, 0)) {
+				sum += NativeAggregateNormalization.toWeight(input.terms.get(1));
+			}
+			if (sum >= lowerBound) {
+				LOGGER.debug("Native aggregate {} holds with sum {}.", bound, sum);
+				workingMemory.addInstance(OUTPUT_PREDICATE, true, bound);
+			}
 		}
 	}
 
-	private List<Substitution> calculateSatisfyingSubstitutionsForRule(InternalRule rule, boolean checkAllStartingLiterals) {
-		LOGGER.debug("Grounding rule {}", rule);
+	private static boolean containsEnumerationLiteral(InternalRule rule) {
+		for (Literal literal : rule.getBody()) {
+			if (literal instanceof EnumerationLiteral) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void fireRules(List<GroundingTask> tasks, List<List<Substitution>> results) {
+		for (int i = 0; i < tasks.size(); i++) {
+			InternalRule rule = tasks.get(i).rule;
+			LOGGER.debug("Evaluating rule {}", rule);
+			for (Substitution subst : results.get(i)) {
+				fireRule(rule, subst);
+			}
+		}
+	}
+
+	/**
+	 * Creates the tasks computing the satisfying substitutions of the given rule. In the initial evaluation run, i.e., if
+	 * no delta is given, it suffices to start from the first starting literal and all of its instances. Otherwise, the
+	 * rule is grounded semi-naively: for the i-th starting literal having a delta, the literal is instantiated with
+	 * delta instances only, all preceding starting literals with instances not in their delta, and all following ones with
+	 * all instances. Thereby each new ground rule is found exactly once.
+	 */
+	private void addGroundingTasks(List<GroundingTask> tasks, InternalRule rule, Map<Predicate, Set<Instance>> delta) {
 		RuleGroundingOrders groundingOrders = rule.getGroundingOrders();
 
-		// Treat rules with fixed instantiation first.
-		LOGGER.debug("Is fixed rule? {}", rule.getGroundingOrders().fixedInstantiation());
+		// Treat rules with fixed instantiation first, they need no further evaluation after the initial run.
+		LOGGER.debug("Is fixed rule? {}", groundingOrders.fixedInstantiation());
 		if (groundingOrders.fixedInstantiation()) {
-			RuleGroundingOrder fixedGroundingOrder = groundingOrders.getFixedGroundingOrder();
-			return calcSubstitutionsWithGroundingOrder(fixedGroundingOrder, Collections.singletonList(new Substitution()));
+			if (delta == null) {
+				tasks.add(new GroundingTask(rule, groundingOrders.getFixedGroundingOrder(), null, null, Collections.emptyList(), null));
+			}
+			return;
 		}
 
 		List<Literal> startingLiterals = groundingOrders.getStartingLiterals();
-		// Check only one starting literal if indicated by the parameter.
-		if (!checkAllStartingLiterals) {
-			// If this is the first evaluation run, it suffices to start from the first starting literal only.
+		if (delta == null) {
 			Literal lit = startingLiterals.get(0);
-			return calcSubstitutionsWithGroundingOrder(groundingOrders.orderStartingFrom(lit), substituteFromRecentlyAddedInstances(lit));
+			addGroundingTasksForStartingLiteral(tasks, rule, lit, workingMemory.get(lit).getAllInstances(), Collections.emptyList(), null);
+			return;
 		}
 
-		// Ground from all starting literals.
-		List<Substitution> groundSubstitutions = new ArrayList<>(); // Collection of full ground substitutions for the given rule.
+		List<Literal> precedingDeltaLiterals = new ArrayList<>();
 		for (Literal lit : startingLiterals) {
-			List<Substitution> substitutionsForStartingLiteral = calcSubstitutionsWithGroundingOrder(groundingOrders.orderStartingFrom(lit),
-					substituteFromRecentlyAddedInstances(lit));
-			groundSubstitutions.addAll(substitutionsForStartingLiteral);
-		}
-		return groundSubstitutions;
-	}
-
-	/**
-	 * Use this to find initial substitutions for a starting literal when grounding a rule.
-	 * In order to avoid finding the same ground instantiations of rules again, only look at
-	 * <code>modifiedInLastEvaluationRun</code> to obtain instances.
-	 * 
-	 * @param lit the literal to substitute.
-	 * @return valid ground substitutions for the literal based on the recently added instances (i.e. instances derived in
-	 *         the last evaluation run).
-	 */
-	private List<Substitution> substituteFromRecentlyAddedInstances(Literal lit) {
-		List<Substitution> retVal = new ArrayList<>();
-		Set<Instance> instances = modifiedInLastEvaluationRun.get(lit.getPredicate());
-		if (instances == null) {
-			return Collections.emptyList();
-		}
-		for (Instance instance : instances) {
-			Substitution unifyingSubstitution = Substitution.specializeSubstitution(lit, instance, Substitution.EMPTY_SUBSTITUTION);
-			if (unifyingSubstitution != null) {
-				retVal.add(unifyingSubstitution);
+			Set<Instance> literalDelta = delta.get(lit.getPredicate());
+			if (literalDelta == null) {
+				continue;
 			}
+			addGroundingTasksForStartingLiteral(tasks, rule, lit, literalDelta, new ArrayList<>(precedingDeltaLiterals), delta);
+			precedingDeltaLiterals.add(lit);
 		}
-		return retVal;
 	}
 
-	private List<Substitution> calcSubstitutionsWithGroundingOrder(RuleGroundingOrder groundingOrder, List<Substitution> startingSubstitutions) {
-		// Iterate through the grounding order and whenever instantiation of a Literal with a given substitution
-		// causes a result with a type other than CONTINUE, discard that substitution.
-
-		// Note that this function uses a stack of partial substitutions to simulate a recursive function.
-		Stack<ArrayList<Substitution>> substitutionStack = new Stack<>(); // For speed, we really want ArrayLists on the stack.
-		if (startingSubstitutions instanceof ArrayList) {
-			substitutionStack.push((ArrayList<Substitution>) startingSubstitutions);
-		} else {
-			substitutionStack.push(new ArrayList<>(startingSubstitutions)); // Copy startingSubstitutions into ArrayList. Note: mostly happens for empty or
-																			// singleton lists.
-		}
-		int currentOrderPosition = 0;
-		List<Substitution> fullSubstitutions = new ArrayList<>();
-		while (!substitutionStack.isEmpty()) {
-			List<Substitution> currentSubstitutions = substitutionStack.peek();
-			// If no more substitutions remain at current position, all have been processed, continue on next lower level.
-			if (currentSubstitutions.isEmpty()) {
-				substitutionStack.pop();
-				currentOrderPosition--;
-				continue;
-			}
-			// In case the full grounding order has been worked on, all current substitutions are full substitutions, add them to
-			// result.
-			Literal currentLiteral = groundingOrder.getLiteralAtOrderPosition(currentOrderPosition);
-			if (currentLiteral == null) {
-				fullSubstitutions.addAll(currentSubstitutions);
-				currentSubstitutions.clear();
-				// Continue on next lower level.
-				substitutionStack.pop();
-				currentOrderPosition--;
-				continue;
-			}
-			// Take one substitution from the top-list of the stack and try extending it.
-			Substitution currentSubstitution = currentSubstitutions.remove(currentSubstitutions.size() - 1); // Work on last element (removing last element is
-																												// O(1) for ArrayList).
-			LiteralInstantiationResult currentLiteralResult = literalInstantiator.instantiateLiteral(currentLiteral, currentSubstitution);
-			if (currentLiteralResult.getType() == LiteralInstantiationResult.Type.CONTINUE) {
-				// The currentSubstitution could be extended, push the extensions on the stack and continue working on them.
-				ArrayList<Substitution> furtheredSubstitutions = new ArrayList<>();
-				for (ImmutablePair<Substitution, AssignmentStatus> resultSubstitution : currentLiteralResult.getSubstitutions()) {
-					furtheredSubstitutions.add(resultSubstitution.left);
-				}
-				substitutionStack.push(furtheredSubstitutions);
-				// Continue work on the higher level.
-				currentOrderPosition++;
-			}
+	private void addGroundingTasksForStartingLiteral(List<GroundingTask> tasks, InternalRule rule, Literal startingLiteral, Collection<Instance> startingInstances,
+			List<Literal> excludedDeltaLiterals, Map<Predicate, Set<Instance>> delta) {
+		RuleGroundingOrder groundingOrder = rule.getGroundingOrders().orderStartingFrom(startingLiteral);
+		List<Instance> instances = new ArrayList<>(startingInstances);
+		for (int from = 0; from < instances.size(); from += STARTING_INSTANCES_PER_TASK) {
+			List<Instance> chunk = instances.subList(from, Math.min(from + STARTING_INSTANCES_PER_TASK, instances.size()));
+			tasks.add(new GroundingTask(rule, groundingOrder, startingLiteral, chunk, excludedDeltaLiterals, delta));
 		}
-		return fullSubstitutions;
 	}
 
 	private void fireRule(InternalRule rule, Substitution substitution) {
@@ -342,6 +434,85 @@ private ComponentEvaluationInfo getRulesToEvaluate(SCComponent comp) {
 		return new ComponentEvaluationInfo(nonRecursiveRules, recursiveRules);
 	}
 
+	/**
+	 * Internal helper class computing the satisfying substitutions of a rule for a part of the instances of one starting
+	 * literal (or for the fixed grounding order, if no starting literal is given). Tasks only read the working memory and
+	 * each has its own literal instantiator, hence they can be run concurrently.
+	 * 
+	 * Copyright (c) 2020, the Alpha Team.
+	 */
+	private class GroundingTask {
+		final InternalRule rule;
+		final RuleGroundingOrder groundingOrder;
+		final Literal startingLiteral;
+		final List<Instance> startingInstances;
+		final List<Literal> excludedDeltaLiterals;
+		final Map<Predicate, Set<Instance>> delta;
+		final LiteralInstantiator literalInstantiator;
+
+		GroundingTask(InternalRule rule, RuleGroundingOrder groundingOrder, Literal startingLiteral, List<Instance> startingInstances,
+				List<Literal> excludedDeltaLiterals, Map<Predicate, Set<Instance>> delta) {
+			this.rule = rule;
+			this.groundingOrder = groundingOrder;
+			this.startingLiteral = startingLiteral;
+			this.startingInstances = startingInstances;
+			this.excludedDeltaLiterals = excludedDeltaLiterals;
+			this.delta = delta;
+			this.literalInstantiator = new LiteralInstantiator(new WorkingMemoryBasedInstantiationStrategy(workingMemory), groundingContext);
+		}
+
+		List<Substitution> calculateSubstitutions() {
+			LOGGER.debug("Grounding rule {}", rule);
+			List<Substitution> substitutions = new ArrayList<>();
+			TrailedSubstitution substitution = new TrailedSubstitution(rule.getEmptySubstitution());
+			if (startingLiteral == null) {
+				bindLiteralsFrom(0, substitution, substitutions);
+				return substitutions;
+			}
+			final int mark = substitution.mark();
+			for (Instance instance : startingInstances) {
+				if (substitution.unify(startingLiteral.getAtom(), instance)) {
+					bindLiteralsFrom(0, substitution, substitutions);
+					substitution.backtrackTo(mark);
+				}
+			}
+			return substitutions;
+		}
+
+		/**
+		 * Binds the literals of the grounding order from the given position on in the given substitution, and adds a copy
+		 * of it to the given list for every way of binding all of them. Whenever instantiation of a literal yields a result
+		 * other than CONTINUE, the current partial substitution is discarded. When this method returns, the substitution is
+		 * in the same state as when it was called.
+		 */
+		private void bindLiteralsFrom(int orderPosition, TrailedSubstitution substitution, List<Substitution> substitutions) {
+			Literal currentLiteral = groundingOrder.getLiteralAtOrderPosition(orderPosition);
+			if (currentLiteral == null) {
+				if (excludedDeltaLiterals.isEmpty() || !usesExcludedDeltaInstance(substitution)) {
+					substitutions.add(substitution.snapshot());
+				}
+				return;
+			}
+			LiteralInstantiationCursor instantiation = literalInstantiator.instantiateLiteralInPlace(currentLiteral, substitution);
+			if (instantiation.getType() != LiteralInstantiationResult.Type.CONTINUE) {
+				return;
+			}
+			while (instantiation.bindNext()) {
+				bindLiteralsFrom(orderPosition + 1, substitution, substitutions);
+			}
+		}
+
+		private boolean usesExcludedDeltaInstance(Substitution substitution) {
+			for (Literal literal : excludedDeltaLiterals) {
+				Instance instance = new Instance(literal.getAtom().substitute(substitution).getTerms());
+				if (delta.get(literal.getPredicate()).contains(instance)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
 	/**
 	 * Internal helper class to group rules within an {@SCComponent} into rules that are recursive, i.e. part of some cyclic
 	 * dependency chain within that component, and non-recursive rules, i.e. rules where all body predicates occur in lower
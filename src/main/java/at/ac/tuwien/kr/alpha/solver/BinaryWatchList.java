@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2017-2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.solver;
+
+import at.ac.tuwien.kr.alpha.common.NoGood;
+
+import java.util.Arrays;
+
+import static at.ac.tuwien.kr.alpha.Util.arrayGrowthSize;
+import static at.ac.tuwien.kr.alpha.Util.oops;
+import static at.ac.tuwien.kr.alpha.common.Literals.atomOf;
+import static at.ac.tuwien.kr.alpha.common.Literals.isPositive;
+import static at.ac.tuwien.kr.alpha.common.Literals.literalToString;
+import static at.ac.tuwien.kr.alpha.solver.ThriceTruth.FALSE;
+import static at.ac.tuwien.kr.alpha.solver.ThriceTruth.MBT;
+import static at.ac.tuwien.kr.alpha.solver.ThriceTruth.TRUE;
+
+/**
+ * Watches all binary nogoods containing a given literal. For each such nogood, only the other literal is stored.
+ *
+ * Copyright (c) 2017-2020, the Alpha Team.
+ */
+class BinaryWatchList implements ShallowAntecedent {
+	private final WritableAssignment assignment;
+	private int[] noGoodsWithoutHead = new int[10];
+	private int noGoodsWithoutHeadSize;
+	private int[] noGoodsWithHead = new int[10];
+	private int noGoodsWithHeadSize;
+	private final int forLiteral;
+
+	BinaryWatchList(WritableAssignment assignment, int forLiteral) {
+		this.assignment = assignment;
+		this.forLiteral = forLiteral;
+	}
+
+	ConflictCause add(NoGood noGood) {
+		if (!noGood.isBinary()) {
+			throw oops("Received noGood is not binary.");
+		}
+		if (noGood.hasHead() && noGood.getHead() != forLiteral) {
+			return addHeadedNoGood(noGood);
+		} else {
+			return addOrdinaryNoGood(noGood);
+		}
+	}
+
+	private ConflictCause addHeadedNoGood(NoGood noGood) {
+		if (noGoodsWithHeadSize + 1 > noGoodsWithHead.length) {
+			noGoodsWithHead = Arrays.copyOf(noGoodsWithHead, arrayGrowthSize(noGoodsWithHeadSize));
+		}
+		int otherLiteral = noGood.getLiteral(0) == forLiteral ? noGood.getLiteral(1) : noGood.getLiteral(0);
+		if (isPositive(otherLiteral)) {
+			throw oops("NoGood has wrong head.");
+		}
+		noGoodsWithHead[noGoodsWithHeadSize++] = otherLiteral;
+		// Assign (weakly) otherLiteral if the newly added NoGood is unit.
+		ThriceTruth literalTruth = assignment.getTruth(atomOf(forLiteral));
+		if (literalTruth != null && literalTruth.toBoolean() == isPositive(forLiteral)) {
+			int weakDecisionLevel = assignment.getWeakDecisionLevel(atomOf(forLiteral));
+			ConflictCause conflictCause = assignment.assign(atomOf(otherLiteral), isPositive(otherLiteral) ? FALSE : MBT, this, weakDecisionLevel);
+			if (conflictCause != null) {
+				return conflictCause;
+			}
+		}
+		// Assign head (strongly) if the newly added NoGood is unit.
+		int strongDecisionLevel = assignment.getStrongDecisionLevel(atomOf(forLiteral));
+		if (strongDecisionLevel != -1 && assignment.getTruth(atomOf(forLiteral)).toBoolean() == isPositive(forLiteral)) {
+			return assignment.assign(atomOf(otherLiteral), TRUE, this, strongDecisionLevel);
+		}
+		return null;
+	}
+
+	private ConflictCause addOrdinaryNoGood(NoGood noGood) {
+		if (noGoodsWithoutHeadSize + 1 > noGoodsWithoutHead.length) {
+			noGoodsWithoutHead = Arrays.copyOf(noGoodsWithoutHead, arrayGrowthSize(noGoodsWithoutHeadSize));
+		}
+		int otherLiteral = noGood.getLiteral(0) == forLiteral ? noGood.getLiteral(1) : noGood.getLiteral(0);
+		noGoodsWithoutHead[noGoodsWithoutHeadSize++] = otherLiteral;
+		// Assign otherLiteral if the newly added NoGood is unit.
+		ThriceTruth literalTruth = assignment.getTruth(atomOf(forLiteral));
+		if (literalTruth != null && literalTruth.toBoolean() == isPositive(forLiteral)) {
+			int weakDecisionLevel = assignment.getWeakDecisionLevel(atomOf(forLiteral));
+			return assignment.assign(atomOf(otherLiteral), isPositive(otherLiteral) ? FALSE : MBT, this, weakDecisionLevel);
+		}
+		return null;
+	}
+
+	ConflictCause propagateWeakly() {
+		for (int i = 0; i < noGoodsWithoutHeadSize; i++) {
+			final int otherLiteral = noGoodsWithoutHead[i];
+			ConflictCause conflictCause = assignment.assign(atomOf(otherLiteral), isPositive(otherLiteral) ? FALSE : MBT, this);
+			if (conflictCause != null) {
+				return conflictCause;
+			}
+		}
+		for (int i = 0; i < noGoodsWithHeadSize; i++) {
+			final int otherLiteral = noGoodsWithHead[i];
+			ConflictCause conflictCause = assignment.assign(atomOf(otherLiteral), isPositive(otherLiteral) ? FALSE : MBT, this);
+			if (conflictCause != null) {
+				return conflictCause;
+			}
+		}
+		return null;
+	}
+
+	ConflictCause propagateStrongly() {
+		for (int i = 0; i < noGoodsWithHeadSize; i++) {
+			final int headLiteral = noGoodsWithHead[i];
+			ConflictCause conflictCause = assignment.assign(atomOf(headLiteral), TRUE, this);
+			if (conflictCause != null) {
+				return conflictCause;
+			}
+		}
+		return null;
+	}
+	
+	public int size() {
+		return noGoodsWithHeadSize + noGoodsWithoutHeadSize;
+	}
+
+	int getNumberOfNoGoodsWithHead() {
+		return noGoodsWithHeadSize;
+	}
+
+	int getOtherLiteralOfNoGoodWithHead(int index) {
+		return noGoodsWithHead[index];
+	}
+
+	int getNumberOfNoGoodsWithoutHead() {
+		return noGoodsWithoutHeadSize;
+	}
+
+	int getOtherLiteralOfNoGoodWithoutHead(int index) {
+		return noGoodsWithoutHead[index];
+	}
+
+	@Override
+	public String toString() {
+		return "BinaryWatchList(" + forLiteral + ")";
+	}
+
+	@Override
+	public Antecedent instantiateAntecedent(int impliedLiteral) {
+		return new BinaryAntecedent(impliedLiteral, forLiteral);
+	}
+
+	private class BinaryAntecedent implements Antecedent {
+		private final int[] literals = new int[2];
+
+		BinaryAntecedent(int lit1, int lit2) {
+			literals[0] = lit1;
+			literals[1] = lit2;
+		}
+
+		@Override
+		public int[] getReasonLiterals() {
+			return literals;
+		}
+
+		@Override
+		public void bumpActivity() {
+		}
+
+		@Override
+		public void decreaseActivity() {
+		}
+
+		@Override
+		public String toString() {
+			return "{" + literalToString(literals[0]) + ", " + literalToString(literals[1]) + "}";
+		}
+	}
+}
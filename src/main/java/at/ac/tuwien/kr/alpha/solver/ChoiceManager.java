@@ -68,6 +68,9 @@ public class ChoiceManager implements Checkable {
 	private int backtracksWithinBackjumps;
 	private int backjumps;
 
+	// The number of choices on the choice stack that are inversions of previous choices due to chronological backtracking.
+	private int backtrackedChoicesOnStack;
+
 	public ChoiceManager(WritableAssignment assignment, NoGoodStore store) {
 		this.store = store;
 		this.assignment = assignment;
@@ -140,6 +143,16 @@ public int getChoices() {
 		return choices;
 	}
 
+	/**
+	 * Returns whether the choice stack contains choices that result from chronological backtracking, i.e., inversions
+	 * of previous choices that are not implied by any nogood. Such choices would be lost by a restart.
+	 *
+	 * @return {@code true} iff at least one choice on the choice stack is a backtracked choice.
+	 */
+	public boolean hasBacktrackedChoices() {
+		return backtrackedChoicesOnStack > 0;
+	}
+
 	public void updateAssignments() {
 		LOGGER.trace("Updating assignments of ChoiceManager.");
 		if (checksEnabled) {
@@ -150,6 +163,8 @@ public void updateAssignments() {
 	public void choose(Choice choice) {
 		if (!choice.isBacktracked()) {
 			choices++;
+		} else {
+			backtrackedChoicesOnStack++;
 		}
 
 		if (assignment.choose(choice.getAtom(), choice.getValue()) != null) {
@@ -176,7 +191,7 @@ public void backjump(int target) {
 		int currentDecisionLevel = assignment.getDecisionLevel();
 		assignment.backjump(target);
 		while (currentDecisionLevel-- > target) {
-			final Choice choice = choiceStack.pop();
+			final Choice choice = popChoice();
 			backtracksWithinBackjumps++;
 			backtracks++;
 			LOGGER.debug("Backjumping removed choice {}", choice);
@@ -193,7 +208,7 @@ public void backjump(int target) {
 	public void backtrackFast() {
 		backtrack();
 
-		final Choice choice = choiceStack.pop();
+		final Choice choice = popChoice();
 
 		LOGGER.debug("Backtracked (fast) to level {} from choice {}", assignment.getDecisionLevel(), choice);
 	}
@@ -207,7 +222,7 @@ public void backtrackFast() {
 	 *         backtracked any futher (it already is a backtracking choice)
 	 */
 	public Assignment.Entry backtrackSlow() {
-		final Choice choice = choiceStack.pop();
+		final Choice choice = popChoice();
 		final Assignment.Entry lastChoiceEntry = assignment.get(choice.getAtom());
 
 		backtrack();
@@ -220,6 +235,14 @@ public Assignment.Entry backtrackSlow() {
 		return lastChoiceEntry;
 	}
 
+	private Choice popChoice() {
+		final Choice choice = choiceStack.pop();
+		if (choice.isBacktracked()) {
+			backtrackedChoicesOnStack--;
+		}
+		return choice;
+	}
+
 	/**
 	 * This method implements the backtracking "core" that will be executed for both slow and fast backtracking.
 	 * It backtracks the NoGoodStore and recomputes choice points.
@@ -54,12 +54,14 @@
 import at.ac.tuwien.kr.alpha.common.Assignment;
 import at.ac.tuwien.kr.alpha.common.AtomStore;
 import at.ac.tuwien.kr.alpha.common.NoGood;
+import at.ac.tuwien.kr.alpha.common.NoGoodInterface;
+import at.ac.tuwien.kr.alpha.common.metrics.Metric;
+import at.ac.tuwien.kr.alpha.common.metrics.MetricsRegistry;
 import at.ac.tuwien.kr.alpha.common.atoms.Atom;
 import at.ac.tuwien.kr.alpha.common.atoms.BasicAtom;
 import at.ac.tuwien.kr.alpha.common.atoms.ComparisonAtom;
 import at.ac.tuwien.kr.alpha.common.atoms.Literal;
 import at.ac.tuwien.kr.alpha.common.rule.InternalRule;
-import at.ac.tuwien.kr.alpha.common.terms.ConstantTerm;
 import at.ac.tuwien.kr.alpha.config.SystemConfig;
 import at.ac.tuwien.kr.alpha.grounder.Grounder;
 import at.ac.tuwien.kr.alpha.grounder.ProgramAnalyzingGrounder;
@@ -71,6 +73,9 @@
 import at.ac.tuwien.kr.alpha.solver.heuristics.HeuristicsConfiguration;
 import at.ac.tuwien.kr.alpha.solver.heuristics.NaiveHeuristic;
 import at.ac.tuwien.kr.alpha.solver.learning.GroundConflictNoGoodLearner;
+import at.ac.tuwien.kr.alpha.solver.restarts.RestartStrategy;
+import at.ac.tuwien.kr.alpha.solver.restarts.RestartStrategyFactory;
+import at.ac.tuwien.kr.alpha.solver.restarts.SavedPhases;
 
 /**
  * The new default solver employed in Alpha.
@@ -85,6 +90,7 @@ public class DefaultSolver extends AbstractSolver implements SolverMaintainingSt
 	private final WritableAssignment assignment;
 
 	private final GroundConflictNoGoodLearner learner;
+	private final WeightConstraintPropagator weightConstraintPropagator;
 
 	private final BranchingHeuristic branchingHeuristic;
 
@@ -95,19 +101,53 @@ public class DefaultSolver extends AbstractSolver implements SolverMaintainingSt
 	private boolean disableJustificationAfterClosing = true;	// Keep disabled for now, case not fully worked out yet.
 	private final boolean disableNoGoodDeletion;
 
+	private final RestartStrategy restartStrategy;
+	private final SavedPhases savedPhases;
+	private int restarts;
+
+	private final MetricsRegistry metrics;
 	private final PerformanceLog performanceLog;
+	// Start of the solver time not yet added to the metrics.
+	private long solverNanosStart;
+
+	private LearnedNoGoodExchange.Participant noGoodExchange;
 	
 	public DefaultSolver(AtomStore atomStore, Grounder grounder, NoGoodStore store, WritableAssignment assignment, Random random, SystemConfig config, HeuristicsConfiguration heuristicsConfiguration) {
+		this(atomStore, grounder, store, assignment, random, config, heuristicsConfiguration, new MetricsRegistry());
+	}
+
+	public DefaultSolver(AtomStore atomStore, Grounder grounder, NoGoodStore store, WritableAssignment assignment, Random random, SystemConfig config, HeuristicsConfiguration heuristicsConfiguration, MetricsRegistry metrics) {
 		super(atomStore, grounder);
 
 		this.assignment = assignment;
 		this.store = store;
 		this.choiceManager = new ChoiceManager(assignment, store);
 		this.learner = new GroundConflictNoGoodLearner(assignment, atomStore);
+		this.weightConstraintPropagator = new WeightConstraintPropagator((TrailAssignment) assignment);
 		this.branchingHeuristic = chainFallbackHeuristic(grounder, assignment, random, heuristicsConfiguration);
 		this.disableJustifications = config.isDisableJustificationSearch();
 		this.disableNoGoodDeletion = config.isDisableNoGoodDeletion();
-		this.performanceLog = new PerformanceLog(choiceManager, (TrailAssignment) assignment, 1000);
+		this.restartStrategy = RestartStrategyFactory.getInstance(config.getRestartPolicy(), config.getRestartInterval());
+		this.savedPhases = restartStrategy != null && config.isPhaseSaving() ? new SavedPhases() : null;
+		this.metrics = metrics;
+		registerMetrics();
+		grounder.registerMetrics(metrics);
+		this.performanceLog = new PerformanceLog(metrics, 1000);
+	}
+
+	/**
+	 * Registers the counters this solver maintains anyway as sources of the metrics registry, such that counting on the
+	 * hot path (propagation, replay) stays a plain field increment. The fields are not volatile, hence a reader on another
+	 * thread (e.g., JMX) may see slightly stale values, which is acceptable for monitoring.
+	 */
+	private void registerMetrics() {
+		final TrailAssignment trailAssignment = (TrailAssignment) assignment;
+		metrics.addSource(Metric.CHOICES, choiceManager::getChoices);
+		metrics.addSource(Metric.PROPAGATED_LITERALS, () -> trailAssignment.propagatedLiteralsCounter);
+		metrics.addSource(Metric.REPLAYED_LITERALS, () -> trailAssignment.replayCounter);
+		metrics.addSource(Metric.DELETED_NOGOODS, this::getNumberOfDeletedNoGoods);
+		metrics.addSource(Metric.STORED_LEARNED_NOGOODS, () -> store.getNoGoodCounter().getNumberOfNoGoods(NoGoodInterface.Type.LEARNT));
+		metrics.addSource(Metric.RESTARTS, () -> restarts);
 	}
 
 	private BranchingHeuristic chainFallbackHeuristic(Grounder grounder, WritableAssignment assignment, Random random, HeuristicsConfiguration heuristicsConfiguration) {
@@ -121,14 +161,52 @@ private BranchingHeuristic chainFallbackHeuristic(Grounder grounder, WritableAss
 		return ChainedBranchingHeuristics.chainOf(branchingHeuristic, new NaiveHeuristic(choiceManager));
 	}
 
+	/**
+	 * Lets this solver take part in an exchange of learned nogoods with other solvers of a portfolio. The solver then
+	 * publishes short learned nogoods, adds the nogoods received from other solvers whenever it is at decision level
+	 * zero, and stops searching once the exchange is closed.
+	 * @param noGoodExchange the participant handle of this solver, or null to leave the exchange.
+	 */
+	public void setNoGoodExchange(LearnedNoGoodExchange.Participant noGoodExchange) {
+		this.noGoodExchange = noGoodExchange;
+	}
+
 	@Override
 	protected boolean tryAdvance(Consumer<? super AnswerSet> action) {
+		solverNanosStart = System.nanoTime();
+		try {
+			return searchNextAnswerSet(action);
+		} finally {
+			metrics.add(Metric.SOLVER_NANOS, System.nanoTime() - solverNanosStart);
+		}
+	}
+
+	/**
+	 * Obtains new nogoods from the grounder, optionally informing it about the new assignments first, and accounts for
+	 * the time spent in the grounder. The solver time since the last grounding round is accounted here as well, such that
+	 * both metrics are current while the search for an answer set is still in progress.
+	 */
+	private Map<Integer, NoGood> groundNoGoods(boolean updateAssignment) {
+		final long start = System.nanoTime();
+		metrics.add(Metric.SOLVER_NANOS, start - solverNanosStart);
+		if (updateAssignment) {
+			grounder.updateAssignment(assignment.getNewPositiveAssignmentsIterator());
+		}
+		Map<Integer, NoGood> obtained = grounder.getNoGoods(assignment);
+		final long end = System.nanoTime();
+		metrics.add(Metric.GROUNDER_NANOS, end - start);
+		solverNanosStart = end;
+		metrics.increment(Metric.GROUNDING_ROUNDS);
+		return obtained;
+	}
+
+	private boolean searchNextAnswerSet(Consumer<? super AnswerSet> action) {
 		boolean didChange = false;
 
 		// Initially, get NoGoods from grounder.
 		if (initialize) {
 			performanceLog.initialize();
-			Map<Integer, NoGood> obtained = grounder.getNoGoods(assignment);
+			Map<Integer, NoGood> obtained = groundNoGoods(false);
 			didChange = !obtained.isEmpty();
 			if (!ingest(obtained)) {
 				logStats();
@@ -163,8 +241,21 @@ protected boolean tryAdvance(Consumer<? super AnswerSet> action) {
 		// Try all assignments until grounder reports no more NoGoods and all of them are satisfied
 		while (true) {
 			performanceLog.infoIfTimeForOutput(LOGGER);
+			if (noGoodExchange != null && noGoodExchange.isExchangeClosed()) {
+				LOGGER.debug("Stopping search, another solver of the portfolio finished first.");
+				return false;
+			}
 			ConflictCause conflictCause = store.propagate();
 			didChange |= store.didPropagate();
+			if (conflictCause == null) {
+				conflictCause = weightConstraintPropagator.propagate();
+				didChange |= weightConstraintPropagator.didPropagate();
+				if (conflictCause != null && backjumpBelowWeightConstraintConflict(conflictCause)) {
+					afterAllAtomsAssigned = false;
+					didChange = true;
+					continue;
+				}
+			}
 			LOGGER.trace("Assignment after propagation is: {}", assignment);
 			if (!disableNoGoodDeletion && conflictCause == null) {
 				// Run learned NoGood deletion strategy.
@@ -172,6 +263,7 @@ protected boolean tryAdvance(Consumer<? super AnswerSet> action) {
 			}
 			if (conflictCause != null) {
 				// Learn from conflict.
+				metrics.increment(Metric.CONFLICTS);
 				LOGGER.debug("Violating assignment is: {}", assignment);
 				Antecedent conflictAntecedent = conflictCause.getAntecedent();
 				NoGood violatedNoGood = new NoGood(conflictAntecedent.getReasonLiterals().clone());
@@ -194,14 +286,19 @@ protected boolean tryAdvance(Consumer<? super AnswerSet> action) {
 				// Ask the grounder for new NoGoods, then propagate (again).
 				LOGGER.trace("Doing propagation step.");
 
-				grounder.updateAssignment(assignment.getNewPositiveAssignmentsIterator());
-
-				Map<Integer, NoGood> obtained = grounder.getNoGoods(assignment);
+				Map<Integer, NoGood> obtained = groundNoGoods(true);
 				didChange = !obtained.isEmpty();
 				if (!ingest(obtained)) {
 					logStats();
 					return false;
 				}
+			} else if (noGoodExchange != null && assignment.getDecisionLevel() == 0 && noGoodExchange.hasReceivedNoGoods()) {
+				LOGGER.debug("Adding nogoods learned by other solvers.");
+				if (!ingestReceivedNoGoods()) {
+					logStats();
+					return false;
+				}
+				didChange = true;
 			} else if (choose()) {
 				LOGGER.debug("Did choice.");
 				didChange = true;
@@ -225,6 +322,26 @@ protected boolean tryAdvance(Consumer<? super AnswerSet> action) {
 		}
 	}
 
+	/**
+	 * A weight constraint may be violated by literals that are all assigned below the current decision level, e.g., if
+	 * the constraint has been extended by inputs only now. Conflict analysis requires a literal of the current decision
+	 * level, hence the solver backjumps to the highest decision level of the violated literals instead, where the
+	 * weight constraint then is violated (and analyzed) again.
+	 * @return true iff the solver backjumped.
+	 */
+	private boolean backjumpBelowWeightConstraintConflict(ConflictCause conflictCause) {
+		int conflictDecisionLevel = 0;
+		for (int literal : conflictCause.getAntecedent().getReasonLiterals()) {
+			conflictDecisionLevel = Math.max(conflictDecisionLevel, assignment.getWeakDecisionLevel(atomOf(literal)));
+		}
+		if (conflictDecisionLevel >= assignment.getDecisionLevel()) {
+			return false;
+		}
+		LOGGER.debug("Weight constraint violated below current decision level, backjumping to {}.", conflictDecisionLevel);
+		choiceManager.backjump(conflictDecisionLevel);
+		return true;
+	}
+
 	/**
 	 * Adds a noGood to the store and in case of out-of-order literals causing another conflict, triggers further backjumping.
 	 * @param noGoodId the unique identifier of the NoGood to add.
@@ -267,10 +384,15 @@ private boolean learnBackjumpAddFromConflict(ConflictCause conflictCause) {
 			choiceManager.backjump(analysisResult.backjumpLevel);
 
 			final NoGood learnedNoGood = analysisResult.learnedNoGood;
+			metrics.increment(Metric.LEARNED_NOGOODS);
 			int noGoodId = grounder.register(learnedNoGood);
 			if (!addAndBackjumpIfNecessary(noGoodId, learnedNoGood, analysisResult.lbd)) {
 				return false;
 			}
+			if (noGoodExchange != null) {
+				noGoodExchange.publish(learnedNoGood, analysisResult.lbd);
+			}
+			restartIfDue(analysisResult.lbd);
 			return true;
 		}
 
@@ -284,6 +406,55 @@ private boolean learnBackjumpAddFromConflict(ConflictCause conflictCause) {
 			throw oops("Nothing to propagate after backtracking from conflict-causing choice");
 		}
 
+		restartIfDue(LBD_NO_VALUE);
+		return true;
+	}
+
+	/**
+	 * Informs the restart strategy (if any) about a resolved conflict and restarts the search if the strategy suggests so.
+	 * A restart backjumps to decision level zero, it keeps all learned nogoods and the state of the branching heuristics.
+	 * Restarts are postponed while the choice stack contains choices resulting from chronological backtracking, since the
+	 * information that the inverse of such a choice has been explored is only recorded on the choice stack.
+	 * @param lbd the LBD of the nogood learned from the conflict, or {@link NoGoodStore#LBD_NO_VALUE} if none was learned.
+	 */
+	private void restartIfDue(int lbd) {
+		if (restartStrategy == null) {
+			return;
+		}
+		restartStrategy.newConflict(lbd);
+		if (!restartStrategy.isRestartDue() || assignment.getDecisionLevel() == 0 || choiceManager.hasBacktrackedChoices()) {
+			return;
+		}
+		LOGGER.debug("Restarting search.");
+		if (savedPhases != null) {
+			savePhases();
+		}
+		choiceManager.backjump(0);
+		restarts++;
+		restartStrategy.restarted();
+	}
+
+	private void savePhases() {
+		int maxAtomId = atomStore.getMaxAtomId();
+		savedPhases.growForMaxAtomId(maxAtomId);
+		for (int atom = 1; atom <= maxAtomId; atom++) {
+			if (choiceManager.isAtomChoice(atom)) {
+				savedPhases.save(atom, assignment.getTruth(atom));
+			}
+		}
+	}
+
+	/**
+	 * Adds the nogoods learned by other solvers of the portfolio, must only be called at decision level zero.
+	 * @return false iff the received nogoods show that the program is unsatisfiable.
+	 */
+	private boolean ingestReceivedNoGoods() {
+		for (Map.Entry<NoGood, Integer> received : noGoodExchange.takeReceivedNoGoods().entrySet()) {
+			NoGood noGood = received.getKey();
+			if (!addAndBackjumpIfNecessary(grounder.register(noGood), noGood, received.getValue())) {
+				return false;
+			}
+		}
 		return true;
 	}
 
@@ -305,6 +476,14 @@ private boolean justifyMbtAndBacktrack() {
 			LOGGER.debug("Assignment is (TRUE part only): {}", translate(assignment.getTrueAssignments()));
 		}
 		Set<Literal> reasonsForUnjustified = analyzingGrounder.justifyAtom(atomToJustify, assignment);
+		if (reasonsForUnjustified == null) {
+			// The atom cannot be justified by analysis, e.g., it depends on a native aggregate.
+			if (!backtrack()) {
+				logStats();
+				return false;
+			}
+			return true;
+		}
 		NoGood noGood = noGoodFromJustificationReasons(atomToJustify, reasonsForUnjustified);
 
 
@@ -367,10 +546,8 @@ private boolean treatConflictAfterClosing(Antecedent violatedNoGood) {
 			}
 			// For RuleAtoms in toJustify the corresponding ground body contains BasicAtoms that have been assigned FALSE in the closing.
 			// First, translate RuleAtom back to NonGroundRule + Substitution.
-			String ruleId = (String) ((ConstantTerm<?>)atom.getTerms().get(0)).getObject();
-			InternalRule nonGroundRule = analyzingGrounder.getNonGroundRule(Integer.parseInt(ruleId));
-			String substitution = (String) ((ConstantTerm<?>)atom.getTerms().get(1)).getObject();
-			Substitution groundingSubstitution = Substitution.fromString(substitution);
+			InternalRule nonGroundRule = ((RuleAtom) atom).getNonGroundRule();
+			Substitution groundingSubstitution = ((RuleAtom) atom).getSubstitution();
 			// Find ground literals in the body that have been assigned false and justify those.
 			for (Literal bodyLiteral : nonGroundRule.getBody()) {
 				Atom groundAtom = bodyLiteral.getAtom().substitute(groundingSubstitution);
@@ -391,6 +568,9 @@ private boolean treatConflictAfterClosing(Antecedent violatedNoGood) {
 		for (Integer literalToJustify : toJustify) {
 			LOGGER.debug("Searching for justification(s) of {} / {}", toJustify, atomStore.atomToString(atomOf(literalToJustify)));
 			Set<Literal> reasonsForUnjustified = analyzingGrounder.justifyAtom(atomOf(literalToJustify), assignment);
+			if (reasonsForUnjustified == null) {
+				continue;
+			}
 			NoGood noGood = noGoodFromJustificationReasons(atomOf(literalToJustify), reasonsForUnjustified);
 			int noGoodID = grounder.register(noGood);
 			obtained.put(noGoodID, noGood);
@@ -468,6 +648,8 @@ private boolean ingest(Map<Integer, NoGood> obtained) {
 		choiceManager.growForMaxAtomId(maxAtomId);
 		branchingHeuristic.growForMaxAtomId(maxAtomId);
 		branchingHeuristic.newNoGoods(obtained.values());
+		weightConstraintPropagator.growForMaxAtomId(maxAtomId);
+		weightConstraintPropagator.addWeightConstraints(grounder.getNewWeightConstraints());
 
 		LinkedList<Map.Entry<Integer, NoGood>> noGoodsToAdd = new LinkedList<>(obtained.entrySet());
 		Map.Entry<Integer, NoGood> entry;
@@ -533,6 +715,10 @@ private boolean choose() {
 			LOGGER.debug("Branching heuristic chose literal {}", atomStore.literalToString(literal));
 		}
 
+		if (savedPhases != null) {
+			literal = savedPhases.apply(literal);
+		}
+
 		choiceManager.choose(new Choice(literal, false));
 		return true;
 	}
@@ -562,6 +748,11 @@ public int getNumberOfBacktracksDueToRemnantMBTs() {
 		return mbtAtFixpoint;
 	}
 
+	@Override
+	public int getNumberOfRestarts() {
+		return restarts;
+	}
+
 	@Override
 	public int getNumberOfConflictsAfterClosing() {
 		return conflictsAfterClosing;
@@ -569,10 +760,13 @@ public int getNumberOfConflictsAfterClosing() {
 
 	@Override
 	public int getNumberOfDeletedNoGoods() {
-		if (!(store instanceof NoGoodStoreAlphaRoaming)) {
-			return 0;
+		if (store instanceof NoGoodStoreAlphaRoaming) {
+			return ((NoGoodStoreAlphaRoaming)store).getLearnedNoGoodDeletion().getNumberOfDeletedNoGoods();
+		}
+		if (store instanceof NoGoodStoreAlphaRoamingArena) {
+			return ((NoGoodStoreAlphaRoamingArena)store).getLearnedNoGoodDeletion().getNumberOfDeletedNoGoods();
 		}
-		return ((NoGoodStoreAlphaRoaming)store).getLearnedNoGoodDeletion().getNumberOfDeletedNoGoods();
+		return 0;
 	}
 
 	@Override
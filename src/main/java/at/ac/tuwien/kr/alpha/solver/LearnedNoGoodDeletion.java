@@ -8,28 +8,44 @@
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static at.ac.tuwien.kr.alpha.common.Literals.atomOf;
 
 /**
  * Realizes a learned NoGood deletion strategy based on LBD and activity of NoGoods.
  *
- * Copyright (c) 2019, the Alpha Team.
+ * Copyright (c) 2019-2020, the Alpha Team.
  */
-class LearnedNoGoodDeletion {
+class LearnedNoGoodDeletion<N extends LearnedNoGoodDeletion.DeletableNoGood> {
 	private static final Logger LOGGER = LoggerFactory.getLogger(LearnedNoGoodDeletion.class);
 	public static final int RESET_SEQUENCE_AFTER = 20;
 	public static final int RUN_AFTER_AT_LEAST = 2000;
 	public static final int GROWTH_FACTOR = 100;
-	private final ArrayList<WatchedNoGood> learnedNoGoods = new ArrayList<>();	// List of learned NoGoods that can be removed again. Note: should only contain NoGoods of size > 2.
-	private final NoGoodStoreAlphaRoaming store;
+	private final ArrayList<N> learnedNoGoods = new ArrayList<>();	// List of learned NoGoods that can be removed again. Note: should only contain NoGoods of size > 2.
+	private final Consumer<N> removeFromStore;
 	private final Assignment assignment;
 	private int conflictCounter;
 	private int cleanupCounter;
 	private int numberOfDeletedNoGoods;
 
-	LearnedNoGoodDeletion(NoGoodStoreAlphaRoaming store, Assignment assignment) {
-		this.store = store;
+	/**
+	 * A learned NoGood as kept by a NoGoodStore, whose first two literals are the watched ones.
+	 */
+	interface DeletableNoGood extends Antecedent {
+		int getLiteral(int index);
+
+		int getActivity();
+
+		boolean isLbdLessOrEqual2();
+	}
+
+	/**
+	 * @param removeFromStore removes a NoGood from the watches of the store that recorded it.
+	 * @param assignment the assignment of the store.
+	 */
+	LearnedNoGoodDeletion(Consumer<N> removeFromStore, Assignment assignment) {
+		this.removeFromStore = removeFromStore;
 		this.assignment = assignment;
 	}
 
@@ -41,16 +57,16 @@ void reset() {
 	}
 
 	/**
-	 * Returns WatchedNoGoods known to {@link LearnedNoGoodDeletion}.
+	 * Returns the learned NoGoods known to {@link LearnedNoGoodDeletion}.
 	 * Note: this is likely just a subset of all learned nogoods.
-	 * @return an unmodifiable list of {@link WatchedNoGood}s.
+	 * @return an unmodifiable list of learned NoGoods.
 	 */
-	public List<WatchedNoGood> inspectLearnedNoGoods() {
+	public List<N> inspectLearnedNoGoods() {
 		return Collections.unmodifiableList(learnedNoGoods);
 	}
 
-	void recordLearnedNoGood(WatchedNoGood learnedWatchedNoGood) {
-		learnedNoGoods.add(learnedWatchedNoGood);
+	void recordLearnedNoGood(N learnedNoGood) {
+		learnedNoGoods.add(learnedNoGood);
 	}
 
 	void increaseConflictCounter() {
@@ -75,13 +91,13 @@ void runNoGoodDeletion() {
 		}
 		int toDeleteMax = originalSize / 2;
 		long activitySum = 0;
-		for (WatchedNoGood learnedNoGood : learnedNoGoods) {
+		for (N learnedNoGood : learnedNoGoods) {
 			activitySum += learnedNoGood.getActivity();
 		}
 		double avgActivity = (double) activitySum / originalSize;
 		double scoreThreshold = avgActivity * 1.5;
-		for (Iterator<WatchedNoGood> iterator = learnedNoGoods.iterator(); iterator.hasNext();) {
-			WatchedNoGood learnedNoGood = iterator.next();
+		for (Iterator<N> iterator = learnedNoGoods.iterator(); iterator.hasNext();) {
+			N learnedNoGood = iterator.next();
 			if (deletedNoGoods >= toDeleteMax) {
 				break;
 			}
@@ -90,7 +106,7 @@ void runNoGoodDeletion() {
 				|| learnedNoGood.isLbdLessOrEqual2();
 			if (!keepNoGood) {
 				iterator.remove();
-				store.removeFromWatches(learnedNoGood);
+				removeFromStore.accept(learnedNoGood);
 				learnedNoGood.decreaseActivity();
 				deletedNoGoods++;
 				LOGGER.trace("Removed from store the NoGood: {}", learnedNoGood);
@@ -100,7 +116,7 @@ void runNoGoodDeletion() {
 		this.numberOfDeletedNoGoods += deletedNoGoods;
 	}
 
-	private boolean isLocked(WatchedNoGood noGood, Assignment assignment) {
+	private boolean isLocked(N noGood, Assignment assignment) {
 		int watchedAtom1 = atomOf(noGood.getLiteral(0));
 		int watchedAtom2 = atomOf(noGood.getLiteral(1));
 		if (!assignment.isAssigned(watchedAtom1) || !assignment.isAssigned(watchedAtom2)) {
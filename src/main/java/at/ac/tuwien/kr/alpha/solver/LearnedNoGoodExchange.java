@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.solver;
+
+import at.ac.tuwien.kr.alpha.common.AtomStore;
+import at.ac.tuwien.kr.alpha.common.NoGood;
+import at.ac.tuwien.kr.alpha.common.atoms.Atom;
+import at.ac.tuwien.kr.alpha.common.atoms.BasicAtom;
+import at.ac.tuwien.kr.alpha.grounder.atoms.RuleAtom;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static at.ac.tuwien.kr.alpha.common.Literals.atomOf;
+import static at.ac.tuwien.kr.alpha.common.Literals.atomToLiteral;
+import static at.ac.tuwien.kr.alpha.common.Literals.isNegated;
+
+/**
+ * Exchanges short learned nogoods between the solvers of a portfolio running on separate threads.
+ *
+ * Every solver of a portfolio grounds the program itself, hence the same atom has different ids in different solvers.
+ * Shared nogoods are therefore published in terms of atoms and translated into the ids of each receiving solver, which
+ * drops nogoods containing atoms it does not know (yet). Only nogoods over {@link BasicAtom}s and {@link RuleAtom}s are
+ * shared, since other atoms (e.g., choice atoms) are numbered by each grounder on its own.
+ *
+ * Each participant has a lock-free inbox, publishing a nogood appends it to the inboxes of all other participants. Once
+ * the exchange is closed, i.e., the portfolio has been decided, nothing is published anymore and the remaining
+ * participants are expected to stop.
+ *
+ * Copyright (c) 2020, the Alpha Team.
+ */
+public class LearnedNoGoodExchange {
+
+	/**
+	 * Learned nogoods with an LBD (literal blocks distance) above this value are not shared.
+	 */
+	public static final int MAX_SHARED_LBD = 3;
+
+	/**
+	 * Learned nogoods with more literals than this are not shared.
+	 */
+	public static final int MAX_SHARED_SIZE = 10;
+
+	private final List<Participant> participants = new ArrayList<>();
+	private volatile boolean closed;
+
+	/**
+	 * Registers a new participant. All participants must join before any of them publishes nogoods.
+	 * @param atomStore the atom store of the solver joining the exchange.
+	 * @return the participant handle to be used by the joining solver.
+	 */
+	public Participant join(AtomStore atomStore) {
+		Participant participant = new Participant(atomStore);
+		participants.add(participant);
+		return participant;
+	}
+
+	/**
+	 * Closes the exchange and thereby signals all participants to stop.
+	 */
+	public void close() {
+		closed = true;
+	}
+
+	public boolean isClosed() {
+		return closed;
+	}
+
+	private static final class SharedNoGood {
+		private final Atom[] atoms;
+		private final boolean[] negated;
+		private final int lbd;
+
+		private SharedNoGood(Atom[] atoms, boolean[] negated, int lbd) {
+			this.atoms = atoms;
+			this.negated = negated;
+			this.lbd = lbd;
+		}
+	}
+
+	/**
+	 * The view of a single solver on the exchange. A participant must only be used by the thread running its solver.
+	 */
+	public final class Participant {
+		private final AtomStore atomStore;
+		private final Queue<SharedNoGood> inbox = new ConcurrentLinkedQueue<>();
+		private int numberOfPublishedNoGoods;
+		private int numberOfReceivedNoGoods;
+
+		private Participant(AtomStore atomStore) {
+			this.atomStore = atomStore;
+		}
+
+		/**
+		 * Publishes a learned nogood to all other participants if it is short enough and the exchange is still open.
+		 * @param learnedNoGood the nogood learned by this participant.
+		 * @param lbd the LBD of the nogood.
+		 */
+		public void publish(NoGood learnedNoGood, int lbd) {
+			if (closed || lbd > MAX_SHARED_LBD || learnedNoGood.size() > MAX_SHARED_SIZE) {
+				return;
+			}
+			Atom[] atoms = new Atom[learnedNoGood.size()];
+			boolean[] negated = new boolean[learnedNoGood.size()];
+			for (int i = 0; i < atoms.length; i++) {
+				int literal = learnedNoGood.getLiteral(i);
+				Atom atom = atomStore.get(atomOf(literal));
+				if (!(atom instanceof BasicAtom) && !(atom instanceof RuleAtom)) {
+					return;
+				}
+				atoms[i] = atom;
+				negated[i] = isNegated(literal);
+			}
+			SharedNoGood sharedNoGood = new SharedNoGood(atoms, negated, lbd);
+			for (Participant participant : participants) {
+				if (participant != this) {
+					participant.inbox.add(sharedNoGood);
+				}
+			}
+			numberOfPublishedNoGoods++;
+		}
+
+		public boolean hasReceivedNoGoods() {
+			return !inbox.isEmpty();
+		}
+
+		/**
+		 * Takes all nogoods received since the last call and translates them into the atom ids of this participant.
+		 * @return the received nogoods over known atoms, mapped to their LBD.
+		 */
+		public Map<NoGood, Integer> takeReceivedNoGoods() {
+			Map<NoGood, Integer> received = new LinkedHashMap<>();
+			SharedNoGood sharedNoGood;
+			nextNoGood:
+			while ((sharedNoGood = inbox.poll()) != null) {
+				int[] literals = new int[sharedNoGood.atoms.length];
+				for (int i = 0; i < literals.length; i++) {
+					Atom atom = sharedNoGood.atoms[i];
+					if (!atomStore.contains(atom)) {
+						continue nextNoGood;
+					}
+					literals[i] = atomToLiteral(atomStore.get(atom), !sharedNoGood.negated[i]);
+				}
+				received.put(NoGood.learnt(literals), sharedNoGood.lbd);
+			}
+			numberOfReceivedNoGoods += received.size();
+			return received;
+		}
+
+		public boolean isExchangeClosed() {
+			return closed;
+		}
+
+		public int getNumberOfPublishedNoGoods() {
+			return numberOfPublishedNoGoods;
+		}
+
+		public int getNumberOfReceivedNoGoods() {
+			return numberOfReceivedNoGoods;
+		}
+	}
+}
@@ -46,7 +46,6 @@
 import static at.ac.tuwien.kr.alpha.common.Literals.atomToLiteral;
 import static at.ac.tuwien.kr.alpha.common.Literals.isNegated;
 import static at.ac.tuwien.kr.alpha.common.Literals.isPositive;
-import static at.ac.tuwien.kr.alpha.common.Literals.literalToString;
 import static at.ac.tuwien.kr.alpha.common.NoGood.HEAD;
 import static at.ac.tuwien.kr.alpha.solver.ThriceTruth.FALSE;
 import static at.ac.tuwien.kr.alpha.solver.ThriceTruth.MBT;
@@ -71,7 +70,7 @@ public class NoGoodStoreAlphaRoaming implements NoGoodStore, BinaryNoGoodPropaga
 	private static final int UNASSIGNED = Integer.MAX_VALUE;
 
 	private final WritableAssignment assignment;
-	private final LearnedNoGoodDeletion learnedNoGoodDeletion;
+	private final LearnedNoGoodDeletion<WatchedNoGood> learnedNoGoodDeletion;
 	@SuppressWarnings("unchecked")
 	private ArrayList<WatchedNoGood>[] watches = new ArrayList[0];
 	@SuppressWarnings("unchecked")
@@ -88,7 +87,7 @@ public class NoGoodStoreAlphaRoaming implements NoGoodStore, BinaryNoGoodPropaga
 	public NoGoodStoreAlphaRoaming(WritableAssignment assignment, boolean checksEnabled) {
 		this.assignment = assignment;
 		this.checksEnabled = checksEnabled;
-		this.learnedNoGoodDeletion = new LearnedNoGoodDeletion(this, assignment);
+		this.learnedNoGoodDeletion = new LearnedNoGoodDeletion<>(this::removeFromWatches, assignment);
 	}
 
 	public NoGoodStoreAlphaRoaming(WritableAssignment assignment) {
@@ -105,7 +104,7 @@ void clear() {
 		maxAtomId = 0;
 	}
 
-	public LearnedNoGoodDeletion getLearnedNoGoodDeletion() {
+	public LearnedNoGoodDeletion<WatchedNoGood> getLearnedNoGoodDeletion() {
 		return learnedNoGoodDeletion;
 	}
 
@@ -135,7 +134,7 @@ public void growForMaxAtomId(int maxAtomId) {
 		int oldlength = binaryWatches.length;
 		binaryWatches = Arrays.copyOf(binaryWatches, newCapacity);
 		for (int i = oldlength; i < binaryWatches.length; i++) {
-			binaryWatches[i] = new BinaryWatchList(i);
+			binaryWatches[i] = new BinaryWatchList(assignment, i);
 		}
 		watches = Arrays.copyOf(watches, newCapacity);
 		for (int i = oldlength; i < watches.length; i++) {
@@ -451,7 +450,9 @@ private ConflictCause propagateWeakly(int literal, int currentDecisionLevel, boo
 		final ArrayList<WatchedNoGood> watchesOfAssignedAtom = watches(literal);
 
 		// Propagate binary watches.
-		ConflictCause conflictCause = binaryWatches[literal].propagateWeakly();
+		final BinaryWatchList binaryWatchList = binaryWatches[literal];
+		didPropagate |= binaryWatchList.size() > 0;
+		ConflictCause conflictCause = binaryWatchList.propagateWeakly();
 		if (conflictCause != null || restrictToBinaryNoGoods) {
 			return conflictCause;
 		}
@@ -542,7 +543,9 @@ private void logNoGoodAndAssignment(WatchedNoGood noGood, Assignment assignment)
 	private ConflictCause propagateStrongly(int literal, int currentDecisionLevel, boolean restrictToBinaryNoGoods) {
 
 		// Propagate binary watches.
-		ConflictCause conflictCause = binaryWatches[literal].propagateStrongly();
+		final BinaryWatchList binaryWatchList = binaryWatches[literal];
+		didPropagate |= binaryWatchList.getNumberOfNoGoodsWithHead() > 0;
+		ConflictCause conflictCause = binaryWatchList.propagateStrongly();
 		if (conflictCause != null || restrictToBinaryNoGoods) {
 			return conflictCause;
 		}
@@ -671,142 +674,6 @@ public void setChecksEnabled(boolean checksEnabled) {
 		this.checksEnabled = checksEnabled;
 	}
 
-	class BinaryWatchList implements ShallowAntecedent {
-		private int[] noGoodsWithoutHead = new int[10];
-		private int noGoodsWithoutHeadSize;
-		private int[] noGoodsWithHead = new int[10];
-		private int noGoodsWithHeadSize;
-		private final int forLiteral;
-
-		private BinaryWatchList(int forLiteral) {
-			this.forLiteral = forLiteral;
-		}
-
-		ConflictCause add(NoGood noGood) {
-			if (!noGood.isBinary()) {
-				throw oops("Received noGood is not binary.");
-			}
-			if (noGood.hasHead() && noGood.getHead() != forLiteral) {
-				return addHeadedNoGood(noGood);
-			} else {
-				return addOrdinaryNoGood(noGood);
-			}
-		}
-
-		private ConflictCause addHeadedNoGood(NoGood noGood) {
-			if (noGoodsWithHeadSize + 1 > noGoodsWithHead.length) {
-				noGoodsWithHead = Arrays.copyOf(noGoodsWithHead, arrayGrowthSize(noGoodsWithHeadSize));
-			}
-			int otherLiteral = noGood.getLiteral(0) == forLiteral ? noGood.getLiteral(1) : noGood.getLiteral(0);
-			if (isPositive(otherLiteral)) {
-				throw oops("NoGood has wrong head.");
-			}
-			noGoodsWithHead[noGoodsWithHeadSize++] = otherLiteral;
-			// Assign (weakly) otherLiteral if the newly added NoGood is unit.
-			ThriceTruth literalTruth = assignment.getTruth(atomOf(forLiteral));
-			if (literalTruth != null && literalTruth.toBoolean() == isPositive(forLiteral)) {
-				int weakDecisionLevel = assignment.getWeakDecisionLevel(atomOf(forLiteral));
-				ConflictCause conflictCause = assignment.assign(atomOf(otherLiteral), isPositive(otherLiteral) ? FALSE : MBT, this, weakDecisionLevel);
-				if (conflictCause != null) {
-					return conflictCause;
-				}
-			}
-			// Assign head (strongly) if the newly added NoGood is unit.
-			int strongDecisionLevel = assignment.getStrongDecisionLevel(atomOf(forLiteral));
-			if (strongDecisionLevel != -1 && assignment.getTruth(atomOf(forLiteral)).toBoolean() == isPositive(forLiteral)) {
-				return assignment.assign(atomOf(otherLiteral), TRUE, this, strongDecisionLevel);
-			}
-			return null;
-		}
-
-		private ConflictCause addOrdinaryNoGood(NoGood noGood) {
-			if (noGoodsWithoutHeadSize + 1 > noGoodsWithoutHead.length) {
-				noGoodsWithoutHead = Arrays.copyOf(noGoodsWithoutHead, arrayGrowthSize(noGoodsWithoutHeadSize));
-			}
-			int otherLiteral = noGood.getLiteral(0) == forLiteral ? noGood.getLiteral(1) : noGood.getLiteral(0);
-			noGoodsWithoutHead[noGoodsWithoutHeadSize++] = otherLiteral;
-			// Assign otherLiteral if the newly added NoGood is unit.
-			ThriceTruth literalTruth = assignment.getTruth(atomOf(forLiteral));
-			if (literalTruth != null && literalTruth.toBoolean() == isPositive(forLiteral)) {
-				int weakDecisionLevel = assignment.getWeakDecisionLevel(atomOf(forLiteral));
-				return assignment.assign(atomOf(otherLiteral), isPositive(otherLiteral) ? FALSE : MBT, this, weakDecisionLevel);
-			}
-			return null;
-		}
-
-		ConflictCause propagateWeakly() {
-			didPropagate |= noGoodsWithHeadSize > 0 || noGoodsWithoutHeadSize > 0;
-			for (int i = 0; i < noGoodsWithoutHeadSize; i++) {
-				final int otherLiteral = noGoodsWithoutHead[i];
-				ConflictCause conflictCause = assignment.assign(atomOf(otherLiteral), isPositive(otherLiteral) ? FALSE : MBT, this);
-				if (conflictCause != null) {
-					return conflictCause;
-				}
-			}
-			for (int i = 0; i < noGoodsWithHeadSize; i++) {
-				final int otherLiteral = noGoodsWithHead[i];
-				ConflictCause conflictCause = assignment.assign(atomOf(otherLiteral), isPositive(otherLiteral) ? FALSE : MBT, this);
-				if (conflictCause != null) {
-					return conflictCause;
-				}
-			}
-			return null;
-		}
-
-		ConflictCause propagateStrongly() {
-			didPropagate |= noGoodsWithHeadSize > 0;
-			for (int i = 0; i < noGoodsWithHeadSize; i++) {
-				final int headLiteral = noGoodsWithHead[i];
-				ConflictCause conflictCause = assignment.assign(atomOf(headLiteral), TRUE, this);
-				if (conflictCause != null) {
-					return conflictCause;
-				}
-			}
-			return null;
-		}
-		
-		public int size() {
-			return noGoodsWithHeadSize + noGoodsWithoutHeadSize;
-		}
-
-		@Override
-		public String toString() {
-			return "BinaryWatchList(" + forLiteral + ")";
-		}
-
-		@Override
-		public Antecedent instantiateAntecedent(int impliedLiteral) {
-			return new BinaryAntecedent(impliedLiteral, forLiteral);
-		}
-
-		private class BinaryAntecedent implements Antecedent {
-			private final int[] literals = new int[2];
-
-			BinaryAntecedent(int lit1, int lit2) {
-				literals[0] = lit1;
-				literals[1] = lit2;
-			}
-
-			@Override
-			public int[] getReasonLiterals() {
-				return literals;
-			}
-
-			@Override
-			public void bumpActivity() {
-			}
-
-			@Override
-			public void decreaseActivity() {
-			}
-
-			@Override
-			public String toString() {
-				return "{" + literalToString(literals[0]) + ", " + literalToString(literals[1]) + "}";
-			}
-		}
-	}
-
 	private void clearOrdinaryWatchList(int literal) {
 		watches[literal] = new ArrayList<>();
 	}
@@ -896,8 +763,8 @@ private void checkAlphaWatchesInvariant(int atom, boolean truth) {
 			boolean atomSatisfies = atomEntry != null && isPositive(atomLiteral) != atomEntry.getTruth().toBoolean();
 			int atomDecisionLevel = strongDecisionLevel(atom);
 			BinaryWatchList binaryWatchList = binaryWatches[atomLiteral];
-			for (int i = 0; i < binaryWatchList.noGoodsWithHeadSize; i++) {
-				int headLiteral = binaryWatchList.noGoodsWithHead[i];
+			for (int i = 0; i < binaryWatchList.getNumberOfNoGoodsWithHead(); i++) {
+				int headLiteral = binaryWatchList.getOtherLiteralOfNoGoodWithHead(i);
 				if (headLiteral == atomLiteral) {
 					throw oops("Watch invariant violated: alpha watch points at head.");
 				}
@@ -933,12 +800,12 @@ private void checkOrdinaryWatchesInvariant(int atom, boolean truth) {
 			int atomDecisionLevel = weakDecisionLevel(atomEntry);
 			int atomReplayLevel = weakReplayLevel(atom);
 			BinaryWatchList binaryWatchList = binaryWatches[atomLiteral];
-			for (int i = 0; i < binaryWatchList.noGoodsWithoutHeadSize; i++) {
-				int otherLiteral = binaryWatchList.noGoodsWithoutHead[i];
+			for (int i = 0; i < binaryWatchList.getNumberOfNoGoodsWithoutHead(); i++) {
+				int otherLiteral = binaryWatchList.getOtherLiteralOfNoGoodWithoutHead(i);
 				checkBinaryWatch(atomSatisfies, atomDecisionLevel, atomReplayLevel, otherLiteral);
 			}
-			for (int i = 0; i < binaryWatchList.noGoodsWithHeadSize; i++) {
-				int otherLiteral = binaryWatchList.noGoodsWithHead[i];
+			for (int i = 0; i < binaryWatchList.getNumberOfNoGoodsWithHead(); i++) {
+				int otherLiteral = binaryWatchList.getOtherLiteralOfNoGoodWithHead(i);
 				checkBinaryWatch(atomSatisfies, atomDecisionLevel, atomReplayLevel, otherLiteral);
 			}
 			for (WatchedNoGood watchedNoGood : watches(atomLiteral)) {
@@ -0,0 +1,1050 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.solver;
+
+import at.ac.tuwien.kr.alpha.common.Assignment;
+import at.ac.tuwien.kr.alpha.common.NoGood;
+import at.ac.tuwien.kr.alpha.common.NoGoodInterface;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import static at.ac.tuwien.kr.alpha.Util.arrayGrowthSize;
+import static at.ac.tuwien.kr.alpha.Util.oops;
+import static at.ac.tuwien.kr.alpha.common.Literals.atomOf;
+import static at.ac.tuwien.kr.alpha.common.Literals.atomToLiteral;
+import static at.ac.tuwien.kr.alpha.common.Literals.isNegated;
+import static at.ac.tuwien.kr.alpha.common.Literals.isPositive;
+import static at.ac.tuwien.kr.alpha.common.Literals.literalToString;
+import static at.ac.tuwien.kr.alpha.common.NoGood.HEAD;
+import static at.ac.tuwien.kr.alpha.solver.ThriceTruth.FALSE;
+import static at.ac.tuwien.kr.alpha.solver.ThriceTruth.MBT;
+import static at.ac.tuwien.kr.alpha.solver.ThriceTruth.TRUE;
+
+/**
+ * A variant of {@link NoGoodStoreAlphaRoaming} that uses the same watching scheme (two ordinary watches and an alpha
+ * watch per NoGood) but keeps the data needed for propagation in flat int arrays:
+ *
+ * All literals of NoGoods with more than two literals reside in one contiguous int array (the arena), each NoGood
+ * preceded by a small header. Watch lists are int arrays of pairs, each consisting of the position of a NoGood in the
+ * arena and a blocker literal of that NoGood. If the blocker is assigned such that it satisfies the NoGood, the NoGood
+ * itself is not accessed during propagation at all. For ordinary watches, the blocker is a literal that was watched
+ * when the watch was set; for alpha watches, it is the head of the NoGood.
+ *
+ * Objects representing NoGoods (as {@link Antecedent}s of assignments and for learned NoGood deletion) only hold the
+ * position of their NoGood in the arena and are not touched by propagation except when a NoGood propagates.
+ *
+ * Copyright (c) 2020, the Alpha Team.
+ */
+public class NoGoodStoreAlphaRoamingArena implements NoGoodStore, BinaryNoGoodPropagationEstimation, Checkable {
+	private static final Logger LOGGER = LoggerFactory.getLogger(NoGoodStoreAlphaRoamingArena.class);
+	private static final int UNASSIGNED = Integer.MAX_VALUE;
+
+	// Layout of the header of each NoGood in the arena (offsets relative to the position of the NoGood).
+	private static final int ID_OFFSET = 0;
+	private static final int SIZE_OFFSET = 1;
+	private static final int HEAD_INDEX_OFFSET = 2;
+	private static final int ALPHA_INDEX_OFFSET = 3;
+	private static final int HEADER_SIZE = 4;
+
+	private static final int INITIAL_ARENA_SIZE = 1024;
+	private static final int INITIAL_WATCH_LIST_SIZE = 8;
+
+	private final WritableAssignment assignment;
+	private final LearnedNoGoodDeletion<ArenaNoGood> learnedNoGoodDeletion;
+
+	private int[] arena = new int[INITIAL_ARENA_SIZE];
+	private int arenaSize;
+	private int wastedArenaSize;
+	// The objects representing NoGoods in the arena, indexed by the id stored in their header.
+	private ArenaNoGood[] noGoods = new ArenaNoGood[INITIAL_WATCH_LIST_SIZE];
+	private int numberOfNoGoodIds;
+
+	// For each literal, pairs of (NoGood position in arena, blocker literal).
+	private int[][] watches = new int[0][];
+	private int[] watchesSizes = new int[0];
+	private int[][] watchesAlpha = new int[0][];
+	private int[] watchesAlphaSizes = new int[0];
+	private BinaryWatchList[] binaryWatches = new BinaryWatchList[0];
+	private int maxAtomId;
+
+	private boolean checksEnabled;
+	private boolean didPropagate;
+	private boolean hasBinaryNoGoods;
+
+	private final NoGoodCounter counter = new NoGoodCounter();
+
+	public NoGoodStoreAlphaRoamingArena(WritableAssignment assignment, boolean checksEnabled) {
+		this.assignment = assignment;
+		this.checksEnabled = checksEnabled;
+		this.learnedNoGoodDeletion = new LearnedNoGoodDeletion<>(this::removeFromWatches, assignment);
+	}
+
+	public NoGoodStoreAlphaRoamingArena(WritableAssignment assignment) {
+		this(assignment, false);
+	}
+
+	void clear() {
+		assignment.clear();
+		learnedNoGoodDeletion.reset();
+		arena = new int[INITIAL_ARENA_SIZE];
+		arenaSize = 0;
+		wastedArenaSize = 0;
+		noGoods = new ArenaNoGood[INITIAL_WATCH_LIST_SIZE];
+		numberOfNoGoodIds = 0;
+		binaryWatches = new BinaryWatchList[0];
+		watches = new int[0][];
+		watchesSizes = new int[0];
+		watchesAlpha = new int[0][];
+		watchesAlphaSizes = new int[0];
+		maxAtomId = 0;
+	}
+
+	public LearnedNoGoodDeletion<ArenaNoGood> getLearnedNoGoodDeletion() {
+		return learnedNoGoodDeletion;
+	}
+
+	@Override
+	public void backtrack() {
+		didPropagate = false;
+		assignment.backtrack();
+		if (checksEnabled) {
+			if (assignment.getAssignmentsToProcess().isEmpty()) {
+				new WatchesChecker().doWatchesCheck();
+			} else {
+				LOGGER.trace("Skipping watches check since there are assignments to process first.");
+			}
+		}
+	}
+
+	@Override
+	public void growForMaxAtomId(int maxAtomId) {
+		int requiredMaxSize = 2 * (maxAtomId + 2);
+		if (requiredMaxSize < binaryWatches.length) {
+			return;
+		}
+		int newCapacity = arrayGrowthSize(binaryWatches.length);
+		if (newCapacity < requiredMaxSize) {
+			newCapacity = requiredMaxSize;
+		}
+		int oldlength = binaryWatches.length;
+		binaryWatches = Arrays.copyOf(binaryWatches, newCapacity);
+		for (int i = oldlength; i < binaryWatches.length; i++) {
+			binaryWatches[i] = new BinaryWatchList(assignment, i);
+		}
+		watches = Arrays.copyOf(watches, newCapacity);
+		watchesAlpha = Arrays.copyOf(watchesAlpha, newCapacity);
+		for (int i = oldlength; i < newCapacity; i++) {
+			watches[i] = new int[INITIAL_WATCH_LIST_SIZE];
+			watchesAlpha[i] = new int[INITIAL_WATCH_LIST_SIZE];
+		}
+		watchesSizes = Arrays.copyOf(watchesSizes, newCapacity);
+		watchesAlphaSizes = Arrays.copyOf(watchesAlphaSizes, newCapacity);
+		this.maxAtomId = maxAtomId;
+	}
+
+	@Override
+	public NoGoodCounter getNoGoodCounter() {
+		return counter;
+	}
+
+	@Override
+	public void cleanupLearnedNoGoods() {
+		if (learnedNoGoodDeletion.needToRunNoGoodDeletion()) {
+			learnedNoGoodDeletion.runNoGoodDeletion();
+			if (wastedArenaSize > arenaSize / 2) {
+				compactArena();
+			}
+		}
+	}
+
+	void removeFromWatches(ArenaNoGood toRemove) {
+		counter.remove(toRemove);
+		if (toRemove.hasHead()) {
+			throw oops("NoGood has a head.");	// If this occurs, we need to remove the alpha watch too.
+		}
+		final int position = toRemove.position;
+		if (!removeWatch(watches, watchesSizes, arena[position + HEADER_SIZE + 1], position)
+			|| !removeWatch(watches, watchesSizes, arena[position + HEADER_SIZE], position)) {
+			throw oops("Could not remove learned NoGood from watch lists.");
+		}
+		toRemove.detach();
+		noGoods[arena[position + ID_OFFSET]] = null;
+		wastedArenaSize += HEADER_SIZE + arena[position + SIZE_OFFSET];
+	}
+
+	private static boolean removeWatch(int[][] watchLists, int[] watchListSizes, int literal, int position) {
+		final int[] watchList = watchLists[literal];
+		final int size = watchListSizes[literal];
+		for (int i = 0; i < size; i += 2) {
+			if (watchList[i] == position) {
+				System.arraycopy(watchList, i + 2, watchList, i, size - i - 2);
+				watchListSizes[literal] = size - 2;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Removes the space occupied by deleted NoGoods from the arena, moving all remaining NoGoods to the front (keeping
+	 * their order) and updating all watches and NoGood objects to the new positions.
+	 */
+	private void compactArena() {
+		// Compute new positions first, since the old headers are needed to update the watches.
+		final int[] newPositions = new int[numberOfNoGoodIds];
+		int newArenaSize = 0;
+		for (int id = 0; id < numberOfNoGoodIds; id++) {
+			if (noGoods[id] != null) {
+				newPositions[id] = newArenaSize;
+				newArenaSize += HEADER_SIZE + arena[noGoods[id].position + SIZE_OFFSET];
+			}
+		}
+		relocateWatches(watches, watchesSizes, newPositions);
+		relocateWatches(watchesAlpha, watchesAlphaSizes, newPositions);
+		// Ids are assigned in increasing order of positions, hence moving NoGoods in order of ids never overwrites a NoGood not moved yet.
+		for (int id = 0; id < numberOfNoGoodIds; id++) {
+			final ArenaNoGood noGood = noGoods[id];
+			if (noGood == null) {
+				continue;
+			}
+			System.arraycopy(arena, noGood.position, arena, newPositions[id], HEADER_SIZE + arena[noGood.position + SIZE_OFFSET]);
+			noGood.position = newPositions[id];
+		}
+		LOGGER.debug("Compacted NoGood arena from {} to {} ints.", arenaSize, newArenaSize);
+		arenaSize = newArenaSize;
+		wastedArenaSize = 0;
+	}
+
+	private void relocateWatches(int[][] watchLists, int[] watchListSizes, int[] newPositions) {
+		for (int literal = 0; literal < watchLists.length; literal++) {
+			final int[] watchList = watchLists[literal];
+			for (int i = 0; i < watchListSizes[literal]; i += 2) {
+				watchList[i] = newPositions[arena[watchList[i] + ID_OFFSET]];
+			}
+		}
+	}
+
+	private void addWatch(int literal, int position, int blocker) {
+		int size = watchesSizes[literal];
+		int[] watchList = watches[literal];
+		if (size + 2 > watchList.length) {
+			watchList = Arrays.copyOf(watchList, Math.max(arrayGrowthSize(watchList.length), size + 2));
+			watches[literal] = watchList;
+		}
+		watchList[size] = position;
+		watchList[size + 1] = blocker;
+		watchesSizes[literal] = size + 2;
+	}
+
+	private void addAlphaWatch(int literal, int position, int headLiteral) {
+		int size = watchesAlphaSizes[literal];
+		int[] watchList = watchesAlpha[literal];
+		if (size + 2 > watchList.length) {
+			watchList = Arrays.copyOf(watchList, Math.max(arrayGrowthSize(watchList.length), size + 2));
+			watchesAlpha[literal] = watchList;
+		}
+		watchList[size] = position;
+		watchList[size + 1] = headLiteral;
+		watchesAlphaSizes[literal] = size + 2;
+	}
+
+	@Override
+	public ConflictCause add(int id, NoGood noGood, int lbd) {
+		LOGGER.trace("Adding {}", noGood);
+
+		final ConflictCause conflictCause;
+		if (noGood.isUnary()) {
+			conflictCause = addUnary(noGood);
+		} else if (noGood.isBinary()) {
+			conflictCause = addAndWatchBinary(noGood);
+		} else {
+			conflictCause = addAndWatch(noGood, lbd);
+		}
+
+		if (conflictCause == null) {
+			counter.add(noGood);
+		}
+		return conflictCause;
+	}
+
+	@Override
+	public ConflictCause add(int id, NoGood noGood) {
+		return add(id, noGood, LBD_NO_VALUE);
+	}
+
+	/**
+	 * Takes a noGood containing only a single literal and translates it into an assignment (because it
+	 * is trivially unit). Still, a check for conflict is performed.
+	 */
+	private ConflictCause addUnary(final NoGood noGood) {
+		if (noGood.hasHead()) {
+			return assignTruth(atomOf(noGood.getHead()), TRUE, noGood.asAntecedent(), 0);
+		} else {
+			return assignWeakComplement(noGood.getLiteral(0), noGood.asAntecedent(), 0);
+		}
+	}
+
+	private static boolean isComplementaryAssigned(int literal, ThriceTruth literalTruth) {
+		return literalTruth != null && literalTruth.toBoolean() != isPositive(literal);
+	}
+
+	private int strongDecisionLevel(int atom) {
+		int strongDecisionLevel = assignment.getStrongDecisionLevel(atom);
+		return strongDecisionLevel == -1 ? UNASSIGNED : strongDecisionLevel;
+	}
+
+	/**
+	 * Adds a NoGood of size greater than two, computing its watches exactly like {@link NoGoodStoreAlphaRoaming} does.
+	 */
+	private ConflictCause addAndWatch(final NoGood noGood, int lbd) {
+		// Collect potential watch candidates.
+		int posWeakUnassigned1 = -1;
+		int posWeakUnassigned2 = -1;
+		int posSatisfiedLiteral1 = -1;
+		int posSatisfiedLiteral2 = -1;
+		int posWeakHighestAssigned = -1;
+		int weakDecisionLevelHighestAssigned = -1;
+		int posStrongHighestAssigned = -1;
+		int strongDecisionLevelHighestAssigned = -1;
+		int posPotentialAlphaWatch = -1;
+		int satisfiedLiteralWeakDecisionLevel = -1;
+
+		// Used to detect always-satisfied NoGoods of form { L, -L, ... }.
+		Map<Integer, Boolean> occurringAtomPolarity = new HashMap<>();
+
+		// Iterate noGood and record satisfying/unassigned/etc positions.
+		int headAtom = atomOf(noGood.getHead());
+		final ThriceTruth headTruth = noGood.hasHead() ? assignment.getTruth(headAtom) : null;
+		final boolean isHeadTrue = headTruth == TRUE;
+		for (int i = 0; i < noGood.size(); i++) {
+			final int literal = noGood.getLiteral(i);
+			final int atom = atomOf(literal);
+			final ThriceTruth atomTruthValue = assignment.getTruth(atom);
+			final int atomWeakDecisionLevel = assignment.getWeakDecisionLevel(atom);
+			final int atomStrongDecisionLevel = assignment.getStrongDecisionLevel(atom);
+
+			// Check if NoGood can never be violated (atom occurring positive and negative)
+			if (occurringAtomPolarity.containsKey(atom)) {
+				if (occurringAtomPolarity.get(atom) != isNegated(literal)) {
+					// NoGood cannot be violated or propagate, ignore it.
+					LOGGER.debug("Added NoGood can never propagate or be violated, ignoring it. NoGood is: {}", noGood);
+					return null;
+				}
+			} else {
+				occurringAtomPolarity.put(atom, isNegated(literal));
+			}
+
+			// Check weak unassigned.
+			if (atomTruthValue == null) {
+				if (posWeakUnassigned1 == -1) {
+					posWeakUnassigned1 = i;
+				} else {
+					posWeakUnassigned2 = i;
+				}
+			}
+			// Alpha watch:
+			if (posPotentialAlphaWatch == -1 && noGood.hasHead() && i != HEAD) {
+				// Current literal is potential alpha watch if:
+				// 1) the head of the nogood is true and the literal is assigned at a higher-or-equal decision level.
+				// 2) the literal is complementary assigned and thus satisfies the nogood, or
+				// 3) the literal is unassigned or assigned must-be-true.
+				if (isHeadTrue && strongDecisionLevel(atom) >= strongDecisionLevel(headAtom)
+					|| isComplementaryAssigned(literal, atomTruthValue)
+					|| strongDecisionLevel(atom) == UNASSIGNED) {
+					posPotentialAlphaWatch = i;
+				}
+			}
+			// Check satisfaction
+			if (atomTruthValue != null && atomTruthValue.toBoolean() != isPositive(literal)) {
+				if (posSatisfiedLiteral1 == -1) {
+					posSatisfiedLiteral1 = i;
+					satisfiedLiteralWeakDecisionLevel = atomWeakDecisionLevel;
+				} else {
+					posSatisfiedLiteral2 = i;
+				}
+			}
+			// Check violation.
+			if (atomTruthValue != null && atomTruthValue.toBoolean() == isPositive(literal)) {
+				if (atomWeakDecisionLevel > weakDecisionLevelHighestAssigned) {
+					weakDecisionLevelHighestAssigned = atomWeakDecisionLevel;
+					posWeakHighestAssigned = i;
+				}
+				if (!atomTruthValue.isMBT() && noGood.hasHead()	// Ensure strong violation.
+					&& atomStrongDecisionLevel > strongDecisionLevelHighestAssigned) {
+					strongDecisionLevelHighestAssigned = atomStrongDecisionLevel;
+					posStrongHighestAssigned = i;
+				}
+			}
+		}
+
+		// Compute ordinary watches.
+		final int watch1;
+		final int watch2;
+		if (posWeakUnassigned1 != -1 && posWeakUnassigned2 != -1) {
+			// NoGood has two unassigned literals.
+			watch1 = posWeakUnassigned1;
+			watch2 = posWeakUnassigned2;
+		} else if (posSatisfiedLiteral1 != -1) {
+			// NoGood is satisfied.
+			int bestSecondPointer = posSatisfiedLiteral2 != -1 ? posSatisfiedLiteral2
+						: posWeakUnassigned1 != -1 ? posWeakUnassigned1
+						: posWeakHighestAssigned;
+			if (posSatisfiedLiteral2 == -1 && posWeakUnassigned1 == -1) {
+				// The NoGood has only one satisfied literal and is unit without it.
+				// If it is unit on lower decision level than it is satisfied, it propagates the satisfying literal on lower decision level.
+				if (satisfiedLiteralWeakDecisionLevel > weakDecisionLevelHighestAssigned) {
+					ConflictCause conflictCause = assignWeakComplement(noGood.getLiteral(posSatisfiedLiteral1), noGood.asAntecedent(), weakDecisionLevelHighestAssigned);
+					if (conflictCause != null) {
+						return conflictCause;
+					}
+				}
+			}
+			watch1 = posSatisfiedLiteral1;
+			watch2 = bestSecondPointer;
+		} else if (posWeakUnassigned1 != -1) {
+			// NoGood is weakly unit; propagate.
+			ConflictCause conflictCause = assignWeakComplement(noGood.getLiteral(posWeakUnassigned1), noGood.asAntecedent(), weakDecisionLevelHighestAssigned);
+			if (conflictCause != null) {
+				return conflictCause;
+			}
+			watch1 = posWeakUnassigned1;
+			watch2 = posWeakHighestAssigned;
+		} else {
+			// NoGood is violated.
+			return new ConflictCause(noGood.asAntecedent());
+		}
+
+		// Compute alpha watch.
+		int watchAlpha = -1;
+		if (noGood.hasHead()) {
+			if (posPotentialAlphaWatch != -1) {
+				// Found potential alpha watch.
+				watchAlpha = posPotentialAlphaWatch;
+			} else {
+				// No potential alpha watch found: noGood must be strongly unit.
+				ConflictCause conflictCause = assignTruth(headAtom, TRUE, noGood.asAntecedent(), strongDecisionLevelHighestAssigned);
+				if (conflictCause != null) {
+					return conflictCause;
+				}
+				watchAlpha = posStrongHighestAssigned;
+			}
+			if (watchAlpha == -1) {
+				throw oops("Did not set alpha watch for nogood with head.");
+			}
+		}
+
+		final ArenaNoGood arenaNoGood = storeInArena(noGood, watch1, watch2, watchAlpha);
+		LOGGER.trace("Arena NoGood is {}.", arenaNoGood);
+
+		// Record for eventual removal if this NoGood is learned.
+		if (noGood.getType() == NoGoodInterface.Type.LEARNT) {
+			arenaNoGood.setLBD(lbd);
+			learnedNoGoodDeletion.recordLearnedNoGood(arenaNoGood);
+		}
+
+		// Set watches; each ordinary watch initially uses the other watched literal as blocker.
+		final int position = arenaNoGood.position;
+		final int literal0 = arena[position + HEADER_SIZE];
+		final int literal1 = arena[position + HEADER_SIZE + 1];
+		if (watchAlpha != -1) {
+			addAlphaWatch(arena[position + HEADER_SIZE + arena[position + ALPHA_INDEX_OFFSET]], position, noGood.getHead());
+		}
+		addWatch(literal0, position, literal1);
+		addWatch(literal1, position, literal0);
+		return null;
+	}
+
+	/**
+	 * Copies the given NoGood into the arena such that the literals at positions watch1 and watch2 end up at the first
+	 * two positions.
+	 */
+	private ArenaNoGood storeInArena(NoGood noGood, int watch1, int watch2, int watchAlpha) {
+		final int size = noGood.size();
+		if (arenaSize + HEADER_SIZE + size > arena.length) {
+			arena = Arrays.copyOf(arena, Math.max(arrayGrowthSize(arena.length), arenaSize + HEADER_SIZE + size));
+		}
+		if (numberOfNoGoodIds == noGoods.length) {
+			noGoods = Arrays.copyOf(noGoods, arrayGrowthSize(noGoods.length));
+		}
+		final int position = arenaSize;
+		final int id = numberOfNoGoodIds++;
+		arena[position + ID_OFFSET] = id;
+		arena[position + SIZE_OFFSET] = size;
+		arena[position + HEAD_INDEX_OFFSET] = noGood.hasHead() ? HEAD : -1;
+		arena[position + ALPHA_INDEX_OFFSET] = watchAlpha;
+		for (int i = 0; i < size; i++) {
+			arena[position + HEADER_SIZE + i] = noGood.getLiteral(i);
+		}
+		arenaSize += HEADER_SIZE + size;
+		if (watch2 == 0) {
+			swapLiterals(position, 1, watch1);
+		} else {
+			swapLiterals(position, 0, watch1);
+			swapLiterals(position, 1, watch2);
+		}
+		final ArenaNoGood arenaNoGood = new ArenaNoGood(position, noGood.getType());
+		noGoods[id] = arenaNoGood;
+		return arenaNoGood;
+	}
+
+	/**
+	 * Swaps two literals of the NoGood at the given arena position, keeping its head and alpha index up to date.
+	 */
+	private void swapLiterals(int position, int index1, int index2) {
+		final int literals = position + HEADER_SIZE;
+		final int tmp = arena[literals + index1];
+		arena[literals + index1] = arena[literals + index2];
+		arena[literals + index2] = tmp;
+		final int head = arena[position + HEAD_INDEX_OFFSET];
+		if (head == index1) {
+			arena[position + HEAD_INDEX_OFFSET] = index2;
+		} else if (head == index2) {
+			arena[position + HEAD_INDEX_OFFSET] = index1;
+		}
+		final int alpha = arena[position + ALPHA_INDEX_OFFSET];
+		if (alpha == index1) {
+			arena[position + ALPHA_INDEX_OFFSET] = index2;
+		} else if (alpha == index2) {
+			arena[position + ALPHA_INDEX_OFFSET] = index1;
+		}
+	}
+
+	private ConflictCause addAndWatchBinary(final NoGood noGood) {
+		// Shorthands for viewing the nogood as { a, b }.
+		final int a = noGood.getLiteral(0);
+		final int b = noGood.getLiteral(1);
+		final int atomA = atomOf(a);
+		final int atomB = atomOf(b);
+
+		// Ignore NoGoods of the form { -a, a }.
+		if (a != b && atomA == atomB) {
+			return null;
+		}
+
+		// Check for violation.
+		if (assignment.isViolated(a) && assignment.isViolated(b)) {
+			return new ConflictCause(noGood.asAntecedent());
+		}
+
+		// The above violation check guarantees that adding (and propagation on other literal) results in no conflict.
+		binaryWatches[a].add(noGood);
+		binaryWatches[b].add(noGood);
+		hasBinaryNoGoods = true;
+		return null;
+	}
+
+	private ConflictCause assignWeakComplement(final int literal, final Antecedent impliedBy, int decisionLevel) {
+		ThriceTruth truth = isNegated(literal) ? MBT : FALSE;
+		return assignTruth(atomOf(literal), truth, impliedBy, decisionLevel);
+	}
+
+	private ConflictCause assignTruth(int atom, ThriceTruth truth, Antecedent impliedBy, int decisionLevel) {
+		ConflictCause cause = assignment.assign(atom, truth, impliedBy, decisionLevel);
+		if (cause == null) {
+			didPropagate = true;
+		}
+		return cause;
+	}
+
+	/**
+	 * Propagates from Unassigned to MBT/FALSE.
+	 * @param literal the literal that triggers the propagation.
+	 */
+	private ConflictCause propagateWeakly(int literal, int currentDecisionLevel, boolean restrictToBinaryNoGoods) {
+		// Propagate binary watches.
+		final BinaryWatchList binaryWatchList = binaryWatches[literal];
+		didPropagate |= binaryWatchList.size() > 0;
+		ConflictCause conflictCause = binaryWatchList.propagateWeakly();
+		if (conflictCause != null || restrictToBinaryNoGoods) {
+			return conflictCause;
+		}
+
+		// Check all watched multi-ary NoGoods, keeping the watches that stay on this literal in place.
+		final int[] watchList = watches[literal];
+		final int size = watchesSizes[literal];
+		int kept = 0;
+		for (int i = 0; i < size; i += 2) {
+			final int position = watchList[i];
+			final int blocker = watchList[i + 1];
+			// Skip the NoGood if it is satisfied by the blocker.
+			if (assignment.isComplementaryAssigned(blocker)) {
+				watchList[kept++] = position;
+				watchList[kept++] = blocker;
+				continue;
+			}
+			final int literals = position + HEADER_SIZE;
+			final int assignedWatch = arena[literals] == literal ? 0 : 1;
+			final int otherLiteral = arena[literals + 1 - assignedWatch];
+
+			// Check if the other watch already satisfies the NoGood; if so, keep this watch with the other watch as blocker.
+			if (otherLiteral != blocker && assignment.isComplementaryAssigned(otherLiteral)) {
+				watchList[kept++] = position;
+				watchList[kept++] = otherLiteral;
+				continue;
+			}
+
+			// Find new literal to watch, i.e., one that is unassigned or satisfies the NoGood.
+			final int noGoodSize = arena[position + SIZE_OFFSET];
+			boolean moved = false;
+			for (int j = 2; j < noGoodSize; j++) {
+				final int currentLiteral = arena[literals + j];
+				if (!assignment.isAssigned(atomOf(currentLiteral)) || assignment.isComplementaryAssigned(currentLiteral)) {
+					swapLiterals(position, assignedWatch, j);
+					addWatch(currentLiteral, position, otherLiteral);
+					moved = true;
+					break;
+				}
+			}
+			if (moved) {
+				continue;
+			}
+
+			// NoGood is unit, propagate the other watched literal and watch the same literal again.
+			// Note: Violation is detected by Assignment.
+			watchList[kept++] = position;
+			watchList[kept++] = otherLiteral;
+			conflictCause = assignWeakComplement(otherLiteral, noGoods[arena[position + ID_OFFSET]], currentDecisionLevel);
+			if (conflictCause != null) {
+				// Keep all non-treated watches, so that they can be treated after backtracking.
+				System.arraycopy(watchList, i + 2, watchList, kept, size - i - 2);
+				watchesSizes[literal] = kept + size - i - 2;
+				return conflictCause;
+			}
+		}
+		watchesSizes[literal] = kept;
+		return null;
+	}
+
+	private ConflictCause propagateStrongly(int literal, int currentDecisionLevel, boolean restrictToBinaryNoGoods) {
+		// Propagate binary watches.
+		final BinaryWatchList binaryWatchList = binaryWatches[literal];
+		didPropagate |= binaryWatchList.getNumberOfNoGoodsWithHead() > 0;
+		ConflictCause conflictCause = binaryWatchList.propagateStrongly();
+		if (conflictCause != null || restrictToBinaryNoGoods) {
+			return conflictCause;
+		}
+
+		// Check all alpha-watched multi-ary NoGoods, their blocker is the head.
+		final int[] watchList = watchesAlpha[literal];
+		final int size = watchesAlphaSizes[literal];
+		int kept = 0;
+		for (int i = 0; i < size; i += 2) {
+			final int position = watchList[i];
+			final int headLiteral = watchList[i + 1];
+			// Check if the head already satisfies the NoGood.
+			if (assignment.getTruth(atomOf(headLiteral)) == TRUE) {
+				watchList[kept++] = position;
+				watchList[kept++] = headLiteral;
+				continue;
+			}
+
+			// Find new literal to watch, i.e., one that is unassigned, MBT, or satisfies the NoGood.
+			final int literals = position + HEADER_SIZE;
+			final int noGoodSize = arena[position + SIZE_OFFSET];
+			final int assignedIndex = arena[position + ALPHA_INDEX_OFFSET];
+			final int headIndex = arena[position + HEAD_INDEX_OFFSET];
+			boolean moved = false;
+			for (int j = 0; j < noGoodSize; j++) {
+				if (j == assignedIndex || j == headIndex) {
+					continue;
+				}
+				final int currentLiteral = arena[literals + j];
+				final ThriceTruth currentAtomTruth = assignment.getTruth(atomOf(currentLiteral));
+				if (currentAtomTruth == null || currentAtomTruth.isMBT() || currentAtomTruth.toBoolean() != isPositive(currentLiteral)) {
+					arena[position + ALPHA_INDEX_OFFSET] = j;
+					addAlphaWatch(currentLiteral, position, headLiteral);
+					moved = true;
+					break;
+				}
+			}
+			if (moved) {
+				continue;
+			}
+
+			// NoGood is unit, propagate the head and watch the same literal again.
+			watchList[kept++] = position;
+			watchList[kept++] = headLiteral;
+			conflictCause = assignTruth(atomOf(headLiteral), TRUE, noGoods[arena[position + ID_OFFSET]], currentDecisionLevel);
+			if (conflictCause != null) {
+				// Keep all non-treated watches, so that they can be treated after backtracking.
+				System.arraycopy(watchList, i + 2, watchList, kept, size - i - 2);
+				watchesAlphaSizes[literal] = kept + size - i - 2;
+				return conflictCause;
+			}
+		}
+		watchesAlphaSizes[literal] = kept;
+		return null;
+	}
+
+	@Override
+	public ConflictCause propagate() {
+		ConflictCause conflictCause = propagate(false);
+		if (conflictCause != null) {
+			learnedNoGoodDeletion.increaseConflictCounter();
+		}
+		return conflictCause;
+	}
+
+	private ConflictCause propagate(boolean restrictToBinaryNoGoods) {
+		didPropagate = false;
+
+		Assignment.Pollable assignmentsToProcess = assignment.getAssignmentsToProcess();
+		int currentDecisionLevel = assignment.getDecisionLevel();
+		while (!assignmentsToProcess.isEmpty()) {
+			final int atom = assignmentsToProcess.peek();
+			final ThriceTruth currentTruth = assignment.getTruth(atom);
+			final int literal = atomToLiteral(atom, currentTruth.toBoolean());
+			if (LOGGER.isTraceEnabled()) {
+				LOGGER.trace("Propagation processing atom: {}={}", atom, currentTruth);
+			}
+
+			// Propagate weakly, except if there is an earlier MBT, where propagation already took place.
+			if (currentTruth != TRUE || assignment.getWeakDecisionLevel(atom) == currentDecisionLevel) {
+				ConflictCause conflictCause = propagateWeakly(literal, currentDecisionLevel, restrictToBinaryNoGoods);
+				if (conflictCause != null) {
+					LOGGER.trace("Halting propagation due to conflict. Current assignment: {}.", assignment);
+					return conflictCause;
+				}
+			}
+
+			// Propagate strongly only for TRUE/FALSE assignments.
+			if (currentTruth != MBT) {
+				ConflictCause conflictCause = propagateStrongly(literal, currentDecisionLevel, restrictToBinaryNoGoods);
+				if (conflictCause != null) {
+					LOGGER.trace("Halting propagation due to conflict. Current assignment: {}.", assignment);
+					return conflictCause;
+				}
+			}
+			assignmentsToProcess.remove();
+		}
+		if (checksEnabled && !restrictToBinaryNoGoods) {
+			new WatchesChecker().doWatchesCheck();
+		}
+		return null;
+	}
+
+	@Override
+	public boolean didPropagate() {
+		return didPropagate;
+	}
+
+	@Override
+	public void setChecksEnabled(boolean checksEnabled) {
+		this.checksEnabled = checksEnabled;
+	}
+
+	@Override
+	public int estimate(int atom, boolean truth, Strategy strategy) {
+		switch (strategy) {
+			case BinaryNoGoodPropagation:
+				if (hasBinaryNoGoods) {
+					return estimateEffectsOfBinaryNoGoodPropagation(atom, truth) - 1;
+				}
+			case CountBinaryWatches:
+			default:
+				return binaryWatches[atomToLiteral(atom, truth)].size();
+		}
+	}
+
+	private int estimateEffectsOfBinaryNoGoodPropagation(int atom, boolean truth) {
+		assignment.choose(atom, truth);
+		propagate(true);
+		int assignedNewly = assignment.getNumberOfAtomsAssignedSinceLastDecision();
+		assignment.backtrack();
+		return assignedNewly;
+	}
+
+	/**
+	 * A NoGood stored in the arena. Serves as {@link Antecedent} of the assignments it implies and keeps the activity
+	 * and LBD information needed for learned NoGood deletion.
+	 */
+	final class ArenaNoGood implements NoGoodInterface, LearnedNoGoodDeletion.DeletableNoGood {
+		private int position;
+		private final Type type;
+		private int activity;
+		private boolean isLbdLessOrEqual2;
+		// The literals of this NoGood once it has been removed from the arena, null before.
+		private int[] detachedLiterals;
+		private int detachedHeadIndex;
+
+		private ArenaNoGood(int position, Type type) {
+			this.position = position;
+			this.type = type;
+		}
+
+		private void detach() {
+			detachedHeadIndex = arena[position + HEAD_INDEX_OFFSET];
+			detachedLiterals = getReasonLiterals();
+		}
+
+		private int getHeadIndex() {
+			return detachedLiterals != null ? detachedHeadIndex : arena[position + HEAD_INDEX_OFFSET];
+		}
+
+		@Override
+		public int getLiteral(int index) {
+			return detachedLiterals != null ? detachedLiterals[index] : arena[position + HEADER_SIZE + index];
+		}
+
+		@Override
+		public boolean hasHead() {
+			return getHeadIndex() != -1;
+		}
+
+		@Override
+		public int getHead() {
+			return getLiteral(getHeadIndex());
+		}
+
+		@Override
+		public int size() {
+			return detachedLiterals != null ? detachedLiterals.length : arena[position + SIZE_OFFSET];
+		}
+
+		@Override
+		public Antecedent asAntecedent() {
+			return this;
+		}
+
+		@Override
+		public Type getType() {
+			return type;
+		}
+
+		@Override
+		public int[] getReasonLiterals() {
+			if (detachedLiterals != null) {
+				return detachedLiterals;
+			}
+			return Arrays.copyOfRange(arena, position + HEADER_SIZE, position + HEADER_SIZE + arena[position + SIZE_OFFSET]);
+		}
+
+		@Override
+		public int getActivity() {
+			return activity;
+		}
+
+		@Override
+		public void bumpActivity() {
+			activity++;
+		}
+
+		@Override
+		public void decreaseActivity() {
+			activity >>= 1;
+		}
+
+		private void setLBD(int lbd) {
+			isLbdLessOrEqual2 = lbd <= 2;
+		}
+
+		@Override
+		public boolean isLbdLessOrEqual2() {
+			return isLbdLessOrEqual2;
+		}
+
+		@Override
+		public Iterator<Integer> iterator() {
+			return new Iterator<Integer>() {
+				private int i;
+
+				public boolean hasNext() {
+					return i < size();
+				}
+
+				public Integer next() {
+					return getLiteral(i++);
+				}
+			};
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder sb = new StringBuilder();
+			if (hasHead()) {
+				sb.append("*");
+			}
+			sb.append("{ ");
+			for (int i = 0; i < size(); i++) {
+				sb.append(literalToString(getLiteral(i)));
+				sb.append(hasHead() && getHeadIndex() == i ? "h" : "");
+				sb.append(" ");
+			}
+			sb.append("}");
+			if (detachedLiterals == null) {
+				sb.append("{").append(arena[position + ALPHA_INDEX_OFFSET]).append("}");
+			}
+			return sb.toString();
+		}
+	}
+
+	/**
+	 * Checks that all NoGoods are properly watched. This should be used only during debugging since checking is costly.
+	 *
+	 * In contrast to {@link NoGoodStoreAlphaRoaming}, a watched literal of a multi-ary NoGood may be assigned such that
+	 * it does not satisfy the NoGood while the other watched literal does not satisfy it either, as long as some other
+	 * literal (e.g., a blocker) satisfies the NoGood at a lower-or-equal decision level.
+	 */
+	private class WatchesChecker {
+
+		void doWatchesCheck() {
+			LOGGER.debug("Checking watch invariant.");
+			for (int literal = 0; literal < watches.length; literal++) {
+				if (isNegated(literal)) {
+					// We treat positive and negative ones at the iteration of the positive literal.
+					continue;
+				}
+				final int atom = atomOf(literal);
+				if (atom > maxAtomId) {
+					break;
+				}
+				checkOrdinaryWatchesInvariant(atom, true);
+				checkOrdinaryWatchesInvariant(atom, false);
+				checkAlphaWatchesInvariant(atom, true);
+				checkAlphaWatchesInvariant(atom, false);
+			}
+			LOGGER.debug("Checking watch invariant: all good.");
+		}
+
+		int weakDecisionLevel(Assignment.Entry entry) {
+			return entry == null ? UNASSIGNED : entry.hasPreviousMBT() ? entry.getMBTDecisionLevel() : entry.getDecisionLevel();
+		}
+
+		int weakReplayLevel(int atom) {
+			if (assignment instanceof TrailAssignment) {
+				return ((TrailAssignment) assignment).getOutOfOrderDecisionLevel(atom);
+			}
+			return UNASSIGNED;
+		}
+
+		int trailAwareStrongDecisionLevel(int atom) {
+			int trailStrongDecisionLevel = UNASSIGNED;
+			if (assignment instanceof TrailAssignment) {
+				trailStrongDecisionLevel = ((TrailAssignment) assignment).getOutOfOrderStrongDecisionLevel(atom);
+			}
+			return Math.min(trailStrongDecisionLevel, strongDecisionLevel(atom));
+		}
+
+		private boolean satisfies(int literal, Assignment.Entry entry) {
+			return entry != null && isPositive(literal) != entry.getTruth().toBoolean();
+		}
+
+		private void checkOrdinaryWatchesInvariant(int atom, boolean truth) {
+			final int atomLiteral = atomToLiteral(atom, truth);
+			final Assignment.Entry atomEntry = assignment.get(atom);
+			final boolean atomSatisfies = satisfies(atomLiteral, atomEntry);
+			final int atomDecisionLevel = weakDecisionLevel(atomEntry);
+			final int atomReplayLevel = weakReplayLevel(atom);
+			final BinaryWatchList binaryWatchList = binaryWatches[atomLiteral];
+			for (int i = 0; i < binaryWatchList.getNumberOfNoGoodsWithoutHead(); i++) {
+				checkBinaryWatch(atomSatisfies, atomDecisionLevel, atomReplayLevel, binaryWatchList.getOtherLiteralOfNoGoodWithoutHead(i));
+			}
+			for (int i = 0; i < binaryWatchList.getNumberOfNoGoodsWithHead(); i++) {
+				checkBinaryWatch(atomSatisfies, atomDecisionLevel, atomReplayLevel, binaryWatchList.getOtherLiteralOfNoGoodWithHead(i));
+			}
+			final int[] watchList = watches[atomLiteral];
+			for (int i = 0; i < watchesSizes[atomLiteral]; i += 2) {
+				final int position = watchList[i];
+				final int literals = position + HEADER_SIZE;
+				if (arena[literals] != atomLiteral && arena[literals + 1] != atomLiteral) {
+					throw oops("Watched literal is not at first/second position in arena.");
+				}
+				if (atomEntry == null || atomSatisfies) {
+					continue;
+				}
+				// The watched literal is assigned and does not satisfy the NoGood, hence some literal must satisfy it at a lower-or-equal decision level.
+				boolean isSatisfied = false;
+				for (int j = 0; j < arena[position + SIZE_OFFSET]; j++) {
+					final int literal = arena[literals + j];
+					final Assignment.Entry entry = assignment.get(atomOf(literal));
+					if (satisfies(literal, entry)
+						&& (atomDecisionLevel >= weakDecisionLevel(entry) || atomDecisionLevel >= weakReplayLevel(atomOf(literal)))) {
+						isSatisfied = true;
+						break;
+					}
+				}
+				if (!isSatisfied) {
+					throw oops("Watch invariant violated");
+				}
+			}
+		}
+
+		private void checkBinaryWatch(boolean atomSatisfies, int atomDecisionLevel, int atomReplayLevel, int otherLiteral) {
+			final int otherAtom = atomOf(otherLiteral);
+			final Assignment.Entry otherEntry = assignment.get(otherAtom);
+			final boolean otherSatisfies = satisfies(otherLiteral, otherEntry);
+			final int otherDecisionLevel = weakDecisionLevel(otherEntry);
+			final int otherReplayLevel = weakReplayLevel(otherAtom);
+			if (atomDecisionLevel == UNASSIGNED && otherDecisionLevel == UNASSIGNED) {
+				// Both watches are unassigned.
+				return;
+			}
+			if ((atomSatisfies && (otherDecisionLevel >= atomDecisionLevel || otherDecisionLevel >= atomReplayLevel))
+				|| (otherSatisfies && (atomDecisionLevel >= otherDecisionLevel || atomDecisionLevel >= otherReplayLevel))) {
+				// One watch satisfies the nogood and the other is assigned at higher decision level (or higher than the replay level of the satisfying one).
+				return;
+			}
+			throw oops("Watch invariant violated");
+		}
+
+		private void checkAlphaWatchesInvariant(int atom, boolean truth) {
+			final int atomLiteral = atomToLiteral(atom, truth);
+			final boolean atomSatisfies = satisfies(atomLiteral, assignment.get(atom));
+			final int atomDecisionLevel = strongDecisionLevel(atom);
+			final BinaryWatchList binaryWatchList = binaryWatches[atomLiteral];
+			for (int i = 0; i < binaryWatchList.getNumberOfNoGoodsWithHead(); i++) {
+				checkAlphaWatch(atomLiteral, atomSatisfies, atomDecisionLevel, binaryWatchList.getOtherLiteralOfNoGoodWithHead(i));
+			}
+			final int[] watchList = watchesAlpha[atomLiteral];
+			for (int i = 0; i < watchesAlphaSizes[atomLiteral]; i += 2) {
+				checkAlphaWatch(atomLiteral, atomSatisfies, atomDecisionLevel, watchList[i + 1]);
+			}
+		}
+
+		private void checkAlphaWatch(int atomLiteral, boolean atomSatisfies, int atomDecisionLevel, int headLiteral) {
+			if (headLiteral == atomLiteral) {
+				throw oops("Watch invariant violated: alpha watch points at head.");
+			}
+			final Assignment.Entry headEntry = assignment.get(atomOf(headLiteral));
+			// Head "pointer" is never moved and violation is checked by weak propagation, hence a violated head is okay.
+			final boolean headViolates = headEntry != null && isPositive(headLiteral) == headEntry.getTruth().toBoolean();
+			final boolean headSatisfies = satisfies(headLiteral, headEntry);
+			final int headDecisionLevel = trailAwareStrongDecisionLevel(atomOf(headLiteral));
+			if (headViolates
+				|| atomDecisionLevel == UNASSIGNED && headDecisionLevel == UNASSIGNED
+				|| atomSatisfies && headDecisionLevel >= atomDecisionLevel
+				|| headSatisfies && atomDecisionLevel >= headDecisionLevel) {
+				return;
+			}
+			throw oops("Watch invariant (alpha) violated");
+		}
+	}
+}
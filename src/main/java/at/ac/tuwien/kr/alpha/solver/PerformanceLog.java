@@ -25,28 +25,28 @@
  */
 package at.ac.tuwien.kr.alpha.solver;
 
+import at.ac.tuwien.kr.alpha.common.metrics.Metric;
+import at.ac.tuwien.kr.alpha.common.metrics.MetricsRegistry;
 import org.slf4j.Logger;
 
 /**
- * Collects performance data (mainly number of decisions per second) and outputs them on demand.
+ * Periodically logs performance data (mainly number of decisions per second) read from a {@link MetricsRegistry}.
  */
 public class PerformanceLog {
 
-	private ChoiceManager choiceManager;
-	private TrailAssignment assignment;
-	private long msBetweenOutputs;
-	
+	private final MetricsRegistry metrics;
+	private final long msBetweenOutputs;
+
 	private Long timeFirstEntry;
 	private Long timeLastPerformanceLog;
-	private int numberOfChoicesLastPerformanceLog;
+	private long numberOfChoicesLastPerformanceLog;
 
 	/**
-	 * @param msBetweenOutputs
+	 * @param metrics the registry to read the performance data from.
+	 * @param msBetweenOutputs the minimum time between two outputs, in milliseconds.
 	 */
-	public PerformanceLog(ChoiceManager choiceManager, TrailAssignment assignment, long msBetweenOutputs) {
-		super();
-		this.choiceManager = choiceManager;
-		this.assignment = assignment;
+	public PerformanceLog(MetricsRegistry metrics, long msBetweenOutputs) {
+		this.metrics = metrics;
 		this.msBetweenOutputs = msBetweenOutputs;
 	}
 
@@ -56,18 +56,23 @@ public void initialize() {
 	}
 
 	/**
-	 * @param logger
+	 * Logs the performance data if at least the configured time has passed since the last output. Metrics are only read
+	 * when they are logged.
+	 * @param logger the logger to output to.
 	 */
 	public void infoIfTimeForOutput(Logger logger) {
 		long currentTime = System.currentTimeMillis();
-		int currentNumberOfChoices = choiceManager.getChoices();
-		if (currentTime >= timeLastPerformanceLog + msBetweenOutputs) {
-			logger.info("Decisions in {}s: {}", (currentTime - timeLastPerformanceLog) / 1000.0f, currentNumberOfChoices - numberOfChoicesLastPerformanceLog);
-			timeLastPerformanceLog = currentTime;
-			numberOfChoicesLastPerformanceLog = currentNumberOfChoices;
-			float overallTime = (currentTime - timeFirstEntry) / 1000.0f;
-			float decisionsPerSec = currentNumberOfChoices / overallTime;
-			logger.info("Overall performance: {} decisions in {}s or {} decisions per sec. Overall replayed assignments: {}.", currentNumberOfChoices, overallTime, decisionsPerSec, assignment.replayCounter);
+		if (currentTime < timeLastPerformanceLog + msBetweenOutputs) {
+			return;
 		}
+		long currentNumberOfChoices = metrics.get(Metric.CHOICES);
+		logger.info("Decisions in {}s: {}", (currentTime - timeLastPerformanceLog) / 1000.0f, currentNumberOfChoices - numberOfChoicesLastPerformanceLog);
+		timeLastPerformanceLog = currentTime;
+		numberOfChoicesLastPerformanceLog = currentNumberOfChoices;
+		float overallTime = (currentTime - timeFirstEntry) / 1000.0f;
+		float decisionsPerSec = currentNumberOfChoices / overallTime;
+		logger.info("Overall performance: {} decisions in {}s or {} decisions per sec. Overall replayed assignments: {}, conflicts: {}, learned nogoods stored: {}.",
+				currentNumberOfChoices, overallTime, decisionsPerSec, metrics.get(Metric.REPLAYED_LITERALS), metrics.get(Metric.CONFLICTS),
+				metrics.get(Metric.STORED_LEARNED_NOGOODS));
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.solver;
+
+import at.ac.tuwien.kr.alpha.common.AnswerSet;
+import at.ac.tuwien.kr.alpha.config.SystemConfig;
+import at.ac.tuwien.kr.alpha.solver.heuristics.BranchingHeuristicFactory.Heuristic;
+import at.ac.tuwien.kr.alpha.solver.restarts.RestartStrategyFactory.Policy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Runs a portfolio of differently configured {@link DefaultSolver}s on separate threads over the same program. The
+ * first solver that finds an answer set or shows that there is none wins; all other solvers are stopped and further
+ * answer sets are enumerated by the winner alone, on the thread consuming the answer sets. While the portfolio runs,
+ * the solvers share short learned nogoods through a {@link LearnedNoGoodExchange}.
+ *
+ * Copyright (c) 2020, the Alpha Team.
+ */
+public class PortfolioSolver implements Solver, SolverMaintainingStatistics {
+	private static final Logger LOGGER = LoggerFactory.getLogger(PortfolioSolver.class);
+
+	private static final Heuristic[] WORKER_HEURISTICS = {Heuristic.VSIDS, Heuristic.GDD_VSIDS, Heuristic.BERKMIN, Heuristic.BERKMINLITERAL};
+	private static final Policy[] WORKER_RESTART_POLICIES = {Policy.LUBY, Policy.GEOMETRIC, Policy.DYNAMIC};
+	private static final Policy FIRST_WORKER_RESTART_POLICY = Policy.LUBY;
+
+	private final List<Worker> workers;
+	private final LearnedNoGoodExchange exchange;
+	private Worker winner;
+	private boolean exhausted;
+
+	PortfolioSolver(List<Worker> workers, LearnedNoGoodExchange exchange) {
+		if (workers.isEmpty()) {
+			throw new IllegalArgumentException("A portfolio requires at least one solver.");
+		}
+		this.workers = new ArrayList<>(workers);
+		this.exchange = exchange;
+	}
+
+	/**
+	 * Derives the configuration of a solver in the portfolio. The first solver uses the given configuration, except that
+	 * it restarts according to {@link #FIRST_WORKER_RESTART_POLICY} if the configuration has no restart policy: solvers
+	 * only add nogoods shared by others at decision level zero, which a solver that never restarts seldom returns to. All
+	 * others use different branching heuristics, restart policies, phase saving and seeds.
+	 * @param config the configuration the portfolio is run with.
+	 * @param worker the index of the solver in the portfolio.
+	 * @return the configuration of the solver.
+	 */
+	public static SystemConfig getWorkerConfig(SystemConfig config, int worker) {
+		if (worker == 0) {
+			if (config.getRestartPolicy() != Policy.NONE) {
+				return config;
+			}
+			SystemConfig workerConfig = new SystemConfig(config);
+			workerConfig.setRestartPolicy(FIRST_WORKER_RESTART_POLICY);
+			return workerConfig;
+		}
+		SystemConfig workerConfig = new SystemConfig(config);
+		workerConfig.setSeed(config.getSeed() + worker);
+		workerConfig.setBranchingHeuristic(WORKER_HEURISTICS[(worker - 1) % WORKER_HEURISTICS.length]);
+		workerConfig.setRestartPolicy(WORKER_RESTART_POLICIES[(worker - 1) % WORKER_RESTART_POLICIES.length]);
+		workerConfig.setPhaseSaving(worker % 2 == 0);
+		workerConfig.setReplayChoices(SystemConfig.DEFAULT_REPLAY_CHOICES);
+		workerConfig.setThreads(1);
+		return workerConfig;
+	}
+
+	@Override
+	public Spliterator<AnswerSet> spliterator() {
+		return new Spliterators.AbstractSpliterator<AnswerSet>(Long.MAX_VALUE, 0) {
+			@Override
+			public boolean tryAdvance(Consumer<? super AnswerSet> action) {
+				return PortfolioSolver.this.tryAdvance(action);
+			}
+		};
+	}
+
+	private boolean tryAdvance(Consumer<? super AnswerSet> action) {
+		if (exhausted) {
+			return false;
+		}
+		if (winner != null) {
+			return winner.solver.tryAdvance(action);
+		}
+		AnswerSet answerSet = race();
+		if (answerSet == null) {
+			exhausted = true;
+			return false;
+		}
+		action.accept(answerSet);
+		return true;
+	}
+
+	/**
+	 * Runs all solvers until the first one finishes and makes it the winner.
+	 * @return the answer set found by the winner, or null if it found the program to be unsatisfiable.
+	 */
+	private AnswerSet race() {
+		ExecutorService executor = Executors.newFixedThreadPool(workers.size(), runnable -> {
+			Thread thread = new Thread(runnable, "alpha-portfolio");
+			thread.setDaemon(true);
+			return thread;
+		});
+		CompletionService<Worker> completionService = new ExecutorCompletionService<>(executor);
+		try {
+			for (Worker worker : workers) {
+				completionService.submit(() -> {
+					worker.solve(exchange);
+					return worker;
+				});
+			}
+			winner = completionService.take().get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Interrupted while waiting for the portfolio.", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new RuntimeException(e.getCause());
+		} finally {
+			exchange.close();
+			executor.shutdown();
+		}
+		// The winner enumerates further answer sets on its own, the (learned) enumeration nogoods must not be shared.
+		winner.solver.setNoGoodExchange(null);
+		LOGGER.debug("Portfolio won by {}.", winner.description);
+		workers.clear();
+		workers.add(winner);
+		return winner.answerSet;
+	}
+
+	private SolverMaintainingStatistics getStatisticsSolver() {
+		return winner != null ? winner.solver : workers.get(0).solver;
+	}
+
+	@Override
+	public int getNumberOfChoices() {
+		return getStatisticsSolver().getNumberOfChoices();
+	}
+
+	@Override
+	public int getNumberOfBacktracks() {
+		return getStatisticsSolver().getNumberOfBacktracks();
+	}
+
+	@Override
+	public int getNumberOfBacktracksWithinBackjumps() {
+		return getStatisticsSolver().getNumberOfBacktracksWithinBackjumps();
+	}
+
+	@Override
+	public int getNumberOfBackjumps() {
+		return getStatisticsSolver().getNumberOfBackjumps();
+	}
+
+	@Override
+	public int getNumberOfBacktracksDueToRemnantMBTs() {
+		return getStatisticsSolver().getNumberOfBacktracksDueToRemnantMBTs();
+	}
+
+	@Override
+	public int getNumberOfDeletedNoGoods() {
+		return getStatisticsSolver().getNumberOfDeletedNoGoods();
+	}
+
+	@Override
+	public int getNumberOfRestarts() {
+		return getStatisticsSolver().getNumberOfRestarts();
+	}
+
+	@Override
+	public int getNumberOfConflictsAfterClosing() {
+		return getStatisticsSolver().getNumberOfConflictsAfterClosing();
+	}
+
+	@Override
+	public NoGoodCounter getNoGoodCounter() {
+		return getStatisticsSolver().getNoGoodCounter();
+	}
+
+	/**
+	 * @return a description of the configuration of the winning solver, or null if the portfolio has not been decided yet.
+	 */
+	public String getWinnerDescription() {
+		return winner != null ? winner.description : null;
+	}
+
+	@Override
+	public String getStatisticsString() {
+		if (winner == null) {
+			return "portfolio of " + workers.size() + " solvers not yet run";
+		}
+		return "portfolio winner: " + winner.description + ", shared_ng_out=" + winner.participant.getNumberOfPublishedNoGoods()
+				+ ", shared_ng_in=" + winner.participant.getNumberOfReceivedNoGoods() + System.lineSeparator()
+				+ SolverMaintainingStatistics.super.getStatisticsString();
+	}
+
+	/**
+	 * A solver of the portfolio along with its handle on the nogood exchange.
+	 */
+	static final class Worker {
+		private final DefaultSolver solver;
+		private final LearnedNoGoodExchange.Participant participant;
+		private final String description;
+		private AnswerSet answerSet;
+
+		Worker(int index, SystemConfig config, DefaultSolver solver, LearnedNoGoodExchange.Participant participant) {
+			this.solver = solver;
+			this.participant = participant;
+			this.description = "solver " + index + " (heuristic=" + config.getBranchingHeuristic() + ", restarts=" + config.getRestartPolicy()
+					+ ", phaseSaving=" + config.isPhaseSaving() + ", seed=" + config.getSeed() + ")";
+			solver.setNoGoodExchange(participant);
+		}
+
+		private void solve(LearnedNoGoodExchange exchange) {
+			if (exchange.isClosed()) {
+				return;
+			}
+			solver.tryAdvance(found -> answerSet = found);
+		}
+	}
+}
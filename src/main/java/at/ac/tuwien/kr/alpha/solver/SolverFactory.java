@@ -28,15 +28,28 @@
 package at.ac.tuwien.kr.alpha.solver;
 
 import at.ac.tuwien.kr.alpha.common.AtomStore;
+import at.ac.tuwien.kr.alpha.common.AtomStoreFactory;
+import at.ac.tuwien.kr.alpha.common.metrics.MetricsRegistry;
 import at.ac.tuwien.kr.alpha.config.SystemConfig;
 import at.ac.tuwien.kr.alpha.grounder.Grounder;
 import at.ac.tuwien.kr.alpha.solver.heuristics.HeuristicsConfiguration;
 import at.ac.tuwien.kr.alpha.solver.heuristics.HeuristicsConfigurationBuilder;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
+import java.util.function.Function;
 
 public final class SolverFactory {
 	public static Solver getInstance(SystemConfig config, AtomStore atomStore, Grounder grounder) {
+		return getInstance(config, atomStore, grounder, new MetricsRegistry());
+	}
+
+	/**
+	 * Creates a solver that reports its metrics (and those of its grounder) to the given registry. The naive solver
+	 * does not report any metrics.
+	 */
+	public static Solver getInstance(SystemConfig config, AtomStore atomStore, Grounder grounder, MetricsRegistry metrics) {
 		final String solverName = config.getSolverName();
 		final String nogoodStoreName = config.getNogoodStoreName();
 		final Random random = new Random(config.getSeed());
@@ -53,19 +66,55 @@ public static Solver getInstance(SystemConfig config, AtomStore atomStore, Groun
 			case "alpharoaming":
 				store = new NoGoodStoreAlphaRoaming(assignment, debugInternalChecks);
 				break;
+			case "alpharoamingarena":
+				store = new NoGoodStoreAlphaRoamingArena(assignment, debugInternalChecks);
+				break;
 			default:
 				throw new IllegalArgumentException("Unknown store requested.");
 		}
 
 		switch (solverName.toLowerCase()) {
 			case "naive" :
+				if (config.isNativeAggregates()) {
+					throw new IllegalArgumentException("Native aggregates require the default solver.");
+				}
 				return new NaiveSolver(atomStore, grounder);
 			case "default":
-				return new DefaultSolver(atomStore, grounder, store, assignment, random, config, heuristicsConfiguration);
+				return new DefaultSolver(atomStore, grounder, store, assignment, random, config, heuristicsConfiguration, metrics);
 		}
 		throw new IllegalArgumentException("Unknown solver requested.");
 	}
 
+	/**
+	 * Creates a {@link PortfolioSolver} running as many differently configured default solvers as the given configuration
+	 * has threads. Each solver grounds the program on its own, using its own atom store.
+	 * @param config the configuration of the portfolio, see {@link PortfolioSolver#getWorkerConfig(SystemConfig, int)}.
+	 * @param grounderFactory creates a grounder for the program using the given atom store.
+	 * @return a portfolio solver.
+	 */
+	public static Solver getPortfolioInstance(SystemConfig config, Function<AtomStore, Grounder> grounderFactory) {
+		return getPortfolioInstance(config, grounderFactory, new MetricsRegistry());
+	}
+
+	/**
+	 * Creates a {@link PortfolioSolver} like {@link #getPortfolioInstance(SystemConfig, Function)}, whose solvers all
+	 * report to the given registry, i.e., the metrics are summed up over all solvers.
+	 */
+	public static Solver getPortfolioInstance(SystemConfig config, Function<AtomStore, Grounder> grounderFactory, MetricsRegistry metrics) {
+		if (!"default".equals(config.getSolverName().toLowerCase())) {
+			throw new IllegalArgumentException("Portfolio solving requires the default solver.");
+		}
+		final LearnedNoGoodExchange exchange = new LearnedNoGoodExchange();
+		final List<PortfolioSolver.Worker> workers = new ArrayList<>();
+		for (int i = 0; i < config.getThreads(); i++) {
+			final SystemConfig workerConfig = PortfolioSolver.getWorkerConfig(config, i);
+			final AtomStore atomStore = AtomStoreFactory.getInstance(workerConfig.getAtomStoreName());
+			final DefaultSolver solver = (DefaultSolver) getInstance(workerConfig, atomStore, grounderFactory.apply(atomStore), metrics);
+			workers.add(new PortfolioSolver.Worker(i, workerConfig, solver, exchange.join(atomStore)));
+		}
+		return new PortfolioSolver(workers, exchange);
+	}
+
 	private static HeuristicsConfiguration buildHeuristicsConfiguration(SystemConfig config) {
 		HeuristicsConfigurationBuilder heuristicsConfigurationBuilder = HeuristicsConfiguration.builder();
 		heuristicsConfigurationBuilder.setHeuristic(config.getBranchingHeuristic());
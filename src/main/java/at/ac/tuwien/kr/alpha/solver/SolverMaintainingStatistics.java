@@ -40,6 +40,11 @@ public interface SolverMaintainingStatistics {
 	int getNumberOfBacktracksDueToRemnantMBTs();
 
 	int getNumberOfDeletedNoGoods();
+
+	/**
+	 * @return the number of times the solver restarted its search
+	 */
+	int getNumberOfRestarts();
 	
 	/**
 	 * @return the number of times the solver had to backtrack after closing unassigned atoms
@@ -51,11 +56,11 @@ public interface SolverMaintainingStatistics {
 	default String getStatisticsString() {
 		return "g=" + getNumberOfChoices() + ", bt=" + getNumberOfBacktracks() + ", bj=" + getNumberOfBackjumps() + ", bt_within_bj="
 				+ getNumberOfBacktracksWithinBackjumps() + ", mbt=" + getNumberOfBacktracksDueToRemnantMBTs() + ", cac=" + getNumberOfConflictsAfterClosing()
-				+ ", del_ng=" + getNumberOfDeletedNoGoods();
+				+ ", del_ng=" + getNumberOfDeletedNoGoods() + ", rs=" + getNumberOfRestarts();
 	}
 	
 	default String getStatisticsCSV() {
-		return String.format("%d,%d,%d,%d,%d,%d,%d", getNumberOfChoices(), getNumberOfBacktracks(), getNumberOfBackjumps(), getNumberOfBacktracksWithinBackjumps(), getNumberOfBacktracksDueToRemnantMBTs(), getNumberOfConflictsAfterClosing(), getNumberOfDeletedNoGoods());
+		return String.format("%d,%d,%d,%d,%d,%d,%d,%d", getNumberOfChoices(), getNumberOfBacktracks(), getNumberOfBackjumps(), getNumberOfBacktracksWithinBackjumps(), getNumberOfBacktracksDueToRemnantMBTs(), getNumberOfConflictsAfterClosing(), getNumberOfDeletedNoGoods(), getNumberOfRestarts());
 	}
 
 	default void printStatistics(PrintStream out) {
@@ -92,9 +92,11 @@ public void decreaseActivity() {
 	private int newAssignmentsPositionInTrail;
 	private int newAssignmentsIterator;
 	private int assignmentsForChoicePosition;
+	private int weightConstraintsPosition;
 	private int mbtCount;
 	private boolean checksEnabled;
 	long replayCounter;
+	long propagatedLiteralsCounter;
 
 	public TrailAssignment(AtomStore atomStore, boolean checksEnabled) {
 		this.checksEnabled = checksEnabled;
@@ -108,6 +110,7 @@ public TrailAssignment(AtomStore atomStore, boolean checksEnabled) {
 		newAssignmentsIterator = 0;
 		newAssignmentsPositionInTrail = 0;
 		assignmentsForChoicePosition = 0;
+		weightConstraintsPosition = 0;
 	}
 
 	public TrailAssignment(AtomStore atomStore) {
@@ -131,6 +134,7 @@ public void clear() {
 		newAssignmentsIterator = 0;
 		newAssignmentsPositionInTrail = 0;
 		assignmentsForChoicePosition = 0;
+		weightConstraintsPosition = 0;
 	}
 
 	@Override
@@ -271,6 +275,7 @@ private void resetTrailPointersAndReplayOutOfOrderLiterals() {
 		newAssignmentsPositionInTrail = Math.min(newAssignmentsPositionInTrail, trailSize);
 		newAssignmentsIterator = Math.min(newAssignmentsIterator, trailSize);
 		assignmentsForChoicePosition = Math.min(assignmentsForChoicePosition, trailSize);
+		weightConstraintsPosition = Math.min(weightConstraintsPosition, trailSize);
 		replayOutOfOrderLiterals();
 		if (checksEnabled) {
 			runInternalChecks();
@@ -353,6 +358,9 @@ private ConflictCause assignWithTrail(int atom, ThriceTruth value, Antecedent im
 			trail[trailSize++] = atomToLiteral(atom, value.toBoolean());
 			values[atom] = (getDecisionLevel() << 2) | translateTruth(value);
 			this.impliedBy[atom] = impliedBy;
+			if (impliedBy != null) {
+				propagatedLiteralsCounter++;
+			}
 			// Adjust MBT counter.
 			if (value == MBT) {
 				mbtCount++;
@@ -434,6 +442,13 @@ public ThriceTruth getTruth(int atom) {
 		return translateTruth(values[atom]);
 	}
 
+	@Override
+	public boolean isComplementaryAssigned(int literal) {
+		// Note: FALSE is encoded as 1, MBT and TRUE as 2 and 3 (cf. translateTruth).
+		final int truth = values[atomOf(literal)] & 0x3;
+		return isPositive(literal) ? truth == 1 : truth >= 2;
+	}
+
 	@Override
 	public int getWeakDecisionLevel(int atom) {
 		return values[atom] >> 2;
@@ -672,6 +687,27 @@ public boolean isEmpty() {
 		}
 	}
 
+	/**
+	 * Returns the position in the trail up to which literals have been processed by the {@link WeightConstraintPropagator}.
+	 * Backtracking resets the position to the end of the remaining trail, hence all literals from the position onwards are
+	 * either unprocessed or replace literals that have been processed before.
+	 */
+	int getWeightConstraintsPosition() {
+		return weightConstraintsPosition;
+	}
+
+	void setWeightConstraintsPosition(int position) {
+		weightConstraintsPosition = position;
+	}
+
+	int getTrailSize() {
+		return trailSize;
+	}
+
+	int getTrailLiteral(int position) {
+		return trail[position];
+	}
+
 	public TrailBackwardsWalker getTrailBackwardsWalker() {
 		return new TrailBackwardsWalker();
 	}
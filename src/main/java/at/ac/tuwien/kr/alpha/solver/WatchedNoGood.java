@@ -35,7 +35,7 @@
 import static at.ac.tuwien.kr.alpha.Util.oops;
 import static at.ac.tuwien.kr.alpha.common.Literals.literalToString;
 
-public final class WatchedNoGood implements NoGoodInterface, Antecedent {
+public final class WatchedNoGood implements NoGoodInterface, LearnedNoGoodDeletion.DeletableNoGood {
 	private int activity;
 	private final int[] literals;
 	private int alpha;
@@ -189,6 +189,7 @@ public int[] getReasonLiterals() {
 		return literals;
 	}
 
+	@Override
 	public int getActivity() {
 		return activity;
 	}
@@ -207,7 +208,8 @@ void setLBD(int lbd) {
 		isLbdLessOrEqual2 = lbd <= 2;
 	}
 
-	boolean isLbdLessOrEqual2() {
+	@Override
+	public boolean isLbdLessOrEqual2() {
 		return isLbdLessOrEqual2;
 	}
 }
@@ -0,0 +1,400 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.solver;
+
+import at.ac.tuwien.kr.alpha.common.WeightConstraint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import static at.ac.tuwien.kr.alpha.Util.arrayGrowthSize;
+import static at.ac.tuwien.kr.alpha.common.Literals.atomOf;
+import static at.ac.tuwien.kr.alpha.common.Literals.atomToLiteral;
+import static at.ac.tuwien.kr.alpha.common.Literals.atomToNegatedLiteral;
+import static at.ac.tuwien.kr.alpha.solver.ThriceTruth.FALSE;
+import static at.ac.tuwien.kr.alpha.solver.ThriceTruth.MBT;
+import static at.ac.tuwien.kr.alpha.solver.ThriceTruth.TRUE;
+
+/**
+ * Propagates {@link WeightConstraint}s natively, i.e., without encoding them into nogoods. For each constraint the sum
+ * of the weights of all TRUE inputs and the sum of the weights of all TRUE or MBT inputs is maintained incrementally
+ * by following the trail of the {@link TrailAssignment}. Whenever the bound of a constraint holds, its output is
+ * derived (MBT or TRUE) once the sums reach the lower bound, and if the output is FALSE, all inputs that would make the
+ * sum reach the lower bound are assigned FALSE.
+ *
+ * Since weight constraints may be extended by further inputs while grounding proceeds, the output is never derived to
+ * be FALSE from the sum of possible inputs; this is left to the closing of the assignment.
+ */
+public class WeightConstraintPropagator {
+	private static final Logger LOGGER = LoggerFactory.getLogger(WeightConstraintPropagator.class);
+
+	private final TrailAssignment assignment;
+	private final Map<WeightConstraint, ConstraintState> constraintStates = new HashMap<>();
+	private final ArrayDeque<ConstraintState> dirtyConstraints = new ArrayDeque<>();
+
+	@SuppressWarnings("unchecked")
+	private ArrayList<InputWatch>[] inputWatches = new ArrayList[0];
+	@SuppressWarnings("unchecked")
+	private ArrayList<ConstraintState>[] boundAndOutputWatches = new ArrayList[0];
+	private ThriceTruth[] accountedTruth = new ThriceTruth[0];
+
+	// Undo log: for each accounted trail position, the atom and its accounted truth before.
+	private int[] undoPositions = new int[16];
+	private int[] undoAtoms = new int[16];
+	private ThriceTruth[] undoTruths = new ThriceTruth[16];
+	private int undoSize;
+
+	// Newly watched input atoms whose current truth has not been accounted yet.
+	private final ArrayList<Integer> unaccountedAtoms = new ArrayList<>();
+
+	private boolean didPropagate;
+	private int numPropagatedLiterals;
+
+	public WeightConstraintPropagator(TrailAssignment assignment) {
+		this.assignment = assignment;
+	}
+
+	public void growForMaxAtomId(int maxAtomId) {
+		if (maxAtomId < accountedTruth.length) {
+			return;
+		}
+		int newCapacity = arrayGrowthSize(accountedTruth.length);
+		if (newCapacity < maxAtomId + 1) {
+			newCapacity = maxAtomId + 1;
+		}
+		inputWatches = Arrays.copyOf(inputWatches, newCapacity);
+		boundAndOutputWatches = Arrays.copyOf(boundAndOutputWatches, newCapacity);
+		accountedTruth = Arrays.copyOf(accountedTruth, newCapacity);
+	}
+
+	/**
+	 * Registers new weight constraints and new inputs of weight constraints registered before.
+	 * @param weightConstraints the weight constraints that are new or have been extended.
+	 */
+	public void addWeightConstraints(Collection<WeightConstraint> weightConstraints) {
+		for (WeightConstraint weightConstraint : weightConstraints) {
+			ConstraintState state = constraintStates.get(weightConstraint);
+			if (state == null) {
+				state = new ConstraintState(weightConstraint);
+				constraintStates.put(weightConstraint, state);
+				addBoundOrOutputWatch(weightConstraint.getOutputAtom(), state);
+				if (!weightConstraint.isBoundFact()) {
+					addBoundOrOutputWatch(weightConstraint.getBoundAtom(), state);
+				}
+			}
+			// Facts may be added to the constraint after its registration.
+			long factWeightIncrease = weightConstraint.getFactWeight() - state.registeredFactWeight;
+			state.registeredFactWeight = weightConstraint.getFactWeight();
+			state.sumTrue += factWeightIncrease;
+			state.sumTrueOrMbt += factWeightIncrease;
+			for (int i = state.numRegisteredInputs; i < weightConstraint.getNumInputs(); i++) {
+				addInputWatch(weightConstraint.getInputAtom(i), new InputWatch(state, weightConstraint.getInputWeight(i)));
+			}
+			state.numRegisteredInputs = weightConstraint.getNumInputs();
+			markDirty(state);
+		}
+	}
+
+	private void addBoundOrOutputWatch(int atom, ConstraintState state) {
+		if (boundAndOutputWatches[atom] == null) {
+			boundAndOutputWatches[atom] = new ArrayList<>();
+		}
+		boundAndOutputWatches[atom].add(state);
+	}
+
+	private void addInputWatch(int atom, InputWatch watch) {
+		if (inputWatches[atom] == null) {
+			inputWatches[atom] = new ArrayList<>();
+			unaccountedAtoms.add(atom);
+		}
+		inputWatches[atom].add(watch);
+		// The new watch contributes the truth already accounted for its atom, further changes are accounted by sync().
+		ThriceTruth truth = accountedTruth[atom];
+		watch.state.sumTrue += truth == TRUE ? watch.weight : 0;
+		watch.state.sumTrueOrMbt += truth == TRUE || truth == MBT ? watch.weight : 0;
+	}
+
+	/**
+	 * Propagates all weight constraints affected by changes of the assignment since the last call.
+	 * @return the cause of a conflict, or null if no conflict occurred.
+	 */
+	public ConflictCause propagate() {
+		didPropagate = false;
+		if (constraintStates.isEmpty()) {
+			return null;
+		}
+		sync();
+		ConstraintState state;
+		while ((state = dirtyConstraints.poll()) != null) {
+			state.dirty = false;
+			ConflictCause conflictCause = propagate(state);
+			if (conflictCause != null) {
+				// Check the constraint again once the conflict is resolved.
+				markDirty(state);
+				return conflictCause;
+			}
+			sync();
+		}
+		return null;
+	}
+
+	public boolean didPropagate() {
+		return didPropagate;
+	}
+
+	public int getNumPropagatedLiterals() {
+		return numPropagatedLiterals;
+	}
+
+	/**
+	 * Brings the accounted sums in line with the current assignment: accounting of literals removed from the trail by
+	 * backtracking is reverted via the undo log, then all new literals on the trail are accounted.
+	 */
+	private void sync() {
+		int position = assignment.getWeightConstraintsPosition();
+		if (undoSize > 0 && undoPositions[undoSize - 1] >= position) {
+			ArrayList<Integer> revertedAtoms = new ArrayList<>();
+			while (undoSize > 0 && undoPositions[undoSize - 1] >= position) {
+				undoSize--;
+				updateAccountedTruth(undoAtoms[undoSize], undoTruths[undoSize]);
+				undoTruths[undoSize] = null;
+				revertedAtoms.add(undoAtoms[undoSize]);
+			}
+			// A reverted atom may still be assigned at a lower position, e.g., MBT before it was TRUE.
+			for (int atom : revertedAtoms) {
+				ThriceTruth truth = assignment.getTruth(atom);
+				if (truth != accountedTruth[atom]) {
+					account(atom, truth, position - 1);
+				}
+			}
+		}
+		int trailSize = assignment.getTrailSize();
+		for (; position < trailSize; position++) {
+			int atom = atomOf(assignment.getTrailLiteral(position));
+			if (atom >= accountedTruth.length) {
+				continue;
+			}
+			if (inputWatches[atom] != null) {
+				account(atom, assignment.getTruth(atom), position);
+			}
+			if (boundAndOutputWatches[atom] != null) {
+				for (ConstraintState state : boundAndOutputWatches[atom]) {
+					markDirty(state);
+				}
+			}
+		}
+		assignment.setWeightConstraintsPosition(trailSize);
+		for (int atom : unaccountedAtoms) {
+			ThriceTruth truth = assignment.getTruth(atom);
+			if (truth != accountedTruth[atom]) {
+				account(atom, truth, trailSize - 1);
+			}
+		}
+		unaccountedAtoms.clear();
+	}
+
+	private void account(int atom, ThriceTruth truth, int position) {
+		if (truth != null) {
+			// Unassigned atoms never get assigned by backtracking, hence there is nothing to undo.
+			pushUndo(position, atom, accountedTruth[atom]);
+		}
+		if (truth != accountedTruth[atom]) {
+			updateAccountedTruth(atom, truth);
+		}
+	}
+
+	private void pushUndo(int position, int atom, ThriceTruth previousTruth) {
+		if (undoSize == undoPositions.length) {
+			int newCapacity = arrayGrowthSize(undoSize);
+			undoPositions = Arrays.copyOf(undoPositions, newCapacity);
+			undoAtoms = Arrays.copyOf(undoAtoms, newCapacity);
+			undoTruths = Arrays.copyOf(undoTruths, newCapacity);
+		}
+		undoPositions[undoSize] = position;
+		undoAtoms[undoSize] = atom;
+		undoTruths[undoSize] = previousTruth;
+		undoSize++;
+	}
+
+	private void updateAccountedTruth(int atom, ThriceTruth truth) {
+		ThriceTruth previousTruth = accountedTruth[atom];
+		accountedTruth[atom] = truth;
+		int trueDelta = (truth == TRUE ? 1 : 0) - (previousTruth == TRUE ? 1 : 0);
+		int trueOrMbtDelta = (truth == TRUE || truth == MBT ? 1 : 0) - (previousTruth == TRUE || previousTruth == MBT ? 1 : 0);
+		if (trueDelta == 0 && trueOrMbtDelta == 0) {
+			return;
+		}
+		for (InputWatch watch : inputWatches[atom]) {
+			watch.state.sumTrue += trueDelta * watch.weight;
+			watch.state.sumTrueOrMbt += trueOrMbtDelta * watch.weight;
+			// Only increased sums may enable propagation.
+			if (trueDelta > 0 || trueOrMbtDelta > 0) {
+				markDirty(watch.state);
+			}
+		}
+	}
+
+	private void markDirty(ConstraintState state) {
+		if (!state.dirty) {
+			state.dirty = true;
+			dirtyConstraints.add(state);
+		}
+	}
+
+	private ConflictCause propagate(ConstraintState state) {
+		WeightConstraint weightConstraint = state.weightConstraint;
+		ThriceTruth boundTruth = weightConstraint.isBoundFact() ? TRUE : assignment.getTruth(weightConstraint.getBoundAtom());
+		if (boundTruth == null || boundTruth == FALSE) {
+			return null;
+		}
+		int lowerBound = weightConstraint.getLowerBound();
+		int outputAtom = weightConstraint.getOutputAtom();
+		ThriceTruth outputTruth = assignment.getTruth(outputAtom);
+		if (outputTruth == FALSE) {
+			if (state.sumTrueOrMbt >= lowerBound) {
+				// The output must hold but is false.
+				return new ConflictCause(new WeightConstraintAntecedent(buildReason(weightConstraint, false, 0, 0)));
+			}
+			// Every input that would make the sum reach the lower bound must be false.
+			long slack = lowerBound - state.sumTrueOrMbt;
+			for (int i = 0; i < weightConstraint.getNumInputs(); i++) {
+				int inputAtom = weightConstraint.getInputAtom(i);
+				int weight = weightConstraint.getInputWeight(i);
+				if (weight < slack || assignment.getTruth(inputAtom) != null) {
+					continue;
+				}
+				Antecedent reason = new WeightConstraintAntecedent(buildReason(weightConstraint, false, inputAtom, weight));
+				ConflictCause conflictCause = assignment.assign(inputAtom, FALSE, reason);
+				if (conflictCause != null) {
+					return conflictCause;
+				}
+				LOGGER.trace("Weight constraint {} propagated input {} to false.", weightConstraint, inputAtom);
+				didPropagate = true;
+				numPropagatedLiterals++;
+			}
+			return null;
+		}
+		if (outputTruth == TRUE) {
+			return null;
+		}
+		ConflictCause conflictCause = null;
+		if (boundTruth == TRUE && state.sumTrue >= lowerBound) {
+			conflictCause = assignment.assign(outputAtom, TRUE, new WeightConstraintAntecedent(buildReason(weightConstraint, true, 0, 0)));
+		} else if (outputTruth == null && state.sumTrueOrMbt >= lowerBound) {
+			conflictCause = assignment.assign(outputAtom, MBT, new WeightConstraintAntecedent(buildReason(weightConstraint, false, 0, 0)));
+		} else {
+			return null;
+		}
+		if (conflictCause == null) {
+			LOGGER.trace("Weight constraint {} propagated its output.", weightConstraint);
+			didPropagate = true;
+			numPropagatedLiterals++;
+		}
+		return conflictCause;
+	}
+
+	/**
+	 * Builds the reason of a propagation in nogood form, i.e., the false output, the bound, and sufficiently many inputs
+	 * such that their weights together with the weight of the given implied input reach the lower bound.
+	 */
+	private int[] buildReason(WeightConstraint weightConstraint, boolean onlyTrueInputs, int impliedInputAtom, int impliedInputWeight) {
+		int[] literals = new int[weightConstraint.getNumInputs() + 3];
+		int numLiterals = 0;
+		literals[numLiterals++] = atomToNegatedLiteral(weightConstraint.getOutputAtom());
+		if (!weightConstraint.isBoundFact()) {
+			literals[numLiterals++] = atomToLiteral(weightConstraint.getBoundAtom());
+		}
+		if (impliedInputAtom != 0) {
+			literals[numLiterals++] = atomToLiteral(impliedInputAtom);
+		}
+		long requiredWeight = weightConstraint.getLowerBound() - weightConstraint.getFactWeight() - impliedInputWeight;
+		long weight = 0;
+		for (int i = 0; i < weightConstraint.getNumInputs() && weight < requiredWeight; i++) {
+			int inputWeight = weightConstraint.getInputWeight(i);
+			if (inputWeight == 0) {
+				continue;
+			}
+			int inputAtom = weightConstraint.getInputAtom(i);
+			ThriceTruth truth = assignment.getTruth(inputAtom);
+			if (truth == TRUE || !onlyTrueInputs && truth == MBT) {
+				literals[numLiterals++] = atomToLiteral(inputAtom);
+				weight += inputWeight;
+			}
+		}
+		return Arrays.copyOf(literals, numLiterals);
+	}
+
+	private static class ConstraintState {
+		private final WeightConstraint weightConstraint;
+		private long registeredFactWeight;
+		private int numRegisteredInputs;
+		// Sums are kept as longs, such that many large weights cannot overflow them.
+		private long sumTrue;
+		private long sumTrueOrMbt;
+		private boolean dirty;
+
+		ConstraintState(WeightConstraint weightConstraint) {
+			this.weightConstraint = weightConstraint;
+		}
+	}
+
+	private static class InputWatch {
+		private final ConstraintState state;
+		private final int weight;
+
+		InputWatch(ConstraintState state, int weight) {
+			this.state = state;
+			this.weight = weight;
+		}
+	}
+
+	private static class WeightConstraintAntecedent implements Antecedent {
+		private final int[] reasonLiterals;
+
+		WeightConstraintAntecedent(int[] reasonLiterals) {
+			this.reasonLiterals = reasonLiterals;
+		}
+
+		@Override
+		public int[] getReasonLiterals() {
+			return reasonLiterals;
+		}
+
+		@Override
+		public void bumpActivity() {
+		}
+
+		@Override
+		public void decreaseActivity() {
+		}
+	}
+}
@@ -30,11 +30,7 @@
 import at.ac.tuwien.kr.alpha.solver.ThriceTruth;
 import at.ac.tuwien.kr.alpha.solver.heuristics.activity.BodyActivityProviderFactory.BodyActivityType;
 
-import java.util.Comparator;
-import java.util.Optional;
 import java.util.Random;
-import java.util.Set;
-import java.util.stream.Stream;
 
 /**
  * A variant of {@link DependencyDrivenHeuristic} that prefers to choose atoms representing bodies of rules whose heads
@@ -54,12 +50,27 @@ public AlphaHeadMustBeTrueHeuristic(Assignment assignment, ChoiceManager choiceM
 
 	@Override
 	public int chooseLiteral() {
-		Set<Integer> heads = headToBodies.keySet();
-		Stream<Integer> bodiesOfMbtHeads = heads.stream().filter(a -> assignment.getTruth(a) == ThriceTruth.MBT).flatMap(h -> headToBodies.get(h).stream());
-		Optional<Integer> mostActiveBody = bodiesOfMbtHeads.filter(this::isUnassigned).filter(choiceManager::isActiveChoiceAtom)
-				.max(Comparator.comparingDouble(bodyActivity::get));
-		if (mostActiveBody.isPresent()) {
-			rememberedAtom = mostActiveBody.get();
+		int mostActiveBody = DEFAULT_CHOICE_ATOM;
+		double highestActivity = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < headToBodies.getNumberOfKeys(); i++) {
+			int head = headToBodies.getKey(i);
+			if (assignment.getTruth(head) != ThriceTruth.MBT) {
+				continue;
+			}
+			for (int j = 0; j < headToBodies.size(head); j++) {
+				int body = headToBodies.get(head, j);
+				if (!isUnassigned(body) || !choiceManager.isActiveChoiceAtom(body)) {
+					continue;
+				}
+				double activity = bodyActivity.get(body);
+				if (activity > highestActivity) {
+					highestActivity = activity;
+					mostActiveBody = body;
+				}
+			}
+		}
+		if (mostActiveBody != DEFAULT_CHOICE_ATOM) {
+			rememberedAtom = mostActiveBody;
 			return rememberedAtom;
 		}
 		return super.chooseLiteral();
@@ -26,17 +26,18 @@
 package at.ac.tuwien.kr.alpha.solver.heuristics;
 
 import at.ac.tuwien.kr.alpha.common.Assignment;
-import at.ac.tuwien.kr.alpha.common.Literals;
 import at.ac.tuwien.kr.alpha.common.NoGood;
 import at.ac.tuwien.kr.alpha.solver.ChoiceManager;
 import at.ac.tuwien.kr.alpha.solver.ThriceTruth;
+import at.ac.tuwien.kr.alpha.solver.heuristics.activity.ActivityCounters;
 import at.ac.tuwien.kr.alpha.solver.learning.GroundConflictNoGoodLearner.ConflictAnalysisResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
-import java.util.stream.Stream;
+import java.util.function.IntUnaryOperator;
 
+import static at.ac.tuwien.kr.alpha.Util.arrayGrowthSize;
 import static at.ac.tuwien.kr.alpha.common.Literals.atomOf;
 import static at.ac.tuwien.kr.alpha.common.Literals.atomToLiteral;
 import static at.ac.tuwien.kr.alpha.solver.ThriceTruth.FALSE;
@@ -62,8 +63,8 @@ public class BerkMin implements ActivityBasedBranchingHeuristic {
 	final ChoiceManager choiceManager;
 	final Random rand;
 
-	private Map<Integer, Double> activityCounters = new LinkedHashMap<>();
-	private Map<Integer, Integer> signCounters = new LinkedHashMap<>();
+	private final ActivityCounters activityCounters = new ActivityCounters();
+	private int[] signCounters = new int[0];
 	private Deque<NoGood> stackOfNoGoods = new ArrayDeque<>();
 	private int decayPeriod;
 	private double decayFactor;
@@ -151,7 +152,28 @@ private int numChoicePoints(NoGood noGood) {
 
 	@Override
 	public double getActivity(int literal) {
-		return activityCounters.getOrDefault(atomOf(literal), DEFAULT_ACTIVITY);
+		return activityCounters.get(atomOf(literal));
+	}
+
+	@Override
+	public void growForMaxAtomId(int maxAtomId) {
+		activityCounters.growForMaxAtomId(maxAtomId);
+		growSignCountersForMaxLiteral(atomToLiteral(maxAtomId, false));
+	}
+
+	private void growSignCountersForMaxLiteral(int maxLiteral) {
+		if (signCounters.length > maxLiteral) {
+			return;
+		}
+		int newCapacity = arrayGrowthSize(signCounters.length);
+		if (newCapacity < maxLiteral + 1) {
+			newCapacity = maxLiteral + 1;
+		}
+		signCounters = Arrays.copyOf(signCounters, newCapacity);
+	}
+
+	private int getSignCounter(int literal) {
+		return literal >= 0 && literal < signCounters.length ? signCounters[literal] : DEFAULT_SIGN_COUNTER;
 	}
 
 	/**
@@ -185,8 +207,8 @@ private boolean chooseSign(int atom) {
 			return true;
 		}
 
-		int positiveCounter = signCounters.getOrDefault(+atom, DEFAULT_SIGN_COUNTER);
-		int negativeCounter = signCounters.getOrDefault(-atom, DEFAULT_SIGN_COUNTER);
+		int positiveCounter = getSignCounter(+atom);
+		int negativeCounter = getSignCounter(-atom);
 
 		if (positiveCounter > negativeCounter) {
 			return false;
@@ -206,7 +228,7 @@ protected void pushToStack(NoGood noGood) {
 	private void incrementActivityCounter(int literal) {
 		int atom = atomOf(literal);
 		if (choiceManager.isAtomChoice(atom)) {
-			activityCounters.compute(atom, (k, v) -> (v == null ? DEFAULT_ACTIVITY : v) + 1);
+			activityCounters.increment(atom);
 		}
 		// TODO: check performance
 		// note that here (and in incrementSignCounter) we only count atoms that are
@@ -218,9 +240,10 @@ private void incrementActivityCounter(int literal) {
 		// integers for rule bodies, uneven for other atoms)
 	}
 	
-	private void incrementSignCounter(Integer literal) {
+	private void incrementSignCounter(int literal) {
 		if (choiceManager.isAtomChoice(atomOf(literal))) {
-			signCounters.compute(literal, (k, v) -> (v == null ? DEFAULT_SIGN_COUNTER : v) + 1);
+			growSignCountersForMaxLiteral(literal);
+			signCounters[literal]++;
 		}
 	}
 
@@ -228,7 +251,7 @@ private void decayAllIfTimeHasCome() {
 		stepsSinceLastDecay++;
 		if (stepsSinceLastDecay >= decayPeriod) {
 			// Decay all:
-			activityCounters.replaceAll((k, v) -> v * decayFactor);
+			activityCounters.decay(decayFactor);
 			stepsSinceLastDecay = 0;
 		}
 	}
@@ -247,25 +270,34 @@ NoGood getCurrentTopClause() {
 	}
 	
 	/**
-	 * If {@code noGood != null}, returns the most active unassigned literal from {@code noGood}. Else, returns the most active atom of all the known atoms.
-	 * @param noGood
-	 * @return
+	 * Returns the most active unassigned atom from {@code noGood}.
 	 */
 	private int getMostActiveChoosableAtom(NoGood noGood) {
-		if (noGood != null) {
-			return getMostActiveChoosableAtom(noGood.stream().boxed().map(Literals::atomOf));
-		} else {
-			return getMostActiveChoosableAtom(activityCounters.keySet().stream());
-		}
+		return getMostActiveChoosableAtom(noGood.size(), i -> atomOf(noGood.getLiteral(i)));
 	}
-	
-	protected int getMostActiveChoosableAtom(Stream<Integer> streamOfLiterals) {
-		return streamOfLiterals
-			.map(Literals::atomOf)
-			.filter(this::isUnassigned)
-			.filter(choiceManager::isActiveChoiceAtom)
-			.max(Comparator.comparingDouble(this::getActivity))
-			.orElse(DEFAULT_CHOICE_ATOM);
+
+	/**
+	 * Returns the most active atom of the given literals that is unassigned and an active choice point.
+	 * If several atoms are most active, the first of them is returned.
+	 * @param numberOfLiterals the number of literals to consider.
+	 * @param literalAt yields the literal at each position from 0 to {@code numberOfLiterals - 1}.
+	 * @return the most active choosable atom, or {@link #DEFAULT_CHOICE_ATOM} if there is none.
+	 */
+	protected int getMostActiveChoosableAtom(int numberOfLiterals, IntUnaryOperator literalAt) {
+		int mostActiveAtom = DEFAULT_CHOICE_ATOM;
+		double highestActivity = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < numberOfLiterals; i++) {
+			int atom = atomOf(literalAt.applyAsInt(i));
+			if (!isUnassigned(atom) || !choiceManager.isActiveChoiceAtom(atom)) {
+				continue;
+			}
+			double activity = getActivity(atom);
+			if (activity > highestActivity) {
+				highestActivity = activity;
+				mostActiveAtom = atom;
+			}
+		}
+		return mostActiveAtom;
 	}
 
 	private boolean isUnassigned(int atom) {
@@ -31,8 +31,6 @@
 import at.ac.tuwien.kr.alpha.common.NoGood;
 import at.ac.tuwien.kr.alpha.solver.ChoiceManager;
 
-import java.util.Deque;
-import java.util.LinkedList;
 import java.util.Random;
 
 import static at.ac.tuwien.kr.alpha.common.Literals.atomOf;
@@ -43,13 +41,18 @@
  */
 public class BerkMinLiteral extends BerkMin {
 
-	private Deque<Integer> activeLiterals = new LinkedList<>();
 	private static final int DEFAULT_QUEUE_SIZE = 32;
 	private final int queueSize;
 
+	// The queue of active literals as a ring buffer, the most recently added literal is at position firstActiveLiteral.
+	private final int[] activeLiterals;
+	private int firstActiveLiteral;
+	private int numberOfActiveLiterals;
+
 	BerkMinLiteral(Assignment assignment, ChoiceManager choiceManager, int decayPeriod, double decayFactor, Random random, int queueSize) {
 		super(assignment, choiceManager, decayPeriod, decayFactor, random);
 		this.queueSize = queueSize;
+		this.activeLiterals = new int[queueSize];
 	}
 
 	BerkMinLiteral(Assignment assignment, ChoiceManager choiceManager, Random random) {
@@ -58,15 +61,16 @@ public class BerkMinLiteral extends BerkMin {
 
 	@Override
 	public int chooseAtom() {
-		return  getMostActiveChoosableAtom(activeLiterals.stream());
+		return getMostActiveChoosableAtom(numberOfActiveLiterals, i -> activeLiterals[(firstActiveLiteral + i) % queueSize]);
 	}
 
-	private void pushToStack(Integer literal) {
+	private void pushToStack(int literal) {
 		if (choiceManager.isAtomChoice(atomOf(literal))) {
-			activeLiterals.addFirst(literal);
-			// Restrict the size of the queue.
-			if (activeLiterals.size() > queueSize) {
-				activeLiterals.removeLast();
+			// Restrict the size of the queue by overwriting the oldest literal once the queue is full.
+			firstActiveLiteral = (firstActiveLiteral + queueSize - 1) % queueSize;
+			activeLiterals[firstActiveLiteral] = literal;
+			if (numberOfActiveLiterals < queueSize) {
+				numberOfActiveLiterals++;
 			}
 		}
 	}
@@ -74,8 +78,8 @@ private void pushToStack(Integer literal) {
 	@Override
 	protected void pushToStack(NoGood noGood) {
 		if (noGood != null) {
-			for (Integer literal : noGood) {
-				pushToStack(literal);
+			for (int i = 0; i < noGood.size(); i++) {
+				pushToStack(noGood.getLiteral(i));
 			}
 		}
 	}
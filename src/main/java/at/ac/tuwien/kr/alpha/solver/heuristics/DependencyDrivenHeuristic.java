@@ -26,23 +26,21 @@
 package at.ac.tuwien.kr.alpha.solver.heuristics;
 
 import at.ac.tuwien.kr.alpha.common.Assignment;
-import at.ac.tuwien.kr.alpha.common.Literals;
 import at.ac.tuwien.kr.alpha.common.NoGood;
 import at.ac.tuwien.kr.alpha.solver.ChoiceManager;
 import at.ac.tuwien.kr.alpha.solver.ThriceTruth;
+import at.ac.tuwien.kr.alpha.solver.heuristics.activity.ActivityCounters;
 import at.ac.tuwien.kr.alpha.solver.heuristics.activity.BodyActivityProvider;
 import at.ac.tuwien.kr.alpha.solver.heuristics.activity.BodyActivityProviderFactory;
 import at.ac.tuwien.kr.alpha.solver.heuristics.activity.BodyActivityProviderFactory.BodyActivityType;
 import at.ac.tuwien.kr.alpha.solver.learning.GroundConflictNoGoodLearner.ConflictAnalysisResult;
-import org.apache.commons.collections4.MultiValuedMap;
-import org.apache.commons.collections4.multimap.HashSetValuedHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
 import java.util.function.Predicate;
-import java.util.stream.Stream;
 
+import static at.ac.tuwien.kr.alpha.Util.arrayGrowthSize;
 import static at.ac.tuwien.kr.alpha.common.Literals.*;
 import static at.ac.tuwien.kr.alpha.solver.ThriceTruth.FALSE;
 import static at.ac.tuwien.kr.alpha.solver.ThriceTruth.TRUE;
@@ -71,32 +69,32 @@ public class DependencyDrivenHeuristic implements ActivityBasedBranchingHeuristi
 	protected final Random rand;
 	protected final BodyActivityProvider bodyActivity;
 
-	protected final Map<Integer, Double> activityCounters = new HashMap<>();
-	protected final Map<Integer, Integer> signCounters = new HashMap<>();
+	protected final ActivityCounters activityCounters = new ActivityCounters();
+	private int[] signCounters = new int[0];
 	protected final Deque<NoGood> stackOfNoGoods = new ArrayDeque<>();
 	private int decayPeriod;
 	private double decayFactor;
 	private int stepsSinceLastDecay;
 
 	/**
-	 * Maps body-representing atoms to rule heads.
+	 * Maps body-representing atoms to rule heads, {@link #DEFAULT_CHOICE_ATOM} if there is none.
 	 */
-	protected final Map<Integer, Integer> bodyAtomToHeadAtom = new HashMap<>();
+	private int[] bodyAtomToHeadAtom = new int[0];
 
 	/**
 	 * Maps rule heads to atoms representing corresponding bodies.
 	 */
-	protected final MultiValuedMap<Integer, Integer> headToBodies = new HashSetValuedHashMap<>();
+	protected final IntAdjacencyLists headToBodies = new IntAdjacencyLists();
 
 	/**
 	 * Maps body-representing atoms to literals occuring in the rule body.
 	 */
-	protected final MultiValuedMap<Integer, Integer> bodyAtomToLiterals = new HashSetValuedHashMap<>();
+	protected final IntAdjacencyLists bodyAtomToLiterals = new IntAdjacencyLists();
 
 	/**
 	 * Maps atoms to atoms representing bodies of rules in which the former atoms occur (in the head or the body).
 	 */
-	protected final MultiValuedMap<Integer, Integer> atomsToBodiesAtoms = new HashSetValuedHashMap<>();
+	protected final IntAdjacencyLists atomsToBodiesAtoms = new IntAdjacencyLists();
 
 	public DependencyDrivenHeuristic(Assignment assignment, ChoiceManager choiceManager, int decayPeriod, double decayFactor, Random random, BodyActivityType bodyActivityType) {
 		this.assignment = assignment;
@@ -156,7 +154,7 @@ public void analyzedConflict(ConflictAnalysisResult analysisResult) {
 			incrementActivityCounter(atomToLiteral(resolutionAtom, false));
 		}
 		if (analysisResult.learnedNoGood != null) {
-			for (Integer literal : analysisResult.learnedNoGood) {
+			for (int literal : analysisResult.learnedNoGood) {
 				incrementSignCounter(literal);
 			}
 		}
@@ -167,7 +165,7 @@ public void analyzedConflict(ConflictAnalysisResult analysisResult) {
 	public void newNoGood(NoGood newNoGood) {
 		recordAtomRelationships(newNoGood);
 		pushToStack(newNoGood);
-		for (Integer literal : newNoGood) {
+		for (int literal : newNoGood) {
 			incrementSignCounter(literal);
 		}
 	}
@@ -179,7 +177,40 @@ public void newNoGoods(Collection<NoGood> newNoGoods) {
 
 	@Override
 	public double getActivity(int literal) {
-		return activityCounters.getOrDefault(atomOf(literal), DEFAULT_ACTIVITY);
+		return activityCounters.get(atomOf(literal));
+	}
+
+	@Override
+	public void growForMaxAtomId(int maxAtomId) {
+		activityCounters.growForMaxAtomId(maxAtomId);
+		growSignCountersForMaxLiteral(atomToLiteral(maxAtomId, false));
+		growBodyAtomToHeadAtomForMaxAtomId(maxAtomId);
+	}
+
+	private void growSignCountersForMaxLiteral(int maxLiteral) {
+		if (signCounters.length > maxLiteral) {
+			return;
+		}
+		int newCapacity = arrayGrowthSize(signCounters.length);
+		if (newCapacity < maxLiteral + 1) {
+			newCapacity = maxLiteral + 1;
+		}
+		signCounters = Arrays.copyOf(signCounters, newCapacity);
+	}
+
+	private void growBodyAtomToHeadAtomForMaxAtomId(int maxAtomId) {
+		if (bodyAtomToHeadAtom.length > maxAtomId) {
+			return;
+		}
+		int newCapacity = arrayGrowthSize(bodyAtomToHeadAtom.length);
+		if (newCapacity < maxAtomId + 1) {
+			newCapacity = maxAtomId + 1;
+		}
+		bodyAtomToHeadAtom = Arrays.copyOf(bodyAtomToHeadAtom, newCapacity);
+	}
+
+	protected int getSignCounter(int literal) {
+		return literal < signCounters.length ? signCounters[literal] : DEFAULT_SIGN_COUNTER;
 	}
 	
 	/**
@@ -207,16 +238,36 @@ protected int chooseAtom() {
 				return mostActiveAtom;
 			}
 
-			Collection<Integer> bodies = atomsToBodiesAtoms.get(mostActiveAtom);
-			Optional<Integer> mostActiveBody = bodies.stream().filter(this::isUnassigned).filter(choiceManager::isActiveChoiceAtom)
-					.max(Comparator.comparingDouble(bodyActivity::get));
-			if (mostActiveBody.isPresent()) {
-				return mostActiveBody.get();
+			int mostActiveBody = getMostActiveChoosableBody(mostActiveAtom);
+			if (mostActiveBody != DEFAULT_CHOICE_ATOM) {
+				return mostActiveBody;
 			}
 		}
 		return DEFAULT_CHOICE_ATOM;
 	}
 
+	/**
+	 * Returns the most active unassigned choice point among the bodies the given atom occurs in, according to {@link #bodyActivity}.
+	 * If several bodies are most active, the first one in the iteration order of {@link #atomsToBodiesAtoms} is returned.
+	 * @return the most active body, or {@link #DEFAULT_CHOICE_ATOM} if there is none.
+	 */
+	private int getMostActiveChoosableBody(int atom) {
+		int mostActiveBody = DEFAULT_CHOICE_ATOM;
+		double highestActivity = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < atomsToBodiesAtoms.size(atom); i++) {
+			int body = atomsToBodiesAtoms.get(atom, i);
+			if (!isUnassigned(body) || !choiceManager.isActiveChoiceAtom(body)) {
+				continue;
+			}
+			double activity = bodyActivity.get(body);
+			if (activity > highestActivity) {
+				highestActivity = activity;
+				mostActiveBody = body;
+			}
+		}
+		return mostActiveBody;
+	}
+
 	protected boolean chooseSign(int atom) {
 		atom = getAtomForChooseSign(atom);
 
@@ -224,8 +275,8 @@ protected boolean chooseSign(int atom) {
 			return true;
 		}
 
-		int positiveCounter = signCounters.getOrDefault(atomToLiteral(atom, true),  DEFAULT_SIGN_COUNTER);
-		int negativeCounter = signCounters.getOrDefault(atomToLiteral(atom, false), DEFAULT_SIGN_COUNTER);
+		int positiveCounter = getSignCounter(atomToLiteral(atom, true));
+		int negativeCounter = getSignCounter(atomToLiteral(atom, false));
 
 		if (positiveCounter > negativeCounter) {
 			return false;
@@ -237,8 +288,8 @@ protected boolean chooseSign(int atom) {
 	}
 
 	protected int getAtomForChooseSign(int atom) {
-		Integer head = bodyAtomToHeadAtom.get(atom);
-		if (head != null) {
+		int head = atom < bodyAtomToHeadAtom.length ? bodyAtomToHeadAtom[atom] : DEFAULT_CHOICE_ATOM;
+		if (head != DEFAULT_CHOICE_ATOM) {
 			atom = head; // head atom can give more relevant information than atom representing rule body
 		}
 		return atom;
@@ -248,15 +299,15 @@ protected void recordAtomRelationships(NoGood noGood) {
 		if (isBodyNotHead(noGood, choiceManager::isAtomChoice)) {
 			int body = atomOf(noGood.getLiteral(1));
 			int head = atomOf(noGood.getHead());
-			bodyAtomToHeadAtom.put(body, head);
+			growBodyAtomToHeadAtomForMaxAtomId(body);
+			bodyAtomToHeadAtom[body] = head;
 			headToBodies.put(head, body);
 			atomsToBodiesAtoms.put(head, body);
 		} else if (isBodyElementsNotBody(noGood, choiceManager::isAtomChoice)) {
-			Set<Integer> literals = new HashSet<>();
 			int bodyAtom = atomOf(noGood.getHead());
 			for (int i = 0; i < noGood.size(); i++) {
 				int literal = noGood.getLiteral(i);
-				literals.add(literal);
+				bodyAtomToLiterals.put(bodyAtom, literal);
 				if (bodyAtom != 0) {
 					atomsToBodiesAtoms.put(atomOf(literal), bodyAtom);
 				} // else {
@@ -264,7 +315,6 @@ protected void recordAtomRelationships(NoGood noGood) {
 				// }
 			}
 			assert bodyAtom != 0;
-			bodyAtomToLiterals.putAll(bodyAtom, literals);
 		}
 	}
 
@@ -277,7 +327,7 @@ private void pushToStack(NoGood noGood) {
 	protected void incrementActivityCounter(int literal) {
 		int atom = atomOf(literal);
 		if (choiceManager.isAtomChoice(atom)) {
-			activityCounters.compute(atom, (k, v) -> (v == null ? DEFAULT_ACTIVITY : v) + 1);
+			activityCounters.increment(atom);
 		}
 		// TODO: check performance
 		// note that here (and in incrementSignCounter) we only count atoms that are
@@ -289,15 +339,16 @@ protected void incrementActivityCounter(int literal) {
 		// integers for rule bodies, uneven for other atoms)
 	}
 	
-	protected void incrementSignCounter(Integer literal) {
-		signCounters.compute(literal, (k, v) -> (v == null ? DEFAULT_SIGN_COUNTER : v) + 1);
+	protected void incrementSignCounter(int literal) {
+		growSignCountersForMaxLiteral(literal);
+		signCounters[literal]++;
 	}
 
 	private void decayAllIfTimeHasCome() {
 		stepsSinceLastDecay++;
 		if (stepsSinceLastDecay >= decayPeriod) {
 			// Decay all:
-			activityCounters.replaceAll((k, v) -> v * decayFactor);
+			activityCounters.decay(decayFactor);
 			stepsSinceLastDecay = 0;
 		}
 	}
@@ -320,16 +371,21 @@ protected boolean isUnassigned(int atom) {
 		return truth != FALSE && truth != TRUE; // do not use assignment.isAssigned(atom) because we may also choose MBTs
 	}
 
+	/**
+	 * Returns the most active atom occurring in the given nogood; if several atoms are most active, the first of them.
+	 */
 	private int getMostActiveAtom(NoGood noGood) {
-		if (noGood != null) {
-			return getMostActiveAtom(noGood.stream().boxed());
-		} else {
-			return getMostActiveAtom(activityCounters.keySet().stream());
+		int mostActiveAtom = DEFAULT_CHOICE_ATOM;
+		double highestActivity = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < noGood.size(); i++) {
+			int atom = atomOf(noGood.getLiteral(i));
+			double activity = getActivity(atom);
+			if (activity > highestActivity) {
+				highestActivity = activity;
+				mostActiveAtom = atom;
+			}
 		}
-	}
-
-	private int getMostActiveAtom(Stream<Integer> streamOfLiterals) {
-		return streamOfLiterals.map(Literals::atomOf).max(Comparator.comparingDouble(this::getActivity)).orElse(DEFAULT_CHOICE_ATOM);
+		return mostActiveAtom;
 		// TODO: exploit synergy with getMostActiveChoosableAtom
 	}
 
@@ -30,9 +30,7 @@
 import at.ac.tuwien.kr.alpha.solver.ChoiceManager;
 import at.ac.tuwien.kr.alpha.solver.heuristics.activity.BodyActivityProviderFactory.BodyActivityType;
 
-import java.util.HashSet;
 import java.util.Random;
-import java.util.Set;
 
 import static at.ac.tuwien.kr.alpha.common.Literals.atomOf;
 
@@ -68,16 +66,20 @@ public GeneralizedDependencyDrivenHeuristic(Assignment assignment, ChoiceManager
 	protected void recordAtomRelationships(NoGood noGood) {
 		// TODO: use HeapOfActiveChoicePoints.recordAtomRelationships, which does similar things
 		int body = DEFAULT_CHOICE_ATOM;
-		Set<Integer> others = new HashSet<>();
-		for (int literal : noGood) {
-			int atom = atomOf(literal);
-			if (body == DEFAULT_CHOICE_ATOM && choiceManager.isAtomChoice(atom)) {
+		int bodyIndex = -1;
+		for (int i = 0; i < noGood.size(); i++) {
+			int atom = atomOf(noGood.getLiteral(i));
+			if (choiceManager.isAtomChoice(atom)) {
 				body = atom;
-			} else {
-				others.add(atom);
+				bodyIndex = i;
+				break;
 			}
 		}
-		for (Integer atom : others) {
+		for (int i = 0; i < noGood.size(); i++) {
+			if (i == bodyIndex) {
+				continue;
+			}
+			int atom = atomOf(noGood.getLiteral(i));
 			atomsToBodiesAtoms.put(atom, body);
 			bodyAtomToLiterals.put(body, atom);
 		}
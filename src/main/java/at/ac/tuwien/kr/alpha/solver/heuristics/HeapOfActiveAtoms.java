@@ -35,8 +35,6 @@
 
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Comparator;
-import java.util.PriorityQueue;
 
 import static at.ac.tuwien.kr.alpha.common.Literals.atomOf;
 
@@ -46,6 +44,8 @@
  * In contrast to standard heuristics like VSIDS, activities are not periodically decayed but
  * the increment added when increasing activities is constantly increased itself, which has the
  * same effect.
+ * Since normalizing activity scores retains their relative order, the heap only needs to be updated for atoms
+ * whose activity changed.
  *
  */
 public class HeapOfActiveAtoms {
@@ -57,7 +57,7 @@ public class HeapOfActiveAtoms {
 
 	private boolean[] incrementedActivityScores = new boolean[0];
 	protected double[] activityScores = new double[0];
-	protected final PriorityQueue<Integer> heap = new PriorityQueue<>(new AtomActivityComparator().reversed());
+	protected final IndexedIntMaxHeap heap = new IndexedIntMaxHeap(atom -> activityScores[atom]);
 
 	protected ChoiceManager choiceManager;
 	private int decayPeriod;
@@ -193,9 +193,13 @@ private void initActivityNaive(NoGood newNoGood) {
 
 	/**
 	 * Returns the atom with the highest activity score and removes it from the heap.
+	 * @return the most active atom, or {@link BranchingHeuristic#DEFAULT_CHOICE_ATOM} if the heap is empty.
 	 */
-	public Integer getMostActiveAtom() {
-		return heap.poll();
+	public int getMostActiveAtom() {
+		if (heap.isEmpty()) {
+			return BranchingHeuristic.DEFAULT_CHOICE_ATOM;
+		}
+		return heap.removeMax();
 	}
 
 	/**
@@ -225,7 +229,7 @@ private void setActivity(int atom, double newActivity) {
 			normalizeActivityScores();
 		}
 
-		heap.add(atom); // ignores the fact that atom may already be in the heap for performance reasons (may be revised in future)
+		heap.insert(atom); // inserts the atom or restores its position if it is in the heap already
 	}
 
 	/**
@@ -249,15 +253,6 @@ private double normalizeNewActivityScore(double newActivity) {
 		return newActivity;
 	}
 
-	private class AtomActivityComparator implements Comparator<Integer> {
-
-		@Override
-		public int compare(Integer a1, Integer a2) {
-			return Double.compare(activityScores[a1], activityScores[a2]);
-		}
-
-	}
-
 	private class ChoicePointActivityListener implements ChoiceInfluenceManager.ActivityListener {
 
 		@Override
@@ -267,7 +262,7 @@ public void callbackOnChanged(int atom, boolean active) {
 					/* if atom has no activity score, probably the atom is still being buffered
 					   by DependencyDrivenVSIDSHeuristic and will get an initial activity
 					   when the buffer is ingested */
-					heap.add(atom);
+					heap.insert(atom);
 				}
 			}
 		}
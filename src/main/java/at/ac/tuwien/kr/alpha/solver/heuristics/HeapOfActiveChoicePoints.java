@@ -27,11 +27,6 @@
 
 import at.ac.tuwien.kr.alpha.common.NoGood;
 import at.ac.tuwien.kr.alpha.solver.ChoiceManager;
-import org.apache.commons.collections4.MultiValuedMap;
-import org.apache.commons.collections4.multimap.HashSetValuedHashMap;
-
-import java.util.HashSet;
-import java.util.Set;
 
 import static at.ac.tuwien.kr.alpha.Util.oops;
 import static at.ac.tuwien.kr.alpha.common.Literals.atomOf;
@@ -50,7 +45,7 @@ public class HeapOfActiveChoicePoints extends HeapOfActiveAtoms {
 	 * Maps atoms to choice points representing bodies of rules in which the former atoms occur
 	 * (in the head or the body).
 	 */
-	protected final MultiValuedMap<Integer, Integer> atomsToChoicePoints = new HashSetValuedHashMap<>();
+	protected final IntAdjacencyLists atomsToChoicePoints = new IntAdjacencyLists();
 
 	public HeapOfActiveChoicePoints(int decayPeriod, double decayFactor, ChoiceManager choiceManager) {
 		super(decayPeriod, decayFactor, choiceManager);
@@ -61,8 +56,8 @@ public void incrementActivity(int atom, double increment) {
 		if (choiceManager.isAtomChoice(atom)) {
 			super.incrementActivity(atom, increment);
 		} else {
-			for (Integer dependentBody : atomsToChoicePoints.get(atom)) {
-				super.incrementActivity(dependentBody, increment);
+			for (int i = 0; i < atomsToChoicePoints.size(atom); i++) {
+				super.incrementActivity(atomsToChoicePoints.get(atom, i), increment);
 			}
 		}
 	}
@@ -74,17 +69,15 @@ public void incrementActivity(int atom, double increment) {
 	private void recordAtomRelationships(NoGood noGood) {
 		final int none = -1;
 		int body = none;
-		Set<Integer> others = new HashSet<>();
+		int bodyIndex = none;
 
-		for (int literal : noGood) {
-			int atom = atomOf(literal);
+		for (int i = 0; i < noGood.size(); i++) {
+			int atom = atomOf(noGood.getLiteral(i));
 			if (body == none && choiceManager.isAtomChoice(atom)) {
 				body = atom;
-			} else {
-				if (choiceManager.isChecksEnabled() && choiceManager.isAtomChoice(atom)) {
-					throw oops("More than one choice point in a nogood: " + body + ", " + atom);
-				}
-				others.add(atom);
+				bodyIndex = i;
+			} else if (choiceManager.isChecksEnabled() && choiceManager.isAtomChoice(atom)) {
+				throw oops("More than one choice point in a nogood: " + body + ", " + atom);
 			}
 		}
 		
@@ -92,8 +85,10 @@ private void recordAtomRelationships(NoGood noGood) {
 			return;
 		}
 		
-		for (Integer atom : others) {
-			atomsToChoicePoints.put(atom, body);
+		for (int i = 0; i < noGood.size(); i++) {
+			if (i != bodyIndex) {
+				atomsToChoicePoints.put(atomOf(noGood.getLiteral(i)), body);
+			}
 		}
 	}
 
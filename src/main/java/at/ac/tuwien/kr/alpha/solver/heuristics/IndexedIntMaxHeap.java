@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.solver.heuristics;
+
+import java.util.Arrays;
+import java.util.function.IntToDoubleFunction;
+
+import static at.ac.tuwien.kr.alpha.Util.arrayGrowthSize;
+import static at.ac.tuwien.kr.alpha.Util.oops;
+
+/**
+ * A binary max-heap of non-negative ints ordered by priorities that are looked up by a given function.
+ * Each element is contained at most once and the heap keeps track of the position of each element, hence the
+ * position of an element whose priority changed can be restored in place and arbitrary elements can be removed in
+ * O(log n), without any boxing.
+ *
+ * Whenever the priority of a contained element changes, {@link #update(int)} must be called. Changes of priorities
+ * that do not affect their relative order (e.g., scaling all priorities by the same positive factor) need no update.
+ */
+public class IndexedIntMaxHeap {
+	private static final int NOT_CONTAINED = -1;
+
+	private final IntToDoubleFunction priorities;
+
+	private int[] heap = new int[16];
+	private int size;
+
+	/**
+	 * Maps each element to its position in {@link #heap}, or {@link #NOT_CONTAINED}.
+	 */
+	private int[] positions = new int[0];
+
+	public IndexedIntMaxHeap(IntToDoubleFunction priorities) {
+		this.priorities = priorities;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public boolean contains(int element) {
+		return element < positions.length && positions[element] != NOT_CONTAINED;
+	}
+
+	/**
+	 * Inserts the given element, or restores its position if it is contained already.
+	 */
+	public void insert(int element) {
+		if (element < 0) {
+			throw oops("Negative element inserted into heap: " + element);
+		}
+		if (contains(element)) {
+			update(element);
+			return;
+		}
+		ensureElementCapacity(element);
+		if (size == heap.length) {
+			heap = Arrays.copyOf(heap, arrayGrowthSize(heap.length));
+		}
+		heap[size] = element;
+		positions[element] = size;
+		siftUp(size++);
+	}
+
+	/**
+	 * Restores the position of the given element after its priority changed. Does nothing if it is not contained.
+	 */
+	public void update(int element) {
+		if (!contains(element)) {
+			return;
+		}
+		int position = positions[element];
+		if (!siftUp(position)) {
+			siftDown(position);
+		}
+	}
+
+	/**
+	 * Returns the element with the highest priority without removing it.
+	 */
+	public int peek() {
+		if (size == 0) {
+			throw oops("Peeking at empty heap");
+		}
+		return heap[0];
+	}
+
+	/**
+	 * Removes and returns the element with the highest priority.
+	 */
+	public int removeMax() {
+		int max = peek();
+		removeAt(0);
+		return max;
+	}
+
+	/**
+	 * Removes the given element.
+	 * @return true iff the element was contained.
+	 */
+	public boolean remove(int element) {
+		if (!contains(element)) {
+			return false;
+		}
+		removeAt(positions[element]);
+		return true;
+	}
+
+	public void clear() {
+		for (int i = 0; i < size; i++) {
+			positions[heap[i]] = NOT_CONTAINED;
+		}
+		size = 0;
+	}
+
+	private void removeAt(int position) {
+		int removed = heap[position];
+		positions[removed] = NOT_CONTAINED;
+		size--;
+		if (position == size) {
+			return;
+		}
+		int last = heap[size];
+		heap[position] = last;
+		positions[last] = position;
+		if (!siftUp(position)) {
+			siftDown(position);
+		}
+	}
+
+	/**
+	 * Moves the element at the given position upwards until its parent has at least its priority.
+	 * @return true iff the element was moved.
+	 */
+	private boolean siftUp(int position) {
+		int element = heap[position];
+		double priority = priorities.applyAsDouble(element);
+		int current = position;
+		while (current > 0) {
+			int parentPosition = (current - 1) >>> 1;
+			int parent = heap[parentPosition];
+			if (priorities.applyAsDouble(parent) >= priority) {
+				break;
+			}
+			heap[current] = parent;
+			positions[parent] = current;
+			current = parentPosition;
+		}
+		heap[current] = element;
+		positions[element] = current;
+		return current != position;
+	}
+
+	private void siftDown(int position) {
+		int element = heap[position];
+		double priority = priorities.applyAsDouble(element);
+		int current = position;
+		int half = size >>> 1;
+		while (current < half) {
+			int childPosition = 2 * current + 1;
+			int child = heap[childPosition];
+			double childPriority = priorities.applyAsDouble(child);
+			int rightPosition = childPosition + 1;
+			if (rightPosition < size) {
+				double rightPriority = priorities.applyAsDouble(heap[rightPosition]);
+				if (rightPriority > childPriority) {
+					childPosition = rightPosition;
+					child = heap[rightPosition];
+					childPriority = rightPriority;
+				}
+			}
+			if (priority >= childPriority) {
+				break;
+			}
+			heap[current] = child;
+			positions[child] = current;
+			current = childPosition;
+		}
+		heap[current] = element;
+		positions[element] = current;
+	}
+
+	private void ensureElementCapacity(int element) {
+		if (element < positions.length) {
+			return;
+		}
+		int oldLength = positions.length;
+		positions = Arrays.copyOf(positions, Math.max(element + 1, arrayGrowthSize(oldLength)));
+		Arrays.fill(positions, oldLength, positions.length, NOT_CONTAINED);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; i < size; i++) {
+			if (i > 0) {
+				sb.append(", ");
+			}
+			sb.append(heap[i]);
+		}
+		return sb.append("]").toString();
+	}
+}
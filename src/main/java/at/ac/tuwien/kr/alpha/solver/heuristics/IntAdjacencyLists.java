@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.solver.heuristics;
+
+import java.util.Arrays;
+
+import static at.ac.tuwien.kr.alpha.Util.arrayGrowthSize;
+
+/**
+ * Maps non-negative ints (e.g., atoms) to sets of ints, using one int array per key that is indexed by the key.
+ * Values of a key are kept without duplicates.
+ *
+ * Keys and the values of each key are iterated in the order a {@link java.util.HashMap} of {@link Integer}s holding them
+ * iterates, i.e., by bucket of its hash table and then in order of insertion. This is the order of the
+ * {@link org.apache.commons.collections4.multimap.HashSetValuedHashMap} these lists replace, hence heuristics that break
+ * ties by iteration order decide as before. (The order only differs for buckets of more than eight elements, which a
+ * HashMap turns into trees.)
+ */
+public class IntAdjacencyLists {
+	private static final int[] NO_VALUES = new int[0];
+	private static final long FREE = -1L;
+
+	// Initial table sizes of the HashMap of keys and of the HashSets of values in a HashSetValuedHashMap.
+	private static final int INITIAL_KEYS_TABLE_SIZE = 16;
+	private static final int INITIAL_VALUES_TABLE_SIZE = 4;
+
+	private int[][] values = new int[0][];
+	private int[] sizes = new int[0];
+
+	// Keys having at least one value, in order of their first value.
+	private int[] keys = new int[8];
+	private int numberOfKeys;
+
+	// Keys in iteration order, sorted lazily once keys were added.
+	private int[] orderedKeys = new int[0];
+	private boolean keysOrdered = true;
+
+	// Open-addressing hash set of all (key, value) pairs to quickly detect duplicates.
+	private long[] pairs = newPairsTable(16);
+	private int numberOfPairs;
+
+	/**
+	 * Adds the given value to the set of values of the given key.
+	 * @return {@code true} iff the value was not associated with the key before.
+	 */
+	public boolean put(int key, int value) {
+		if (!addPair(((long) key << 32) | (value & 0xFFFFFFFFL))) {
+			return false;
+		}
+		growForMaxKey(key);
+		int size = sizes[key];
+		int[] valuesOfKey = values[key];
+		if (size == valuesOfKey.length) {
+			valuesOfKey = Arrays.copyOf(valuesOfKey, Math.max(arrayGrowthSize(size), 4));
+			values[key] = valuesOfKey;
+		}
+		if (size == 0) {
+			if (numberOfKeys == keys.length) {
+				keys = Arrays.copyOf(keys, arrayGrowthSize(keys.length));
+			}
+			keys[numberOfKeys++] = key;
+			keysOrdered = false;
+		}
+		int oldTableSize = tableSize(size, INITIAL_VALUES_TABLE_SIZE);
+		int tableSize = tableSize(size + 1, INITIAL_VALUES_TABLE_SIZE);
+		if (tableSize != oldTableSize) {
+			splitBuckets(valuesOfKey, size, oldTableSize);
+		}
+		// Insert the value behind all values in the same or a preceding bucket.
+		int bucket = bucketOf(value, tableSize);
+		int position = size;
+		while (position > 0 && bucketOf(valuesOfKey[position - 1], tableSize) > bucket) {
+			position--;
+		}
+		System.arraycopy(valuesOfKey, position, valuesOfKey, position + 1, size - position);
+		valuesOfKey[position] = value;
+		sizes[key] = size + 1;
+		return true;
+	}
+
+	/**
+	 * Returns the number of values associated with the given key.
+	 */
+	public int size(int key) {
+		return key < sizes.length ? sizes[key] : 0;
+	}
+
+	/**
+	 * Returns the value at position {@code index} of the values associated with the given key.
+	 */
+	public int get(int key, int index) {
+		return values[key][index];
+	}
+
+	/**
+	 * Returns the number of keys having at least one value.
+	 */
+	public int getNumberOfKeys() {
+		return numberOfKeys;
+	}
+
+	/**
+	 * Returns the key at position {@code index} of all keys having at least one value.
+	 */
+	public int getKey(int index) {
+		if (!keysOrdered) {
+			orderKeys();
+		}
+		return orderedKeys[index];
+	}
+
+	/**
+	 * Sorts the keys by bucket, stable w.r.t. the order in which they were added (by counting sort).
+	 */
+	private void orderKeys() {
+		int tableSize = tableSize(numberOfKeys, INITIAL_KEYS_TABLE_SIZE);
+		int[] bucketStarts = new int[tableSize + 1];
+		for (int i = 0; i < numberOfKeys; i++) {
+			bucketStarts[bucketOf(keys[i], tableSize) + 1]++;
+		}
+		for (int bucket = 0; bucket < tableSize; bucket++) {
+			bucketStarts[bucket + 1] += bucketStarts[bucket];
+		}
+		if (orderedKeys.length < numberOfKeys) {
+			orderedKeys = new int[keys.length];
+		}
+		for (int i = 0; i < numberOfKeys; i++) {
+			orderedKeys[bucketStarts[bucketOf(keys[i], tableSize)]++] = keys[i];
+		}
+		keysOrdered = true;
+	}
+
+	/**
+	 * Reorders values sorted by bucket for a table of the given size into buckets of a table of twice that size, like
+	 * {@link java.util.HashMap} does when resizing: each bucket splits into a lower and an upper one, keeping the order of
+	 * its values.
+	 */
+	private static void splitBuckets(int[] values, int size, int oldTableSize) {
+		int[] upper = new int[size];
+		int numberOfUpper = 0;
+		int numberOfLower = 0;
+		for (int i = 0; i < size; i++) {
+			if ((spread(values[i]) & oldTableSize) == 0) {
+				values[numberOfLower++] = values[i];
+			} else {
+				upper[numberOfUpper++] = values[i];
+			}
+		}
+		System.arraycopy(upper, 0, values, numberOfLower, numberOfUpper);
+	}
+
+	/**
+	 * Returns the size of the hash table of a {@link java.util.HashMap} with the given initial table size holding the
+	 * given number of elements, i.e., the smallest power of two that is at least the initial size and keeps the load factor
+	 * of 0.75.
+	 */
+	private static int tableSize(int numberOfElements, int initialTableSize) {
+		int tableSize = initialTableSize;
+		while (numberOfElements > tableSize * 3 / 4) {
+			tableSize *= 2;
+		}
+		return tableSize;
+	}
+
+	private static int bucketOf(int element, int tableSize) {
+		return spread(element) & (tableSize - 1);
+	}
+
+	/**
+	 * Mixes the hash code of an {@link Integer} like {@link java.util.HashMap} does.
+	 */
+	private static int spread(int element) {
+		return element ^ (element >>> 16);
+	}
+
+	private void growForMaxKey(int maxKey) {
+		if (sizes.length > maxKey) {
+			return;
+		}
+		int newCapacity = arrayGrowthSize(sizes.length);
+		if (newCapacity < maxKey + 1) {
+			newCapacity = maxKey + 1;
+		}
+		final int oldLength = values.length;
+		values = Arrays.copyOf(values, newCapacity);
+		Arrays.fill(values, oldLength, newCapacity, NO_VALUES);
+		sizes = Arrays.copyOf(sizes, newCapacity);
+	}
+
+	private boolean addPair(long pair) {
+		if (2 * (numberOfPairs + 1) > pairs.length) {
+			rehash(2 * pairs.length);
+		}
+		final int mask = pairs.length - 1;
+		int slot = slotOf(pair, mask);
+		while (pairs[slot] != FREE) {
+			if (pairs[slot] == pair) {
+				return false;
+			}
+			slot = (slot + 1) & mask;
+		}
+		pairs[slot] = pair;
+		numberOfPairs++;
+		return true;
+	}
+
+	private void rehash(int newCapacity) {
+		final long[] oldPairs = pairs;
+		pairs = newPairsTable(newCapacity);
+		final int mask = newCapacity - 1;
+		for (long pair : oldPairs) {
+			if (pair == FREE) {
+				continue;
+			}
+			int slot = slotOf(pair, mask);
+			while (pairs[slot] != FREE) {
+				slot = (slot + 1) & mask;
+			}
+			pairs[slot] = pair;
+		}
+	}
+
+	private static int slotOf(long pair, int mask) {
+		return Long.hashCode(pair * 0x9E3779B97F4A7C15L) & mask;
+	}
+
+	private static long[] newPairsTable(int capacity) {
+		long[] table = new long[capacity];
+		Arrays.fill(table, FREE);
+		return table;
+	}
+}
@@ -155,8 +155,8 @@ public int chooseLiteral() {
 
 	protected int chooseAtom() {
 		ingestBufferedNoGoods();
-		Integer mostActiveAtom;
-		while ((mostActiveAtom = heapOfActiveAtoms.getMostActiveAtom()) != null) {
+		int mostActiveAtom;
+		while ((mostActiveAtom = heapOfActiveAtoms.getMostActiveAtom()) != DEFAULT_CHOICE_ATOM) {
 			if (choiceManager.isActiveChoiceAtom(mostActiveAtom)) {
 				return mostActiveAtom;
 			}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.solver.heuristics.activity;
+
+import java.util.Arrays;
+
+import static at.ac.tuwien.kr.alpha.Util.arrayGrowthSize;
+
+/**
+ * Activity counters of atoms, stored in an array indexed by atom. Atoms whose counter was never incremented have
+ * activity zero.
+ *
+ * Decaying multiplies all activities by a factor, but is done lazily: instead of touching every counter, a common
+ * scale is multiplied by the factor and subsequent increments are divided by the scale. The activity of an atom is its
+ * stored counter times the current scale. Only if the scale becomes very small are all counters rescaled.
+ *
+ * Lazy decay yields exactly the activities of decaying every counter right away only if the decay factor is a power of
+ * two (like the default factor 0.25 of {@link at.ac.tuwien.kr.alpha.solver.heuristics.BerkMin} and
+ * {@link at.ac.tuwien.kr.alpha.solver.heuristics.DependencyDrivenHeuristic}), since scaling by it is exact then. For
+ * other factors, activities may differ in the last bits, which may change how ties between atoms are broken.
+ */
+public class ActivityCounters {
+
+	private static final double RESCALE_THRESHOLD = 1E100;
+
+	private double[] scaledActivities = new double[0];
+	private double scale = 1.0;
+
+	/**
+	 * Returns the current activity of the given atom.
+	 */
+	public double get(int atom) {
+		if (atom >= scaledActivities.length) {
+			return 0.0;
+		}
+		return scaledActivities[atom] * scale;
+	}
+
+	/**
+	 * Increases the activity of the given atom by one.
+	 */
+	public void increment(int atom) {
+		growForMaxAtomId(atom);
+		scaledActivities[atom] += 1.0 / scale;
+	}
+
+	/**
+	 * Multiplies the activities of all atoms by the given factor (exactly only if it is a power of two, see above).
+	 */
+	public void decay(double decayFactor) {
+		scale *= decayFactor;
+		if (scale < 1.0 / RESCALE_THRESHOLD) {
+			for (int atom = 0; atom < scaledActivities.length; atom++) {
+				scaledActivities[atom] *= scale;
+			}
+			scale = 1.0;
+		}
+	}
+
+	public void growForMaxAtomId(int maxAtomId) {
+		if (scaledActivities.length > maxAtomId) {
+			return;
+		}
+		int newCapacity = arrayGrowthSize(scaledActivities.length);
+		if (newCapacity < maxAtomId + 1) {
+			newCapacity = maxAtomId + 1;
+		}
+		scaledActivities = Arrays.copyOf(scaledActivities, newCapacity);
+	}
+}
@@ -25,19 +25,21 @@
  */
 package at.ac.tuwien.kr.alpha.solver.heuristics.activity;
 
-import org.apache.commons.collections4.MultiValuedMap;
-
-import java.util.Map;
+import at.ac.tuwien.kr.alpha.solver.heuristics.IntAdjacencyLists;
 
 public class AvgBodyActivityProvider extends BodyActivityProvider {
 
-	public AvgBodyActivityProvider(MultiValuedMap<Integer, Integer> bodyToLiterals, Map<Integer, Double> activityCounters, double defaultActivity) {
+	public AvgBodyActivityProvider(IntAdjacencyLists bodyToLiterals, ActivityCounters activityCounters, double defaultActivity) {
 		super(bodyToLiterals, activityCounters, defaultActivity);
 	}
 
 	@Override
 	public double get(int bodyRepresentingAtom) {
-		return bodyToLiterals.get(bodyRepresentingAtom).stream().mapToDouble(this::getActivity).average().orElse(defaultActivity);
+		final int numberOfLiterals = bodyToLiterals.size(bodyRepresentingAtom);
+		if (numberOfLiterals == 0) {
+			return defaultActivity;
+		}
+		return sumOfActivities(bodyRepresentingAtom) / numberOfLiterals;
 	}
 
 }
@@ -25,19 +25,17 @@
  */
 package at.ac.tuwien.kr.alpha.solver.heuristics.activity;
 
-import org.apache.commons.collections4.MultiValuedMap;
-
-import java.util.Map;
+import at.ac.tuwien.kr.alpha.solver.heuristics.IntAdjacencyLists;
 
 import static at.ac.tuwien.kr.alpha.common.Literals.atomOf;
 
 public abstract class BodyActivityProvider {
 
-	protected final MultiValuedMap<Integer, Integer> bodyToLiterals;
-	protected final Map<Integer, Double> activityCounters;
+	protected final IntAdjacencyLists bodyToLiterals;
+	protected final ActivityCounters activityCounters;
 	protected final double defaultActivity;
 
-	public BodyActivityProvider(MultiValuedMap<Integer, Integer> bodyToLiterals, Map<Integer, Double> activityCounters, double defaultActivity) {
+	public BodyActivityProvider(IntAdjacencyLists bodyToLiterals, ActivityCounters activityCounters, double defaultActivity) {
 		this.bodyToLiterals = bodyToLiterals;
 		this.activityCounters = activityCounters;
 		this.defaultActivity = defaultActivity;
@@ -46,7 +44,32 @@ public BodyActivityProvider(MultiValuedMap<Integer, Integer> bodyToLiterals, Map
 	public abstract double get(int bodyRepresentingAtom);
 
 	protected double getActivity(int literal) {
-		return activityCounters.getOrDefault(atomOf(literal), defaultActivity);
+		return activityCounters.get(atomOf(literal));
+	}
+
+	/**
+	 * Sums up the activities of the literals of the given body by compensated (Kahan) summation, exactly as
+	 * {@link java.util.stream.DoubleStream#sum()} of Java 8 does, such that sums are the same as when they were computed by
+	 * streams.
+	 */
+	protected double sumOfActivities(int bodyRepresentingAtom) {
+		double sum = 0.0;
+		double compensation = 0.0;
+		double simpleSum = 0.0;
+		for (int i = 0; i < bodyToLiterals.size(bodyRepresentingAtom); i++) {
+			double activity = getActivity(bodyToLiterals.get(bodyRepresentingAtom, i));
+			double compensatedActivity = activity - compensation;
+			double newSum = sum + compensatedActivity;
+			compensation = (newSum - sum) - compensatedActivity;
+			sum = newSum;
+			simpleSum += activity;
+		}
+		double compensatedSum = sum + compensation;
+		// The compensated sum is NaN if same-signed infinite activities were added.
+		if (Double.isNaN(compensatedSum) && Double.isInfinite(simpleSum)) {
+			return simpleSum;
+		}
+		return compensatedSum;
 	}
 
 }
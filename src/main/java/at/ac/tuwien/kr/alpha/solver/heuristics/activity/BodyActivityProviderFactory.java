@@ -25,9 +25,7 @@
  */
 package at.ac.tuwien.kr.alpha.solver.heuristics.activity;
 
-import org.apache.commons.collections4.MultiValuedMap;
-
-import java.util.Map;
+import at.ac.tuwien.kr.alpha.solver.heuristics.IntAdjacencyLists;
 
 public final class BodyActivityProviderFactory {
 
@@ -35,7 +33,7 @@ public enum BodyActivityType {
 		DEFAULT, SUM, AVG, MAX, MIN
 	}
 
-	public static BodyActivityProvider getInstance(BodyActivityType type, MultiValuedMap<Integer, Integer> bodyToLiterals, Map<Integer, Double> activityCounters,
+	public static BodyActivityProvider getInstance(BodyActivityType type, IntAdjacencyLists bodyToLiterals, ActivityCounters activityCounters,
 			double defaultActivity) {
 		switch (type) {
 		case DEFAULT:
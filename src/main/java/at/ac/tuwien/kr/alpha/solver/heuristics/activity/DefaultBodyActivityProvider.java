@@ -25,19 +25,17 @@
  */
 package at.ac.tuwien.kr.alpha.solver.heuristics.activity;
 
-import org.apache.commons.collections4.MultiValuedMap;
-
-import java.util.Map;
+import at.ac.tuwien.kr.alpha.solver.heuristics.IntAdjacencyLists;
 
 public class DefaultBodyActivityProvider extends BodyActivityProvider {
 
-	public DefaultBodyActivityProvider(MultiValuedMap<Integer, Integer> bodyToLiterals, Map<Integer, Double> activityCounters, double defaultActivity) {
+	public DefaultBodyActivityProvider(IntAdjacencyLists bodyToLiterals, ActivityCounters activityCounters, double defaultActivity) {
 		super(bodyToLiterals, activityCounters, defaultActivity);
 	}
 
 	@Override
 	public double get(int bodyRepresentingAtom) {
-		return activityCounters.getOrDefault(bodyRepresentingAtom, defaultActivity);
+		return activityCounters.get(bodyRepresentingAtom);
 	}
 
 }
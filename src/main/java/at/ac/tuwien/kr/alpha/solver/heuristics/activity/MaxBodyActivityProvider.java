@@ -25,19 +25,25 @@
  */
 package at.ac.tuwien.kr.alpha.solver.heuristics.activity;
 
-import org.apache.commons.collections4.MultiValuedMap;
-
-import java.util.Map;
+import at.ac.tuwien.kr.alpha.solver.heuristics.IntAdjacencyLists;
 
 public class MaxBodyActivityProvider extends BodyActivityProvider {
 
-	public MaxBodyActivityProvider(MultiValuedMap<Integer, Integer> bodyToLiterals, Map<Integer, Double> activityCounters, double defaultActivity) {
+	public MaxBodyActivityProvider(IntAdjacencyLists bodyToLiterals, ActivityCounters activityCounters, double defaultActivity) {
 		super(bodyToLiterals, activityCounters, defaultActivity);
 	}
 
 	@Override
 	public double get(int bodyRepresentingAtom) {
-		return bodyToLiterals.get(bodyRepresentingAtom).stream().mapToDouble(this::getActivity).max().orElse(defaultActivity);
+		final int numberOfLiterals = bodyToLiterals.size(bodyRepresentingAtom);
+		if (numberOfLiterals == 0) {
+			return defaultActivity;
+		}
+		double max = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < numberOfLiterals; i++) {
+			max = Math.max(max, getActivity(bodyToLiterals.get(bodyRepresentingAtom, i)));
+		}
+		return max;
 	}
 
 }
@@ -25,19 +25,25 @@
  */
 package at.ac.tuwien.kr.alpha.solver.heuristics.activity;
 
-import org.apache.commons.collections4.MultiValuedMap;
-
-import java.util.Map;
+import at.ac.tuwien.kr.alpha.solver.heuristics.IntAdjacencyLists;
 
 public class MinBodyActivityProvider extends BodyActivityProvider {
 
-	public MinBodyActivityProvider(MultiValuedMap<Integer, Integer> bodyToLiterals, Map<Integer, Double> activityCounters, double defaultActivity) {
+	public MinBodyActivityProvider(IntAdjacencyLists bodyToLiterals, ActivityCounters activityCounters, double defaultActivity) {
 		super(bodyToLiterals, activityCounters, defaultActivity);
 	}
 
 	@Override
 	public double get(int bodyRepresentingAtom) {
-		return bodyToLiterals.get(bodyRepresentingAtom).stream().mapToDouble(this::getActivity).min().orElse(defaultActivity);
+		final int numberOfLiterals = bodyToLiterals.size(bodyRepresentingAtom);
+		if (numberOfLiterals == 0) {
+			return defaultActivity;
+		}
+		double min = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < numberOfLiterals; i++) {
+			min = Math.min(min, getActivity(bodyToLiterals.get(bodyRepresentingAtom, i)));
+		}
+		return min;
 	}
 
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.solver.restarts;
+
+import static at.ac.tuwien.kr.alpha.solver.NoGoodStore.LBD_NO_VALUE;
+
+/**
+ * Restarts dynamically based on the quality of recently learned nogoods, as done by Glucose: the LBDs of the nogoods
+ * learned from the most recent conflicts are kept in a bounded queue, and a restart is due if their average, scaled by
+ * a constant factor, exceeds the average LBD of all nogoods learned so far. That is, the solver restarts whenever it
+ * currently learns worse nogoods than it does on average.
+ *
+ * Conflicts from which no nogood was learned do not influence the averages.
+ */
+public class DynamicRestartStrategy implements RestartStrategy {
+
+	public static final double DEFAULT_RECENT_AVERAGE_FACTOR = 0.8;
+
+	private final double recentAverageFactor;
+	private final int[] recentLbds;
+	private int recentLbdsStart;
+	private int recentLbdsSize;
+	private long recentLbdsSum;
+	private long totalLbdsSum;
+	private long totalLbdsCount;
+
+	/**
+	 * @param windowSize the number of most recent LBDs that make up the recent average.
+	 */
+	public DynamicRestartStrategy(int windowSize) {
+		this(windowSize, DEFAULT_RECENT_AVERAGE_FACTOR);
+	}
+
+	public DynamicRestartStrategy(int windowSize, double recentAverageFactor) {
+		if (windowSize < 1) {
+			throw new IllegalArgumentException("Dynamic restarts require a positive window size.");
+		}
+		this.recentLbds = new int[windowSize];
+		this.recentAverageFactor = recentAverageFactor;
+	}
+
+	@Override
+	public void newConflict(int lbd) {
+		if (lbd == LBD_NO_VALUE) {
+			return;
+		}
+		totalLbdsSum += lbd;
+		totalLbdsCount++;
+		if (recentLbdsSize == recentLbds.length) {
+			// Window is full, drop oldest LBD.
+			recentLbdsSum -= recentLbds[recentLbdsStart];
+			recentLbds[recentLbdsStart] = lbd;
+			recentLbdsStart = (recentLbdsStart + 1) % recentLbds.length;
+		} else {
+			recentLbds[(recentLbdsStart + recentLbdsSize) % recentLbds.length] = lbd;
+			recentLbdsSize++;
+		}
+		recentLbdsSum += lbd;
+	}
+
+	@Override
+	public boolean isRestartDue() {
+		if (recentLbdsSize < recentLbds.length) {
+			return false;
+		}
+		double recentAverage = (double) recentLbdsSum / recentLbdsSize;
+		double totalAverage = (double) totalLbdsSum / totalLbdsCount;
+		return recentAverage * recentAverageFactor > totalAverage;
+	}
+
+	@Override
+	public void restarted() {
+		recentLbdsStart = 0;
+		recentLbdsSize = 0;
+		recentLbdsSum = 0;
+	}
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.solver.restarts;
+
+/**
+ * Restarts after a number of conflicts that starts at a given interval and grows by a constant factor after every
+ * restart.
+ */
+public class GeometricRestartStrategy implements RestartStrategy {
+
+	public static final double DEFAULT_GROWTH_FACTOR = 1.5;
+
+	private final double growthFactor;
+	private double interval;
+	private long conflictsUntilRestart;
+
+	public GeometricRestartStrategy(int initialInterval) {
+		this(initialInterval, DEFAULT_GROWTH_FACTOR);
+	}
+
+	public GeometricRestartStrategy(int initialInterval, double growthFactor) {
+		if (initialInterval < 1 || growthFactor < 1) {
+			throw new IllegalArgumentException("Geometric restarts require a positive initial interval and a growth factor of at least 1.");
+		}
+		this.growthFactor = growthFactor;
+		this.interval = initialInterval;
+		this.conflictsUntilRestart = initialInterval;
+	}
+
+	@Override
+	public void newConflict(int lbd) {
+		conflictsUntilRestart--;
+	}
+
+	@Override
+	public boolean isRestartDue() {
+		return conflictsUntilRestart <= 0;
+	}
+
+	@Override
+	public void restarted() {
+		interval *= growthFactor;
+		conflictsUntilRestart = (long) Math.min(interval, Long.MAX_VALUE);
+	}
+}
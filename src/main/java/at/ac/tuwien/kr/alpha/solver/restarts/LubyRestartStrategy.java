@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.solver.restarts;
+
+/**
+ * Restarts after a number of conflicts given by the Luby sequence (1, 1, 2, 1, 1, 2, 4, 1, ...) multiplied by a
+ * constant unit.
+ */
+public class LubyRestartStrategy implements RestartStrategy {
+
+	private final int unit;
+	private int restarts;
+	private long conflictsUntilRestart;
+
+	public LubyRestartStrategy(int unit) {
+		if (unit < 1) {
+			throw new IllegalArgumentException("Luby restart unit must be positive.");
+		}
+		this.unit = unit;
+		this.conflictsUntilRestart = unit * luby(0);
+	}
+
+	/**
+	 * Computes the i-th element (starting at zero) of the Luby sequence.
+	 */
+	static long luby(int i) {
+		// Find the finite subsequence (of size 2^k - 1) that contains the i-th element, and its exponent k - 1.
+		long size = 1;
+		int exponent = 0;
+		while (size < (long) i + 1) {
+			exponent++;
+			size = 2 * size + 1;
+		}
+		// Descend into the subsequence until the element is the last one of its subsequence.
+		long position = i;
+		while (size - 1 != position) {
+			size = (size - 1) >> 1;
+			exponent--;
+			position = position % size;
+		}
+		return 1L << exponent;
+	}
+
+	@Override
+	public void newConflict(int lbd) {
+		conflictsUntilRestart--;
+	}
+
+	@Override
+	public boolean isRestartDue() {
+		return conflictsUntilRestart <= 0;
+	}
+
+	@Override
+	public void restarted() {
+		restarts++;
+		conflictsUntilRestart = unit * luby(restarts);
+	}
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.solver.restarts;
+
+/**
+ * Decides when the solver should restart its search, i.e., backjump to decision level zero while keeping all learned
+ * nogoods and heuristic activities.
+ *
+ * The solver informs the strategy about every conflict it resolves by {@link #newConflict(int)}, asks via
+ * {@link #isRestartDue()} whether a restart should happen, and reports executed restarts by {@link #restarted()}.
+ */
+public interface RestartStrategy {
+
+	/**
+	 * Informs the strategy about a resolved conflict.
+	 *
+	 * @param lbd the LBD (literal blocks distance) of the nogood learned from the conflict, or
+	 *            {@link at.ac.tuwien.kr.alpha.solver.NoGoodStore#LBD_NO_VALUE} if no nogood was learned.
+	 */
+	void newConflict(int lbd);
+
+	/**
+	 * @return {@code true} iff the strategy suggests to restart now.
+	 */
+	boolean isRestartDue();
+
+	/**
+	 * Informs the strategy that the solver executed a restart.
+	 */
+	void restarted();
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.solver.restarts;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+public final class RestartStrategyFactory {
+
+	public enum Policy {
+		/**
+		 * Never restart.
+		 */
+		NONE,
+
+		/**
+		 * Restart according to the Luby sequence, using the restart interval as unit.
+		 */
+		LUBY,
+
+		/**
+		 * Restart after a number of conflicts that starts at the restart interval and grows geometrically.
+		 */
+		GEOMETRIC,
+
+		/**
+		 * Restart dynamically based on the LBDs of recently learned nogoods, using the restart interval as window size.
+		 */
+		DYNAMIC;
+
+		/**
+		 * @return a comma-separated list of names of known restart policies
+		 */
+		public static String listAllowedValues() {
+			return Arrays.stream(values()).map(Policy::toString).collect(Collectors.joining(", "));
+		}
+	}
+
+	/**
+	 * Creates a restart strategy.
+	 *
+	 * @param policy   the restart policy to use.
+	 * @param interval the base number of conflicts whose meaning depends on the policy.
+	 * @return a new restart strategy, or {@code null} if the policy is {@link Policy#NONE}.
+	 */
+	public static RestartStrategy getInstance(Policy policy, int interval) {
+		switch (policy) {
+			case NONE:
+				return null;
+			case LUBY:
+				return new LubyRestartStrategy(interval);
+			case GEOMETRIC:
+				return new GeometricRestartStrategy(interval);
+			case DYNAMIC:
+				return new DynamicRestartStrategy(interval);
+		}
+		throw new IllegalArgumentException("Unknown restart policy requested.");
+	}
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.solver.restarts;
+
+import at.ac.tuwien.kr.alpha.solver.ThriceTruth;
+
+import java.util.Arrays;
+
+import static at.ac.tuwien.kr.alpha.common.Literals.atomOf;
+import static at.ac.tuwien.kr.alpha.common.Literals.atomToLiteral;
+
+/**
+ * Remembers the truth values atoms had before a restart (phase saving), such that the solver can choose these values
+ * again when it branches on the same atoms after the restart.
+ */
+public class SavedPhases {
+
+	private static final byte NO_PHASE = 0;
+	private static final byte PHASE_TRUE = 1;
+	private static final byte PHASE_FALSE = 2;
+
+	private byte[] phases = new byte[0];
+
+	public void growForMaxAtomId(int maxAtomId) {
+		if (maxAtomId >= phases.length) {
+			phases = Arrays.copyOf(phases, maxAtomId + 1);
+		}
+	}
+
+	/**
+	 * Saves the phase of an atom; atoms that are unassigned or assigned must-be-true have no phase.
+	 */
+	public void save(int atom, ThriceTruth truth) {
+		if (truth == null || truth == ThriceTruth.MBT) {
+			phases[atom] = NO_PHASE;
+		} else {
+			phases[atom] = truth.toBoolean() ? PHASE_TRUE : PHASE_FALSE;
+		}
+	}
+
+	/**
+	 * Adapts the sign of a literal chosen by a branching heuristic to the saved phase of its atom.
+	 *
+	 * @param literal the chosen literal.
+	 * @return the literal whose sign corresponds to the saved phase of its atom, or the given literal if no phase was
+	 *         saved for the atom.
+	 */
+	public int apply(int literal) {
+		int atom = atomOf(literal);
+		if (atom >= phases.length || phases[atom] == NO_PHASE) {
+			return literal;
+		}
+		return atomToLiteral(atom, phases[atom] == PHASE_TRUE);
+	}
+}
@@ -48,9 +48,13 @@
 import at.ac.tuwien.kr.alpha.test.util.TestUtils;
 import org.junit.Assert;
 import org.junit.Ignore;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
@@ -70,6 +74,9 @@
 public class AlphaTest {
 	private static int invocations;
 
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
 	@at.ac.tuwien.kr.alpha.api.externals.Predicate
 	public static boolean isOne(int term) {
 		invocations++;
@@ -497,6 +504,37 @@ public void problematicRun_3col_1119718541727902_sorted_400() throws IOException
 		assertFalse(system.solve(prog).sorted().limit(400).collect(Collectors.toList()).isEmpty());
 	}
 
+	@Test
+	public void readsMultipleInputsInOrder() throws Exception {
+		List<String> files = new ArrayList<>();
+		StringBuilder sequentialProgram = new StringBuilder();
+		for (int i = 0; i < 8; i++) {
+			StringBuilder fileContent = new StringBuilder();
+			for (int j = 0; j < 100; j++) {
+				fileContent.append("p(").append(i).append(", ").append(j).append(").\n");
+			}
+			fileContent.append("q").append(i).append("(X) :- p(").append(i).append(", X), &isOne[X].\n");
+			if (i == 5) {
+				fileContent.append("#enumeration_predicate_is enum.\n");
+			}
+			Path file = temporaryFolder.newFile("input" + i + ".lp").toPath();
+			Files.write(file, fileContent.toString().getBytes(StandardCharsets.UTF_8));
+			files.add(file.toString());
+			sequentialProgram.append(fileContent);
+		}
+		InputConfig inputCfg = InputConfig.forString("r :- q7(1).");
+		inputCfg.setFiles(files);
+		inputCfg.addPredicateMethod("isOne", Externals.processPredicateMethod(this.getClass().getMethod("isOne", int.class)));
+		sequentialProgram.append("r :- q7(1).");
+
+		Alpha system = new Alpha();
+		InputProgram actual = system.readProgram(inputCfg);
+		InputProgram expected = system.readProgramString(sequentialProgram.toString(), inputCfg.getPredicateMethods());
+		assertEquals(expected.getFacts(), actual.getFacts());
+		assertEquals(expected.getRules(), actual.getRules());
+		assertEquals("enum", actual.getInlineDirectives().getDirectiveValue(InlineDirectives.DIRECTIVE.enum_predicate_is));
+	}
+
 	private void problematicRun(String program, long seed, int limit) throws IOException {
 		final Path base = Paths.get("src", "test", "resources", "PreviouslyProblematic");
 		SystemConfig cfg = new SystemConfig();
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.api;
+
+import at.ac.tuwien.kr.alpha.common.AnswerSet;
+import at.ac.tuwien.kr.alpha.config.SystemConfig;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Stress test running many independent solves concurrently within one JVM. Every solve must yield exactly the answer
+ * sets of the same program solved in isolation, i.e., solves must not interfere via shared state.
+ *
+ * Copyright (c) 2020, the Alpha Team.
+ */
+public class ConcurrentSolvesTest {
+
+	private static final int THREADS = 8;
+	private static final int SOLVES = 400;
+
+	private static final String[] PROGRAMS = {
+		// Cardinality aggregates are rewritten using enumeration atoms.
+		"a(1..5). { x(N) : a(N) }. :- 3 <= #count { N : x(N) }.",
+		// Sum aggregates are rewritten using enumeration atoms, too.
+		"n(1..4). { x(N) : n(N) }. ok :- 4 <= #sum { N : x(N) }, not exceeds. exceeds :- 7 <= #sum { N : x(N) }. :- not ok.",
+		// Anonymous variables and a stratified part.
+		"p(1,a). p(2,b). p(3,c). q(X) :- p(X,_). r(X) :- q(X), not s(X). s(X) :- q(X), not r(X). :- r(1), r(2).",
+		"dom(1..4). e(X,Y) :- dom(X), dom(Y), X < Y. { in(X) : dom(X) }. :- in(X), in(Y), e(X,Y), not in(Z), dom(Z), Z = X + 1."
+	};
+
+	@Test(timeout = 120000)
+	public void manyConcurrentSolvesYieldIsolatedResults() throws Exception {
+		List<Set<AnswerSet>> expected = new ArrayList<>();
+		for (String program : PROGRAMS) {
+			expected.add(solve(program, 1));
+		}
+		assertEquals(16, expected.get(0).size());
+
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<Set<AnswerSet>>> results = new ArrayList<>();
+			for (int i = 0; i < SOLVES; i++) {
+				final String program = PROGRAMS[i % PROGRAMS.length];
+				// Some solves use a portfolio, whose workers run concurrently on the same program.
+				final int threads = i % 5 == 0 ? 2 : 1;
+				results.add(executor.submit(() -> solve(program, threads)));
+			}
+			for (int i = 0; i < SOLVES; i++) {
+				assertEquals("Solve " + i + " differs.", expected.get(i % PROGRAMS.length), results.get(i).get());
+			}
+		} finally {
+			executor.shutdownNow();
+			assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+		}
+	}
+
+	private static Set<AnswerSet> solve(String program, int threads) {
+		SystemConfig config = new SystemConfig();
+		config.setThreads(threads);
+		Alpha alpha = new Alpha(config);
+		return alpha.solve(alpha.readProgramString(program)).collect(Collectors.toSet());
+	}
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.api.output;
+
+import at.ac.tuwien.kr.alpha.common.AnswerSet;
+import at.ac.tuwien.kr.alpha.common.AnswerSetBuilder;
+import at.ac.tuwien.kr.alpha.common.SimpleAnswerSetFormatter;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+
+public class AspAnswerSetWriterTest {
+	private static final String LS = System.lineSeparator();
+
+	@Test
+	public void writesLikeFormatter() throws IOException {
+		AnswerSet as = new AnswerSetBuilder()
+			.predicate("a")
+			.predicate("p").instance(1, -23).instance(2, 3)
+			.predicate("q").symbolicInstance("b").instance("x")
+			.build();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		AnswerSetWriter writer = new AspAnswerSetWriter(out, ", ");
+		writer.write(1, as);
+		writer.writeResult(true);
+		writer.flush();
+		String expected = "Answer set 1:" + LS + new SimpleAnswerSetFormatter(", ").format(as) + LS + "SATISFIABLE" + LS;
+		assertEquals(expected, out.toString());
+	}
+
+	@Test
+	public void writesUnsatisfiable() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		AnswerSetWriter writer = new AspAnswerSetWriter(out, ", ");
+		writer.writeResult(false);
+		writer.flush();
+		assertEquals("UNSATISFIABLE" + LS, out.toString());
+	}
+}
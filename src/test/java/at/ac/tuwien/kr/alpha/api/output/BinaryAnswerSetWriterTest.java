@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.api.output;
+
+import at.ac.tuwien.kr.alpha.common.AnswerSet;
+import at.ac.tuwien.kr.alpha.common.AnswerSetBuilder;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.assertArrayEquals;
+
+public class BinaryAnswerSetWriterTest {
+
+	@Test
+	public void writesInternedStrings() throws IOException {
+		AnswerSet as = new AnswerSetBuilder()
+			.predicate("p").symbolicInstance("p").instance(-1)
+			.build();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		AnswerSetWriter writer = new BinaryAnswerSetWriter(out);
+		writer.write(1, as);
+		writer.write(2, as);
+		writer.writeResult(true);
+		writer.flush();
+		byte[] answerSetStart = {'A', 1, 1, 0, 1, 'p', 1, 2};
+		byte[] terms = {0, 1, 1, 0};
+		byte[] repeatedAnswerSet = {'A', 2, 1, 0, 1, 2, 0, 1, 1, 0};
+		ByteArrayOutputStream expected = new ByteArrayOutputStream();
+		expected.write(BinaryAnswerSetWriter.MAGIC);
+		expected.write(BinaryAnswerSetWriter.VERSION);
+		expected.write(answerSetStart);
+		expected.write(terms);
+		expected.write(repeatedAnswerSet);
+		expected.write(new byte[] {'E', 1});
+		assertArrayEquals(expected.toByteArray(), out.toByteArray());
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.api.output;
+
+import at.ac.tuwien.kr.alpha.common.AnswerSet;
+import at.ac.tuwien.kr.alpha.common.AnswerSetBuilder;
+import at.ac.tuwien.kr.alpha.common.Predicate;
+import at.ac.tuwien.kr.alpha.common.atoms.Atom;
+import at.ac.tuwien.kr.alpha.common.terms.Term;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class XlsxAnswerSetWriterTest {
+
+	@Test
+	public void writeAnswerSetTest() throws IOException {
+		AnswerSet as = new AnswerSetBuilder().predicate("bla").instance("blubb", "blubb").instance("foo", "bar").predicate("foo").instance("bar")
+				.instance("baz").predicate("flag").build();
+		Path tmpDir = Files.createTempDirectory("alpha-test-xlsx-streaming");
+		AnswerSetWriter writer = new XlsxAnswerSetWriter(tmpDir.toString() + "/alphaAnswerSet");
+		writer.write(1, as);
+		writer.writeResult(true);
+		File[] generatedFiles = tmpDir.toFile().listFiles();
+		Assert.assertEquals(1, generatedFiles.length);
+		File answerSetFile = generatedFiles[0];
+		Assert.assertEquals("alphaAnswerSet.1.xlsx", answerSetFile.getName());
+		Workbook wb = WorkbookFactory.create(answerSetFile);
+		assertWorkbookMatchesAnswerSet(wb, as);
+		wb.close();
+		// clean up
+		answerSetFile.delete();
+		tmpDir.toFile().delete();
+	}
+
+	@Test
+	public void writeUnsatTest() throws IOException {
+		Path tmpDir = Files.createTempDirectory("alpha-test-xlsx-unsat");
+		AnswerSetWriter writer = new XlsxAnswerSetWriter(tmpDir.toString() + "/alphaAnswerSet");
+		writer.writeResult(false);
+		File[] generatedFiles = tmpDir.toFile().listFiles();
+		Assert.assertEquals(1, generatedFiles.length);
+		File unsatFile = generatedFiles[0];
+		Assert.assertEquals("alphaAnswerSet.UNSAT.xlsx", unsatFile.getName());
+		Workbook wb = WorkbookFactory.create(unsatFile);
+		Sheet unsatSheet = wb.getSheet("Unsatisfiable");
+		Assert.assertNotNull(unsatSheet);
+		Cell cell = unsatSheet.getRow(0).getCell(0);
+		Assert.assertNotNull(cell);
+		Assert.assertEquals("Input is unsatisfiable - No answer sets!", cell.getStringCellValue());
+		wb.close();
+		// clean up
+		unsatFile.delete();
+		tmpDir.toFile().delete();
+	}
+
+	private static void assertWorkbookMatchesAnswerSet(Workbook wb, AnswerSet as) {
+		for (Predicate pred : as.getPredicates()) {
+			if (pred.getArity() == 0) {
+				boolean flagFound = false;
+				Sheet flagsSheet = wb.getSheet("Flags");
+				Assert.assertNotNull(flagsSheet);
+				for (Row row : flagsSheet) {
+					if (row.getCell(0).getStringCellValue().equals(pred.getName())) {
+						flagFound = true;
+						break;
+					}
+				}
+				Assert.assertTrue("0-arity predicate " + pred.getName() + " not found in workbook!", flagFound);
+			} else {
+				Sheet predicateSheet = wb.getSheet(pred.getName() + "_" + pred.getArity());
+				for (Atom atom : as.getPredicateInstances(pred)) {
+					boolean atomFound = false;
+					Assert.assertNotNull(predicateSheet);
+					for (Row row : predicateSheet) {
+						if (rowMatchesAtom(row, atom)) {
+							atomFound = true;
+							break;
+						}
+					}
+					Assert.assertTrue("Atom " + atom.toString() + " not found in workbook!", atomFound);
+				}
+			}
+		}
+	}
+
+	private static boolean rowMatchesAtom(Row row, Atom atom) {
+		List<Term> terms = atom.getTerms();
+		for (int i = 0; i < terms.size(); i++) {
+			Cell cell = row.getCell(i);
+			if (cell == null || !cell.getStringCellValue().equals(terms.get(i).toString())) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.common;
+
+import at.ac.tuwien.kr.alpha.common.atoms.Atom;
+import at.ac.tuwien.kr.alpha.common.atoms.BasicAtom;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import static at.ac.tuwien.kr.alpha.common.terms.ConstantTerm.getInstance;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class CompactAnswerSetTest {
+	private final Predicate a = Predicate.getInstance("a", 0);
+	private final Predicate p = Predicate.getInstance("p", 1);
+	private final Predicate q = Predicate.getInstance("q", 1);
+
+	private final AtomStore atomStore = new AtomStoreImpl();
+
+	private AnswerSet facts() {
+		// facts = { p(1), p(2), q(1) }
+		Map<Predicate, SortedSet<Atom>> instances = new HashMap<>();
+		instances.put(p, new TreeSet<>(asList(new BasicAtom(p, getInstance(1)), new BasicAtom(p, getInstance(2)))));
+		instances.put(q, new TreeSet<>(singleton(new BasicAtom(q, getInstance(1)))));
+		return new BasicAnswerSet(new TreeSet<>(asList(p, q)), instances);
+	}
+
+	private CompactAnswerSet compactAnswerSet(AnswerSet facts, Atom... trueAtoms) {
+		SortedSet<Predicate> predicates = new TreeSet<>(facts.getPredicates());
+		int[] atomIds = new int[trueAtoms.length];
+		Predicate[] atomPredicates = new Predicate[trueAtoms.length];
+		for (int i = 0; i < trueAtoms.length; i++) {
+			atomIds[i] = atomStore.putIfAbsent(trueAtoms[i]);
+			atomPredicates[i] = trueAtoms[i].getPredicate();
+			predicates.add(atomPredicates[i]);
+		}
+		return new CompactAnswerSet(facts, atomStore, atomIds, atomPredicates, predicates);
+	}
+
+	@Test
+	public void equalToBasicAnswerSet() {
+		AnswerSet compact = compactAnswerSet(facts(), new BasicAtom(a), new BasicAtom(q, getInstance(3)), new BasicAtom(q, getInstance(2)));
+		AnswerSet basic = new AnswerSetBuilder()
+			.predicate("a")
+			.predicate("p").instance(1).instance(2)
+			.predicate("q").instance(1).instance(2).instance(3)
+			.build();
+
+		// Hash codes are computed without materializing instances, hence compare them before anything is materialized.
+		assertEquals(basic.hashCode(), compact.hashCode());
+		assertEquals(basic, compact);
+		assertEquals(compact, basic);
+		assertEquals(basic.toString(), compact.toString());
+		assertEquals(0, compact.compareTo(basic));
+		assertEquals(0, basic.compareTo(compact));
+	}
+
+	@Test
+	public void notEqualToDifferentAnswerSet() {
+		AnswerSet compact = compactAnswerSet(facts(), new BasicAtom(q, getInstance(2)));
+		AnswerSet other = compactAnswerSet(facts(), new BasicAtom(q, getInstance(3)));
+		assertNotEquals(compact, other);
+		assertNotEquals(0, compact.compareTo(other));
+	}
+
+	@Test
+	public void sharesInstancesOfFacts() {
+		AnswerSet facts = facts();
+		AnswerSet compact = compactAnswerSet(facts, new BasicAtom(q, getInstance(2)));
+		assertSame(facts.getPredicateInstances(p), compact.getPredicateInstances(p));
+		assertEquals(2, compact.getPredicateInstances(q).size());
+		assertNull(compact.getPredicateInstances(a));
+	}
+
+	@Test
+	public void trueFactAtomIsContainedOnce() {
+		AnswerSet compact = compactAnswerSet(facts(), new BasicAtom(p, getInstance(1)));
+		assertEquals(facts().hashCode(), compact.hashCode());
+		assertEquals(facts(), compact);
+	}
+}
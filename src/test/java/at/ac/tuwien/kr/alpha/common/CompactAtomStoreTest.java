@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.common;
+
+import at.ac.tuwien.kr.alpha.common.atoms.Atom;
+import at.ac.tuwien.kr.alpha.common.atoms.BasicAtom;
+import at.ac.tuwien.kr.alpha.common.terms.ConstantTerm;
+import at.ac.tuwien.kr.alpha.common.terms.FunctionTerm;
+import at.ac.tuwien.kr.alpha.common.terms.Term;
+import at.ac.tuwien.kr.alpha.common.terms.VariableTerm;
+import at.ac.tuwien.kr.alpha.grounder.atoms.ChoiceAtom;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CompactAtomStoreTest {
+
+	@Test
+	public void atomsAreReconstructed() {
+		AtomStore atomStore = new CompactAtomStore();
+		Atom pa = new BasicAtom(Predicate.getInstance("p", 1), ConstantTerm.getSymbolicInstance("a"));
+		Atom qf = new BasicAtom(Predicate.getInstance("q", 2), ConstantTerm.getInstance(1),
+				FunctionTerm.getInstance("f", ConstantTerm.getInstance("b")));
+		Atom choiceOn = ChoiceAtom.on(1);
+
+		int paId = atomStore.putIfAbsent(pa);
+		int qfId = atomStore.putIfAbsent(qf);
+		int choiceOnId = atomStore.putIfAbsent(choiceOn);
+
+		assertEquals(pa, atomStore.get(paId));
+		assertEquals(qf, atomStore.get(qfId));
+		assertEquals(choiceOn, atomStore.get(choiceOnId));
+		assertEquals(ChoiceAtom.class, atomStore.get(choiceOnId).getClass());
+		assertEquals(3, atomStore.getMaxAtomId());
+		assertFalse(atomStore.isAtomChoicePoint(paId));
+	}
+
+	@Test
+	public void atomsOfOtherClassesAreKept() {
+		AtomStore atomStore = new CompactAtomStore();
+		Predicate p = Predicate.getInstance("p", 1);
+		Atom subclassAtom = new SubclassAtom(p, ConstantTerm.getInstance(1));
+		Atom basicAtom = new BasicAtom(p, ConstantTerm.getInstance(2));
+
+		int subclassAtomId = atomStore.putIfAbsent(subclassAtom);
+		int basicAtomId = atomStore.putIfAbsent(basicAtom);
+
+		assertSame(subclassAtom, atomStore.get(subclassAtomId));
+		assertEquals(BasicAtom.class, atomStore.get(basicAtomId).getClass());
+		assertEquals(basicAtom, atomStore.get(basicAtomId));
+	}
+
+	@Test
+	public void sameAtomYieldsSameId() {
+		AtomStore atomStore = new CompactAtomStore();
+		Predicate p = Predicate.getInstance("p", 1);
+		int id = atomStore.putIfAbsent(new BasicAtom(p, ConstantTerm.getInstance(42)));
+		assertEquals(id, atomStore.putIfAbsent(new BasicAtom(p, ConstantTerm.getInstance(42))));
+		assertEquals(id, atomStore.get(new BasicAtom(p, ConstantTerm.getInstance(42))));
+		assertTrue(atomStore.contains(new BasicAtom(p, ConstantTerm.getInstance(42))));
+		assertEquals(1, atomStore.getMaxAtomId());
+	}
+
+	@Test
+	public void unknownAtomsAreNotContained() {
+		AtomStore atomStore = new CompactAtomStore();
+		Predicate p = Predicate.getInstance("p", 1);
+		atomStore.putIfAbsent(new BasicAtom(p, ConstantTerm.getInstance(1)));
+		assertFalse(atomStore.contains(new BasicAtom(p, ConstantTerm.getInstance(2))));
+		assertFalse(atomStore.contains(new BasicAtom(Predicate.getInstance("q", 1), ConstantTerm.getInstance(1))));
+		assertFalse(atomStore.contains(new BasicAtom(p, VariableTerm.getInstance("X"))));
+	}
+
+	@Test
+	public void assignsSameIdsAsAtomStoreImpl() {
+		AtomStore compact = new CompactAtomStore();
+		AtomStore reference = new AtomStoreImpl();
+		AtomStoreTest.fillAtomStore(compact, 5000);
+		AtomStoreTest.fillAtomStore(reference, 5000);
+		assertEquals(reference.getMaxAtomId(), compact.getMaxAtomId());
+		for (int atomId = 1; atomId <= reference.getMaxAtomId(); atomId++) {
+			Atom atom = reference.get(atomId);
+			assertEquals(atom, compact.get(atomId));
+			assertEquals(atomId, compact.get(atom));
+		}
+	}
+
+	private static class SubclassAtom extends BasicAtom {
+		SubclassAtom(Predicate predicate, Term... terms) {
+			super(predicate, terms);
+		}
+	}
+}
@@ -22,10 +22,10 @@ public class RuleTest {
 	public void renameVariables() {
 		String originalRule = "p(X,Y) :- a, f(Z) = 1, q(X,g(Y),Z), dom(A).";
 		BasicRule rule = parser.parse(originalRule).getRules().get(0);
-		InternalRule normalRule = InternalRule.fromNormalRule(NormalRule.fromBasicRule(rule));
+		InternalRule normalRule = InternalRule.fromNormalRule(NormalRule.fromBasicRule(rule), 0);
 		InternalRule renamedRule = normalRule.renameVariables("_13");
 		BasicRule expectedRenamedRule = parser.parse("p(X_13, Y_13) :- a, f(Z_13) = 1, q(X_13, g(Y_13), Z_13), dom(A_13).").getRules().get(0);
-		InternalRule expectedRenamedNormalRule = InternalRule.fromNormalRule(NormalRule.fromBasicRule(expectedRenamedRule));
+		InternalRule expectedRenamedNormalRule = InternalRule.fromNormalRule(NormalRule.fromBasicRule(expectedRenamedRule), 0);
 		assertEquals(expectedRenamedNormalRule.toString(), renamedRule.toString());
 	}
 
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.common.fixedinterpretations;
+
+import at.ac.tuwien.kr.alpha.api.externals.Externals;
+import at.ac.tuwien.kr.alpha.api.externals.Predicate;
+import at.ac.tuwien.kr.alpha.common.terms.ConstantTerm;
+import at.ac.tuwien.kr.alpha.common.terms.Term;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class MethodPredicateInterpretationTest {
+
+	private static int pureCalls;
+	private static int impureCalls;
+
+	@Predicate(pure = true)
+	public static boolean pureIsEven(int value) {
+		pureCalls++;
+		return value % 2 == 0;
+	}
+
+	@Predicate
+	public static boolean impureIsEven(int value) {
+		impureCalls++;
+		return value % 2 == 0;
+	}
+
+	@Predicate(pure = true)
+	public static Set<List<ConstantTerm<Integer>>> pureSuccessor(int value) {
+		pureCalls++;
+		return Collections.singleton(singletonList(ConstantTerm.getInstance(value + 1)));
+	}
+
+	private Map<String, PredicateInterpretation> externals;
+
+	@Before
+	public void setUp() {
+		externals = Externals.scan(MethodPredicateInterpretationTest.class);
+		pureCalls = 0;
+		impureCalls = 0;
+	}
+
+	private static List<Term> terms(int value) {
+		return singletonList(ConstantTerm.getInstance(value));
+	}
+
+	private static List<Term> terms(String value) {
+		return singletonList(ConstantTerm.getInstance(value));
+	}
+
+	@Test
+	public void pureMethodIsInvokedOncePerArguments() {
+		PredicateInterpretation isEven = externals.get("pureIsEven");
+		assertEquals(PredicateInterpretation.TRUE, isEven.evaluate(terms(2)));
+		assertEquals(PredicateInterpretation.TRUE, isEven.evaluate(terms(2)));
+		assertEquals(PredicateInterpretation.FALSE, isEven.evaluate(terms(3)));
+		assertEquals(PredicateInterpretation.FALSE, isEven.evaluate(terms(3)));
+		assertEquals(2, pureCalls);
+	}
+
+	@Test
+	public void impureMethodIsInvokedOnEveryCall() {
+		PredicateInterpretation isEven = externals.get("impureIsEven");
+		assertEquals(PredicateInterpretation.TRUE, isEven.evaluate(terms(2)));
+		assertEquals(PredicateInterpretation.TRUE, isEven.evaluate(terms(2)));
+		assertEquals(2, impureCalls);
+	}
+
+	@Test
+	public void pureBindingMethodReturnsMemoizedResult() {
+		PredicateInterpretation successor = externals.get("pureSuccessor");
+		Set<List<ConstantTerm<?>>> first = successor.evaluate(terms(41));
+		Set<List<ConstantTerm<?>>> second = successor.evaluate(terms(41));
+		assertEquals(Collections.singleton(singletonList(ConstantTerm.getInstance(42))), first);
+		assertSame(first, second);
+		assertEquals(1, pureCalls);
+	}
+
+	@Test
+	public void memoizationCacheIsBounded() {
+		PredicateInterpretation isEven = externals.get("pureIsEven");
+		for (int i = 0; i <= CompiledMethod.MEMOIZATION_CACHE_SIZE; i++) {
+			isEven.evaluate(terms(i));
+		}
+		// The first arguments have been evicted by now, the most recent ones are still cached.
+		isEven.evaluate(terms(0));
+		isEven.evaluate(terms(CompiledMethod.MEMOIZATION_CACHE_SIZE));
+		assertEquals(CompiledMethod.MEMOIZATION_CACHE_SIZE + 2, pureCalls);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void typeMismatchIsRejected() {
+		externals.get("pureIsEven").evaluate(terms("two"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void bindingTypeMismatchIsRejected() {
+		externals.get("pureSuccessor").evaluate(terms("two"));
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.common.metrics;
+
+import at.ac.tuwien.kr.alpha.api.Alpha;
+import at.ac.tuwien.kr.alpha.common.program.InternalProgram;
+import at.ac.tuwien.kr.alpha.config.SystemConfig;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GroundingProfilerTest {
+
+	private static List<GroundingProfiler.RuleProfile> profile(String program, boolean enabled) {
+		SystemConfig config = new SystemConfig();
+		// Rules evaluated by the stratified evaluation are not profiled, the programs below would be evaluated completely.
+		config.setEvaluateStratifiedPart(false);
+		Alpha alpha = new Alpha(config);
+		InternalProgram internalProgram = alpha.performProgramPreprocessing(InternalProgram.fromNormalProgram(alpha.normalizeProgram(
+				alpha.readProgramString(program))));
+		MetricsRegistry metrics = new MetricsRegistry();
+		if (enabled) {
+			metrics.enableGroundingProfiling();
+		}
+		alpha.prepareSolverFor(internalProgram, p -> true, metrics).collectSet();
+		return metrics.getGroundingProfile();
+	}
+
+	@Test
+	public void profilesJoinPerLiteral() {
+		List<GroundingProfiler.RuleProfile> profiles = profile("p(1..3). q(1,a). q(1,b). q(2,c). r(X,Y) :- p(X), q(X,Y).", true);
+		GroundingProfiler.RuleProfile joinProfile = null;
+		for (GroundingProfiler.RuleProfile profile : profiles) {
+			if (profile.getRule().getHeadAtom().getPredicate().getName().equals("r")) {
+				joinProfile = profile;
+			}
+		}
+		assertTrue(joinProfile != null);
+		// Each of the three ground rules is produced at least once, possibly again when starting from the other literal.
+		assertTrue(joinProfile.getSubstitutions() >= 3);
+		assertTrue(joinProfile.getDuplicateNoGoods() < joinProfile.getNoGoods());
+		assertTrue(joinProfile.getNoGoods() >= joinProfile.getSubstitutions());
+		assertTrue(joinProfile.getNanos() > 0);
+		assertEquals(2, joinProfile.getLiteralProfiles().size());
+		long boundSubstitutions = 0;
+		for (GroundingProfiler.LiteralProfile literalProfile : joinProfile.getLiteralProfiles()) {
+			assertTrue(literalProfile.getCandidateInstances() >= literalProfile.getSubstitutions());
+			boundSubstitutions += literalProfile.getSubstitutions();
+		}
+		assertTrue(boundSubstitutions >= 3);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		GroundingProfiler.printReport(profiles, new PrintStream(out));
+		assertTrue(out.toString().contains("rule " + joinProfile.getRule().getRuleId() + ": "));
+		assertTrue(out.toString().contains("fan-out: "));
+	}
+
+	@Test
+	public void disabledByDefault() {
+		assertTrue(profile("p(1). q(X) :- p(X).", false).isEmpty());
+	}
+
+	@Test
+	public void rankMergesProfilesOfSameRule() {
+		List<GroundingProfiler.RuleProfile> profiles = profile("p(1..3). q(X) :- p(X).", true);
+		assertFalse(profiles.isEmpty());
+		List<GroundingProfiler.RuleProfile> doubled = new ArrayList<>(profiles);
+		doubled.addAll(profiles);
+		List<GroundingProfiler.RuleProfile> merged = GroundingProfiler.rank(doubled);
+		assertEquals(profiles.size(), merged.size());
+		assertEquals(2 * profiles.get(0).getSubstitutions(), merged.get(0).getSubstitutions());
+	}
+}
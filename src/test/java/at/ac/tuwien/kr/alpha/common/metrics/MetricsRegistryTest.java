@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.common.metrics;
+
+import at.ac.tuwien.kr.alpha.api.Alpha;
+import at.ac.tuwien.kr.alpha.common.program.InternalProgram;
+import at.ac.tuwien.kr.alpha.common.rule.InternalRule;
+import at.ac.tuwien.kr.alpha.solver.Solver;
+import org.junit.Test;
+
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MetricsRegistryTest {
+
+	@Test
+	public void countersAndSourcesAreSummed() {
+		MetricsRegistry metrics = new MetricsRegistry();
+		AtomicLong source = new AtomicLong(5);
+		metrics.addSource(Metric.CHOICES, source::get);
+		metrics.addSource(Metric.CHOICES, () -> 2);
+		metrics.increment(Metric.CHOICES);
+		metrics.add(Metric.CONFLICTS, 3);
+		assertEquals(8, metrics.get(Metric.CHOICES));
+		source.set(10);
+		assertEquals(13, metrics.get(Metric.CHOICES));
+		assertEquals(3, metrics.get(Metric.CONFLICTS));
+		assertEquals(0, metrics.get(Metric.RESTARTS));
+	}
+
+	@Test
+	public void solvingReportsMetrics() throws IOException {
+		Alpha alpha = new Alpha();
+		InternalProgram program = alpha.performProgramPreprocessing(InternalProgram.fromNormalProgram(alpha.normalizeProgram(alpha.readProgramString(
+				"p(1..3). { q(X) } :- p(X). :- q(X), q(Y), X != Y."))));
+		MetricsRegistry metrics = new MetricsRegistry();
+		Solver solver = alpha.prepareSolverFor(program, p -> true, metrics);
+		assertEquals(4, solver.collectSet().size());
+
+		assertTrue(metrics.get(Metric.CHOICES) > 0);
+		assertTrue(metrics.get(Metric.GROUNDING_ROUNDS) > 0);
+		assertTrue(metrics.get(Metric.GROUNDER_NANOS) > 0);
+		assertTrue(metrics.get(Metric.SOLVER_NANOS) > 0);
+		Map<InternalRule, Long> groundRulesPerRule = metrics.getGroundRulesPerRule();
+		assertFalse(groundRulesPerRule.isEmpty());
+		long previous = Long.MAX_VALUE;
+		for (long groundRules : groundRulesPerRule.values()) {
+			assertTrue(groundRules <= previous);
+			previous = groundRules;
+		}
+
+		StringWriter json = new StringWriter();
+		metrics.writeJson(json);
+		assertTrue(json.toString().contains("\"choices\": " + metrics.get(Metric.CHOICES) + ","));
+		assertTrue(json.toString().contains("\"groundRulesPerRule\": [\n    {\"ruleId\": "));
+	}
+
+	@Test
+	public void publishAndUnpublish() throws Exception {
+		MetricsRegistry metrics = new MetricsRegistry();
+		metrics.add(Metric.CONFLICTS, 42);
+		ObjectName name = metrics.publish();
+		try {
+			assertEquals(42L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, Metric.CONFLICTS.getKey()));
+		} finally {
+			metrics.unpublish();
+		}
+		assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+	}
+}
@@ -170,4 +170,46 @@ public void atomSeparator() throws ParseException {
 		assertEquals("some-string", cfg.getSystemConfig().getAtomSeparator());
 	}
 
+	@Test
+	public void atomStore() throws ParseException {
+		CommandLineParser parser = new CommandLineParser(DEFAULT_COMMAND_LINE, DEFAULT_ABORT_ACTION);
+		AlphaConfig cfg = parser.parseCommandLine(new String[]{"-str", "aString.", "-as", "compact"});
+		assertEquals("compact", cfg.getSystemConfig().getAtomStoreName());
+	}
+
+	@Test
+	public void threads() throws ParseException {
+		CommandLineParser parser = new CommandLineParser(DEFAULT_COMMAND_LINE, DEFAULT_ABORT_ACTION);
+		AlphaConfig cfg = parser.parseCommandLine(new String[]{"-str", "aString.", "--threads", "4"});
+		assertEquals(4, cfg.getSystemConfig().getThreads());
+	}
+
+	@Test(expected = ParseException.class)
+	public void nonPositiveThreads() throws ParseException {
+		CommandLineParser parser = new CommandLineParser(DEFAULT_COMMAND_LINE, DEFAULT_ABORT_ACTION);
+		parser.parseCommandLine(new String[]{"-str", "aString.", "-t", "0"});
+	}
+
+	@Test
+	public void metricsReport() throws ParseException {
+		CommandLineParser parser = new CommandLineParser(DEFAULT_COMMAND_LINE, DEFAULT_ABORT_ACTION);
+		AlphaConfig cfg = parser.parseCommandLine(new String[]{"-str", "aString.", "--metricsReport", "metrics.json", "-jmx"});
+		assertEquals("metrics.json", cfg.getSystemConfig().getMetricsReportPath());
+		Assert.assertTrue(cfg.getSystemConfig().isPublishMetrics());
+	}
+
+	@Test
+	public void groundingProfile() throws ParseException {
+		CommandLineParser parser = new CommandLineParser(DEFAULT_COMMAND_LINE, DEFAULT_ABORT_ACTION);
+		AlphaConfig cfg = parser.parseCommandLine(new String[]{"-str", "aString.", "--groundingProfile"});
+		Assert.assertTrue(cfg.getSystemConfig().isGroundingProfile());
+	}
+
+	@Test
+	public void disableFastFactLoading() throws ParseException {
+		CommandLineParser parser = new CommandLineParser(DEFAULT_COMMAND_LINE, DEFAULT_ABORT_ACTION);
+		AlphaConfig cfg = parser.parseCommandLine(new String[]{"-i", "someFile.asp", "--disableFastFactLoading"});
+		Assert.assertFalse(cfg.getSystemConfig().isFastFactLoading());
+	}
+
 }
@@ -91,7 +91,7 @@ public class DummyGrounder implements Grounder {
 	private static Atom atomBB = new BasicAtom(Predicate.getInstance("b", 0));
 	private static Atom atomCC = new BasicAtom(Predicate.getInstance("c", 0));
 	private static BasicRule ruleABC = new BasicRule(new NormalHead(atomCC), Arrays.asList(atomAA.toLiteral(), atomBB.toLiteral()));
-	private static Atom rule1 = new RuleAtom(InternalRule.fromNormalRule(NormalRule.fromBasicRule(ruleABC)), new Substitution());
+	private static Atom rule1 = new RuleAtom(InternalRule.fromNormalRule(NormalRule.fromBasicRule(ruleABC), 0), new Substitution());
 	private Set<Integer> returnedNogoods = new HashSet<>();
 
 	public DummyGrounder(AtomStore atomStore) {
@@ -28,10 +28,15 @@
 package at.ac.tuwien.kr.alpha.grounder;
 
 import at.ac.tuwien.kr.alpha.common.Predicate;
+import at.ac.tuwien.kr.alpha.common.atoms.BasicAtom;
 import at.ac.tuwien.kr.alpha.common.terms.ConstantTerm;
+import at.ac.tuwien.kr.alpha.common.terms.VariableTerm;
 import org.junit.Test;
 
-import java.util.List;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 
 import static org.junit.Assert.*;
 
@@ -74,21 +79,53 @@ public void testIndexedInstanceStorage() {
 		Instance inst4 = new Instance(t1, t2, t1, t1);
 		Instance inst5 = new Instance(t5, t4, t3, t2);
 
-		storage.addInstance(inst1);
-		storage.addInstance(inst2);
-		storage.addInstance(inst3);
-		storage.addInstance(inst4);
-		storage.addInstance(inst5);
+		assertTrue(storage.addInstance(inst1));
+		assertTrue(storage.addInstance(inst2));
+		assertTrue(storage.addInstance(inst3));
+		assertTrue(storage.addInstance(inst4));
+		assertTrue(storage.addInstance(inst5));
+		// Adding an instance a second time leaves the storage unchanged.
+		assertFalse(storage.addInstance(new Instance(t1, t2, t3, t4)));
+		assertEquals(5, storage.getRecentlyAddedInstances().size());
 
-		List<Instance> matching3 = storage.getInstancesMatchingAtPosition(t3, 2);
+		Collection<Instance> matching3 = storage.getInstancesMatchingAtPosition(t3, 2);
 		assertEquals(matching3.size(), 3);
 		assertTrue(matching3.contains(new Instance(t1, t2, t3, t4)));
 		assertTrue(matching3.contains(new Instance(t4, t3, t3, t5)));
 		assertTrue(matching3.contains(new Instance(t5, t4, t3, t2)));
 		assertFalse(matching3.contains(new Instance(t1, t1, t1, t1)));
 
-		List<Instance> matching1 = storage.getInstancesMatchingAtPosition(t2, 0);
+		Collection<Instance> matching1 = storage.getInstancesMatchingAtPosition(t2, 0);
 		assertEquals(matching1.size(), 0);
 	}
 
-}
\ No newline at end of file
+	@Test
+	public void compoundIndexAndRemoval() {
+		IndexedInstanceStorage storage = new IndexedInstanceStorage(Predicate.getInstance("p", 3), true);
+		storage.addIndex(2, 0);
+		ConstantTerm<String> t1 = ConstantTerm.getInstance("1");
+		ConstantTerm<String> t2 = ConstantTerm.getInstance("2");
+		VariableTerm x = VariableTerm.getInstance("X");
+
+		Instance inst1 = new Instance(t1, t1, t1);
+		Instance inst2 = new Instance(t1, t2, t1);
+		Instance inst3 = new Instance(t1, t2, t2);
+		storage.addInstance(inst1);
+		storage.addInstance(inst2);
+		storage.addInstance(inst3);
+		storage.markRecentlyAddedInstancesDone();
+
+		Collection<Instance> matching = storage.getInstancesFromPartiallyGroundAtom(new BasicAtom(storage.getPredicate(), t1, x, t1));
+		assertEquals(Arrays.asList(inst1, inst2), new ArrayList<>(matching));
+
+		storage.removeInstance(inst1);
+		matching = storage.getInstancesFromPartiallyGroundAtom(new BasicAtom(storage.getPredicate(), t1, x, t1));
+		assertEquals(Collections.singletonList(inst2), new ArrayList<>(matching));
+		assertFalse(storage.containsInstance(inst1));
+
+		// Position 1 is not covered by any index, querying it creates an index on demand.
+		matching = storage.getInstancesFromPartiallyGroundAtom(new BasicAtom(storage.getPredicate(), x, t2, x));
+		assertEquals(2, matching.size());
+		assertEquals(2, storage.getInstancesMatchingAtPosition(t2, 1).size());
+	}
+}
@@ -43,7 +43,6 @@
 import at.ac.tuwien.kr.alpha.grounder.parser.ProgramPartParser;
 import at.ac.tuwien.kr.alpha.solver.ThriceTruth;
 import at.ac.tuwien.kr.alpha.solver.TrailAssignment;
-import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -78,11 +77,6 @@ public class NaiveGrounderTest {
 	final Literal litAX = PROGRAM_PART_PARSER.parseLiteral("a(X)");
 	final Literal litA1 = PROGRAM_PART_PARSER.parseLiteral("a(1)");
 
-	@Before
-	public void resetRuleIdGenerator() {
-		InternalRule.resetIdGenerator();
-	}
-
 	/**
 	 * Asserts that a ground rule whose positive body is not satisfied by the empty assignment
 	 * is grounded immediately.
@@ -132,6 +126,38 @@ public void groundRuleWithLongerBodyAlreadyGround() {
 		assertExistsNoGoodContaining(noGoods.values(), litDNeg);
 	}
 
+	/**
+	 * Asserts that the literal selectivities observed by a grounder are not recorded in the rules of the program, which
+	 * are shared by all grounders and solves of the program.
+	 */
+	@Test
+	public void groundingLeavesSelectivitiesOfProgramRulesUnchanged() {
+		Alpha system = new Alpha();
+		InputProgram program = PROGRAM_PARSER.parse("p(1). p(2). p(3). q(1,2). q(1,3). "
+				+ "{ a(X) } :- p(X). "
+				+ "r(X,Y) :- a(X), q(X,Y).");
+		NormalProgram normal = system.normalizeProgram(program);
+		InternalProgram prog = InternalProgram.fromNormalProgram(normal);
+
+		AtomStore atomStore = new AtomStoreImpl();
+		Grounder grounder = GrounderFactory.getInstance("naive", prog, atomStore, true);
+		TrailAssignment assignment = new TrailAssignment(atomStore);
+		grounder.getNoGoods(assignment);
+		for (int i = 1; i <= 3; i++) {
+			int atomA = atomStore.get(PROGRAM_PART_PARSER.parseBasicAtom("a(" + i + ")"));
+			assignment.growForMaxAtomId();
+			assignment.assign(atomA, TRUE);
+		}
+		grounder.updateAssignment(assignment.getNewPositiveAssignmentsIterator());
+		grounder.getNoGoods(assignment);
+
+		for (InternalRule rule : prog.getRules()) {
+			for (Literal literal : rule.getBody()) {
+				assertEquals(1.0f, rule.getGroundingOrders().getLiteralSelectivity(literal), 0.0f);
+			}
+		}
+	}
+
 	/**
 	 * Asserts that a ground constraint whose positive body is not satisfied by the empty assignment
 	 * is grounded immediately.
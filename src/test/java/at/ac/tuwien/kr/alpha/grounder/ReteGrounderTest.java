@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.grounder;
+
+import at.ac.tuwien.kr.alpha.api.Alpha;
+import at.ac.tuwien.kr.alpha.common.AnswerSet;
+import at.ac.tuwien.kr.alpha.common.atoms.Literal;
+import at.ac.tuwien.kr.alpha.common.program.InputProgram;
+import at.ac.tuwien.kr.alpha.common.program.InternalProgram;
+import at.ac.tuwien.kr.alpha.common.rule.InternalRule;
+import at.ac.tuwien.kr.alpha.common.terms.ConstantTerm;
+import at.ac.tuwien.kr.alpha.grounder.instantiation.LiteralInstantiator;
+import at.ac.tuwien.kr.alpha.grounder.instantiation.WorkingMemoryBasedInstantiationStrategy;
+import at.ac.tuwien.kr.alpha.grounder.parser.ProgramParser;
+import at.ac.tuwien.kr.alpha.grounder.parser.ProgramPartParser;
+import at.ac.tuwien.kr.alpha.grounder.rete.RuleNetwork;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests {@link ReteGrounder} by comparing its results with those of {@link NaiveGrounder}.
+ */
+public class ReteGrounderTest {
+	private static final ProgramParser PROGRAM_PARSER = new ProgramParser();
+	private static final ProgramPartParser PROGRAM_PART_PARSER = new ProgramPartParser();
+
+	private static Set<AnswerSet> solve(String grounderName, String program) {
+		Alpha system = new Alpha();
+		system.getConfig().setGrounderName(grounderName);
+		system.getConfig().setEvaluateStratifiedPart(false);
+		InputProgram input = PROGRAM_PARSER.parse(program);
+		return system.solve(input).collect(Collectors.toSet());
+	}
+
+	private static void assertSameAnswerSetsAsNaive(String program) {
+		assertEquals(solve("naive", program), solve("rete", program));
+	}
+
+	@Test
+	public void joinOfGuessedAtoms() {
+		assertSameAnswerSetsAsNaive("dom(1..4). "
+				+ "p(X) :- dom(X), not np(X). "
+				+ "np(X) :- dom(X), not p(X). "
+				+ "e(X,Y) :- p(X), p(Y), X < Y. "
+				+ "path(X,Z) :- e(X,Y), e(Y,Z), p(Z). "
+				+ ":- path(1,4).");
+	}
+
+	@Test
+	public void selfJoinWithNegation() {
+		assertSameAnswerSetsAsNaive("n(1..3). "
+				+ "{ edge(X,Y) } :- n(X), n(Y), X != Y. "
+				+ "reach(X,Y) :- edge(X,Y). "
+				+ "reach(X,Z) :- reach(X,Y), edge(Y,Z), not blocked(Z). "
+				+ "blocked(3) :- edge(1,3). "
+				+ ":- reach(X,X).");
+	}
+
+	/**
+	 * Adds instances of both body predicates of a join before propagating either, as the grounder does for predicates
+	 * updated by the same assignment, and asserts that the resulting match is reported once only.
+	 */
+	@Test
+	public void simultaneouslyUpdatedPredicatesAreJoinedOnce() {
+		InternalProgram program = InternalProgram.fromNormalProgram(new Alpha().normalizeProgram(PROGRAM_PARSER.parse("r(X,Y) :- p(X), q(X,Y).")));
+		InternalRule rule = program.getRules().get(0);
+		Literal litP = PROGRAM_PART_PARSER.parseLiteral("p(X)");
+		Literal litQ = PROGRAM_PART_PARSER.parseLiteral("q(X,Y)");
+		WorkingMemory workingMemory = new WorkingMemory();
+		workingMemory.initialize(litP.getPredicate());
+		workingMemory.initialize(litQ.getPredicate());
+		WorkingMemoryBasedInstantiationStrategy strategy = new WorkingMemoryBasedInstantiationStrategy(workingMemory);
+		RuleNetwork network = new RuleNetwork(rule, rule.getGroundingOrders().orderStartingFrom(litP), workingMemory,
+				new LiteralInstantiator(strategy, program.getGroundingContext()), strategy);
+
+		Instance p1 = new Instance(ConstantTerm.getInstance(1));
+		Instance q12 = new Instance(ConstantTerm.getInstance(1), ConstantTerm.getInstance(2));
+		Instance q13 = new Instance(ConstantTerm.getInstance(1), ConstantTerm.getInstance(3));
+		workingMemory.addInstance(litP.getPredicate(), true, p1);
+		workingMemory.addInstance(litQ.getPredicate(), true, q12);
+		List<Substitution> matches = new ArrayList<>();
+		matches.addAll(network.propagate(network.getPosition(litP), p1));
+		matches.addAll(network.propagate(network.getPosition(litQ), q12));
+		assertEquals(1, matches.size());
+
+		// A later instance is joined with the stored partial match.
+		workingMemory.addInstance(litQ.getPredicate(), true, q13);
+		assertEquals(1, network.propagate(network.getPosition(litQ), q13).size());
+
+		// Removing the instance of p retracts all matches depending on it, re-adding it derives them again.
+		IndexedInstanceStorage storageP = workingMemory.get(litP);
+		storageP.markRecentlyAddedInstancesDone();
+		storageP.removeInstance(p1);
+		network.retract(storageP, p1);
+		assertEquals(0, network.getMemorySize(network.getPosition(litP)));
+		assertEquals(0, network.getMemorySize(network.getPosition(litQ)));
+		workingMemory.addInstance(litP.getPredicate(), true, p1);
+		assertEquals(2, network.propagate(network.getPosition(litP), p1).size());
+	}
+}
@@ -151,6 +151,24 @@ public void testPositionFromWhichAllVarsAreBound_joinedNonGround() {
 		assertTrue(1 <= rgo0.orderStartingFrom(litDXZ).getPositionFromWhichAllVarsAreBound());
 	}
 
+	@Test
+	public void groundingOrderAdaptsToSelectivity() {
+		String aspStr = "a(X) :- b(X), c(X), d(X), not e(X).";
+		Alpha system = new Alpha();
+		system.getConfig().setEvaluateStratifiedPart(false);
+		InternalProgram internalPrg = InternalProgram.fromNormalProgram(system.normalizeProgram(system.readProgramString(aspStr)));
+		RuleGroundingOrders rgo0 = computeGroundingOrdersForRule(internalPrg, 0);
+		final Literal litBX = PROGRAM_PART_PARSER.parseLiteral("b(X)");
+		final Literal litDX = PROGRAM_PART_PARSER.parseLiteral("d(X)");
+		assertEquals("b(X) : | c(X), d(X), not e(X)", rgo0.orderStartingFrom(litBX).toString());
+		boolean recomputed = false;
+		while (!recomputed) {
+			recomputed = rgo0.updateLiteralSelectivity(litDX, 10, 1);
+		}
+		assertTrue(rgo0.getLiteralSelectivity(litDX) < 1.0f);
+		assertEquals("b(X) : | d(X), c(X), not e(X)", rgo0.orderStartingFrom(litBX).toString());
+	}
+
 	private RuleGroundingOrders computeGroundingOrdersForRule(InternalProgram program, int ruleIndex) {
 		InternalRule rule = program.getRules().get(ruleIndex);
 		RuleGroundingOrders rgo = new RuleGroundingOrders(rule);
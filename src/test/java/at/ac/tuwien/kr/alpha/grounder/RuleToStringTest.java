@@ -89,7 +89,7 @@ private void parseSingleRuleAndCheckToString(String rule) {
 	}
 
 	private void constructNonGroundRuleAndCheckToString(String textualRule) {
-		InternalRule nonGroundRule = InternalRule.fromNormalRule(NormalRule.fromBasicRule(parseSingleRule(textualRule)));
+		InternalRule nonGroundRule = InternalRule.fromNormalRule(NormalRule.fromBasicRule(parseSingleRule(textualRule)), 0);
 		assertEquals(textualRule, nonGroundRule.toString());
 	}
 
@@ -46,6 +46,9 @@
 import java.util.Arrays;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public class SubstitutionTest {
 	private static final ProgramParser PARSER = new ProgramParser();
@@ -103,7 +106,7 @@ public void substituteNegativeBasicAtom() {
 	@Test
 	public void groundAndPrintRule() {
 		BasicRule rule = PARSER.parse("x :- p(X,Y), not q(X,Y).").getRules().get(0);
-		InternalRule nonGroundRule = InternalRule.fromNormalRule(NormalRule.fromBasicRule(rule));
+		InternalRule nonGroundRule = InternalRule.fromNormalRule(NormalRule.fromBasicRule(rule), 0);
 		Substitution substitution1 = Substitution.specializeSubstitution(PX, PA, Substitution.EMPTY_SUBSTITUTION);
 		Substitution substitution2 = Substitution.specializeSubstitution(PY, PB, substitution1);
 		String printedString = SubstitutionTestUtil.groundAndPrintRule(nonGroundRule, substitution2);
@@ -158,7 +161,7 @@ private void groundLiteralToString(boolean negated) {
 	@Test
 	public void substitutionFromString() {
 		BasicRule rule = PARSER.parse("x :- p(X,Y), not q(X,Y).").getRules().get(0);
-		InternalRule nonGroundRule = InternalRule.fromNormalRule(NormalRule.fromBasicRule(rule));
+		InternalRule nonGroundRule = InternalRule.fromNormalRule(NormalRule.fromBasicRule(rule), 0);
 		Substitution substitution1 = Substitution.specializeSubstitution(PX, PA, Substitution.EMPTY_SUBSTITUTION);
 		Substitution substitution = Substitution.specializeSubstitution(PY, PB, substitution1);
 		RuleAtom ruleAtom = new RuleAtom(nonGroundRule, substitution);
@@ -166,4 +169,40 @@ public void substitutionFromString() {
 		Substitution fromString = Substitution.fromString(substitutionString);
 		assertEquals(substitution, fromString);
 	}
+
+	@Test
+	public void substitutionFromRuleAtom() {
+		BasicRule rule = PARSER.parse("x :- p(X,Y), not q(X,Y).").getRules().get(0);
+		InternalRule nonGroundRule = InternalRule.fromNormalRule(NormalRule.fromBasicRule(rule), 0);
+		Substitution substitution1 = Substitution.specializeSubstitution(PX, PA, Substitution.EMPTY_SUBSTITUTION);
+		Substitution substitution = Substitution.specializeSubstitution(PY, PB, substitution1);
+		RuleAtom ruleAtom = new RuleAtom(nonGroundRule, substitution);
+		assertSame(nonGroundRule, ruleAtom.getNonGroundRule());
+		assertEquals(substitution, ruleAtom.getSubstitution());
+		assertEquals(ruleAtom, new RuleAtom(nonGroundRule, ruleAtom.getSubstitution()));
+	}
+
+	@Test
+	public void copyDoesNotAffectOriginal() {
+		Substitution original = new Substitution();
+		original.put(X, A);
+		Substitution copy = new Substitution(original);
+		copy.put(Y, B);
+		assertEquals(A, copy.eval(X));
+		assertEquals(B, copy.eval(Y));
+		assertNull(original.eval(Y));
+		assertEquals("{X->a}", original.toString());
+		assertEquals("{X->a,Y->b}", copy.toString());
+	}
+
+	@Test
+	public void equalityIndependentOfLayout() {
+		InternalRule rule = InternalRule.fromNormalRule(NormalRule.fromBasicRule(PARSER.parse("x :- p(X,Y), not q(X,Y).").getRules().get(0)), 0);
+		Substitution withLayout = Substitution.specializeSubstitution(PY, PA, rule.getEmptySubstitution());
+		Substitution withoutLayout = Substitution.specializeSubstitution(PY, PA, Substitution.EMPTY_SUBSTITUTION);
+		assertEquals(withoutLayout, withLayout);
+		assertEquals(withoutLayout.hashCode(), withLayout.hashCode());
+		assertEquals("{Y->a}", withLayout.toString());
+		assertTrue(rule.getEmptySubstitution().isEmpty());
+	}
 }
@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Additional changes made by Siemens.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.grounder;
+
+import at.ac.tuwien.kr.alpha.common.Predicate;
+import at.ac.tuwien.kr.alpha.common.atoms.BasicAtom;
+import at.ac.tuwien.kr.alpha.common.terms.ConstantTerm;
+import at.ac.tuwien.kr.alpha.common.terms.VariableTerm;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TrailedSubstitutionTest {
+	private static final ConstantTerm<?> A = ConstantTerm.getSymbolicInstance("a");
+	private static final ConstantTerm<?> B = ConstantTerm.getSymbolicInstance("b");
+
+	private static final VariableTerm X = VariableTerm.getInstance("X");
+	private static final VariableTerm Y = VariableTerm.getInstance("Y");
+	private static final BasicAtom PY = new BasicAtom(Predicate.getInstance("p", 1), Y);
+	private static final BasicAtom QXY = new BasicAtom(Predicate.getInstance("q", 2), X, Y);
+
+	@Test
+	public void backtrackingUndoesLaterBindingsOnly() {
+		// Start without layout, such that binding X inserts it into the layout in front of Y.
+		TrailedSubstitution substitution = new TrailedSubstitution(new Substitution());
+		assertTrue(substitution.unify(PY, new Instance(B)));
+		int mark = substitution.mark();
+		assertTrue(substitution.unify(QXY, new Instance(A, B)));
+		assertEquals(A, substitution.eval(X));
+		substitution.backtrackTo(mark);
+		assertNull(substitution.eval(X));
+		assertEquals(B, substitution.eval(Y));
+		substitution.backtrackTo(0);
+		assertNull(substitution.eval(Y));
+	}
+
+	@Test
+	public void failedUnificationLeavesSubstitutionUnchanged() {
+		TrailedSubstitution substitution = new TrailedSubstitution(new Substitution());
+		assertTrue(substitution.unify(PY, new Instance(A)));
+		int mark = substitution.mark();
+		assertFalse(substitution.unify(QXY, new Instance(A, B)));
+		assertNull(substitution.eval(X));
+		assertEquals(A, substitution.eval(Y));
+		assertEquals(mark, substitution.mark());
+	}
+
+	@Test
+	public void bindingsOfInitialSubstitutionAreNotUndone() {
+		Substitution initial = new Substitution();
+		initial.put(Y, A);
+		TrailedSubstitution substitution = new TrailedSubstitution(initial);
+		assertTrue(substitution.unify(QXY, new Instance(B, A)));
+		substitution.backtrackTo(0);
+		assertNull(substitution.eval(X));
+		assertEquals(A, substitution.eval(Y));
+	}
+
+	@Test
+	public void snapshotIsNotAffectedByBacktracking() {
+		TrailedSubstitution substitution = new TrailedSubstitution(new Substitution());
+		assertTrue(substitution.unify(QXY, new Instance(A, B)));
+		Substitution snapshot = substitution.snapshot();
+		substitution.backtrackTo(0);
+		assertEquals(A, snapshot.eval(X));
+		assertEquals(B, snapshot.eval(Y));
+		assertNull(substitution.eval(X));
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.grounder.parser;
+
+import at.ac.tuwien.kr.alpha.common.atoms.Atom;
+import at.ac.tuwien.kr.alpha.common.program.InputProgram;
+import at.ac.tuwien.kr.alpha.common.rule.BasicRule;
+import org.antlr.v4.runtime.RecognitionException;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class FactFileLoaderTest {
+
+	private static final String MIXED_PROGRAM = "% Facts with all kinds of ground terms.\n"
+			+ "p(a). p(b,1).  q.\n"
+			+ "r(f(a, g(0)), \"a string with . and ) and \u00fcn\u00efc\u00f6d\u00e9\", 42) .\n"
+			+ "s ( x ,\n  y ).   % comment after fact.\n"
+			+ "% Statements that are left to the parser.\n"
+			+ "p(1..3).\n"
+			+ "t(-1). t(1+2).\n"
+			+ "u(X) :- p(X), not q.\n"
+			+ "{ v(a) }.\n"
+			+ "#enumeration_predicate_is enum.\n"
+			+ "%* multi-line\n comment. *%\n"
+			+ "w(a).\n";
+
+	private static InputProgram load(String program, int bufferSize) throws IOException {
+		return new FactFileLoader(new ProgramParser(), bufferSize).load(
+				Channels.newChannel(new ByteArrayInputStream(program.getBytes(StandardCharsets.UTF_8))), "test");
+	}
+
+	private static void assertSameProgram(InputProgram expected, InputProgram actual) {
+		Set<Atom> expectedFacts = new HashSet<>(expected.getFacts());
+		assertEquals(expected.getFacts().size(), actual.getFacts().size());
+		assertEquals(expectedFacts, new HashSet<>(actual.getFacts()));
+		Set<String> expectedRules = new HashSet<>();
+		for (BasicRule rule : expected.getRules()) {
+			expectedRules.add(rule.toString());
+		}
+		Set<String> actualRules = new HashSet<>();
+		for (BasicRule rule : actual.getRules()) {
+			actualRules.add(rule.toString());
+		}
+		assertEquals(expectedRules, actualRules);
+		assertEquals(expected.getInlineDirectives().getDirectiveValue(InlineDirectives.DIRECTIVE.enum_predicate_is),
+				actual.getInlineDirectives().getDirectiveValue(InlineDirectives.DIRECTIVE.enum_predicate_is));
+	}
+
+	@Test
+	public void loadsSameProgramAsParser() throws IOException {
+		InputProgram expected = new ProgramParser().parse(MIXED_PROGRAM);
+		assertSameProgram(expected, load(MIXED_PROGRAM, 1 << 20));
+	}
+
+	@Test
+	public void loadsSameProgramWithTinyBuffer() throws IOException {
+		// Statements and tokens then span several refills of the buffer.
+		InputProgram expected = new ProgramParser().parse(MIXED_PROGRAM);
+		assertSameProgram(expected, load(MIXED_PROGRAM, 4));
+	}
+
+	@Test
+	public void loadsFactsOnly() throws IOException {
+		StringBuilder program = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			program.append("edge(").append(i).append(", n").append(i + 1).append(").\n");
+		}
+		InputProgram loaded = load(program.toString(), 64);
+		assertEquals(1000, loaded.getFacts().size());
+		assertTrue(loaded.getRules().isEmpty());
+		assertSameProgram(new ProgramParser().parse(program.toString()), loaded);
+	}
+
+	@Test
+	public void emptyInput() throws IOException {
+		InputProgram loaded = load(" % nothing here\n", 16);
+		assertTrue(loaded.getFacts().isEmpty());
+		assertTrue(loaded.getRules().isEmpty());
+	}
+
+	@Test
+	public void reportsSyntaxErrorsAtOriginalLine() throws IOException {
+		try {
+			// The facts in the first lines are loaded by the scanner, the parser only receives the erroneous rule.
+			load("p(a).\np(b). p(c).\n\nq(X) :- .\n", 16);
+			fail("Syntax error was not reported.");
+		} catch (RecognitionException e) {
+			assertEquals(4, e.getOffendingToken().getLine());
+		}
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.grounder.structure;
+
+import at.ac.tuwien.kr.alpha.common.AtomStore;
+import at.ac.tuwien.kr.alpha.common.AtomStoreImpl;
+import at.ac.tuwien.kr.alpha.common.Predicate;
+import at.ac.tuwien.kr.alpha.common.atoms.Atom;
+import at.ac.tuwien.kr.alpha.common.atoms.BasicAtom;
+import at.ac.tuwien.kr.alpha.common.terms.ConstantTerm;
+import at.ac.tuwien.kr.alpha.common.terms.Term;
+import at.ac.tuwien.kr.alpha.common.terms.VariableTerm;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AtomStoreIndexTest {
+
+	private static final Predicate P = Predicate.getInstance("p", 2);
+	private static final Predicate Q = Predicate.getInstance("q", 1);
+
+	private static Atom p(Object first, Object second) {
+		return new BasicAtom(P, Arrays.asList(term(first), term(second)));
+	}
+
+	private static Term term(Object value) {
+		return value instanceof Integer ? ConstantTerm.getInstance((Integer) value) : VariableTerm.getInstance((String) value);
+	}
+
+	private static List<Atom> candidates(AtomStoreIndex index, Atom pattern) {
+		AtomStoreIndex.IndexedAtoms candidates = index.getCandidates(pattern);
+		List<Atom> atoms = new ArrayList<>();
+		for (int i = 0; i < candidates.size(); i++) {
+			atoms.add(candidates.getAtom(i));
+		}
+		return atoms;
+	}
+
+	@Test
+	public void candidatesUseMostSelectiveGroundPosition() {
+		AtomStore atomStore = new AtomStoreImpl();
+		for (int i = 1; i <= 3; i++) {
+			for (int j = 1; j <= 10; j++) {
+				atomStore.putIfAbsent(p(i, j));
+			}
+		}
+		atomStore.putIfAbsent(new BasicAtom(Q, ConstantTerm.getInstance(1)));
+		AtomStoreIndex index = new AtomStoreIndex(atomStore);
+		index.update();
+
+		assertEquals(30, candidates(index, p("X", "Y")).size());
+		assertEquals(10, candidates(index, p(2, "Y")).size());
+		assertEquals(Arrays.asList(p(1, 7), p(2, 7), p(3, 7)), candidates(index, p("X", 7)));
+		assertEquals(Arrays.asList(p(1, 4), p(2, 4), p(3, 4)), candidates(index, p(3, 4)));
+		assertEquals(0, candidates(index, p(4, "Y")).size());
+		assertEquals(0, candidates(index, new BasicAtom(Predicate.getInstance("r", 1), VariableTerm.getInstance("X"))).size());
+	}
+
+	@Test
+	public void updateAddsNewAtomsOnly() {
+		AtomStore atomStore = new AtomStoreImpl();
+		atomStore.putIfAbsent(p(1, 1));
+		AtomStoreIndex index = new AtomStoreIndex(atomStore);
+		index.update();
+		assertEquals(1, candidates(index, p("X", "Y")).size());
+
+		atomStore.putIfAbsent(p(1, 2));
+		atomStore.putIfAbsent(p(1, 1));
+		assertEquals(1, candidates(index, p("X", "Y")).size());
+		index.update();
+		index.update();
+		assertEquals(Arrays.asList(p(1, 1), p(1, 2)), candidates(index, p(1, "Y")));
+	}
+
+	@Test
+	public void mayMatchComparesGroundPositions() {
+		assertTrue(AtomStoreIndex.mayMatch(p(1, "Y"), p(1, 5).getTerms()));
+		assertFalse(AtomStoreIndex.mayMatch(p(1, "Y"), p(2, 5).getTerms()));
+	}
+}
@@ -28,6 +28,7 @@
 package at.ac.tuwien.kr.alpha.grounder.transformation;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import org.antlr.v4.runtime.CharStreams;
@@ -35,6 +36,7 @@
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Set;
@@ -50,6 +52,7 @@
 import at.ac.tuwien.kr.alpha.common.program.InputProgram;
 import at.ac.tuwien.kr.alpha.common.program.InternalProgram;
 import at.ac.tuwien.kr.alpha.common.program.NormalProgram;
+import at.ac.tuwien.kr.alpha.common.program.PartiallyEvaluatedProgram;
 import at.ac.tuwien.kr.alpha.common.program.Programs;
 import at.ac.tuwien.kr.alpha.common.terms.ConstantTerm;
 import at.ac.tuwien.kr.alpha.config.InputConfig;
@@ -78,6 +81,42 @@ public void testDuplicateFacts() {
 		assertEquals(1, numQOfB);
 	}
 
+	@Test
+	public void testTransitiveClosure() {
+		StringBuilder asp = new StringBuilder();
+		int length = 100;
+		for (int i = 0; i < length; i++) {
+			asp.append("edge(").append(i).append(", ").append(i + 1).append(").\n");
+		}
+		asp.append("reach(X, Y) :- edge(X, Y).\n");
+		asp.append("reach(X, Z) :- reach(X, Y), reach(Y, Z).\n");
+		asp.append("hasSuccessor(X) :- edge(X, Y).\n");
+		asp.append("last(X) :- reach(0, X), not hasSuccessor(X).\n");
+		Alpha system = new Alpha();
+		AnalyzedProgram analyzed = AnalyzedProgram.analyzeNormalProgram(system.normalizeProgram(system.readProgramString(asp.toString())));
+		InternalProgram evaluated = new StratifiedEvaluation().apply(analyzed);
+		assertTrue(evaluated.getRules().isEmpty());
+		Set<Instance> reach = evaluated.getFactsByPredicate().get(Predicate.getInstance("reach", 2));
+		assertEquals((length + 1) * length / 2, reach.size());
+		assertTrue(reach.contains(new Instance(ConstantTerm.getInstance(0), ConstantTerm.getInstance(length))));
+		Set<Instance> last = evaluated.getFactsByPredicate().get(Predicate.getInstance("last", 1));
+		assertEquals(Collections.singleton(new Instance(ConstantTerm.getInstance(length))), last);
+	}
+
+	@Test
+	public void testWorkingMemoryHandedToGrounder() {
+		String asp = "p(1..3). q(X) :- p(X). { r(X) } :- q(X). :- r(1). :- r(3).";
+		Alpha system = new Alpha();
+		AnalyzedProgram analyzed = AnalyzedProgram.analyzeNormalProgram(system.normalizeProgram(system.readProgramString(asp)));
+		PartiallyEvaluatedProgram evaluated = new StratifiedEvaluation().apply(analyzed);
+		assertTrue(evaluated.getFacts().contains(new BasicAtom(Predicate.getInstance("q", 1), ConstantTerm.getInstance(2))));
+		Set<AnswerSet> answerSets = system.solve(evaluated).collect(Collectors.toSet());
+		TestUtils.assertAnswerSetsEqual(new String[] {"p(1), p(2), p(3), q(1), q(2), q(3)", "p(1), p(2), p(3), q(1), q(2), q(3), r(2)"}, answerSets);
+		// The first grounder took over the working memory, solving again must yield the same answer sets from the facts.
+		assertNull(evaluated.takeWorkingMemory());
+		assertEquals(answerSets, system.solve(evaluated).collect(Collectors.toSet()));
+	}
+
 	@Test
 	public void testEqualityWithConstantTerms() {
 		String aspStr = "equal :- 1 = 1.";
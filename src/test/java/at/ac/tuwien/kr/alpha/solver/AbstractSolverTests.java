@@ -30,7 +30,7 @@
 import at.ac.tuwien.kr.alpha.api.Alpha;
 import at.ac.tuwien.kr.alpha.common.AnswerSet;
 import at.ac.tuwien.kr.alpha.common.AtomStore;
-import at.ac.tuwien.kr.alpha.common.AtomStoreImpl;
+import at.ac.tuwien.kr.alpha.common.AtomStoreFactory;
 import at.ac.tuwien.kr.alpha.common.program.InputProgram;
 import at.ac.tuwien.kr.alpha.common.program.InternalProgram;
 import at.ac.tuwien.kr.alpha.common.program.NormalProgram;
@@ -109,19 +109,20 @@ private static String[] getProperty(String subKey, String def) {
 		return System.getProperty("test." + subKey, def).split(",");
 	}
 
-	@Parameters(name = "{0}/{1}/{2}/{3}/seed={4}/checks={5}/gtc={6}/gtr={7}/dir={8}/evaluateStratified={9}")
+	@Parameters(name = "{0}/{1}/{2}/{3}/seed={4}/checks={5}/gtc={6}/gtr={7}/dir={8}/evaluateStratified={9}/atomStore={10}")
 	public static Collection<Object[]> parameters() {
 		// Check whether we are running in a CI environment.
 		boolean ci = Boolean.valueOf(System.getenv("CI"));
 
 		String[] solvers = getProperty("solvers", ci ? "default,naive" : "default");
-		String[] grounders = getProperty("grounders", "naive");
-		String[] stores = getProperty("stores", ci ? "alpharoaming,naive" : "alpharoaming");
+		String[] grounders = getProperty("grounders", ci ? "naive,rete" : "naive");
+		String[] stores = getProperty("stores", ci ? "alpharoaming,alpharoamingarena,naive" : "alpharoaming");
 		String[] heuristics = getProperty("heuristics", ci ? "NON_DEPRECATED" : "NAIVE,VSIDS");
 		String[] gtcValues = getProperty("grounderToleranceConstraints", "strict,permissive");
 		String[] gtrValues = getProperty("grounderToleranceRules", "strict");
 		String[] dirValues = getProperty("disableInstanceRemoval", ci ? "false,true" : "false");
 		String[] evaluateStratifiedValues = getProperty("evaluateStratified", "false,true");
+		String[] atomStores = getProperty("atomStores", ci ? "default,compact" : "default");
 
 		// "ALL" is a magic value that will be expanded to contain all heuristics.
 		if ("ALL".equals(heuristics[0])) {
@@ -158,10 +159,12 @@ public static Collection<Object[]> parameters() {
 							for (String gtr : gtrValues) {
 								for (String dir : dirValues) {
 									for (String evaluateStratified : evaluateStratifiedValues) {
-										factories.add(new Object[] {
-												solver, grounder, store, BranchingHeuristicFactory.Heuristic.valueOf(heuristic), seed, checks, gtc, gtr,
-												Boolean.valueOf(dir), Boolean.valueOf(evaluateStratified)
-										});
+										for (String atomStore : atomStores) {
+											factories.add(new Object[] {
+													solver, grounder, store, BranchingHeuristicFactory.Heuristic.valueOf(heuristic), seed, checks, gtc, gtr,
+													Boolean.valueOf(dir), Boolean.valueOf(evaluateStratified), atomStore
+											});
+										}
 									}
 								}
 							}
@@ -207,6 +210,9 @@ public static Collection<Object[]> parameters() {
 	@Parameter(9)
 	public boolean evaluateStratifiedPart;
 
+	@Parameter(10)
+	public String atomStoreName;
+
 	protected Solver getInstance(AtomStore atomStore, Grounder grounder) {
 		return SolverFactory.getInstance(buildSystemConfig(), atomStore, grounder);
 	}
@@ -220,12 +226,13 @@ protected SystemConfig buildSystemConfig() {
 		config.setDebugInternalChecks(checks);
 		config.setDisableJustificationSearch(false);
 		config.setEvaluateStratifiedPart(evaluateStratifiedPart);
+		config.setAtomStoreName(atomStoreName);
 		return config;
 	}
 
 	protected Solver getInstance(InputProgram program) {
 		Alpha system = new Alpha();
-		AtomStore atomStore = new AtomStoreImpl();
+		AtomStore atomStore = AtomStoreFactory.getInstance(atomStoreName);
 		NormalProgram normalized = system.normalizeProgram(program);
 		InternalProgram preprocessed = system.performProgramPreprocessing(InternalProgram.fromNormalProgram(normalized));
 		return getInstance(atomStore, GrounderFactory.getInstance(grounderName, preprocessed, atomStore, true));
@@ -172,6 +172,7 @@ public void testAggregate_Sum_GlobalVariable() throws IOException {
 	protected Solver getInstance(InputProgram program) {
 		SystemConfig config = this.buildSystemConfig();
 		config.setUseNormalizationGrid(useCountingGridNormalization());
+		config.setNativeAggregates(useNativeAggregates());
 		Alpha system = new Alpha(config);
 		AtomStore atomStore = new AtomStoreImpl();
 		NormalProgram normal = system.normalizeProgram(program);
@@ -181,4 +182,8 @@ protected Solver getInstance(InputProgram program) {
 	
 	protected abstract boolean useCountingGridNormalization();
 
+	protected boolean useNativeAggregates() {
+		return false;
+	}
+
 }
@@ -119,7 +119,7 @@ private void createChoiceAtom() {
 
 	private void createRuleAtom() {
 		Atom atomAA = new BasicAtom(Predicate.getInstance("aa", 0));
-		InternalRule ruleAA = new InternalRule(new NormalHead(atomAA), Collections.singletonList(new BasicAtom(Predicate.getInstance("bb", 0)).toLiteral(false)));
+		InternalRule ruleAA = new InternalRule(0, new NormalHead(atomAA), Collections.singletonList(new BasicAtom(Predicate.getInstance("bb", 0)).toLiteral(false)));
 		atomStore.putIfAbsent(new RuleAtom(ruleAA, new Substitution()));
 	}
 
@@ -43,7 +43,7 @@
 public class LearnedNoGoodDeletionTest {
 
 	private NoGoodStoreAlphaRoaming store;
-	private LearnedNoGoodDeletion learnedNoGoodDeletion;
+	private LearnedNoGoodDeletion<WatchedNoGood> learnedNoGoodDeletion;
 
 	public LearnedNoGoodDeletionTest() {
 		AtomStore atomStore = new AtomStoreImpl();
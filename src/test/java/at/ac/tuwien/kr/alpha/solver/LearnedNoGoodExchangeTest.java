@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.solver;
+
+import at.ac.tuwien.kr.alpha.common.AtomStore;
+import at.ac.tuwien.kr.alpha.common.AtomStoreImpl;
+import at.ac.tuwien.kr.alpha.common.NoGood;
+import at.ac.tuwien.kr.alpha.common.Predicate;
+import at.ac.tuwien.kr.alpha.common.atoms.Atom;
+import at.ac.tuwien.kr.alpha.common.atoms.BasicAtom;
+import at.ac.tuwien.kr.alpha.common.terms.ConstantTerm;
+import at.ac.tuwien.kr.alpha.grounder.atoms.ChoiceAtom;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static at.ac.tuwien.kr.alpha.common.Literals.atomToLiteral;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LearnedNoGoodExchangeTest {
+
+	private final Atom a = new BasicAtom(Predicate.getInstance("a", 1), ConstantTerm.getInstance(1));
+	private final Atom b = new BasicAtom(Predicate.getInstance("b", 1), ConstantTerm.getInstance(2));
+	private final Atom c = new BasicAtom(Predicate.getInstance("c", 0));
+
+	private AtomStore firstAtomStore;
+	private AtomStore secondAtomStore;
+	private LearnedNoGoodExchange exchange;
+	private LearnedNoGoodExchange.Participant first;
+	private LearnedNoGoodExchange.Participant second;
+
+	@Before
+	public void setUp() {
+		firstAtomStore = new AtomStoreImpl();
+		firstAtomStore.putIfAbsent(a);
+		firstAtomStore.putIfAbsent(b);
+		firstAtomStore.putIfAbsent(c);
+		firstAtomStore.putIfAbsent(ChoiceAtom.on(1));
+		secondAtomStore = new AtomStoreImpl();
+		secondAtomStore.putIfAbsent(b);
+		secondAtomStore.putIfAbsent(a);
+		exchange = new LearnedNoGoodExchange();
+		first = exchange.join(firstAtomStore);
+		second = exchange.join(secondAtomStore);
+	}
+
+	@Test
+	public void noGoodIsTranslatedToAtomIdsOfReceiver() {
+		first.publish(NoGood.learnt(atomToLiteral(firstAtomStore.get(a), true), atomToLiteral(firstAtomStore.get(b), false)), 2);
+		assertFalse(first.hasReceivedNoGoods());
+		assertTrue(second.hasReceivedNoGoods());
+		Map<NoGood, Integer> received = second.takeReceivedNoGoods();
+		NoGood expected = NoGood.learnt(atomToLiteral(secondAtomStore.get(a), true), atomToLiteral(secondAtomStore.get(b), false));
+		assertEquals(1, received.size());
+		assertEquals(Integer.valueOf(2), received.get(expected));
+		assertFalse(second.hasReceivedNoGoods());
+	}
+
+	@Test
+	public void noGoodOverUnknownAtomIsDropped() {
+		first.publish(NoGood.learnt(atomToLiteral(firstAtomStore.get(a), true), atomToLiteral(firstAtomStore.get(c), true)), 2);
+		assertTrue(second.takeReceivedNoGoods().isEmpty());
+	}
+
+	@Test
+	public void noGoodOverChoiceAtomIsNotShared() {
+		first.publish(NoGood.learnt(atomToLiteral(firstAtomStore.get(a), true), atomToLiteral(firstAtomStore.get(ChoiceAtom.on(1)), true)), 2);
+		assertFalse(second.hasReceivedNoGoods());
+	}
+
+	@Test
+	public void noGoodWithHighLbdIsNotShared() {
+		first.publish(NoGood.learnt(atomToLiteral(firstAtomStore.get(a), true)), LearnedNoGoodExchange.MAX_SHARED_LBD + 1);
+		assertFalse(second.hasReceivedNoGoods());
+	}
+
+	@Test
+	public void nothingIsSharedAfterClosing() {
+		exchange.close();
+		assertTrue(second.isExchangeClosed());
+		first.publish(NoGood.learnt(atomToLiteral(firstAtomStore.get(a), true)), 1);
+		assertFalse(second.hasReceivedNoGoods());
+	}
+}
@@ -4,6 +4,12 @@
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.util.Arrays;
+import java.util.Collection;
 
 import static at.ac.tuwien.kr.alpha.common.NoGood.fact;
 import static at.ac.tuwien.kr.alpha.common.NoGood.headFirst;
@@ -13,25 +19,35 @@
 import static org.junit.Assert.*;
 
 /**
- * Copyright (c) 2017, the Alpha Team.
+ * Tests {@link NoGoodStoreAlphaRoaming} and {@link NoGoodStoreAlphaRoamingArena}, which must behave identically.
+ *
+ * Copyright (c) 2017-2020, the Alpha Team.
  */
+@RunWith(Parameterized.class)
 public class NoGoodStoreAlphaRoamingTest {
 
 	private final AtomStore atomStore;
 	private final TrailAssignment assignment;
-	private final NoGoodStoreAlphaRoaming store;
+	private final String storeName;
+	private NoGoodStore store;
+
+	@Parameters(name = "{0}")
+	public static Collection<Object[]> parameters() {
+		return Arrays.asList(new Object[][] {{"alphaRoaming"}, {"alphaRoamingArena"}});
+	}
 
-	public NoGoodStoreAlphaRoamingTest() {
+	public NoGoodStoreAlphaRoamingTest(String storeName) {
+		this.storeName = storeName;
 		atomStore = new AtomStoreImpl();
 		AtomStoreTest.fillAtomStore(atomStore, 200);
 		assignment = new TrailAssignment(atomStore);
 		assignment.growForMaxAtomId();
-		store = new NoGoodStoreAlphaRoaming(assignment);
 	}
 
 	@Before
 	public void setUp() {
-		store.clear();
+		assignment.clear();
+		store = "alphaRoamingArena".equals(storeName) ? new NoGoodStoreAlphaRoamingArena(assignment) : new NoGoodStoreAlphaRoaming(assignment);
 		store.growForMaxAtomId(fromOldLiterals(200));
 	}
 
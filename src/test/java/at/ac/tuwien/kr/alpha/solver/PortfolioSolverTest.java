@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.solver;
+
+import at.ac.tuwien.kr.alpha.api.Alpha;
+import at.ac.tuwien.kr.alpha.common.AnswerSet;
+import at.ac.tuwien.kr.alpha.common.program.InputProgram;
+import at.ac.tuwien.kr.alpha.common.program.InternalProgram;
+import at.ac.tuwien.kr.alpha.config.SystemConfig;
+import at.ac.tuwien.kr.alpha.solver.restarts.RestartStrategyFactory.Policy;
+import org.junit.Test;
+
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that a {@link PortfolioSolver} finds the same answer sets as a single solver.
+ */
+public class PortfolioSolverTest {
+
+	private static final String PIGEONS_HOLES = "pigeon(1..4). hole(1..%d)."
+			+ "pos(P,H) :- pigeon(P), hole(H), not negpos(P,H)."
+			+ "negpos(P,H) :- pigeon(P), hole(H), not pos(P,H)."
+			+ ":- pigeon(P), hole(H1), hole(H2), pos(P,H1), pos(P,H2), H1 != H2."
+			+ ":- pigeon(P), not hashole(P)."
+			+ "hashole(P) :- pigeon(P), hole(H), pos(P,H)."
+			+ ":- pigeon(P1), pigeon(P2), hole(H), pos(P1,H), pos(P2,H), P1 != P2.";
+
+	private static Solver preparePortfolio(String program, int threads) {
+		SystemConfig config = new SystemConfig();
+		config.setSeed(0);
+		config.setThreads(threads);
+		config.setDebugInternalChecks(true);
+		Alpha alpha = new Alpha(config);
+		InputProgram input = alpha.readProgramString(program);
+		InternalProgram preprocessed = alpha.performProgramPreprocessing(InternalProgram.fromNormalProgram(alpha.normalizeProgram(input)));
+		return alpha.prepareSolverFor(preprocessed, p -> true);
+	}
+
+	@Test(timeout = 30000)
+	public void enumeratesAllAnswerSets() {
+		Solver solver = preparePortfolio(String.format(PIGEONS_HOLES, 4), 4);
+		assertTrue(solver instanceof PortfolioSolver);
+		Set<AnswerSet> answerSets = solver.collectSet();
+		assertEquals(24, answerSets.size());
+		assertNotNull(((PortfolioSolver) solver).getWinnerDescription());
+		assertTrue(((PortfolioSolver) solver).getStatisticsString().startsWith("portfolio winner: solver "));
+	}
+
+	@Test(timeout = 30000)
+	public void unsatisfiable() {
+		Solver solver = preparePortfolio(String.format(PIGEONS_HOLES, 3), 4);
+		assertEquals(0, solver.collectSet().size());
+		assertNotNull(((PortfolioSolver) solver).getWinnerDescription());
+	}
+
+	@Test
+	public void firstSolverRestarts() {
+		SystemConfig config = new SystemConfig();
+		config.setThreads(4);
+		assertEquals(Policy.NONE, config.getRestartPolicy());
+		assertNotEquals(Policy.NONE, PortfolioSolver.getWorkerConfig(config, 0).getRestartPolicy());
+
+		config.setRestartPolicy(Policy.DYNAMIC);
+		assertEquals(Policy.DYNAMIC, PortfolioSolver.getWorkerConfig(config, 0).getRestartPolicy());
+	}
+
+	@Test
+	public void singleThreadDoesNotUsePortfolio() {
+		Solver solver = preparePortfolio(String.format(PIGEONS_HOLES, 4), 1);
+		assertTrue(solver instanceof DefaultSolver);
+	}
+}
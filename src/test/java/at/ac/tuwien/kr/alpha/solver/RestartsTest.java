@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.solver;
+
+import at.ac.tuwien.kr.alpha.config.SystemConfig;
+import at.ac.tuwien.kr.alpha.solver.heuristics.BranchingHeuristicFactory;
+import at.ac.tuwien.kr.alpha.solver.restarts.RestartStrategyFactory.Policy;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Tests that restarting the search (as frequently as possible) neither loses nor duplicates answer sets, and that each
+ * restart policy actually restarts.
+ */
+public class RestartsTest extends AbstractSolverTests {
+
+	private static final String PIGEONS_HOLES = "pigeon(1..4). hole(1..%d)."
+			+ "pos(P,H) :- pigeon(P), hole(H), not negpos(P,H)."
+			+ "negpos(P,H) :- pigeon(P), hole(H), not pos(P,H)."
+			+ ":- pigeon(P), hole(H1), hole(H2), pos(P,H1), pos(P,H2), H1 != H2."
+			+ ":- pigeon(P), not hashole(P)."
+			+ "hashole(P) :- pigeon(P), hole(H), pos(P,H)."
+			+ ":- pigeon(P1), pigeon(P2), hole(H), pos(P1,H), pos(P2,H), P1 != P2.";
+
+	private Policy restartPolicy = Policy.NONE;
+	private boolean phaseSaving;
+
+	@Override
+	protected SystemConfig buildSystemConfig() {
+		SystemConfig config = super.buildSystemConfig();
+		config.setRestartPolicy(restartPolicy);
+		config.setRestartInterval(1);
+		config.setPhaseSaving(phaseSaving);
+		return config;
+	}
+
+	@Test(timeout = 10000)
+	public void lubyRestarts() {
+		testPigeonsHoles(Policy.LUBY, false);
+	}
+
+	@Test(timeout = 10000)
+	public void geometricRestarts() {
+		testPigeonsHoles(Policy.GEOMETRIC, false);
+	}
+
+	@Test(timeout = 10000)
+	public void dynamicRestarts() {
+		testPigeonsHoles(Policy.DYNAMIC, false);
+	}
+
+	@Test(timeout = 10000)
+	public void lubyRestartsWithPhaseSaving() {
+		testPigeonsHoles(Policy.LUBY, true);
+	}
+
+	private void testPigeonsHoles(Policy restartPolicy, boolean phaseSaving) {
+		assumeTrue(heuristic == BranchingHeuristicFactory.Heuristic.VSIDS);
+		this.restartPolicy = restartPolicy;
+		this.phaseSaving = phaseSaving;
+
+		Solver satisfiable = getInstance(String.format(PIGEONS_HOLES, 4));
+		assertEquals(24, satisfiable.collectSet().size());
+		Solver unsatisfiable = getInstance(String.format(PIGEONS_HOLES, 3));
+		assertEquals(0, unsatisfiable.collectSet().size());
+
+		// The unsatisfiable instance is too small for dynamic restarts to fire reliably, hence restarts are counted over both.
+		if (satisfiable instanceof SolverMaintainingStatistics) {
+			int restarts = ((SolverMaintainingStatistics) satisfiable).getNumberOfRestarts()
+					+ ((SolverMaintainingStatistics) unsatisfiable).getNumberOfRestarts();
+			assertTrue("No restart happened with policy " + restartPolicy + ".", restarts > 0);
+		}
+	}
+}
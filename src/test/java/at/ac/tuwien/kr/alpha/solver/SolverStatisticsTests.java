@@ -50,14 +50,14 @@ public void setUp() {
 	public void checkStatsStringZeroChoices() {
 		Solver solver = getInstance("a.");
 		assumeTrue(solver instanceof SolverMaintainingStatistics);
-		collectAnswerSetsAndCheckStats(solver, 1, 0, 0, 0, 0, 0, 0, 0);
+		collectAnswerSetsAndCheckStats(solver, 1, 0, 0, 0, 0, 0, 0, 0, 0);
 	}
 
 	@Test
 	public void checkStatsStringOneChoice() {
 		Solver solver = getInstance("a :- not b. b :- not a.");
 		assumeTrue(solver instanceof SolverMaintainingStatistics);
-		collectAnswerSetsAndCheckStats(solver, 2, 1, 1, 1, 1, 0, 0, 0);
+		collectAnswerSetsAndCheckStats(solver, 2, 1, 1, 1, 1, 0, 0, 0, 0);
 	}
 
 	@Test
@@ -75,13 +75,13 @@ public void checkNoGoodCounterStatsByCardinalityUsingDummyGrounder() {
 	}
 
 	private void collectAnswerSetsAndCheckStats(Solver solver, int expectedNumberOfAnswerSets, int expectedNumberOfGuesses, int expectedTotalNumberOfBacktracks,
-			int expectedNumberOfBacktracksWithinBackjumps, int expectedNumberOfBackjumps, int expectedNumberOfMBTs, int expectedNumberOfConflictsAfterClosing, int expectedNumberOfDeletedNoGoods) {
+			int expectedNumberOfBacktracksWithinBackjumps, int expectedNumberOfBackjumps, int expectedNumberOfMBTs, int expectedNumberOfConflictsAfterClosing, int expectedNumberOfDeletedNoGoods, int expectedNumberOfRestarts) {
 		Set<AnswerSet> answerSets = solver.collectSet();
 		assertEquals(expectedNumberOfAnswerSets, answerSets.size());
 		SolverMaintainingStatistics solverMaintainingStatistics = (SolverMaintainingStatistics) solver;
 		assertEquals(
-				String.format("g=%d, bt=%d, bj=%d, bt_within_bj=%d, mbt=%d, cac=%d, del_ng=%d", expectedNumberOfGuesses, expectedTotalNumberOfBacktracks, expectedNumberOfBackjumps,
-						expectedNumberOfBacktracksWithinBackjumps, expectedNumberOfMBTs, expectedNumberOfConflictsAfterClosing, expectedNumberOfDeletedNoGoods),
+				String.format("g=%d, bt=%d, bj=%d, bt_within_bj=%d, mbt=%d, cac=%d, del_ng=%d, rs=%d", expectedNumberOfGuesses, expectedTotalNumberOfBacktracks, expectedNumberOfBackjumps,
+						expectedNumberOfBacktracksWithinBackjumps, expectedNumberOfMBTs, expectedNumberOfConflictsAfterClosing, expectedNumberOfDeletedNoGoods, expectedNumberOfRestarts),
 				solverMaintainingStatistics.getStatisticsString());
 	}
 
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.solver.heuristics;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link IndexedIntMaxHeap}.
+ */
+public class IndexedIntMaxHeapTest {
+
+	private double[] priorities;
+	private IndexedIntMaxHeap heap;
+
+	@Before
+	public void setUp() {
+		priorities = new double[100];
+		heap = new IndexedIntMaxHeap(element -> priorities[element]);
+	}
+
+	@Test
+	public void removesInOrderOfPriority() {
+		double[] values = {3.0, 1.0, 4.0, 1.5, 5.0, 9.0, 2.0, 6.0};
+		for (int i = 0; i < values.length; i++) {
+			priorities[i] = values[i];
+			heap.insert(i);
+		}
+		int[] removed = new int[values.length];
+		for (int i = 0; i < removed.length; i++) {
+			removed[i] = heap.removeMax();
+		}
+		assertEquals(Arrays.toString(new int[] {5, 7, 4, 2, 0, 6, 3, 1}), Arrays.toString(removed));
+		assertTrue(heap.isEmpty());
+	}
+
+	@Test
+	public void elementsAreContainedOnlyOnce() {
+		priorities[1] = 1.0;
+		heap.insert(1);
+		heap.insert(1);
+		assertEquals(1, heap.size());
+		assertEquals(1, heap.removeMax());
+		assertTrue(heap.isEmpty());
+	}
+
+	@Test
+	public void updateRestoresOrderAfterPriorityChange() {
+		for (int i = 1; i <= 10; i++) {
+			priorities[i] = i;
+			heap.insert(i);
+		}
+		priorities[3] = 20.0;
+		heap.update(3);
+		assertEquals(3, heap.peek());
+		priorities[3] = 0.5;
+		heap.update(3);
+		assertEquals(10, heap.removeMax());
+		// Re-inserting a contained element restores its position, too.
+		priorities[1] = 30.0;
+		heap.insert(1);
+		assertEquals(1, heap.removeMax());
+		assertEquals(9, heap.removeMax());
+	}
+
+	@Test
+	public void removeArbitraryElement() {
+		for (int i = 1; i <= 10; i++) {
+			priorities[i] = i;
+			heap.insert(i);
+		}
+		assertTrue(heap.remove(10));
+		assertTrue(heap.remove(4));
+		assertFalse(heap.remove(4));
+		assertFalse(heap.contains(4));
+		assertEquals(8, heap.size());
+		int previous = heap.removeMax();
+		assertEquals(9, previous);
+		while (!heap.isEmpty()) {
+			int next = heap.removeMax();
+			assertTrue(priorities[next] <= priorities[previous]);
+			assertTrue(next != 4);
+			previous = next;
+		}
+	}
+
+	@Test
+	public void growsForLargeElements() {
+		priorities = new double[10000];
+		priorities[9999] = 1.0;
+		heap = new IndexedIntMaxHeap(element -> priorities[element]);
+		for (int i = 0; i < priorities.length; i++) {
+			heap.insert(i);
+		}
+		assertEquals(priorities.length, heap.size());
+		assertEquals(9999, heap.removeMax());
+	}
+}
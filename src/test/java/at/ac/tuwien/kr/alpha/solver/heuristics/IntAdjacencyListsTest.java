@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.solver.heuristics;
+
+import org.apache.commons.collections4.MultiValuedMap;
+import org.apache.commons.collections4.multimap.HashSetValuedHashMap;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link IntAdjacencyLists}.
+ */
+public class IntAdjacencyListsTest {
+
+	@Test
+	public void valuesAreKeptWithoutDuplicates() {
+		IntAdjacencyLists lists = new IntAdjacencyLists();
+		assertTrue(lists.put(5, 3));
+		assertTrue(lists.put(5, 1));
+		assertFalse(lists.put(5, 3));
+		assertTrue(lists.put(2, 3));
+		assertTrue(lists.put(5, 7));
+
+		assertEquals(3, lists.size(5));
+		assertEquals(1, lists.get(5, 0));
+		assertEquals(3, lists.get(5, 1));
+		assertEquals(7, lists.get(5, 2));
+		assertEquals(1, lists.size(2));
+		assertEquals(0, lists.size(3));
+		assertEquals(0, lists.size(1000));
+	}
+
+	@Test
+	public void keysAreIteratedByBucket() {
+		IntAdjacencyLists lists = new IntAdjacencyLists();
+		lists.put(25, 1);
+		lists.put(4, 1);
+		lists.put(9, 2);
+		lists.put(9, 1);
+
+		assertEquals(3, lists.getNumberOfKeys());
+		assertEquals(4, lists.getKey(0));
+		assertEquals(25, lists.getKey(1));
+		assertEquals(9, lists.getKey(2));
+	}
+
+	@Test
+	public void iterationOrderIsThatOfHashSetValuedHashMap() {
+		Random random = new Random(0);
+		IntAdjacencyLists lists = new IntAdjacencyLists();
+		MultiValuedMap<Integer, Integer> map = new HashSetValuedHashMap<>();
+		for (int i = 0; i < 20000; i++) {
+			int key = random.nextInt(300);
+			int value = random.nextInt(1 << random.nextInt(20));
+			assertEquals(map.put(key, value), lists.put(key, value));
+			if (i % 1000 == 0) {
+				assertEquals(new ArrayList<>(map.keySet()), keysOf(lists));
+			}
+		}
+		assertEquals(new ArrayList<>(map.keySet()), keysOf(lists));
+		for (int key : map.keySet()) {
+			assertEquals(new ArrayList<>(map.get(key)), valuesOf(lists, key));
+		}
+	}
+
+	@Test
+	public void manyValuesPerKey() {
+		IntAdjacencyLists lists = new IntAdjacencyLists();
+		for (int i = 0; i < 10000; i++) {
+			assertTrue(lists.put(i % 7, i));
+		}
+		for (int i = 0; i < 10000; i++) {
+			assertFalse(lists.put(i % 7, i));
+		}
+		assertEquals(1429, lists.size(0));
+		assertEquals(1428, lists.size(6));
+	}
+
+	private static List<Integer> keysOf(IntAdjacencyLists lists) {
+		List<Integer> keys = new ArrayList<>();
+		for (int i = 0; i < lists.getNumberOfKeys(); i++) {
+			keys.add(lists.getKey(i));
+		}
+		return keys;
+	}
+
+	private static List<Integer> valuesOf(IntAdjacencyLists lists, int key) {
+		List<Integer> values = new ArrayList<>();
+		for (int i = 0; i < lists.size(key); i++) {
+			values.add(lists.get(key, i));
+		}
+		return values;
+	}
+}
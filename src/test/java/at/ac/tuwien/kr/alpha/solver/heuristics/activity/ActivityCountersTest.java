@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.solver.heuristics.activity;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests {@link ActivityCounters}.
+ */
+public class ActivityCountersTest {
+
+	private static final double DOUBLE_COMPARISON_EPSILON = 0.000001;
+
+	@Test
+	public void decayIsApplied() {
+		ActivityCounters activityCounters = new ActivityCounters();
+		activityCounters.increment(1);
+		activityCounters.increment(3);
+		activityCounters.decay(0.25);
+		activityCounters.increment(3);
+		assertEquals(0.25, activityCounters.get(1), DOUBLE_COMPARISON_EPSILON);
+		assertEquals(1.25, activityCounters.get(3), DOUBLE_COMPARISON_EPSILON);
+		assertEquals(0.0, activityCounters.get(2), DOUBLE_COMPARISON_EPSILON);
+		assertEquals(0.0, activityCounters.get(100), DOUBLE_COMPARISON_EPSILON);
+
+		// Decaying long enough requires rescaling all counters, which must retain activities.
+		for (int i = 0; i < 400; i++) {
+			activityCounters.increment(1);
+			activityCounters.decay(0.5);
+		}
+		assertEquals(1.0, activityCounters.get(1), DOUBLE_COMPARISON_EPSILON);
+		assertEquals(0.0, activityCounters.get(3), DOUBLE_COMPARISON_EPSILON);
+	}
+
+	@Test
+	public void decayByPowerOfTwoEqualsEagerDecay() {
+		Random random = new Random(0);
+		ActivityCounters activityCounters = new ActivityCounters();
+		double[] eagerActivities = new double[50];
+		for (int step = 0; step < 2000; step++) {
+			int atom = random.nextInt(eagerActivities.length);
+			activityCounters.increment(atom);
+			eagerActivities[atom] += 1.0;
+			if (step % 7 == 0) {
+				activityCounters.decay(0.25);
+				for (int i = 0; i < eagerActivities.length; i++) {
+					eagerActivities[i] *= 0.25;
+				}
+			}
+		}
+		for (int atom = 0; atom < eagerActivities.length; atom++) {
+			assertEquals(eagerActivities[atom], activityCounters.get(atom), 0.0);
+		}
+	}
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2020, the Alpha Team.
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1) Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ *
+ * 2) Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package at.ac.tuwien.kr.alpha.solver.restarts;
+
+import org.junit.Test;
+
+import static at.ac.tuwien.kr.alpha.solver.NoGoodStore.LBD_NO_VALUE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RestartStrategyTest {
+
+	@Test
+	public void lubySequence() {
+		long[] expected = {1, 1, 2, 1, 1, 2, 4, 1, 1, 2, 1, 1, 2, 4, 8, 1, 1, 2};
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i], LubyRestartStrategy.luby(i));
+		}
+	}
+
+	@Test
+	public void lubyRestartsAfterMultiplesOfUnit() {
+		RestartStrategy strategy = new LubyRestartStrategy(10);
+		assertEquals(10, conflictsUntilRestart(strategy, 1));
+		assertEquals(10, conflictsUntilRestart(strategy, 1));
+		assertEquals(20, conflictsUntilRestart(strategy, 1));
+		assertEquals(10, conflictsUntilRestart(strategy, 1));
+	}
+
+	@Test
+	public void geometricRestartsGrow() {
+		RestartStrategy strategy = new GeometricRestartStrategy(100, 2);
+		assertEquals(100, conflictsUntilRestart(strategy, 1));
+		assertEquals(200, conflictsUntilRestart(strategy, 1));
+		assertEquals(400, conflictsUntilRestart(strategy, 1));
+	}
+
+	@Test
+	public void dynamicRestartsOnlyIfRecentLbdsAreWorse() {
+		RestartStrategy strategy = new DynamicRestartStrategy(5);
+		for (int i = 0; i < 100; i++) {
+			strategy.newConflict(2);
+			assertFalse(strategy.isRestartDue());
+		}
+		// Conflicts without learned nogood are ignored.
+		for (int i = 0; i < 10; i++) {
+			strategy.newConflict(LBD_NO_VALUE);
+			assertFalse(strategy.isRestartDue());
+		}
+		// A single bad LBD suffices if the window is full.
+		assertEquals(1, conflictsUntilRestart(strategy, 10));
+		assertEquals(5, conflictsUntilRestart(strategy, 10));
+		// After a restart, the window of recent LBDs needs to be filled again.
+		strategy.newConflict(10);
+		assertFalse(strategy.isRestartDue());
+	}
+
+	@Test
+	public void noRestartsForPolicyNone() {
+		assertNull(RestartStrategyFactory.getInstance(RestartStrategyFactory.Policy.NONE, 100));
+		for (RestartStrategyFactory.Policy policy : RestartStrategyFactory.Policy.values()) {
+			if (policy != RestartStrategyFactory.Policy.NONE) {
+				assertTrue(RestartStrategyFactory.getInstance(policy, 100) != null);
+			}
+		}
+	}
+
+	/**
+	 * Feeds conflicts with the given LBD to the strategy until it suggests a restart, then restarts.
+	 * @return the number of conflicts that were necessary to trigger the restart.
+	 */
+	private static int conflictsUntilRestart(RestartStrategy strategy, int lbd) {
+		int conflicts = 0;
+		do {
+			strategy.newConflict(lbd);
+			conflicts++;
+		} while (!strategy.isRestartDue());
+		strategy.restarted();
+		return conflicts;
+	}
+}